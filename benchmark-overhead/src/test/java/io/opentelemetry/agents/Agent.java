@@ -27,6 +27,7 @@ public class Agent {
   private final String description;
   private final URL url;
   private final List<String> additionalJvmArgs;
+  private final boolean latestSnapshotVariant;
 
   public Agent(String name, String description) {
     this(name, description, null);
@@ -37,10 +38,26 @@ public class Agent {
   }
 
   public Agent(String name, String description, String url, List<String> additionalJvmArgs) {
+    this(name, description, url, additionalJvmArgs, false);
+  }
+
+  private Agent(
+      String name,
+      String description,
+      String url,
+      List<String> additionalJvmArgs,
+      boolean latestSnapshotVariant) {
     this.name = name;
     this.description = description;
     this.url = makeUrl(url);
     this.additionalJvmArgs = new ArrayList<>(additionalJvmArgs);
+    this.latestSnapshotVariant = latestSnapshotVariant;
+  }
+
+  /** Returns the latest snapshot agent, run with additional jvm args. */
+  public static Agent latestSnapshotWith(
+      String name, String description, List<String> additionalJvmArgs) {
+    return new Agent(name, description, null, additionalJvmArgs, true);
   }
 
   public String getName() {
@@ -55,6 +72,10 @@ public class Agent {
     return url != null;
   }
 
+  public boolean isLatestSnapshotVariant() {
+    return latestSnapshotVariant;
+  }
+
   public URL getUrl() {
     return url;
   }
@@ -7,6 +7,8 @@ package io.opentelemetry.config;
 
 import io.opentelemetry.agents.Agent;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
 /** Defines all test configurations */
@@ -17,6 +19,39 @@ public enum Configs {
           .description("compares no agent, latest stable, and latest snapshot agents")
           .withAgents(Agent.NONE, Agent.LATEST_RELEASE, Agent.LATEST_SNAPSHOT)
           .warmupSeconds(60)
+          .build()),
+  UNMATCHED_TYPES_CACHE(
+      TestConfig.builder()
+          .name("unmatched-types-cache")
+          .description(
+              "compares the startup of the latest snapshot without, with a cold and with a warm"
+                  + " unmatched types cache")
+          .withAgents(
+              Agent.LATEST_SNAPSHOT,
+              Agent.latestSnapshotWith(
+                  "snapshot-cache-cold",
+                  "latest snapshot, first run with the unmatched types cache",
+                  UnmatchedTypesCacheArgs.ARGS),
+              Agent.latestSnapshotWith(
+                  "snapshot-cache-warm",
+                  "latest snapshot, second run with the unmatched types cache",
+                  UnmatchedTypesCacheArgs.ARGS))
+          .warmupSeconds(60)
+          .build()),
+  CLASSPATH_PRESCAN(
+      TestConfig.builder()
+          .name("classpath-prescan")
+          .description(
+              "compares the startup of the latest snapshot without and with the class path"
+                  + " pre-scan")
+          .withAgents(
+              Agent.LATEST_SNAPSHOT,
+              Agent.latestSnapshotWith(
+                  "snapshot-prescan",
+                  "latest snapshot with the class path pre-scan",
+                  Collections.singletonList(
+                      "-Dotel.javaagent.experimental.classpath-prescan.enabled=true")))
+          .warmupSeconds(60)
           .build());
 
   public final TestConfig config;
@@ -28,4 +63,14 @@ public enum Configs {
   Configs(TestConfig config) {
     this.config = config;
   }
+
+  private static class UnmatchedTypesCacheArgs {
+    // the results directory is bind-mounted, so the cache written by the cold run is read by the
+    // warm run; a new file is used by each test run so that the first run is always cold
+    static final List<String> ARGS =
+        Collections.singletonList(
+            "-Dotel.javaagent.experimental.unmatched-types-cache.file=/results/unmatched-types-"
+                + System.currentTimeMillis()
+                + ".bin");
+  }
 }
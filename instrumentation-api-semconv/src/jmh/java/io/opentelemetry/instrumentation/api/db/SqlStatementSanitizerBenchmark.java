@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures sanitizing statements from 100 bytes up to 10 megabytes, use the gc profiler to see that
+// the cost of huge statements is bounded by the sanitizer length limit
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class SqlStatementSanitizerBenchmark {
+
+  private static final SqlStatementSanitizer SANITIZER = SqlStatementSanitizer.create(true);
+
+  @Param({"100", "10000", "1000000", "10000000"})
+  public int statementSize;
+
+  private String statement;
+
+  @Setup
+  public void setUp() {
+    StringBuilder sb = new StringBuilder("INSERT INTO table (a, b) VALUES (1, 'x')");
+    for (int i = 0; sb.length() < statementSize; i++) {
+      sb.append(", (").append(i).append(", 'value").append(i).append("')");
+    }
+    statement = sb.toString();
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitize() {
+    return AutoSqlSanitizer.sanitize(statement, SqlDialect.DEFAULT);
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitizeCached() {
+    return SANITIZER.sanitize(statement);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures the per-request overhead of the HTTP server metrics (mostly applying the metrics views),
+// use the gc profiler to see the bytes allocated per request
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class HttpServerMetricsBenchmark {
+
+  private static final OperationListener METRICS =
+      HttpServerMetrics.get().create(OpenTelemetry.noop().getMeterProvider().get("benchmark"));
+
+  private static final Attributes START_ATTRIBUTES =
+      Attributes.builder()
+          .put(SemanticAttributes.HTTP_METHOD, "GET")
+          .put(SemanticAttributes.HTTP_SCHEME, "https")
+          .put(SemanticAttributes.HTTP_TARGET, "/users/12345?details=true")
+          .put(SemanticAttributes.HTTP_ROUTE, "/users/{id}")
+          .put(SemanticAttributes.HTTP_USER_AGENT, "OpenTelemetryBot")
+          .put(SemanticAttributes.NET_HOST_NAME, "opentelemetry.io")
+          .put(SemanticAttributes.NET_HOST_PORT, 443L)
+          .put(SemanticAttributes.NET_TRANSPORT, SemanticAttributes.NetTransportValues.IP_TCP)
+          .build();
+
+  private static final Attributes END_ATTRIBUTES =
+      Attributes.builder()
+          .put(SemanticAttributes.HTTP_STATUS_CODE, 200L)
+          .put(SemanticAttributes.HTTP_FLAVOR, SemanticAttributes.HttpFlavorValues.HTTP_1_1)
+          .put(SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH, 1024L)
+          .build();
+
+  @Benchmark
+  public Context startEnd() {
+    Context context = METRICS.onStart(Context.root(), START_ATTRIBUTES, 0);
+    METRICS.onEnd(context, END_ATTRIBUTES, 1_000_000);
+    return context;
+  }
+
+  @Benchmark
+  public Attributes activeRequestsView() {
+    return TemporaryMetricsView.applyActiveRequestsView(START_ATTRIBUTES);
+  }
+
+  @Benchmark
+  public Attributes durationAndSizeView() {
+    return TemporaryMetricsView.applyServerDurationAndSizeView(START_ATTRIBUTES, END_ATTRIBUTES);
+  }
+}
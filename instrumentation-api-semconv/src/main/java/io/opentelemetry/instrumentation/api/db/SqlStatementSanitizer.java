@@ -5,9 +5,11 @@
 
 package io.opentelemetry.instrumentation.api.db;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_EVICTION;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_HIT;
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
 
-import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import javax.annotation.Nullable;
@@ -17,10 +19,31 @@ import javax.annotation.Nullable;
  * statements and queries.
  */
 public final class SqlStatementSanitizer {
-  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+  private static final SupportabilityMetrics.Counter cacheHits =
+      SupportabilityMetrics.instance().counter(SQL_STATEMENT_SANITIZER_CACHE_HIT);
+  private static final SupportabilityMetrics.Counter cacheMisses =
+      SupportabilityMetrics.instance().counter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
+  private static final SupportabilityMetrics.Counter cacheEvictions =
+      SupportabilityMetrics.instance().counter(SQL_STATEMENT_SANITIZER_CACHE_EVICTION);
+
+  // statements are sanitized up to this length, the rest is dropped
+  private static final int STATEMENT_MAX_LENGTH =
+      (int)
+          ConfigPropertiesUtil.getLong(
+              "otel.instrumentation.experimental.db-statement-sanitizer.max-length",
+              AutoSqlSanitizer.LIMIT);
+
+  // the cache is bounded by the total length of the cached statements (original and sanitized)
+  private static final long CACHE_MAX_WEIGHT =
+      ConfigPropertiesUtil.getLong(
+          "otel.instrumentation.experimental.db-statement-sanitizer.cache-max-weight", 1_000_000);
 
   private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.bounded(1000);
+      Cache.frequencyAware(
+          CACHE_MAX_WEIGHT,
+          1000,
+          SqlStatementSanitizer::weigh,
+          (key, value) -> cacheEvictions.increment());
 
   public static SqlStatementSanitizer create(boolean statementSanitizationEnabled) {
     return new SqlStatementSanitizer(statementSanitizationEnabled);
@@ -40,23 +63,74 @@ public final class SqlStatementSanitizer {
     if (!statementSanitizationEnabled || statement == null) {
       return SqlStatementInfo.create(statement, null, null);
     }
-    return sqlToStatementInfoCache.computeIfAbsent(
-        CacheKey.create(statement, dialect),
-        k -> {
-          supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
-          return AutoSqlSanitizer.sanitize(statement, dialect);
-        });
+    if (statement.length() > STATEMENT_MAX_LENGTH) {
+      // the sanitizer stops early on statements over the limit, which is cheaper than hashing
+      // and caching the whole (possibly multi-megabyte) statement
+      return AutoSqlSanitizer.sanitize(statement, dialect, STATEMENT_MAX_LENGTH);
+    }
+    CacheKey key = CacheKey.create(statement, dialect);
+    SqlStatementInfo info = sqlToStatementInfoCache.get(key);
+    if (info != null) {
+      cacheHits.increment();
+      return info;
+    }
+    cacheMisses.increment();
+    info = AutoSqlSanitizer.sanitize(statement, dialect, STATEMENT_MAX_LENGTH);
+    sqlToStatementInfoCache.put(key, info);
+    return info;
+  }
+
+  private static int weigh(CacheKey key, SqlStatementInfo info) {
+    String fullStatement = info.getFullStatement();
+    long weight =
+        (long) key.statement.length() + (fullStatement == null ? 0 : fullStatement.length());
+    return (int) Math.min(weight, Integer.MAX_VALUE);
   }
 
-  @AutoValue
-  abstract static class CacheKey {
+  /**
+   * Statements with the same {@linkplain SqlStatementShape shape} (i.e. differing only in literal
+   * values) are equal cache keys, since they are sanitized to the same result.
+   */
+  static final class CacheKey {
 
     static CacheKey create(String statement, SqlDialect dialect) {
-      return new AutoValue_SqlStatementSanitizer_CacheKey(statement, dialect);
+      return new CacheKey(statement, dialect, SqlStatementShape.hash(statement, dialect));
     }
 
-    abstract String getStatement();
+    private final String statement;
+    private final SqlDialect dialect;
+    private final long shape;
 
-    abstract SqlDialect getDialect();
+    private CacheKey(String statement, SqlDialect dialect, long shape) {
+      this.statement = statement;
+      this.dialect = dialect;
+      this.shape = shape;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) obj;
+      if (dialect != other.dialect || shape != other.shape) {
+        return false;
+      }
+      if (statement.equals(other.statement)) {
+        return true;
+      }
+      return shape != SqlStatementShape.UNSUPPORTED
+          && SqlStatementShape.sameShape(statement, other.statement, dialect);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash =
+          shape != SqlStatementShape.UNSUPPORTED ? Long.hashCode(shape) : statement.hashCode();
+      return 31 * hash + dialect.hashCode();
+    }
   }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+/**
+ * Cheap pre-normalization of SQL statements. The "shape" of a statement is the statement with all
+ * the literals that {@link AutoSqlSanitizer} replaces with {@code ?} masked out; two statements
+ * with the same shape are sanitized to exactly the same {@link SqlStatementInfo}. This allows the
+ * {@link SqlStatementSanitizer} to share one cache entry between statements that differ only in
+ * literal values, without running the full lexer on each of them.
+ *
+ * <p>The tokenization below mirrors the literal rules of {@code SqlSanitizer.jflex} and must be
+ * kept in sync with them. To stay exact it gives up (see {@link #UNSUPPORTED}) on statements with
+ * non-ASCII characters outside of literals.
+ */
+final class SqlStatementShape {
+
+  /** Returned by {@link #hash(String, SqlDialect)} for statements that cannot be normalized. */
+  static final long UNSUPPORTED = 0;
+
+  private static final int LITERAL_MARKER = 0x10000;
+
+  /**
+   * Returns a hash of the shape of the {@code statement}, or {@link #UNSUPPORTED} if it can't be
+   * computed.
+   */
+  static long hash(String statement, SqlDialect dialect) {
+    long hash = 1;
+    int length = statement.length();
+    int i = 0;
+    while (i < length) {
+      int end = nextToken(statement, i, dialect);
+      if (end < 0) {
+        hash = 31 * hash + LITERAL_MARKER;
+        i = ~end;
+        continue;
+      }
+      for (; i < end; i++) {
+        char c = statement.charAt(i);
+        if (c >= 0x80) {
+          return UNSUPPORTED;
+        }
+        hash = 31 * hash + c;
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Returns whether the two statements have the same shape. Both statements must have a supported
+   * {@link #hash(String, SqlDialect)}.
+   */
+  static boolean sameShape(String first, String second, SqlDialect dialect) {
+    int i = 0;
+    int j = 0;
+    while (i < first.length() && j < second.length()) {
+      int firstEnd = nextToken(first, i, dialect);
+      int secondEnd = nextToken(second, j, dialect);
+      if ((firstEnd < 0) != (secondEnd < 0)) {
+        return false;
+      }
+      if (firstEnd < 0) {
+        i = ~firstEnd;
+        j = ~secondEnd;
+        continue;
+      }
+      int tokenLength = firstEnd - i;
+      if (tokenLength != secondEnd - j || !first.regionMatches(i, second, j, tokenLength)) {
+        return false;
+      }
+      i = firstEnd;
+      j = secondEnd;
+    }
+    return i == first.length() && j == second.length();
+  }
+
+  /**
+   * Returns the end of the token that starts at {@code start}; the result is bitwise negated if the
+   * token is a literal that the sanitizer replaces with {@code ?}. Tokens that are copied verbatim
+   * by the sanitizer may be split into several single-character tokens, as long as no literal can
+   * start inside of them.
+   */
+  private static int nextToken(String statement, int start, SqlDialect dialect) {
+    char c = statement.charAt(start);
+    if (isLetter(c) || c == '_') {
+      // IDENTIFIER and keywords
+      int i = start + 1;
+      while (i < statement.length() && isIdentifierPart(statement.charAt(i))) {
+        i++;
+      }
+      return i;
+    }
+    switch (c) {
+      case '\'':
+        {
+          // QUOTED_STR
+          int end = quotedEnd(statement, start, '\'');
+          return end < 0 ? start + 1 : ~end;
+        }
+      case '"':
+        {
+          // DOUBLE_QUOTED_STR is a literal only in couchbase
+          int end = quotedEnd(statement, start, '"');
+          if (end < 0) {
+            return start + 1;
+          }
+          return dialect == SqlDialect.COUCHBASE ? ~end : end;
+        }
+      case '`':
+        {
+          // BACKTICK_QUOTED_STR
+          int close = statement.indexOf('`', start + 1);
+          return close < 0 ? start + 1 : close + 1;
+        }
+      case '$':
+        {
+          // DOLLAR_QUOTED_STR
+          if (statement.startsWith("$$", start)) {
+            int close = statement.indexOf('$', start + 2);
+            if (close >= 0 && statement.startsWith("$$", close)) {
+              return ~(close + 2);
+            }
+          }
+          return start + 1;
+        }
+      default:
+        // BASIC_NUM or HEX_NUM, whichever is longer
+        int end = Math.max(basicNumberEnd(statement, start), hexNumberEnd(statement, start));
+        return end < 0 ? start + 1 : ~end;
+    }
+  }
+
+  // "'" ("''" | [^'])* "'", the longest match
+  private static int quotedEnd(String statement, int start, char quote) {
+    int end = -1;
+    int i = start + 1;
+    while (i < statement.length()) {
+      if (statement.charAt(i) != quote) {
+        i++;
+      } else {
+        end = i + 1;
+        if (i + 1 < statement.length() && statement.charAt(i + 1) == quote) {
+          i += 2;
+        } else {
+          break;
+        }
+      }
+    }
+    return end;
+  }
+
+  // [.+-]* [0-9] ([0-9] | [eE.+-])*
+  private static int basicNumberEnd(String statement, int start) {
+    int length = statement.length();
+    int i = start;
+    while (i < length && isSignOrDot(statement.charAt(i))) {
+      i++;
+    }
+    if (i == length || !isDigit(statement.charAt(i))) {
+      return -1;
+    }
+    i++;
+    while (i < length && isNumberPart(statement.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  // "0x" ([a-f] | [A-F] | [0-9])+
+  private static int hexNumberEnd(String statement, int start) {
+    int length = statement.length();
+    if (start + 2 >= length
+        || statement.charAt(start) != '0'
+        || (statement.charAt(start + 1) != 'x' && statement.charAt(start + 1) != 'X')
+        || !isHexDigit(statement.charAt(start + 2))) {
+      return -1;
+    }
+    int i = start + 3;
+    while (i < length && isHexDigit(statement.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return isLetter(c) || isDigit(c) || c == '_' || c == '.';
+  }
+
+  private static boolean isSignOrDot(char c) {
+    return c == '.' || c == '+' || c == '-';
+  }
+
+  private static boolean isNumberPart(char c) {
+    return isDigit(c) || c == 'e' || c == 'E' || isSignOrDot(c);
+  }
+
+  private SqlStatementShape() {}
+}
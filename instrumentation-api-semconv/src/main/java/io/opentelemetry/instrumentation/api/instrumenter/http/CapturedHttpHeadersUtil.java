@@ -6,10 +6,13 @@
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
 
 import io.opentelemetry.api.common.AttributeKey;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
@@ -29,6 +32,17 @@ final class CapturedHttpHeadersUtil {
         names.stream().map(s -> s.toLowerCase(Locale.ROOT)).collect(Collectors.toList()));
   }
 
+  /**
+   * Returns the names of the headers to fetch: {@code header} and the lowercase {@code
+   * capturedHeaders}, without duplicates.
+   */
+  static Set<String> headerNames(String header, List<String> capturedHeaders) {
+    Set<String> names = new LinkedHashSet<>();
+    names.add(header);
+    names.addAll(capturedHeaders);
+    return unmodifiableSet(names);
+  }
+
   static AttributeKey<List<String>> requestAttributeKey(String headerName) {
     return requestKeysCache.computeIfAbsent(headerName, n -> createKey("request", n));
   }
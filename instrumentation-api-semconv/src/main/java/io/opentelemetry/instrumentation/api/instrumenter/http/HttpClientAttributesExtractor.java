@@ -72,7 +72,9 @@ public final class HttpClientAttributesExtractor<REQUEST, RESPONSE>
     return new HttpClientAttributesExtractorBuilder<>(httpAttributesGetter, netAttributesGetter);
   }
 
-  private final InternalNetClientAttributesExtractor<REQUEST, RESPONSE> internalNetExtractor;
+  private final InternalNetClientAttributesExtractor<
+          HttpExchangeValues<REQUEST, RESPONSE>, RESPONSE>
+      internalNetExtractor;
 
   HttpClientAttributesExtractor(
       HttpClientAttributesGetter<REQUEST, RESPONSE> httpAttributesGetter,
@@ -82,23 +84,23 @@ public final class HttpClientAttributesExtractor<REQUEST, RESPONSE>
     super(httpAttributesGetter, capturedRequestHeaders, capturedResponseHeaders);
     internalNetExtractor =
         new InternalNetClientAttributesExtractor<>(
-            netAttributesGetter,
+            new HttpNetClientAttributesGetter<>(netAttributesGetter),
             this::shouldCapturePeerPort,
-            new HttpNetNamePortGetter<>(httpAttributesGetter));
+            new HttpNetNamePortGetter<>());
   }
 
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    super.onStart(attributes, parentContext, request);
+    HttpExchangeValues<REQUEST, RESPONSE> values = startValues(request);
+    onStart(attributes, values);
 
-    internalSet(
-        attributes, SemanticAttributes.HTTP_URL, stripSensitiveData(getter.getUrl(request)));
+    internalSet(attributes, SemanticAttributes.HTTP_URL, stripSensitiveData(values.url(getter)));
 
-    internalNetExtractor.onStart(attributes, request);
+    internalNetExtractor.onStart(attributes, values);
   }
 
-  private boolean shouldCapturePeerPort(int port, REQUEST request) {
-    String url = getter.getUrl(request);
+  private boolean shouldCapturePeerPort(int port, HttpExchangeValues<REQUEST, RESPONSE> values) {
+    String url = values.url(getter);
     if (url == null) {
       return true;
     }
@@ -159,11 +161,12 @@ public final class HttpClientAttributesExtractor<REQUEST, RESPONSE>
       REQUEST request,
       @Nullable RESPONSE response,
       @Nullable Throwable error) {
-    super.onEnd(attributes, context, request, response, error);
+    HttpExchangeValues<REQUEST, RESPONSE> values = endValues(request, response);
+    onEnd(attributes, values, error);
 
     internalSet(attributes, SemanticAttributes.HTTP_FLAVOR, getter.getFlavor(request, response));
 
-    internalNetExtractor.onEnd(attributes, request, response);
+    internalNetExtractor.onEnd(attributes, values, response);
   }
 
   /**
@@ -175,6 +178,64 @@ public final class HttpClientAttributesExtractor<REQUEST, RESPONSE>
     return SpanKey.HTTP_CLIENT;
   }
 
+  /** Passes the request of the {@link HttpExchangeValues} to the net attributes getter. */
+  private static final class HttpNetClientAttributesGetter<REQUEST, RESPONSE>
+      implements NetClientAttributesGetter<HttpExchangeValues<REQUEST, RESPONSE>, RESPONSE> {
+
+    private final NetClientAttributesGetter<REQUEST, RESPONSE> delegate;
+
+    HttpNetClientAttributesGetter(NetClientAttributesGetter<REQUEST, RESPONSE> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Nullable
+    @Override
+    public String getTransport(
+        HttpExchangeValues<REQUEST, RESPONSE> values, @Nullable RESPONSE response) {
+      return delegate.getTransport(values.request, response);
+    }
+
+    @Nullable
+    @Override
+    public String getPeerName(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getPeerName(values.request);
+    }
+
+    @Nullable
+    @Override
+    public Integer getPeerPort(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getPeerPort(values.request);
+    }
+
+    @Nullable
+    @Override
+    public String getSockFamily(
+        HttpExchangeValues<REQUEST, RESPONSE> values, @Nullable RESPONSE response) {
+      return delegate.getSockFamily(values.request, response);
+    }
+
+    @Nullable
+    @Override
+    public String getSockPeerAddr(
+        HttpExchangeValues<REQUEST, RESPONSE> values, @Nullable RESPONSE response) {
+      return delegate.getSockPeerAddr(values.request, response);
+    }
+
+    @Nullable
+    @Override
+    public String getSockPeerName(
+        HttpExchangeValues<REQUEST, RESPONSE> values, @Nullable RESPONSE response) {
+      return delegate.getSockPeerName(values.request, response);
+    }
+
+    @Nullable
+    @Override
+    public Integer getSockPeerPort(
+        HttpExchangeValues<REQUEST, RESPONSE> values, @Nullable RESPONSE response) {
+      return delegate.getSockPeerPort(values.request, response);
+    }
+  }
+
   private static final class NoopNetClientAttributesGetter<REQUEST, RESPONSE>
       implements NetClientAttributesGetter<REQUEST, RESPONSE> {
 
@@ -18,6 +18,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
@@ -75,14 +76,15 @@ public final class HttpClientMetrics implements OperationListener {
 
   @Override
   public Context onStart(Context context, Attributes startAttributes, long startNanos) {
-    return context.with(
+    return InstrumentationState.with(
+        context,
         HTTP_CLIENT_REQUEST_METRICS_STATE,
         new AutoValue_HttpClientMetrics_State(startAttributes, startNanos));
   }
 
   @Override
   public void onEnd(Context context, Attributes endAttributes, long endNanos) {
-    State state = context.get(HTTP_CLIENT_REQUEST_METRICS_STATE);
+    State state = InstrumentationState.get(context, HTTP_CLIENT_REQUEST_METRICS_STATE);
     if (state == null) {
       logger.log(
           FINE,
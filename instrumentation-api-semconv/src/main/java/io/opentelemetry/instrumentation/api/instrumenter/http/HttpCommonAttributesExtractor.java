@@ -5,69 +5,120 @@
 
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
+import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.headerNames;
 import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.lowercase;
 import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.requestAttributeKey;
 import static io.opentelemetry.instrumentation.api.instrumenter.http.CapturedHttpHeadersUtil.responseAttributeKey;
 import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorUtil.internalSet;
-import static java.util.logging.Level.FINE;
+import static java.util.Collections.emptyList;
 
 import io.opentelemetry.api.common.AttributesBuilder;
-import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.net.internal.FallbackNamePortGetter;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
  * Extractor of <a
  * href="https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/trace/semantic_conventions/http.md#common-attributes">HTTP
  * attributes</a> that are common to client and server instrumentations.
+ *
+ * <p>The values the attributes are derived from are fetched through a {@link HttpExchangeValues},
+ * created once per {@code onStart()} and {@code onEnd()} call, so that every getter is called at
+ * most once per call. The request or response headers that every call needs are fetched in one go
+ * when the getter overrides {@link HttpCommonAttributesGetter#getRequestHeaders(Object, Set)} or
+ * {@link HttpCommonAttributesGetter#getResponseHeaders(Object, Object, Set)}, and one by one
+ * otherwise.
  */
 abstract class HttpCommonAttributesExtractor<
         REQUEST, RESPONSE, GETTER extends HttpCommonAttributesGetter<REQUEST, RESPONSE>>
     implements AttributesExtractor<REQUEST, RESPONSE> {
 
-  private static final Logger logger = Logger.getLogger(HttpCommonAttributesGetter.class.getName());
-
   final GETTER getter;
   private final List<String> capturedRequestHeaders;
   private final List<String> capturedResponseHeaders;
+  // the request headers needed in onStart() and onEnd(), and the response headers
+  private final Set<String> startRequestHeaderNames;
+  private final Set<String> endRequestHeaderNames;
+  private final Set<String> responseHeaderNames;
+  // whether the getter fetches several headers at once; the default methods just loop
+  private final boolean batchRequestHeaders;
+  private final boolean batchResponseHeaders;
 
   HttpCommonAttributesExtractor(
       GETTER getter, List<String> capturedRequestHeaders, List<String> capturedResponseHeaders) {
     this.getter = getter;
     this.capturedRequestHeaders = lowercase(capturedRequestHeaders);
     this.capturedResponseHeaders = lowercase(capturedResponseHeaders);
+    this.startRequestHeaderNames = headerNames("user-agent", this.capturedRequestHeaders);
+    this.endRequestHeaderNames = headerNames("content-length", emptyList());
+    this.responseHeaderNames = headerNames("content-length", this.capturedResponseHeaders);
+    this.batchRequestHeaders =
+        overridesDefault(getter, "getRequestHeaders", Object.class, Set.class);
+    this.batchResponseHeaders =
+        overridesDefault(getter, "getResponseHeaders", Object.class, Object.class, Set.class);
+  }
+
+  HttpExchangeValues<REQUEST, RESPONSE> startValues(REQUEST request) {
+    return new HttpExchangeValues<>(
+        getter,
+        request,
+        null,
+        startRequestHeaderNames,
+        responseHeaderNames,
+        batchRequestHeaders,
+        batchResponseHeaders);
+  }
+
+  HttpExchangeValues<REQUEST, RESPONSE> endValues(REQUEST request, @Nullable RESPONSE response) {
+    return new HttpExchangeValues<>(
+        getter,
+        request,
+        response,
+        endRequestHeaderNames,
+        responseHeaderNames,
+        batchRequestHeaders,
+        batchResponseHeaders);
   }
 
-  @Override
-  public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    internalSet(attributes, SemanticAttributes.HTTP_METHOD, getter.getMethod(request));
-    internalSet(attributes, SemanticAttributes.HTTP_USER_AGENT, userAgent(request));
+  private static boolean overridesDefault(
+      HttpCommonAttributesGetter<?, ?> getter, String methodName, Class<?>... parameterTypes) {
+    try {
+      return getter.getClass().getMethod(methodName, parameterTypes).getDeclaringClass()
+          != HttpCommonAttributesGetter.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  void onStart(AttributesBuilder attributes, HttpExchangeValues<REQUEST, RESPONSE> values) {
+    internalSet(attributes, SemanticAttributes.HTTP_METHOD, getter.getMethod(values.request));
+    internalSet(
+        attributes, SemanticAttributes.HTTP_USER_AGENT, values.firstRequestHeader("user-agent"));
 
     for (String name : capturedRequestHeaders) {
-      List<String> values = getter.getRequestHeader(request, name);
-      if (!values.isEmpty()) {
-        internalSet(attributes, requestAttributeKey(name), values);
+      List<String> headerValues = values.requestHeader(name);
+      if (!headerValues.isEmpty()) {
+        internalSet(attributes, requestAttributeKey(name), headerValues);
       }
     }
   }
 
-  @Override
-  public void onEnd(
+  void onEnd(
       AttributesBuilder attributes,
-      Context context,
-      REQUEST request,
-      @Nullable RESPONSE response,
+      HttpExchangeValues<REQUEST, RESPONSE> values,
       @Nullable Throwable error) {
 
     internalSet(
-        attributes, SemanticAttributes.HTTP_REQUEST_CONTENT_LENGTH, requestContentLength(request));
+        attributes,
+        SemanticAttributes.HTTP_REQUEST_CONTENT_LENGTH,
+        parseNumber(values.firstRequestHeader("content-length")));
 
+    RESPONSE response = values.response;
     if (response != null) {
-      Integer statusCode = getter.getStatusCode(request, response, error);
+      Integer statusCode = getter.getStatusCode(values.request, response, error);
       if (statusCode != null && statusCode > 0) {
         internalSet(attributes, SemanticAttributes.HTTP_STATUS_CODE, (long) statusCode);
       }
@@ -75,38 +126,17 @@ abstract class HttpCommonAttributesExtractor<
       internalSet(
           attributes,
           SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH,
-          responseContentLength(request, response));
+          parseNumber(values.firstResponseHeader("content-length")));
 
       for (String name : capturedResponseHeaders) {
-        List<String> values = getter.getResponseHeader(request, response, name);
-        if (!values.isEmpty()) {
-          internalSet(attributes, responseAttributeKey(name), values);
+        List<String> headerValues = values.responseHeader(name);
+        if (!headerValues.isEmpty()) {
+          internalSet(attributes, responseAttributeKey(name), headerValues);
         }
       }
     }
   }
 
-  @Nullable
-  private String userAgent(REQUEST request) {
-    return firstHeaderValue(getter.getRequestHeader(request, "user-agent"));
-  }
-
-  @Nullable
-  private Long requestContentLength(REQUEST request) {
-    return parseNumber(firstHeaderValue(getter.getRequestHeader(request, "content-length")));
-  }
-
-  @Nullable
-  private Long responseContentLength(REQUEST request, RESPONSE response) {
-    return parseNumber(
-        firstHeaderValue(getter.getResponseHeader(request, response, "content-length")));
-  }
-
-  @Nullable
-  static String firstHeaderValue(List<String> values) {
-    return values.isEmpty() ? null : values.get(0);
-  }
-
   @Nullable
   private static Long parseNumber(@Nullable String number) {
     if (number == null) {
@@ -120,42 +150,20 @@ abstract class HttpCommonAttributesExtractor<
     }
   }
 
-  static final class HttpNetNamePortGetter<REQUEST> implements FallbackNamePortGetter<REQUEST> {
-
-    private final HttpCommonAttributesGetter<REQUEST, ?> getter;
-
-    HttpNetNamePortGetter(HttpCommonAttributesGetter<REQUEST, ?> getter) {
-      this.getter = getter;
-    }
+  /** Falls back to the host name and port from the {@code host} header, parsed once. */
+  static final class HttpNetNamePortGetter<REQUEST, RESPONSE>
+      implements FallbackNamePortGetter<HttpExchangeValues<REQUEST, RESPONSE>> {
 
     @Nullable
     @Override
-    public String name(REQUEST request) {
-      String host = firstHeaderValue(getter.getRequestHeader(request, "host"));
-      if (host == null) {
-        return null;
-      }
-      int hostHeaderSeparator = host.indexOf(':');
-      return hostHeaderSeparator == -1 ? host : host.substring(0, hostHeaderSeparator);
+    public String name(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return values.hostName();
     }
 
     @Nullable
     @Override
-    public Integer port(REQUEST request) {
-      String host = firstHeaderValue(getter.getRequestHeader(request, "host"));
-      if (host == null) {
-        return null;
-      }
-      int hostHeaderSeparator = host.indexOf(':');
-      if (hostHeaderSeparator == -1) {
-        return null;
-      }
-      try {
-        return Integer.parseInt(host.substring(hostHeaderSeparator + 1));
-      } catch (NumberFormatException e) {
-        logger.log(FINE, e.getMessage(), e);
-      }
-      return null;
+    public Integer port(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return values.hostPort();
     }
   }
 }
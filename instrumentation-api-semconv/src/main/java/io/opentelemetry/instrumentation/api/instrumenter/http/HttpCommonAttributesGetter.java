@@ -7,7 +7,10 @@ package io.opentelemetry.instrumentation.api.instrumenter.http;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /** An interface for getting HTTP attributes common to clients and servers. */
@@ -60,6 +63,26 @@ public interface HttpCommonAttributesGetter<REQUEST, RESPONSE> {
         "This method is deprecated and will be removed in the subsequent release.");
   }
 
+  /**
+   * Extracts all values of the headers named in {@code names} from the request, keyed by header
+   * name. Headers that are not present in the request are not in the returned map. The names are
+   * lowercase, and the keys of the returned map must be too.
+   *
+   * <p>The default implementation calls {@link #getRequestHeader(Object, String)} for every name.
+   * Instrumentations whose request headers are expensive to look up one by one should override
+   * this method to fill all the values in a single pass over the request headers.
+   */
+  default Map<String, List<String>> getRequestHeaders(REQUEST request, Set<String> names) {
+    Map<String, List<String>> headers = new HashMap<>();
+    for (String name : names) {
+      List<String> values = getRequestHeader(request, name);
+      if (!values.isEmpty()) {
+        headers.put(name, values);
+      }
+    }
+    return headers;
+  }
+
   // Attributes which are not always available when the request is ready.
 
   /**
@@ -123,4 +146,28 @@ public interface HttpCommonAttributesGetter<REQUEST, RESPONSE> {
     throw new UnsupportedOperationException(
         "This method is deprecated and will be removed in the subsequent release.");
   }
+
+  /**
+   * Extracts all values of the headers named in {@code names} from the response, keyed by header
+   * name. Headers that are not present in the response are not in the returned map. The names are
+   * lowercase, and the keys of the returned map must be too.
+   *
+   * <p>This is called from {@link Instrumenter#end(Context, Object, Object, Throwable)}, only when
+   * {@code response} is non-{@code null}.
+   *
+   * <p>The default implementation calls {@link #getResponseHeader(Object, Object, String)} for
+   * every name. Instrumentations whose response headers are expensive to look up one by one should
+   * override this method to fill all the values in a single pass over the response headers.
+   */
+  default Map<String, List<String>> getResponseHeaders(
+      REQUEST request, RESPONSE response, Set<String> names) {
+    Map<String, List<String>> headers = new HashMap<>();
+    for (String name : names) {
+      List<String> values = getResponseHeader(request, response, name);
+      if (!values.isEmpty()) {
+        headers.put(name, values);
+      }
+    }
+    return headers;
+  }
 }
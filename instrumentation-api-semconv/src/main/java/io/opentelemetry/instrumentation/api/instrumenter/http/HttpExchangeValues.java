@@ -0,0 +1,185 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static java.util.Collections.emptyList;
+import static java.util.logging.Level.FINE;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * The values that the HTTP attributes extractors get from the request and the response during a
+ * single {@code onStart()} or {@code onEnd()} call. Several attributes are derived from the same
+ * values, e.g. the URL is both captured and used to decide whether the peer port is captured, so
+ * the values are fetched lazily and then remembered, and every getter is called at most once:
+ *
+ * <ul>
+ *   <li>the request (or response) headers that every call needs are fetched together, with {@link
+ *       HttpCommonAttributesGetter#getRequestHeaders(Object, Set)}, but only if the getter
+ *       overrides it; otherwise each of them is fetched on its own, without building a map
+ *   <li>the headers that are only needed as a fallback, e.g. {@code host}, are fetched one at a
+ *       time with {@link #lookUpRequestHeader(String)}, and only when they are needed
+ *   <li>the {@code host} header is parsed once, for both the host name and the port
+ *   <li>the URL and the scheme are fetched once
+ * </ul>
+ */
+final class HttpExchangeValues<REQUEST, RESPONSE> {
+
+  private static final Logger logger = Logger.getLogger(HttpExchangeValues.class.getName());
+
+  final REQUEST request;
+  @Nullable final RESPONSE response;
+  private final HttpCommonAttributesGetter<REQUEST, RESPONSE> getter;
+  private final Set<String> requestHeaderNames;
+  private final Set<String> responseHeaderNames;
+  private final boolean batchRequestHeaders;
+  private final boolean batchResponseHeaders;
+
+  @Nullable private Map<String, List<String>> requestHeaders;
+  @Nullable private Map<String, List<String>> responseHeaders;
+
+  private boolean hostParsed;
+  @Nullable private String hostName;
+  @Nullable private Integer hostPort;
+
+  private boolean urlFetched;
+  @Nullable private String url;
+
+  private boolean schemeFetched;
+  @Nullable private String scheme;
+
+  HttpExchangeValues(
+      HttpCommonAttributesGetter<REQUEST, RESPONSE> getter,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      Set<String> requestHeaderNames,
+      Set<String> responseHeaderNames,
+      boolean batchRequestHeaders,
+      boolean batchResponseHeaders) {
+    this.getter = getter;
+    this.request = request;
+    this.response = response;
+    this.requestHeaderNames = requestHeaderNames;
+    this.responseHeaderNames = responseHeaderNames;
+    this.batchRequestHeaders = batchRequestHeaders;
+    this.batchResponseHeaders = batchResponseHeaders;
+  }
+
+  /**
+   * Returns the values of the request header named {@code name}, which must be one of the request
+   * header names this instance was created with, and must be asked for at most once.
+   */
+  List<String> requestHeader(String name) {
+    if (!batchRequestHeaders) {
+      return getter.getRequestHeader(request, name);
+    }
+    if (requestHeaders == null) {
+      requestHeaders = getter.getRequestHeaders(request, requestHeaderNames);
+    }
+    List<String> values = requestHeaders.get(name);
+    return values != null ? values : emptyList();
+  }
+
+  /**
+   * Returns the values of the response header named {@code name}, which must be one of the
+   * response header names this instance was created with, and must be asked for at most once.
+   */
+  List<String> responseHeader(String name) {
+    if (response == null) {
+      return emptyList();
+    }
+    if (!batchResponseHeaders) {
+      return getter.getResponseHeader(request, response, name);
+    }
+    if (responseHeaders == null) {
+      responseHeaders = getter.getResponseHeaders(request, response, responseHeaderNames);
+    }
+    List<String> values = responseHeaders.get(name);
+    return values != null ? values : emptyList();
+  }
+
+  @Nullable
+  String firstRequestHeader(String name) {
+    return firstHeaderValue(requestHeader(name));
+  }
+
+  @Nullable
+  String firstResponseHeader(String name) {
+    return firstHeaderValue(responseHeader(name));
+  }
+
+  /**
+   * Returns the first value of the request header named {@code name}, fetched on its own. Used for
+   * the headers that are only needed as a fallback, so that they are not fetched unless needed.
+   */
+  @Nullable
+  String lookUpRequestHeader(String name) {
+    return firstHeaderValue(getter.getRequestHeader(request, name));
+  }
+
+  /** Returns the host name from the {@code host} request header. */
+  @Nullable
+  String hostName() {
+    parseHost();
+    return hostName;
+  }
+
+  /** Returns the port from the {@code host} request header. */
+  @Nullable
+  Integer hostPort() {
+    parseHost();
+    return hostPort;
+  }
+
+  @Nullable
+  String url(HttpClientAttributesGetter<REQUEST, ?> clientGetter) {
+    if (!urlFetched) {
+      url = clientGetter.getUrl(request);
+      urlFetched = true;
+    }
+    return url;
+  }
+
+  @Nullable
+  String scheme(HttpServerAttributesGetter<REQUEST, ?> serverGetter) {
+    if (!schemeFetched) {
+      scheme = serverGetter.getScheme(request);
+      schemeFetched = true;
+    }
+    return scheme;
+  }
+
+  @Nullable
+  private static String firstHeaderValue(List<String> values) {
+    return values.isEmpty() ? null : values.get(0);
+  }
+
+  private void parseHost() {
+    if (hostParsed) {
+      return;
+    }
+    hostParsed = true;
+    String host = lookUpRequestHeader("host");
+    if (host == null) {
+      return;
+    }
+    int hostHeaderSeparator = host.indexOf(':');
+    if (hostHeaderSeparator == -1) {
+      hostName = host;
+      return;
+    }
+    hostName = host.substring(0, hostHeaderSeparator);
+    try {
+      hostPort = Integer.parseInt(host.substring(hostHeaderSeparator + 1));
+    } catch (NumberFormatException e) {
+      logger.log(FINE, e.getMessage(), e);
+    }
+  }
+}
@@ -53,7 +53,8 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
     return new HttpServerAttributesExtractorBuilder<>(httpAttributesGetter, netAttributesGetter);
   }
 
-  private final InternalNetServerAttributesExtractor<REQUEST> internalNetExtractor;
+  private final InternalNetServerAttributesExtractor<HttpExchangeValues<REQUEST, RESPONSE>>
+      internalNetExtractor;
   private final Function<Context, String> httpRouteHolderGetter;
 
   HttpServerAttributesExtractor(
@@ -79,29 +80,31 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
     super(httpAttributesGetter, capturedRequestHeaders, capturedResponseHeaders);
     internalNetExtractor =
         new InternalNetServerAttributesExtractor<>(
-            netAttributesGetter,
+            new HttpNetServerAttributesGetter<>(netAttributesGetter),
             this::shouldCaptureHostPort,
-            new HttpNetNamePortGetter<>(httpAttributesGetter));
+            new HttpNetNamePortGetter<>());
     this.httpRouteHolderGetter = httpRouteHolderGetter;
   }
 
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
-    super.onStart(attributes, parentContext, request);
+    HttpExchangeValues<REQUEST, RESPONSE> values = startValues(request);
+    onStart(attributes, values);
 
     internalSet(attributes, SemanticAttributes.HTTP_FLAVOR, getter.getFlavor(request));
-    String forwardedProto = forwardedProto(request);
-    String value = forwardedProto != null ? forwardedProto : getter.getScheme(request);
+    String forwarded = values.lookUpRequestHeader("forwarded");
+    String forwardedProto = forwardedProto(values, forwarded);
+    String value = forwardedProto != null ? forwardedProto : values.scheme(getter);
     internalSet(attributes, SemanticAttributes.HTTP_SCHEME, value);
     internalSet(attributes, SemanticAttributes.HTTP_TARGET, getter.getTarget(request));
     internalSet(attributes, SemanticAttributes.HTTP_ROUTE, getter.getRoute(request));
-    internalSet(attributes, SemanticAttributes.HTTP_CLIENT_IP, clientIp(request));
+    internalSet(attributes, SemanticAttributes.HTTP_CLIENT_IP, clientIp(values, forwarded));
 
-    internalNetExtractor.onStart(attributes, request);
+    internalNetExtractor.onStart(attributes, values);
   }
 
-  private boolean shouldCaptureHostPort(int port, REQUEST request) {
-    String scheme = getter.getScheme(request);
+  private boolean shouldCaptureHostPort(int port, HttpExchangeValues<REQUEST, RESPONSE> values) {
+    String scheme = values.scheme(getter);
     if (scheme == null) {
       return true;
     }
@@ -120,14 +123,14 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
       @Nullable RESPONSE response,
       @Nullable Throwable error) {
 
-    super.onEnd(attributes, context, request, response, error);
+    onEnd(attributes, endValues(request, response), error);
     internalSet(attributes, SemanticAttributes.HTTP_ROUTE, httpRouteHolderGetter.apply(context));
   }
 
   @Nullable
-  private String forwardedProto(REQUEST request) {
+  private static String forwardedProto(
+      HttpExchangeValues<?, ?> values, @Nullable String forwarded) {
     // try Forwarded
-    String forwarded = firstHeaderValue(getter.getRequestHeader(request, "forwarded"));
     if (forwarded != null) {
       forwarded = extractProtoFromForwardedHeader(forwarded);
       if (forwarded != null) {
@@ -136,7 +139,7 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
     }
 
     // try X-Forwarded-Proto
-    forwarded = firstHeaderValue(getter.getRequestHeader(request, "x-forwarded-proto"));
+    forwarded = values.lookUpRequestHeader("x-forwarded-proto");
     if (forwarded != null) {
       return extractProtoFromForwardedProtoHeader(forwarded);
     }
@@ -145,9 +148,8 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
   }
 
   @Nullable
-  private String clientIp(REQUEST request) {
+  private static String clientIp(HttpExchangeValues<?, ?> values, @Nullable String forwarded) {
     // try Forwarded
-    String forwarded = firstHeaderValue(getter.getRequestHeader(request, "forwarded"));
     if (forwarded != null) {
       forwarded = extractClientIpFromForwardedHeader(forwarded);
       if (forwarded != null) {
@@ -156,7 +158,7 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
     }
 
     // try X-Forwarded-For
-    forwarded = firstHeaderValue(getter.getRequestHeader(request, "x-forwarded-for"));
+    forwarded = values.lookUpRequestHeader("x-forwarded-for");
     if (forwarded != null) {
       return extractClientIpFromForwardedForHeader(forwarded);
     }
@@ -172,4 +174,63 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
   public SpanKey internalGetSpanKey() {
     return SpanKey.HTTP_SERVER;
   }
+
+  /** Passes the request of the {@link HttpExchangeValues} to the net attributes getter. */
+  private static final class HttpNetServerAttributesGetter<REQUEST, RESPONSE>
+      implements NetServerAttributesGetter<HttpExchangeValues<REQUEST, RESPONSE>> {
+
+    private final NetServerAttributesGetter<REQUEST> delegate;
+
+    HttpNetServerAttributesGetter(NetServerAttributesGetter<REQUEST> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Nullable
+    @Override
+    public String getTransport(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getTransport(values.request);
+    }
+
+    @Nullable
+    @Override
+    public String getHostName(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getHostName(values.request);
+    }
+
+    @Nullable
+    @Override
+    public Integer getHostPort(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getHostPort(values.request);
+    }
+
+    @Nullable
+    @Override
+    public String getSockFamily(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getSockFamily(values.request);
+    }
+
+    @Nullable
+    @Override
+    public String getSockPeerAddr(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getSockPeerAddr(values.request);
+    }
+
+    @Nullable
+    @Override
+    public Integer getSockPeerPort(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getSockPeerPort(values.request);
+    }
+
+    @Nullable
+    @Override
+    public String getSockHostAddr(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getSockHostAddr(values.request);
+    }
+
+    @Nullable
+    @Override
+    public Integer getSockHostPort(HttpExchangeValues<REQUEST, RESPONSE> values) {
+      return delegate.getSockHostPort(values.request);
+    }
+  }
 }
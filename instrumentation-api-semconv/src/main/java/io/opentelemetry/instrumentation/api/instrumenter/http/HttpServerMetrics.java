@@ -20,6 +20,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
@@ -87,14 +88,15 @@ public final class HttpServerMetrics implements OperationListener {
   public Context onStart(Context context, Attributes startAttributes, long startNanos) {
     activeRequests.add(1, applyActiveRequestsView(startAttributes), context);
 
-    return context.with(
+    return InstrumentationState.with(
+        context,
         HTTP_SERVER_REQUEST_METRICS_STATE,
         new AutoValue_HttpServerMetrics_State(startAttributes, startNanos));
   }
 
   @Override
   public void onEnd(Context context, Attributes endAttributes, long endNanos) {
-    State state = context.get(HTTP_SERVER_REQUEST_METRICS_STATE);
+    State state = InstrumentationState.get(context, HTTP_SERVER_REQUEST_METRICS_STATE);
     if (state == null) {
       logger.log(
           FINE,
@@ -7,59 +7,48 @@ package io.opentelemetry.instrumentation.api.instrumenter.rpc;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.internal.AttributesView;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.function.BiConsumer;
 
 // this is temporary, see
 // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/3962#issuecomment-906606325
-@SuppressWarnings("rawtypes")
 final class MetricsView {
 
-  private static final Set<AttributeKey> alwaysInclude = buildAlwaysInclude();
-  private static final Set<AttributeKey> clientView = buildClientView();
-  private static final Set<AttributeKey> serverView = buildServerView();
-  private static final Set<AttributeKey> serverFallbackView = buildServerFallbackView();
+  private static final AttributesView clientView = buildClientView();
+  private static final AttributesView serverView = buildServerView();
+  private static final AttributesView serverFallbackView = buildServerFallbackView();
 
-  private static Set<AttributeKey> buildAlwaysInclude() {
-    // the list of recommended metrics attributes is from
-    // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/metrics/semantic_conventions/rpc.md#attributes
-    Set<AttributeKey> view = new HashSet<>();
-    view.add(SemanticAttributes.RPC_SYSTEM);
-    view.add(SemanticAttributes.RPC_SERVICE);
-    view.add(SemanticAttributes.RPC_METHOD);
-    view.add(SemanticAttributes.RPC_GRPC_STATUS_CODE);
-    return view;
+  // the list of recommended metrics attributes is from
+  // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/metrics/semantic_conventions/rpc.md#attributes
+  private static AttributesView buildView(AttributeKey<?>... additionalKeys) {
+    AttributeKey<?>[] keys = new AttributeKey<?>[4 + additionalKeys.length];
+    keys[0] = SemanticAttributes.RPC_SYSTEM;
+    keys[1] = SemanticAttributes.RPC_SERVICE;
+    keys[2] = SemanticAttributes.RPC_METHOD;
+    keys[3] = SemanticAttributes.RPC_GRPC_STATUS_CODE;
+    System.arraycopy(additionalKeys, 0, keys, 4, additionalKeys.length);
+    return AttributesView.create(keys);
   }
 
-  private static Set<AttributeKey> buildClientView() {
+  private static AttributesView buildClientView() {
     // the list of rpc client metrics attributes is from
     // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/metrics/semantic_conventions/rpc.md#attributes
-    Set<AttributeKey> view = new HashSet<>(alwaysInclude);
-    view.add(SemanticAttributes.NET_PEER_NAME);
-    view.add(SemanticAttributes.NET_PEER_PORT);
-    view.add(SemanticAttributes.NET_TRANSPORT);
-    return view;
+    return buildView(
+        SemanticAttributes.NET_PEER_NAME,
+        SemanticAttributes.NET_PEER_PORT,
+        SemanticAttributes.NET_TRANSPORT);
   }
 
-  private static Set<AttributeKey> buildServerView() {
+  private static AttributesView buildServerView() {
     // the list of rpc server metrics attributes is from
     // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/metrics/semantic_conventions/rpc.md#attributes
-    Set<AttributeKey> view = new HashSet<>(alwaysInclude);
-    view.add(SemanticAttributes.NET_HOST_NAME);
-    view.add(SemanticAttributes.NET_TRANSPORT);
-    return view;
+    return buildView(SemanticAttributes.NET_HOST_NAME, SemanticAttributes.NET_TRANSPORT);
   }
 
-  private static Set<AttributeKey> buildServerFallbackView() {
+  private static AttributesView buildServerFallbackView() {
     // the list of rpc server metrics attributes is from
     // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/metrics/semantic_conventions/rpc.md#attributes
-    Set<AttributeKey> view = new HashSet<>(alwaysInclude);
-    view.add(SemanticAttributes.NET_SOCK_HOST_ADDR);
-    view.add(SemanticAttributes.NET_TRANSPORT);
-    return view;
+    return buildView(SemanticAttributes.NET_SOCK_HOST_ADDR, SemanticAttributes.NET_TRANSPORT);
   }
 
   private static <T> boolean containsAttribute(
@@ -68,35 +57,15 @@ final class MetricsView {
   }
 
   static Attributes applyClientView(Attributes startAttributes, Attributes endAttributes) {
-    return applyView(clientView, startAttributes, endAttributes);
+    return clientView.apply(startAttributes, endAttributes);
   }
 
   static Attributes applyServerView(Attributes startAttributes, Attributes endAttributes) {
-    Set<AttributeKey> fullSet = serverView;
+    AttributesView view = serverView;
     if (!containsAttribute(SemanticAttributes.NET_HOST_NAME, startAttributes, endAttributes)) {
-      fullSet = serverFallbackView;
+      view = serverFallbackView;
     }
-    return applyView(fullSet, startAttributes, endAttributes);
-  }
-
-  static Attributes applyView(
-      Set<AttributeKey> view, Attributes startAttributes, Attributes endAttributes) {
-    AttributesBuilder filtered = Attributes.builder();
-    applyView(filtered, startAttributes, view);
-    applyView(filtered, endAttributes, view);
-    return filtered.build();
-  }
-
-  @SuppressWarnings("unchecked")
-  private static void applyView(
-      AttributesBuilder filtered, Attributes attributes, Set<AttributeKey> view) {
-    attributes.forEach(
-        (BiConsumer<AttributeKey, Object>)
-            (key, value) -> {
-              if (view.contains(key)) {
-                filtered.put(key, value);
-              }
-            });
+    return view.apply(startAttributes, endAttributes);
   }
 
   private MetricsView() {}
@@ -8,14 +8,14 @@ package io.opentelemetry.instrumentation.api.instrumenter.rpc;
 import static io.opentelemetry.instrumentation.api.instrumenter.rpc.MetricsView.applyClientView;
 import static java.util.logging.Level.FINE;
 
-import com.google.auto.value.AutoValue;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongHistogram;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.rpc.internal.RpcMessageRecorder;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
@@ -28,12 +28,12 @@ public final class RpcClientMetrics implements OperationListener {
 
   private static final double NANOS_PER_MS = TimeUnit.MILLISECONDS.toNanos(1);
 
-  private static final ContextKey<RpcClientMetrics.State> RPC_CLIENT_REQUEST_METRICS_STATE =
-      ContextKey.named("rpc-client-request-metrics-state");
-
   private static final Logger logger = Logger.getLogger(RpcClientMetrics.class.getName());
 
   private final DoubleHistogram clientDurationHistogram;
+  private final RpcMessageRecorder.SizeHistograms sizeHistograms;
+  private final LongHistogram clientRequestsPerRpc;
+  private final LongHistogram clientResponsesPerRpc;
 
   private RpcClientMetrics(Meter meter) {
     clientDurationHistogram =
@@ -42,6 +42,40 @@ public final class RpcClientMetrics implements OperationListener {
             .setDescription("The duration of an outbound RPC invocation")
             .setUnit("ms")
             .build();
+    LongHistogram requestSize =
+        meter
+            .histogramBuilder("rpc.client.request.size")
+            .setDescription("The size of RPC request messages (uncompressed)")
+            .setUnit("By")
+            .ofLongs()
+            .build();
+    LongHistogram responseSize =
+        meter
+            .histogramBuilder("rpc.client.response.size")
+            .setDescription("The size of RPC response messages (uncompressed)")
+            .setUnit("By")
+            .ofLongs()
+            .build();
+    // the sizes are recorded per message, before the end attributes are known
+    sizeHistograms =
+        new RpcMessageRecorder.SizeHistograms(
+            requestSize,
+            responseSize,
+            startAttributes -> applyClientView(startAttributes, Attributes.empty()));
+    clientRequestsPerRpc =
+        meter
+            .histogramBuilder("rpc.client.requests_per_rpc")
+            .setDescription("The number of request messages per RPC")
+            .setUnit("{count}")
+            .ofLongs()
+            .build();
+    clientResponsesPerRpc =
+        meter
+            .histogramBuilder("rpc.client.responses_per_rpc")
+            .setDescription("The number of response messages per RPC")
+            .setUnit("{count}")
+            .ofLongs()
+            .build();
   }
 
   /**
@@ -55,14 +89,13 @@ public final class RpcClientMetrics implements OperationListener {
 
   @Override
   public Context onStart(Context context, Attributes startAttributes, long startNanos) {
-    return context.with(
-        RPC_CLIENT_REQUEST_METRICS_STATE,
-        new AutoValue_RpcClientMetrics_State(startAttributes, startNanos));
+    return RpcMessageRecorder.client(sizeHistograms, context, startAttributes, startNanos)
+        .storeInContext(context);
   }
 
   @Override
   public void onEnd(Context context, Attributes endAttributes, long endNanos) {
-    State state = context.get(RPC_CLIENT_REQUEST_METRICS_STATE);
+    RpcMessageRecorder state = RpcMessageRecorder.clientFromContext(context);
     if (state == null) {
       logger.log(
           FINE,
@@ -70,17 +103,13 @@ public final class RpcClientMetrics implements OperationListener {
           context);
       return;
     }
+    Attributes attributes = applyClientView(state.getStartAttributes(), endAttributes);
     clientDurationHistogram.record(
-        (endNanos - state.startTimeNanos()) / NANOS_PER_MS,
-        applyClientView(state.startAttributes(), endAttributes),
-        context);
-  }
+        (endNanos - state.getStartTimeNanos()) / NANOS_PER_MS, attributes, context);
 
-  @AutoValue
-  abstract static class State {
-
-    abstract Attributes startAttributes();
-
-    abstract long startTimeNanos();
+    if (state.hasRecorded()) {
+      clientRequestsPerRpc.record(state.getRequests(), attributes, context);
+      clientResponsesPerRpc.record(state.getResponses(), attributes, context);
+    }
   }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.rpc.internal;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * The state the RPC metrics keep for a single RPC: the start attributes and time, and the number of
+ * request and response messages. The size of every message is recorded right away, with the start
+ * attributes, since the end attributes are not known yet; the number of messages is recorded when
+ * the RPC ends, with the same attributes as its duration. Unlike span events, this takes constant
+ * memory however many messages a streaming RPC sends.
+ *
+ * <p>The RPC metrics store a recorder in the context of every RPC anyway, in place of a separate
+ * state, so instrumentations that do not record messages pay nothing for it. Instrumentations that
+ * do look it up with {@link #clientFromContext(Context)} or {@link #serverFromContext(Context)} and
+ * call {@link #recordRequest(long)} and {@link #recordResponse(long)} for every message. The
+ * messages sent by a client and received by a server are requests, the others are responses.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class RpcMessageRecorder {
+
+  // the client and server recorders are kept apart, so that a client RPC made while serving an RPC
+  // does not find the recorder of the server RPC when client metrics are not enabled
+  private static final ContextKey<RpcMessageRecorder> CLIENT_KEY =
+      ContextKey.named("opentelemetry-rpc-client-message-recorder");
+  private static final ContextKey<RpcMessageRecorder> SERVER_KEY =
+      ContextKey.named("opentelemetry-rpc-server-message-recorder");
+
+  private static final AtomicLongFieldUpdater<RpcMessageRecorder> REQUESTS_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(RpcMessageRecorder.class, "requests");
+  private static final AtomicLongFieldUpdater<RpcMessageRecorder> RESPONSES_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(RpcMessageRecorder.class, "responses");
+
+  private final ContextKey<RpcMessageRecorder> key;
+  private final SizeHistograms sizeHistograms;
+  private final Context context;
+  private final Attributes startAttributes;
+  private final long startTimeNanos;
+  // the start attributes with the metrics view applied, computed with the first size
+  @Nullable private volatile Attributes sizeAttributes;
+
+  // Used by REQUESTS_UPDATER and RESPONSES_UPDATER
+  private volatile long requests;
+  private volatile long responses;
+
+  private RpcMessageRecorder(
+      ContextKey<RpcMessageRecorder> key,
+      SizeHistograms sizeHistograms,
+      Context context,
+      Attributes startAttributes,
+      long startTimeNanos) {
+    this.key = key;
+    this.sizeHistograms = sizeHistograms;
+    this.context = context;
+    this.startAttributes = startAttributes;
+    this.startTimeNanos = startTimeNanos;
+  }
+
+  /**
+   * Returns a recorder for a client RPC, {@code context} is the context of the RPC, which the
+   * sizes are recorded with.
+   */
+  public static RpcMessageRecorder client(
+      SizeHistograms sizeHistograms,
+      Context context,
+      Attributes startAttributes,
+      long startTimeNanos) {
+    return new RpcMessageRecorder(
+        CLIENT_KEY, sizeHistograms, context, startAttributes, startTimeNanos);
+  }
+
+  /**
+   * Returns a recorder for a server RPC, {@code context} is the context of the RPC, which the
+   * sizes are recorded with.
+   */
+  public static RpcMessageRecorder server(
+      SizeHistograms sizeHistograms,
+      Context context,
+      Attributes startAttributes,
+      long startTimeNanos) {
+    return new RpcMessageRecorder(
+        SERVER_KEY, sizeHistograms, context, startAttributes, startTimeNanos);
+  }
+
+  /**
+   * Returns the recorder of the client RPC of {@code context}, or null if RPC client metrics are
+   * not enabled.
+   */
+  @Nullable
+  public static RpcMessageRecorder clientFromContext(Context context) {
+    return InstrumentationState.get(context, CLIENT_KEY);
+  }
+
+  /**
+   * Returns the recorder of the server RPC of {@code context}, or null if RPC server metrics are
+   * not enabled.
+   */
+  @Nullable
+  public static RpcMessageRecorder serverFromContext(Context context) {
+    return InstrumentationState.get(context, SERVER_KEY);
+  }
+
+  public Context storeInContext(Context context) {
+    return InstrumentationState.with(context, key, this);
+  }
+
+  public Attributes getStartAttributes() {
+    return startAttributes;
+  }
+
+  public long getStartTimeNanos() {
+    return startTimeNanos;
+  }
+
+  /**
+   * Records a request message of {@code size} bytes, uncompressed, or of unknown size if {@code
+   * size} is negative.
+   */
+  public void recordRequest(long size) {
+    REQUESTS_UPDATER.incrementAndGet(this);
+    if (size >= 0) {
+      sizeHistograms.requestSize.record(size, sizeAttributes(), context);
+    }
+  }
+
+  /**
+   * Records a response message of {@code size} bytes, uncompressed, or of unknown size if {@code
+   * size} is negative.
+   */
+  public void recordResponse(long size) {
+    RESPONSES_UPDATER.incrementAndGet(this);
+    if (size >= 0) {
+      sizeHistograms.responseSize.record(size, sizeAttributes(), context);
+    }
+  }
+
+  private Attributes sizeAttributes() {
+    Attributes attributes = sizeAttributes;
+    if (attributes == null) {
+      // racing threads compute the same attributes
+      attributes = sizeHistograms.startView.apply(startAttributes);
+      sizeAttributes = attributes;
+    }
+    return attributes;
+  }
+
+  /**
+   * Returns whether any message was recorded; instrumentations that do not record messages do not
+   * record the number of messages either.
+   */
+  public boolean hasRecorded() {
+    return requests > 0 || responses > 0;
+  }
+
+  public long getRequests() {
+    return requests;
+  }
+
+  public long getResponses() {
+    return responses;
+  }
+
+  /**
+   * The histograms of the message sizes of the client or the server RPC metrics, and the metrics
+   * view that is applied to the start attributes they are recorded with.
+   */
+  public static final class SizeHistograms {
+    private final LongHistogram requestSize;
+    private final LongHistogram responseSize;
+    private final UnaryOperator<Attributes> startView;
+
+    public SizeHistograms(
+        LongHistogram requestSize,
+        LongHistogram responseSize,
+        UnaryOperator<Attributes> startView) {
+      this.requestSize = requestSize;
+      this.responseSize = responseSize;
+      this.startView = startView;
+    }
+  }
+}
@@ -58,6 +58,22 @@ public class SqlStatementSanitizerTest {
     assertThat(result).isEqualTo(expected);
   }
 
+  @Test
+  void mainTableIsExtractedAfterTheLimit() {
+    StringBuilder sb = new StringBuilder("SELECT ");
+    for (int i = 0; i < 4000; i++) {
+      sb.append("column").append(i).append(", ");
+    }
+    sb.append("last FROM table WHERE id = 123");
+    String query = sb.toString();
+
+    SqlStatementInfo result = SqlStatementSanitizer.create(true).sanitize(query);
+
+    SqlStatementInfo expected =
+        SqlStatementInfo.create(query.substring(0, AutoSqlSanitizer.LIMIT), "SELECT", "table");
+    assertThat(result).isEqualTo(expected);
+  }
+
   @Test
   void lotsOfTicksDontCauseStackOverflowOrLongRuntimes() {
     String s = "'";
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SqlStatementShapeTest {
+
+  @Test
+  void sameShape() {
+    assertSameShape(
+        "SELECT * FROM t WHERE id IN (1, 2) AND a = 'x'",
+        "SELECT * FROM t WHERE id IN (3, 4) AND a = 'it''s'",
+        SqlDialect.DEFAULT);
+    assertSameShape(
+        "select col1 from t where x=-1.5e+3",
+        "select col1 from t where x=0x1F",
+        SqlDialect.DEFAULT);
+    assertSameShape("select $$dollar$$ from t", "select 12 from t", SqlDialect.DEFAULT);
+    assertSameShape("/* 123 */ select 1", "/* 456 */ select 'a'", SqlDialect.DEFAULT);
+    assertSameShape("select \"a\" from t", "select \"b\" from t", SqlDialect.COUCHBASE);
+  }
+
+  @Test
+  void differentShape() {
+    assertDifferentShape(
+        "SELECT * FROM t WHERE id IN (1, 2)", "SELECT * FROM t WHERE id IN (1, 2, 3)");
+    assertDifferentShape("select col1 from t", "select col2 from t");
+    assertDifferentShape("select \"a\" from t", "select \"b\" from t");
+    assertDifferentShape("select `a` from t", "select `b` from t");
+  }
+
+  @ParameterizedTest
+  @EnumSource(SqlDialect.class)
+  void statementsWithSameShapeAreSanitizedIdentically(SqlDialect dialect) {
+    String alphabet = "ab_1.+-eExX0 '\"`$(),*/";
+    Random random = new Random(0);
+    for (int i = 0; i < 20_000; i++) {
+      String first = randomStatement(random, alphabet);
+      String second = replaceDigits(random, first);
+      SqlStatementSanitizer.CacheKey firstKey =
+          SqlStatementSanitizer.CacheKey.create(first, dialect);
+      SqlStatementSanitizer.CacheKey secondKey =
+          SqlStatementSanitizer.CacheKey.create(second, dialect);
+      if (firstKey.equals(secondKey)) {
+        assertThat(firstKey.hashCode()).isEqualTo(secondKey.hashCode());
+        assertThat(AutoSqlSanitizer.sanitize(second, dialect))
+            .describedAs("'%s' and '%s'", first, second)
+            .isEqualTo(AutoSqlSanitizer.sanitize(first, dialect));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(SqlDialect.class)
+  void nonAsciiStatementsAreNotNormalized(SqlDialect dialect) {
+    assertThat(SqlStatementShape.hash("select é1 from t", dialect))
+        .isEqualTo(SqlStatementShape.UNSUPPORTED);
+    assertThat(SqlStatementShape.hash("select 1 from t where a = 'é'", dialect))
+        .isNotEqualTo(SqlStatementShape.UNSUPPORTED);
+  }
+
+  private static void assertSameShape(String first, String second, SqlDialect dialect) {
+    assertThat(SqlStatementShape.hash(first, dialect))
+        .isNotEqualTo(SqlStatementShape.UNSUPPORTED)
+        .isEqualTo(SqlStatementShape.hash(second, dialect));
+    assertThat(SqlStatementShape.sameShape(first, second, dialect)).isTrue();
+    assertThat(AutoSqlSanitizer.sanitize(second, dialect))
+        .isEqualTo(AutoSqlSanitizer.sanitize(first, dialect));
+  }
+
+  private static void assertDifferentShape(String first, String second) {
+    assertThat(SqlStatementSanitizer.CacheKey.create(first, SqlDialect.DEFAULT))
+        .isNotEqualTo(SqlStatementSanitizer.CacheKey.create(second, SqlDialect.DEFAULT));
+  }
+
+  private static String randomStatement(Random random, String alphabet) {
+    StringBuilder sb = new StringBuilder();
+    int length = random.nextInt(30);
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
+
+  private static String replaceDigits(Random random, String statement) {
+    StringBuilder sb = new StringBuilder(statement);
+    for (int i = 0; i < sb.length(); i++) {
+      if (Character.isDigit(sb.charAt(i)) || random.nextInt(10) == 0) {
+        sb.setCharAt(i, (char) ('0' + random.nextInt(10)));
+      }
+    }
+    return sb.toString();
+  }
+}
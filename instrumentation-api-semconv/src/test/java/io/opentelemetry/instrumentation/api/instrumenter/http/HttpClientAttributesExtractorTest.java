@@ -22,6 +22,7 @@ import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
@@ -242,6 +243,159 @@ class HttpClientAttributesExtractorTest {
             entry(SemanticAttributes.NET_PEER_PORT, 777L));
   }
 
+  /** Counts the header lookups, and leaves the batch methods at their defaults. */
+  static class CountingHttpClientAttributesGetter extends TestHttpClientAttributesGetter {
+
+    final Map<String, Integer> requestHeaderCalls = new HashMap<>();
+    final Map<String, Integer> responseHeaderCalls = new HashMap<>();
+    int urlCalls;
+
+    @Override
+    public String getUrl(Map<String, String> request) {
+      urlCalls++;
+      return super.getUrl(request);
+    }
+
+    @Override
+    public List<String> getRequestHeader(Map<String, String> request, String name) {
+      requestHeaderCalls.merge(name, 1, Integer::sum);
+      return super.getRequestHeader(request, name);
+    }
+
+    @Override
+    public List<String> getResponseHeader(
+        Map<String, String> request, Map<String, String> response, String name) {
+      responseHeaderCalls.merge(name, 1, Integer::sum);
+      return super.getResponseHeader(request, response, name);
+    }
+  }
+
+  /** Fetches the headers in batches, and counts the batches. */
+  static class BatchingHttpClientAttributesGetter extends CountingHttpClientAttributesGetter {
+
+    int requestHeadersCalls;
+    int responseHeadersCalls;
+
+    @Override
+    public Map<String, List<String>> getRequestHeaders(
+        Map<String, String> request, Set<String> names) {
+      requestHeadersCalls++;
+      return super.getRequestHeaders(request, names);
+    }
+
+    @Override
+    public Map<String, List<String>> getResponseHeaders(
+        Map<String, String> request, Map<String, String> response, Set<String> names) {
+      responseHeadersCalls++;
+      return super.getResponseHeaders(request, response, names);
+    }
+  }
+
+  @Test
+  void callsDefaultGetterOncePerHeader() {
+    Map<String, String> request = new HashMap<>();
+    request.put("url", "http://github.com");
+    request.put("header.host", "github.com:8080");
+    request.put("header.user-agent", "okhttp 3.x");
+    request.put("header.custom-request-header", "123");
+
+    Map<String, String> response = new HashMap<>();
+    response.put("statusCode", "202");
+    response.put("header.content-length", "20");
+    response.put("header.custom-response-header", "654");
+
+    CountingHttpClientAttributesGetter getter = new CountingHttpClientAttributesGetter();
+    HttpClientAttributesExtractor<Map<String, String>, Map<String, String>> extractor =
+        HttpClientAttributesExtractor.builder(getter, new TestNetClientAttributesGetter())
+            .setCapturedRequestHeaders(singletonList("Custom-Request-Header"))
+            .setCapturedResponseHeaders(singletonList("Custom-Response-Header"))
+            .build();
+
+    AttributesBuilder startAttributes = Attributes.builder();
+    extractor.onStart(startAttributes, Context.root(), request);
+    assertThat(startAttributes.build())
+        .containsEntry(SemanticAttributes.NET_PEER_NAME, "github.com")
+        .containsEntry(SemanticAttributes.NET_PEER_PORT, 8080L);
+
+    assertThat(getter.urlCalls).isEqualTo(1);
+    // the host header is parsed once, for both the peer name and the port
+    assertThat(getter.requestHeaderCalls)
+        .containsOnly(entry("host", 1), entry("user-agent", 1), entry("custom-request-header", 1));
+
+    getter.requestHeaderCalls.clear();
+    AttributesBuilder endAttributes = Attributes.builder();
+    extractor.onEnd(endAttributes, Context.root(), request, response, null);
+    assertThat(endAttributes.build())
+        .containsEntry(SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH, 20L)
+        .containsEntry(
+            AttributeKey.stringArrayKey("http.response.header.custom_response_header"),
+            singletonList("654"));
+
+    assertThat(getter.requestHeaderCalls)
+        .containsOnly(entry("host", 1), entry("content-length", 1));
+    assertThat(getter.responseHeaderCalls)
+        .containsOnly(entry("content-length", 1), entry("custom-response-header", 1));
+  }
+
+  @Test
+  void doesNotFetchHostHeaderWhenPeerIsKnown() {
+    Map<String, String> request = new HashMap<>();
+    request.put("url", "http://github.com");
+    request.put("header.host", "github.com:8080");
+    request.put("peerName", "github.com");
+    request.put("peerPort", "123");
+
+    Map<String, String> response = new HashMap<>();
+    response.put("statusCode", "202");
+
+    CountingHttpClientAttributesGetter getter = new CountingHttpClientAttributesGetter();
+    HttpClientAttributesExtractor<Map<String, String>, Map<String, String>> extractor =
+        HttpClientAttributesExtractor.create(getter, new TestNetClientAttributesGetter());
+
+    extractor.onStart(Attributes.builder(), Context.root(), request);
+    extractor.onEnd(Attributes.builder(), Context.root(), request, response, null);
+
+    assertThat(getter.requestHeaderCalls).doesNotContainKey("host");
+  }
+
+  @Test
+  void fetchesHeadersInBatchesWhenGetterSupportsIt() {
+    Map<String, String> request = new HashMap<>();
+    request.put("url", "http://github.com");
+    request.put("header.host", "github.com:8080");
+    request.put("header.user-agent", "okhttp 3.x");
+    request.put("header.custom-request-header", "123");
+
+    Map<String, String> response = new HashMap<>();
+    response.put("statusCode", "202");
+    response.put("header.content-length", "20");
+    response.put("header.custom-response-header", "654");
+
+    BatchingHttpClientAttributesGetter getter = new BatchingHttpClientAttributesGetter();
+    HttpClientAttributesExtractor<Map<String, String>, Map<String, String>> extractor =
+        HttpClientAttributesExtractor.builder(getter, new TestNetClientAttributesGetter())
+            .setCapturedRequestHeaders(singletonList("Custom-Request-Header"))
+            .setCapturedResponseHeaders(singletonList("Custom-Response-Header"))
+            .build();
+
+    extractor.onStart(Attributes.builder(), Context.root(), request);
+    assertThat(getter.requestHeadersCalls).isEqualTo(1);
+
+    AttributesBuilder endAttributes = Attributes.builder();
+    extractor.onEnd(endAttributes, Context.root(), request, response, null);
+    assertThat(endAttributes.build())
+        .containsEntry(SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH, 20L)
+        .containsEntry(
+            AttributeKey.stringArrayKey("http.response.header.custom_response_header"),
+            singletonList("654"));
+
+    // once in onStart() and once in onEnd()
+    assertThat(getter.requestHeadersCalls).isEqualTo(2);
+    assertThat(getter.responseHeadersCalls).isEqualTo(1);
+    // the host header is only a fallback, so it is fetched on its own rather than in the batch
+    assertThat(getter.requestHeaderCalls).containsEntry("host", 2);
+  }
+
   @ParameterizedTest
   @ArgumentsSource(DefaultPeerPortArgumentSource.class)
   void defaultPeerPort(int peerPort, String url) {
@@ -15,7 +15,9 @@ import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
+import io.opentelemetry.instrumentation.api.instrumenter.rpc.internal.RpcMessageRecorder;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.concurrent.TimeUnit;
@@ -123,6 +125,77 @@ class RpcClientMetricsTest {
                                             equalTo(SemanticAttributes.NET_TRANSPORT, "ip_tcp")))));
   }
 
+  @Test
+  void collectsMessageMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.createDelta();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+
+    OperationListener listener = RpcClientMetrics.get().create(meterProvider.get("test"));
+
+    Attributes requestAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.RPC_SYSTEM, "grpc")
+            .put(SemanticAttributes.RPC_METHOD, "exampleMethod")
+            .build();
+
+    Attributes responseAttributes =
+        Attributes.builder().put(SemanticAttributes.NET_PEER_NAME, "example.com").build();
+
+    Context context = listener.onStart(Context.root(), requestAttributes, nanos(100));
+
+    RpcMessageRecorder messageRecorder = RpcMessageRecorder.clientFromContext(context);
+    assertThat(messageRecorder).isNotNull();
+    messageRecorder.recordRequest(5);
+    messageRecorder.recordRequest(7);
+    // a response of unknown size is only counted
+    messageRecorder.recordResponse(-1);
+
+    // the sizes are recorded per message, with the start attributes
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("rpc.client.request.size")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasSum(12)
+                                        .hasCount(2)
+                                        .hasAttributesSatisfying(
+                                            equalTo(SemanticAttributes.RPC_SYSTEM, "grpc"),
+                                            equalTo(
+                                                SemanticAttributes.RPC_METHOD,
+                                                "exampleMethod")))));
+
+    listener.onEnd(context, responseAttributes, nanos(250));
+
+    // the numbers of messages are recorded at the end, with the attributes of the duration
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric -> assertThat(metric).hasName("rpc.client.duration"),
+            metric -> assertMessageCount(metric, "rpc.client.requests_per_rpc", 2),
+            metric -> assertMessageCount(metric, "rpc.client.responses_per_rpc", 1));
+  }
+
+  private static void assertMessageCount(MetricData metric, String name, long count) {
+    assertThat(metric)
+        .hasName(name)
+        .hasHistogramSatisfying(
+            histogram ->
+                histogram.hasPointsSatisfying(
+                    point ->
+                        point
+                            .hasSum(count)
+                            .hasCount(1)
+                            .hasAttributesSatisfying(
+                                equalTo(SemanticAttributes.RPC_SYSTEM, "grpc"),
+                                equalTo(SemanticAttributes.RPC_METHOD, "exampleMethod"),
+                                equalTo(SemanticAttributes.NET_PEER_NAME, "example.com"))));
+  }
+
   private static long nanos(int millis) {
     return TimeUnit.MILLISECONDS.toNanos(millis);
   }
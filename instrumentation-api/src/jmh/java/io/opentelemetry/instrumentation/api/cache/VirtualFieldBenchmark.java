@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.cache;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways a virtual field can be stored: a field injected into the owner class, the
+ * {@link Cache#weak()} fallback used before, and the {@link Cache#weakStriped()} fallback.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class VirtualFieldBenchmark {
+
+  @Param({"1000", "100000"})
+  int owners;
+
+  private Owner[] keys;
+  private Cache<Owner, Object> weakCache;
+  private Cache<Owner, Object> stripedCache;
+
+  @Setup
+  public void setUp() {
+    keys = new Owner[owners];
+    weakCache = Cache.weak();
+    stripedCache = Cache.weakStriped();
+    for (int i = 0; i < owners; i++) {
+      Owner key = new Owner();
+      key.injectedField = key;
+      weakCache.put(key, key);
+      stripedCache.put(key, key);
+      keys[i] = key;
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object threads01_injected_get() {
+    return randomKey().injectedField;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object threads01_weak_get() {
+    return weakCache.get(randomKey());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object threads01_striped_get() {
+    return stripedCache.get(randomKey());
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object threads08_injected_get() {
+    return randomKey().injectedField;
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object threads08_weak_get() {
+    return weakCache.get(randomKey());
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object threads08_striped_get() {
+    return stripedCache.get(randomKey());
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_injected_set() {
+    Owner key = randomKey();
+    key.injectedField = key;
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_weak_set() {
+    Owner key = randomKey();
+    weakCache.put(key, key);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_striped_set() {
+    Owner key = randomKey();
+    stripedCache.put(key, key);
+  }
+
+  private Owner randomKey() {
+    return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+  }
+
+  static final class Owner {
+    volatile Object injectedField;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpClientMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// run with -prof gc (enabled by default in otel.jmh-conventions) and compare gc.alloc.rate.norm to
+// get the bytes allocated for the context entries of an operation
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class InstrumentationStateBenchmark {
+
+  private static final Instrumenter<String, Void> SERVER_INSTRUMENTER =
+      Instrumenter.<String, Void>builder(OpenTelemetry.noop(), "benchmark", request -> request)
+          .addContextCustomizer(HttpRouteHolder.get())
+          .addOperationMetrics(HttpServerMetrics.get())
+          .buildInstrumenter(SpanKindExtractor.alwaysServer());
+
+  private static final Instrumenter<String, Void> CLIENT_INSTRUMENTER =
+      Instrumenter.<String, Void>builder(OpenTelemetry.noop(), "benchmark", request -> request)
+          .addOperationMetrics(HttpClientMetrics.get())
+          .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+  // stand-ins for the context keys of the local root span, a span key, the metrics state and the
+  // route state, which used to be stored in the context one by one
+  private static final ContextKey<Object> KEY_1 = ContextKey.named("key-1");
+  private static final ContextKey<Object> KEY_2 = ContextKey.named("key-2");
+  private static final ContextKey<Object> KEY_3 = ContextKey.named("key-3");
+  private static final ContextKey<Object> KEY_4 = ContextKey.named("key-4");
+  private static final Object VALUE = new Object();
+
+  @Benchmark
+  public Context serverStartEnd() {
+    Context context = SERVER_INSTRUMENTER.start(Context.root(), "server");
+    SERVER_INSTRUMENTER.end(context, "server", null, null);
+    return context;
+  }
+
+  @Benchmark
+  public Context clientInsideServer() {
+    Context serverContext = SERVER_INSTRUMENTER.start(Context.root(), "server");
+    Context context = serverContext;
+    if (CLIENT_INSTRUMENTER.shouldStart(serverContext, "client")) {
+      context = CLIENT_INSTRUMENTER.start(serverContext, "client");
+      CLIENT_INSTRUMENTER.end(context, "client", null, null);
+    }
+    SERVER_INSTRUMENTER.end(serverContext, "server", null, null);
+    return context;
+  }
+
+  @Benchmark
+  public Context perKeyEntries() {
+    return Context.root()
+        .with(Span.getInvalid())
+        .with(KEY_1, VALUE)
+        .with(KEY_2, VALUE)
+        .with(KEY_3, VALUE)
+        .with(KEY_4, VALUE);
+  }
+
+  @Benchmark
+  public Context instrumentationStateEntry() {
+    Context context = InstrumentationState.start(Context.root()).with(Span.getInvalid());
+    context = InstrumentationState.with(context, KEY_1, VALUE);
+    context = InstrumentationState.with(context, KEY_2, VALUE);
+    context = InstrumentationState.with(context, KEY_3, VALUE);
+    context = InstrumentationState.with(context, KEY_4, VALUE);
+    InstrumentationState.publish(context);
+    return context;
+  }
+}
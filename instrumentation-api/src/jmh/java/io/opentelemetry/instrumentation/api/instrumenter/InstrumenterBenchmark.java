@@ -27,6 +27,8 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+// run with -prof gc (enabled by default in otel.jmh-conventions) and compare gc.alloc.rate.norm of
+// the default and the object reuse benchmarks to get the bytes allocated per operation
 @Fork(3)
 @Warmup(iterations = 10, time = 1)
 @Measurement(iterations = 5, time = 1)
@@ -35,15 +37,22 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Thread)
 public class InstrumenterBenchmark {
 
-  private static final Instrumenter<Void, Void> INSTRUMENTER =
-      Instrumenter.<Void, Void>builder(
-              OpenTelemetry.noop(),
-              "benchmark",
-              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
-          .addAttributesExtractor(
-              HttpClientAttributesExtractor.create(
-                  ConstantHttpAttributesGetter.INSTANCE, new ConstantNetAttributesGetter()))
-          .buildInstrumenter();
+  private static final Instrumenter<Void, Void> INSTRUMENTER = createInstrumenter(false);
+
+  private static final Instrumenter<Void, Void> INSTRUMENTER_WITH_OBJECT_REUSE =
+      createInstrumenter(true);
+
+  private static Instrumenter<Void, Void> createInstrumenter(boolean objectReuseEnabled) {
+    return Instrumenter.<Void, Void>builder(
+            OpenTelemetry.noop(),
+            "benchmark",
+            HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+        .addAttributesExtractor(
+            HttpClientAttributesExtractor.create(
+                ConstantHttpAttributesGetter.INSTANCE, new ConstantNetAttributesGetter()))
+        .setObjectReuseEnabled(objectReuseEnabled)
+        .buildInstrumenter();
+  }
 
   @Benchmark
   public Context start() {
@@ -57,6 +66,18 @@ public class InstrumenterBenchmark {
     return context;
   }
 
+  @Benchmark
+  public Context startWithObjectReuse() {
+    return INSTRUMENTER_WITH_OBJECT_REUSE.start(Context.root(), null);
+  }
+
+  @Benchmark
+  public Context startEndWithObjectReuse() {
+    Context context = INSTRUMENTER_WITH_OBJECT_REUSE.start(Context.root(), null);
+    INSTRUMENTER_WITH_OBJECT_REUSE.end(context, null, null, null);
+    return context;
+  }
+
   enum ConstantHttpAttributesGetter implements HttpClientAttributesGetter<Void, Void> {
     INSTANCE;
 
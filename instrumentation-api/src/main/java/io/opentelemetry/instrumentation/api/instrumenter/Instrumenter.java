@@ -11,6 +11,7 @@ import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -64,7 +65,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
 
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
-  private final String instrumentationName;
+  // initial guess of how many attributes a single extractor adds; the actual expected size is
+  // adjusted to the largest number of attributes seen so far
+  private static final int ATTRIBUTES_PER_EXTRACTOR = 4;
+
   private final Tracer tracer;
   private final SpanNameExtractor<? super REQUEST> spanNameExtractor;
   private final SpanKindExtractor<? super REQUEST> spanKindExtractor;
@@ -77,9 +81,13 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean enabled;
   private final SpanSuppressor spanSuppressor;
+  private final SupportabilityMetrics.SuppressedSpanCounters suppressedSpanCounters;
+  private final boolean objectReuseEnabled;
+  private final boolean reuseStartAttributes;
+  // only a sizing hint, racy updates are fine
+  private int expectedAttributesSize;
 
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
-    this.instrumentationName = builder.instrumentationName;
     this.tracer = builder.buildTracer();
     this.spanNameExtractor = builder.spanNameExtractor;
     this.spanKindExtractor = builder.spanKindExtractor;
@@ -91,6 +99,15 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.enabled = builder.enabled;
     this.spanSuppressor = builder.buildSpanSuppressor();
+    this.suppressedSpanCounters =
+        supportability.suppressedSpanCounters(builder.instrumentationName);
+    this.objectReuseEnabled = builder.objectReuseEnabled;
+    // start attributes are passed to context customizers and operation listeners, which may store
+    // them in the context (e.g. to compute metrics on end); they can be reused only when there is
+    // nobody to store them
+    this.reuseStartAttributes =
+        objectReuseEnabled && contextCustomizers.isEmpty() && operationListeners.isEmpty();
+    this.expectedAttributesSize = attributesExtractors.size() * ATTRIBUTES_PER_EXTRACTOR;
   }
 
   /**
@@ -111,7 +128,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     boolean suppressed = spanSuppressor.shouldSuppress(parentContext, spanKind);
 
     if (suppressed) {
-      supportability.recordSuppressedSpan(spanKind, instrumentationName);
+      suppressedSpanCounters.increment(spanKind);
     }
     return !suppressed;
   }
@@ -166,22 +183,64 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    ReusableObjects reusableObjects = objectReuseEnabled ? ReusableObjects.get() : null;
+
+    if (!spanLinksExtractors.isEmpty()) {
+      SpanLinksBuilderImpl spanLinksBuilder =
+          reusableObjects != null
+              ? reusableObjects.borrowSpanLinksBuilder(spanBuilder)
+              : new SpanLinksBuilderImpl(spanBuilder);
+      try {
+        for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+          spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+        }
+      } finally {
+        if (reusableObjects != null) {
+          reusableObjects.release(spanLinksBuilder);
+        }
+      }
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
+    UnsafeAttributes attributes =
+        reuseStartAttributes && reusableObjects != null
+            ? reusableObjects.borrowAttributes(expectedAttributesSize)
+            : new UnsafeAttributes(expectedAttributesSize);
+    try {
+      return doStartWithAttributes(
+          parentContext, request, startTime, spanKind, spanBuilder, attributes);
+    } finally {
+      if (reuseStartAttributes && reusableObjects != null) {
+        reusableObjects.release(attributes);
+      }
+    }
+  }
+
+  private Context doStartWithAttributes(
+      Context parentContext,
+      REQUEST request,
+      @Nullable Instant startTime,
+      SpanKind spanKind,
+      SpanBuilder spanBuilder,
+      UnsafeAttributes attributes) {
     for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
       extractor.onStart(attributes, parentContext, request);
     }
+    updateExpectedAttributesSize(attributes);
 
+    // the values that the instrumenter, context customizers and operation listeners store in the
+    // context are collected in a single record, instead of copying the context for every value;
+    // the record is only created before the first value is stored
     Context context = parentContext;
+    boolean stateStarted = false;
 
     // context customizers run before span start, so that they can have access to the parent span
     // context, and so that their additions to the context will be visible to span processors
-    for (ContextCustomizer<? super REQUEST> contextCustomizer : contextCustomizers) {
-      context = contextCustomizer.onStart(context, request, attributes);
+    if (!contextCustomizers.isEmpty()) {
+      context = InstrumentationState.start(context);
+      stateStarted = true;
+      for (ContextCustomizer<? super REQUEST> contextCustomizer : contextCustomizers) {
+        context = contextCustomizer.onStart(context, request, attributes);
+      }
     }
 
     boolean localRoot = LocalRootSpan.isLocalRoot(context);
@@ -190,6 +249,14 @@ public class Instrumenter<REQUEST, RESPONSE> {
     Span span = spanBuilder.setParent(context).startSpan();
     context = context.with(span);
 
+    if (!stateStarted
+        && (!operationListeners.isEmpty()
+            || localRoot
+            || spanSuppressor.storesInContext(spanKind))) {
+      context = InstrumentationState.start(context);
+      stateStarted = true;
+    }
+
     if (!operationListeners.isEmpty()) {
       // operation listeners run after span start, so that they have access to the current span
       // for capturing exemplars
@@ -203,7 +270,11 @@ public class Instrumenter<REQUEST, RESPONSE> {
       context = LocalRootSpan.store(context, span);
     }
 
-    return spanSuppressor.storeInContext(context, spanKind, span);
+    context = spanSuppressor.storeInContext(context, spanKind, span);
+    if (stateStarted) {
+      InstrumentationState.publish(context);
+    }
+    return context;
   }
 
   private void doEnd(
@@ -219,23 +290,45 @@ public class Instrumenter<REQUEST, RESPONSE> {
       span.recordException(error);
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onEnd(attributes, context, request, response, error);
-    }
-    span.setAllAttributes(attributes);
+    ReusableObjects reusableObjects = objectReuseEnabled ? ReusableObjects.get() : null;
 
-    if (!operationListeners.isEmpty()) {
-      long endNanos = getNanos(endTime);
-      ListIterator<? extends OperationListener> i =
-          operationListeners.listIterator(operationListeners.size());
-      while (i.hasPrevious()) {
-        i.previous().onEnd(context, attributes, endNanos);
+    UnsafeAttributes attributes =
+        reusableObjects != null
+            ? reusableObjects.borrowAttributes(expectedAttributesSize)
+            : new UnsafeAttributes(expectedAttributesSize);
+    try {
+      for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
+          attributesExtractors) {
+        extractor.onEnd(attributes, context, request, response, error);
+      }
+      updateExpectedAttributesSize(attributes);
+      span.setAllAttributes(attributes);
+
+      if (!operationListeners.isEmpty()) {
+        long endNanos = getNanos(endTime);
+        ListIterator<? extends OperationListener> i =
+            operationListeners.listIterator(operationListeners.size());
+        while (i.hasPrevious()) {
+          i.previous().onEnd(context, attributes, endNanos);
+        }
+      }
+    } finally {
+      if (reusableObjects != null) {
+        reusableObjects.release(attributes);
       }
     }
 
-    SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
-    spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
+    SpanStatusBuilderImpl spanStatusBuilder =
+        reusableObjects != null
+            ? reusableObjects.borrowSpanStatusBuilder(span)
+            : new SpanStatusBuilderImpl(span);
+    try {
+      spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
+    } finally {
+      if (reusableObjects != null) {
+        reusableObjects.release(spanStatusBuilder);
+      }
+    }
 
     if (endTime != null) {
       span.end(endTime);
@@ -244,6 +337,13 @@ public class Instrumenter<REQUEST, RESPONSE> {
     }
   }
 
+  private void updateExpectedAttributesSize(UnsafeAttributes attributes) {
+    int size = attributes.size();
+    if (size > expectedAttributesSize) {
+      expectedAttributesSize = size;
+    }
+  }
+
   private static long getNanos(@Nullable Instant time) {
     if (time == null) {
       return System.nanoTime();
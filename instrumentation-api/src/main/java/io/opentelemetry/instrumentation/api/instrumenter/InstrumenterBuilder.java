@@ -9,6 +9,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.api.trace.SpanKind;
@@ -42,6 +43,10 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
           ConfigPropertiesUtil.getString(
               "otel.instrumentation.experimental.span-suppression-strategy"));
 
+  private static final boolean objectReuseEnabledDefault =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.experimental.instrumenter.object-reuse.enabled", false);
+
   final OpenTelemetry openTelemetry;
   final String instrumentationName;
   final SpanNameExtractor<? super REQUEST> spanNameExtractor;
@@ -60,6 +65,7 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
       SpanStatusExtractor.getDefault();
   ErrorCauseExtractor errorCauseExtractor = ErrorCauseExtractor.getDefault();
   boolean enabled = true;
+  boolean objectReuseEnabled = objectReuseEnabledDefault;
 
   InstrumenterBuilder(
       OpenTelemetry openTelemetry,
@@ -185,6 +191,22 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  /**
+   * Allows enabling/disabling the reuse of per-thread attributes storage and span links/status
+   * builders between the operations of the {@link Instrumenter}. Disabled by default, unless the
+   * {@code otel.instrumentation.experimental.instrumenter.object-reuse.enabled} property is set.
+   *
+   * <p>When enabled, the {@link Attributes} passed to {@link OperationListener#onEnd(Context,
+   * Attributes, long)} are only valid for the duration of that call and must not be retained. The
+   * attributes passed to {@link ContextCustomizer}s and {@link OperationListener#onStart(Context,
+   * Attributes, long)} are never reused.
+   */
+  @CanIgnoreReturnValue
+  public InstrumenterBuilder<REQUEST, RESPONSE> setObjectReuseEnabled(boolean objectReuseEnabled) {
+    this.objectReuseEnabled = objectReuseEnabled;
+    return this;
+  }
+
   /**
    * Returns a new {@link Instrumenter} which will create {@linkplain SpanKind#CLIENT client} spans
    * and inject context into requests.
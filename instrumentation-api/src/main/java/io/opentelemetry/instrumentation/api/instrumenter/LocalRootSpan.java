@@ -9,6 +9,7 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
 import javax.annotation.Nullable;
 
 /**
@@ -43,7 +44,7 @@ public final class LocalRootSpan {
    */
   @Nullable
   public static Span fromContextOrNull(Context context) {
-    return context.get(KEY);
+    return InstrumentationState.get(context, KEY);
   }
 
   static boolean isLocalRoot(Context parentContext) {
@@ -52,7 +53,7 @@ public final class LocalRootSpan {
   }
 
   static Context store(Context context, Span span) {
-    return context.with(KEY, span);
+    return InstrumentationState.with(context, KEY, span);
   }
 
   private LocalRootSpan() {}
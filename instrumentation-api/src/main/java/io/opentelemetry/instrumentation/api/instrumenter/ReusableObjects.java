@@ -0,0 +1,81 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+
+/**
+ * Per-thread objects that an {@link Instrumenter} with object reuse enabled borrows for the
+ * duration of a single start or end call instead of allocating new ones. Each object is handed out
+ * only once at a time; a nested (reentrant) borrow on the same thread gets a freshly allocated
+ * instance instead.
+ */
+final class ReusableObjects {
+
+  private static final ThreadLocal<ReusableObjects> current =
+      ThreadLocal.withInitial(ReusableObjects::new);
+
+  static ReusableObjects get() {
+    return current.get();
+  }
+
+  private final UnsafeAttributes attributes = new UnsafeAttributes();
+  private final SpanLinksBuilderImpl spanLinksBuilder = new SpanLinksBuilderImpl(null);
+  private final SpanStatusBuilderImpl spanStatusBuilder = new SpanStatusBuilderImpl(null);
+  private boolean attributesInUse;
+  private boolean spanLinksBuilderInUse;
+  private boolean spanStatusBuilderInUse;
+
+  private ReusableObjects() {}
+
+  UnsafeAttributes borrowAttributes(int expectedSize) {
+    if (attributesInUse) {
+      return new UnsafeAttributes(expectedSize);
+    }
+    attributesInUse = true;
+    return attributes;
+  }
+
+  void release(UnsafeAttributes attributes) {
+    if (attributes == this.attributes) {
+      attributes.clear();
+      attributesInUse = false;
+    }
+  }
+
+  SpanLinksBuilderImpl borrowSpanLinksBuilder(SpanBuilder spanBuilder) {
+    if (spanLinksBuilderInUse) {
+      return new SpanLinksBuilderImpl(spanBuilder);
+    }
+    spanLinksBuilderInUse = true;
+    spanLinksBuilder.reset(spanBuilder);
+    return spanLinksBuilder;
+  }
+
+  void release(SpanLinksBuilderImpl spanLinksBuilder) {
+    if (spanLinksBuilder == this.spanLinksBuilder) {
+      spanLinksBuilder.reset(null);
+      spanLinksBuilderInUse = false;
+    }
+  }
+
+  SpanStatusBuilderImpl borrowSpanStatusBuilder(Span span) {
+    if (spanStatusBuilderInUse) {
+      return new SpanStatusBuilderImpl(span);
+    }
+    spanStatusBuilderInUse = true;
+    spanStatusBuilder.reset(span);
+    return spanStatusBuilder;
+  }
+
+  void release(SpanStatusBuilderImpl spanStatusBuilder) {
+    if (spanStatusBuilder == this.spanStatusBuilder) {
+      spanStatusBuilder.reset(null);
+      spanStatusBuilderInUse = false;
+    }
+  }
+}
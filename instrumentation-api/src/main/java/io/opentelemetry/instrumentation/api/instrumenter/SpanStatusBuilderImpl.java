@@ -8,11 +8,17 @@ package io.opentelemetry.instrumentation.api.instrumenter;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
+import javax.annotation.Nullable;
 
 final class SpanStatusBuilderImpl implements SpanStatusBuilder {
-  private final Span span;
+  // not final so that a per-thread instance can be reused, see ReusableObjects
+  @Nullable private Span span;
 
-  SpanStatusBuilderImpl(Span span) {
+  SpanStatusBuilderImpl(@Nullable Span span) {
+    this.span = span;
+  }
+
+  void reset(@Nullable Span span) {
     this.span = span;
   }
 
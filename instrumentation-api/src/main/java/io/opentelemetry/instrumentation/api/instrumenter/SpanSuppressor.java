@@ -13,5 +13,8 @@ interface SpanSuppressor {
 
   Context storeInContext(Context context, SpanKind spanKind, Span span);
 
+  /** Returns whether {@link #storeInContext} stores anything for spans of {@code spanKind}. */
+  boolean storesInContext(SpanKind spanKind);
+
   boolean shouldSuppress(Context parentContext, SpanKind spanKind);
 }
@@ -24,6 +24,11 @@ final class SpanSuppressors {
       return context;
     }
 
+    @Override
+    public boolean storesInContext(SpanKind spanKind) {
+      return false;
+    }
+
     @Override
     public boolean shouldSuppress(Context parentContext, SpanKind spanKind) {
       return false;
@@ -47,6 +52,12 @@ final class SpanSuppressors {
       return delegate.storeInContext(context, spanKind, span);
     }
 
+    @Override
+    public boolean storesInContext(SpanKind spanKind) {
+      SpanSuppressor delegate = delegates.get(spanKind);
+      return delegate != null && delegate.storesInContext(spanKind);
+    }
+
     @Override
     public boolean shouldSuppress(Context parentContext, SpanKind spanKind) {
       SpanSuppressor delegate = delegates.get(spanKind);
@@ -59,10 +70,12 @@ final class SpanSuppressors {
 
   static final class BySpanKey implements SpanSuppressor {
 
-    private final Set<SpanKey> spanKeys;
+    private final SpanKey[] spanKeys;
+    private final int spanKeyBits;
 
     BySpanKey(Set<SpanKey> spanKeys) {
-      this.spanKeys = spanKeys;
+      this.spanKeys = spanKeys.toArray(new SpanKey[0]);
+      this.spanKeyBits = SpanKey.bitsOf(spanKeys);
     }
 
     @Override
@@ -73,14 +86,14 @@ final class SpanSuppressors {
       return context;
     }
 
+    @Override
+    public boolean storesInContext(SpanKind spanKind) {
+      return spanKeys.length > 0;
+    }
+
     @Override
     public boolean shouldSuppress(Context parentContext, SpanKind spanKind) {
-      for (SpanKey spanKey : spanKeys) {
-        if (spanKey.fromContextOrNull(parentContext) == null) {
-          return false;
-        }
-      }
-      return true;
+      return SpanKey.allStoredInContext(parentContext, spanKeys, spanKeyBits);
     }
   }
 }
@@ -9,9 +9,12 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
 /**
  * The {@link AttributesBuilder} and {@link Attributes} used by the instrumentation API. We are able
@@ -19,23 +22,93 @@ import java.util.function.BiConsumer;
  * multiple Attributes instances. So we use just one storage for both the builder and attributes. A
  * couple of methods still require copying to satisfy the interface contracts, but in practice
  * should never be called by user code even though they can.
+ *
+ * <p>The storage is a flat, open-addressed hash table (linear probing) kept in two parallel arrays,
+ * so that putting an attribute does not allocate an entry object. The table is kept at most half
+ * full, which guarantees that every probe sequence ends on an empty slot.
  */
-final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
-    implements Attributes, AttributesBuilder {
+final class UnsafeAttributes implements Attributes, AttributesBuilder {
 
-  private static final long serialVersionUID = 1L;
+  private static final int MIN_CAPACITY = 8;
+
+  private AttributeKey<?>[] keys;
+  private Object[] values;
+  private int size;
+
+  UnsafeAttributes() {
+    this(0);
+  }
+
+  UnsafeAttributes(int expectedSize) {
+    int capacity = tableSizeFor(expectedSize);
+    keys = new AttributeKey<?>[capacity];
+    values = new Object[capacity];
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static int slot(AttributeKey<?> key, int mask) {
+    int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & mask;
+  }
 
   // Attributes
 
+  @Nullable
   @SuppressWarnings("unchecked")
   @Override
   public <T> T get(AttributeKey<T> key) {
-    return (T) super.get(key);
+    if (key == null) {
+      return null;
+    }
+    AttributeKey<?>[] keys = this.keys;
+    int mask = keys.length - 1;
+    for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+      AttributeKey<?> candidate = keys[i];
+      if (candidate == null) {
+        return null;
+      }
+      if (candidate == key || candidate.equals(key)) {
+        return (T) values[i];
+      }
+    }
   }
 
+  @Override
+  public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
+    AttributeKey<?>[] keys = this.keys;
+    Object[] values = this.values;
+    for (int i = 0; i < keys.length; i++) {
+      AttributeKey<?> key = keys[i];
+      if (key != null) {
+        action.accept(key, values[i]);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // This can be called by user code in a RequestListener so copy. In practice, it should not be
+  // called as there is no real use case.
   @Override
   public Map<AttributeKey<?>, Object> asMap() {
-    return this;
+    Map<AttributeKey<?>, Object> map = new HashMap<>();
+    forEach(map::put);
+    return Collections.unmodifiableMap(map);
   }
 
   // This can be called by user code in a RequestListener so copy. In practice, it should not be
@@ -63,7 +136,23 @@ final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
   @Override
   @CanIgnoreReturnValue
   public <T> AttributesBuilder put(AttributeKey<T> key, T value) {
-    super.put(key, value);
+    if (key == null || value == null) {
+      return this;
+    }
+    AttributeKey<?>[] keys = this.keys;
+    int mask = keys.length - 1;
+    int i = slot(key, mask);
+    for (AttributeKey<?> candidate; (candidate = keys[i]) != null; i = (i + 1) & mask) {
+      if (candidate == key || candidate.equals(key)) {
+        values[i] = value;
+        return this;
+      }
+    }
+    keys[i] = key;
+    values[i] = value;
+    if (++size * 2 > keys.length) {
+      resize(keys.length << 1);
+    }
     return this;
   }
 
@@ -74,11 +163,60 @@ final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
     return this;
   }
 
+  /** Removes all attributes, keeping the current capacity so that this instance can be reused. */
+  void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+      size = 0;
+    }
+  }
+
+  private void resize(int capacity) {
+    AttributeKey<?>[] oldKeys = keys;
+    Object[] oldValues = values;
+    AttributeKey<?>[] newKeys = new AttributeKey<?>[capacity];
+    Object[] newValues = new Object[capacity];
+    int mask = capacity - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      AttributeKey<?> key = oldKeys[j];
+      if (key != null) {
+        int i = slot(key, mask);
+        while (newKeys[i] != null) {
+          i = (i + 1) & mask;
+        }
+        newKeys[i] = key;
+        newValues[i] = oldValues[j];
+      }
+    }
+    keys = newKeys;
+    values = newValues;
+  }
+
   @Override
-  public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
-    // https://github.com/open-telemetry/opentelemetry-java/issues/4161
-    // Help out android desugaring by having an explicit call to HashMap.forEach, when forEach is
-    // just called through Attributes.forEach desugaring is unable to correctly handle it.
-    super.forEach(action);
+  public boolean equals(@Nullable Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof Attributes)) {
+      return false;
+    }
+    return asMap().equals(((Attributes) obj).asMap());
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != null) {
+        hashCode += keys[i].hashCode() ^ values[i].hashCode();
+      }
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return "UnsafeAttributes" + asMap();
   }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A precompiled view that retains only a fixed set of attribute keys. The retained values are read
+ * with direct {@link Attributes#get(AttributeKey)} lookups (no iteration over the filtered
+ * attributes), and the resulting {@link Attributes} are kept in a small direct-mapped cache, so
+ * that applying the view to a recently seen combination of values does not allocate.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AttributesView {
+
+  private static final int DEFAULT_CACHE_SIZE = 256;
+
+  /** Returns a new {@link AttributesView} that retains the given {@code keys}. */
+  public static AttributesView create(AttributeKey<?>... keys) {
+    return new AttributesView(keys, DEFAULT_CACHE_SIZE);
+  }
+
+  // visible for testing
+  static AttributesView create(int cacheSize, AttributeKey<?>... keys) {
+    return new AttributesView(keys, cacheSize);
+  }
+
+  private final AttributeKey<?>[] keys;
+  // entries are immutable, so racy reads and writes of the array slots are fine
+  private final Entry[] cache;
+
+  private AttributesView(AttributeKey<?>[] keys, int cacheSize) {
+    this.keys = keys.clone();
+    int capacity = Integer.highestOneBit(Math.max(cacheSize - 1, 1)) << 1;
+    this.cache = new Entry[capacity];
+  }
+
+  /** Returns the attributes from {@code attributes} that are retained by this view. */
+  public Attributes apply(Attributes attributes) {
+    return apply(Attributes.empty(), attributes);
+  }
+
+  /**
+   * Returns the attributes from {@code first} and {@code second} that are retained by this view. If
+   * both contain the same key, the value from {@code second} wins.
+   */
+  public Attributes apply(Attributes first, Attributes second) {
+    int hash = 1;
+    for (AttributeKey<?> key : keys) {
+      hash = 31 * hash + Objects.hashCode(get(key, first, second));
+    }
+    int index = (hash ^ (hash >>> 16)) & (cache.length - 1);
+
+    Entry entry = cache[index];
+    if (entry != null && entry.hash == hash && entry.matches(keys, first, second)) {
+      return entry.attributes;
+    }
+
+    Object[] values = new Object[keys.length];
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < keys.length; i++) {
+      Object value = get(keys[i], first, second);
+      values[i] = value;
+      if (value != null) {
+        put(builder, keys[i], value);
+      }
+    }
+    Attributes result = builder.build();
+    cache[index] = new Entry(hash, values, result);
+    return result;
+  }
+
+  @Nullable
+  private static Object get(AttributeKey<?> key, Attributes first, Attributes second) {
+    Object value = second.get(key);
+    return value != null ? value : first.get(key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void put(AttributesBuilder builder, AttributeKey<T> key, Object value) {
+    builder.put(key, (T) value);
+  }
+
+  private static final class Entry {
+    final int hash;
+    final Object[] values;
+    final Attributes attributes;
+
+    Entry(int hash, Object[] values, Attributes attributes) {
+      this.hash = hash;
+      this.values = values;
+      this.attributes = attributes;
+    }
+
+    boolean matches(AttributeKey<?>[] keys, Attributes first, Attributes second) {
+      for (int i = 0; i < keys.length; i++) {
+        if (!Objects.equals(values[i], get(keys[i], first, second))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -21,7 +21,7 @@ public final class HttpRouteState implements ImplicitContextKeyed {
 
   @Nullable
   public static HttpRouteState fromContextOrNull(Context context) {
-    return context.get(KEY);
+    return InstrumentationState.get(context, KEY);
   }
 
   public static HttpRouteState create(int updatedBySourceOrder, @Nullable String route) {
@@ -38,7 +38,7 @@ public final class HttpRouteState implements ImplicitContextKeyed {
 
   @Override
   public Context storeInContext(Context context) {
-    return context.with(KEY, this);
+    return InstrumentationState.with(context, KEY, this);
   }
 
   public int getUpdatedBySourceOrder() {
@@ -0,0 +1,206 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.ImplicitContextKeyed;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the values that instrumented operations store in the {@link Context}: the spans stored
+ * under {@link SpanKey}s, the local root span, the HTTP route state and the states of the operation
+ * listeners. Every value stored with {@link Context#with(ContextKey, Object)} copies the context,
+ * so instead the values of an operation are collected in a single record that is stored in the
+ * context once, when the operation starts.
+ *
+ * <p>The record of an operation is mutable until the operation has started, after that storing a
+ * value copies the record. Values stored while there is no record in the context are stored
+ * directly in the context, and are still found by {@link #get(Context, ContextKey)}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class InstrumentationState implements ImplicitContextKeyed {
+
+  private static final ContextKey<InstrumentationState> KEY =
+      ContextKey.named("opentelemetry-instrumentation-state");
+
+  private static final Span[] NO_SPANS = new Span[0];
+  private static final Object[] NO_VALUES = new Object[0];
+
+  // spans stored under span keys, indexed by SpanKey.index, and the bits of the keys that are set
+  private Span[] spans;
+  private int spanKeyBits;
+  // other values, stored as alternating context keys and values
+  private Object[] keysAndValues;
+  // the arrays are shared with the parent record until they are modified
+  private boolean spansShared = true;
+  private boolean keysAndValuesShared = true;
+  private boolean published;
+
+  private InstrumentationState(Span[] spans, int spanKeyBits, Object[] keysAndValues) {
+    this.spans = spans;
+    this.spanKeyBits = spanKeyBits;
+    this.keysAndValues = keysAndValues;
+  }
+
+  @Nullable
+  public static InstrumentationState fromContextOrNull(Context context) {
+    return context.get(KEY);
+  }
+
+  /**
+   * Returns a context with a new mutable record that inherits the values of the record in {@code
+   * parentContext}. The values that {@link SpanKey}s stored directly in {@code parentContext} are
+   * copied into the new record, so that checking span keys only needs to look at the record.
+   */
+  public static Context start(Context parentContext) {
+    InstrumentationState parent = fromContextOrNull(parentContext);
+    InstrumentationState state;
+    if (parent != null) {
+      state = new InstrumentationState(parent.spans, parent.spanKeyBits, parent.keysAndValues);
+    } else {
+      state = new InstrumentationState(NO_SPANS, 0, NO_VALUES);
+      for (SpanKey spanKey : SpanKey.ALL) {
+        Span span = parentContext.get(spanKey.contextKey());
+        if (span != null) {
+          state.setSpan(spanKey.index(), span);
+        }
+      }
+    }
+    return parentContext.with(state);
+  }
+
+  /**
+   * Marks the record in {@code context} as published: it is not modified anymore, storing a value
+   * copies it.
+   */
+  public static void publish(Context context) {
+    InstrumentationState state = fromContextOrNull(context);
+    if (state != null) {
+      state.published = true;
+    }
+  }
+
+  /**
+   * Returns the value stored under {@code key}, either in the record in {@code context} or directly
+   * in the context.
+   */
+  @Nullable
+  public static <T> T get(Context context, ContextKey<T> key) {
+    InstrumentationState state = fromContextOrNull(context);
+    if (state != null) {
+      T value = state.getValue(key);
+      if (value != null) {
+        return value;
+      }
+    }
+    return context.get(key);
+  }
+
+  /**
+   * Stores {@code value} under {@code key} in the record in {@code context}, or directly in the
+   * context if it has no record.
+   */
+  public static <T> Context with(Context context, ContextKey<T> key, T value) {
+    InstrumentationState state = fromContextOrNull(context);
+    if (state == null) {
+      return context.with(key, value);
+    }
+    if (state.published) {
+      state = state.copy();
+      state.setValue(key, value);
+      state.published = true;
+      return context.with(state);
+    }
+    state.setValue(key, value);
+    return context;
+  }
+
+  static boolean hasSpanKeys(Context context, int spanKeyBits) {
+    InstrumentationState state = fromContextOrNull(context);
+    return state != null && (state.spanKeyBits & spanKeyBits) == spanKeyBits;
+  }
+
+  @Nullable
+  static Span getSpan(Context context, SpanKey spanKey) {
+    InstrumentationState state = fromContextOrNull(context);
+    if (state != null) {
+      int index = spanKey.index();
+      if ((state.spanKeyBits & (1 << index)) != 0) {
+        return state.spans[index];
+      }
+    }
+    return context.get(spanKey.contextKey());
+  }
+
+  static Context withSpan(Context context, SpanKey spanKey, Span span) {
+    InstrumentationState state = fromContextOrNull(context);
+    if (state == null) {
+      return context.with(spanKey.contextKey(), span);
+    }
+    if (state.published) {
+      state = state.copy();
+      state.setSpan(spanKey.index(), span);
+      state.published = true;
+      return context.with(state);
+    }
+    state.setSpan(spanKey.index(), span);
+    return context;
+  }
+
+  @Override
+  public Context storeInContext(Context context) {
+    return context.with(KEY, this);
+  }
+
+  private InstrumentationState copy() {
+    return new InstrumentationState(spans, spanKeyBits, keysAndValues);
+  }
+
+  private void setSpan(int index, Span span) {
+    if (spansShared) {
+      spans = Arrays.copyOf(spans, SpanKey.ALL.size());
+      spansShared = false;
+    }
+    spans[index] = span;
+    spanKeyBits |= 1 << index;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private <T> T getValue(ContextKey<T> key) {
+    // there are only a few values, a linear scan is faster than hashing
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      if (keysAndValues[i] == key) {
+        return (T) keysAndValues[i + 1];
+      }
+    }
+    return null;
+  }
+
+  private void setValue(ContextKey<?> key, Object value) {
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      if (keysAndValues[i] == key) {
+        if (keysAndValuesShared) {
+          keysAndValues = keysAndValues.clone();
+          keysAndValuesShared = false;
+        }
+        keysAndValues[i + 1] = value;
+        return;
+      }
+    }
+    // the array grows by one entry at a time, there are only a few values
+    Object[] newKeysAndValues = Arrays.copyOf(keysAndValues, keysAndValues.length + 2);
+    newKeysAndValues[keysAndValues.length] = key;
+    newKeysAndValues[keysAndValues.length + 1] = value;
+    keysAndValues = newKeysAndValues;
+    keysAndValuesShared = false;
+  }
+}
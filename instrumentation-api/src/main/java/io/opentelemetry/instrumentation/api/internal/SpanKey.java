@@ -8,6 +8,9 @@ package io.opentelemetry.instrumentation.api.internal;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -53,36 +56,88 @@ public final class SpanKey {
   /* Span keys */
 
   // span kind keys
-  public static final SpanKey KIND_SERVER = new SpanKey(KIND_SERVER_KEY);
-  public static final SpanKey KIND_CLIENT = new SpanKey(KIND_CLIENT_KEY);
-  public static final SpanKey KIND_CONSUMER = new SpanKey(KIND_CONSUMER_KEY);
-  public static final SpanKey KIND_PRODUCER = new SpanKey(KIND_PRODUCER_KEY);
+  public static final SpanKey KIND_SERVER = new SpanKey(KIND_SERVER_KEY, 0);
+  public static final SpanKey KIND_CLIENT = new SpanKey(KIND_CLIENT_KEY, 1);
+  public static final SpanKey KIND_CONSUMER = new SpanKey(KIND_CONSUMER_KEY, 2);
+  public static final SpanKey KIND_PRODUCER = new SpanKey(KIND_PRODUCER_KEY, 3);
 
   // semantic convention keys
-  public static final SpanKey HTTP_SERVER = new SpanKey(HTTP_SERVER_KEY);
-  public static final SpanKey RPC_SERVER = new SpanKey(RPC_SERVER_KEY);
-
-  public static final SpanKey HTTP_CLIENT = new SpanKey(HTTP_CLIENT_KEY);
-  public static final SpanKey RPC_CLIENT = new SpanKey(RPC_CLIENT_KEY);
-  public static final SpanKey DB_CLIENT = new SpanKey(DB_CLIENT_KEY);
-
-  public static final SpanKey PRODUCER = new SpanKey(PRODUCER_KEY);
-  public static final SpanKey CONSUMER_RECEIVE = new SpanKey(CONSUMER_RECEIVE_KEY);
-  public static final SpanKey CONSUMER_PROCESS = new SpanKey(CONSUMER_PROCESS_KEY);
+  public static final SpanKey HTTP_SERVER = new SpanKey(HTTP_SERVER_KEY, 4);
+  public static final SpanKey RPC_SERVER = new SpanKey(RPC_SERVER_KEY, 5);
+
+  public static final SpanKey HTTP_CLIENT = new SpanKey(HTTP_CLIENT_KEY, 6);
+  public static final SpanKey RPC_CLIENT = new SpanKey(RPC_CLIENT_KEY, 7);
+  public static final SpanKey DB_CLIENT = new SpanKey(DB_CLIENT_KEY, 8);
+
+  public static final SpanKey PRODUCER = new SpanKey(PRODUCER_KEY, 9);
+  public static final SpanKey CONSUMER_RECEIVE = new SpanKey(CONSUMER_RECEIVE_KEY, 10);
+  public static final SpanKey CONSUMER_PROCESS = new SpanKey(CONSUMER_PROCESS_KEY, 11);
+
+  static final List<SpanKey> ALL =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              KIND_SERVER,
+              KIND_CLIENT,
+              KIND_CONSUMER,
+              KIND_PRODUCER,
+              HTTP_SERVER,
+              RPC_SERVER,
+              HTTP_CLIENT,
+              RPC_CLIENT,
+              DB_CLIENT,
+              PRODUCER,
+              CONSUMER_RECEIVE,
+              CONSUMER_PROCESS));
 
   private final ContextKey<Span> key;
+  // the position of this key in ALL, and of its bit in InstrumentationState
+  private final int index;
 
-  private SpanKey(ContextKey<Span> key) {
+  private SpanKey(ContextKey<Span> key, int index) {
     this.key = key;
+    this.index = index;
   }
 
   public Context storeInContext(Context context, Span span) {
-    return context.with(key, span);
+    return InstrumentationState.withSpan(context, this, span);
   }
 
   @Nullable
   public Span fromContextOrNull(Context context) {
-    return context.get(key);
+    return InstrumentationState.getSpan(context, this);
+  }
+
+  /**
+   * Returns whether all the given span keys are stored in the context. When the context holds an
+   * {@link InstrumentationState} this is a single bit test.
+   */
+  public static boolean allStoredInContext(Context context, SpanKey[] spanKeys, int spanKeyBits) {
+    if (InstrumentationState.hasSpanKeys(context, spanKeyBits)) {
+      return true;
+    }
+    for (SpanKey spanKey : spanKeys) {
+      if (spanKey.fromContextOrNull(context) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the bits of the given span keys, for {@link #allStoredInContext}. */
+  public static int bitsOf(Iterable<SpanKey> spanKeys) {
+    int bits = 0;
+    for (SpanKey spanKey : spanKeys) {
+      bits |= 1 << spanKey.index;
+    }
+    return bits;
+  }
+
+  ContextKey<Span> contextKey() {
+    return key;
+  }
+
+  int index() {
+    return index;
   }
 
   @Override
@@ -5,15 +5,21 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.SpanKind;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -21,15 +27,26 @@ import java.util.logging.Logger;
  */
 public final class SupportabilityMetrics {
   private static final Logger logger = Logger.getLogger(SupportabilityMetrics.class.getName());
+
+  private static final AttributeKey<String> INSTRUMENTATION_NAME =
+      stringKey("instrumentation.name");
+  private static final AttributeKey<String> SPAN_KIND = stringKey("span.kind");
+  private static final AttributeKey<String> COUNTER_NAME = stringKey("counter.name");
+
   private final boolean agentDebugEnabled;
+  private final boolean enabled;
   private final Consumer<String> reporter;
 
-  private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, SuppressedSpanCounters> suppressionCounters =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
 
   private static final SupportabilityMetrics INSTANCE =
       new SupportabilityMetrics(
-              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false), logger::fine)
+              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false),
+              ConfigPropertiesUtil.getBoolean(
+                  "otel.instrumentation.experimental.supportability-metrics.enabled", false),
+              logger::fine)
           .start();
 
   public static SupportabilityMetrics instance() {
@@ -38,26 +55,79 @@ public final class SupportabilityMetrics {
 
   // visible for testing
   SupportabilityMetrics(boolean agentDebugEnabled, Consumer<String> reporter) {
+    this(agentDebugEnabled, false, reporter);
+  }
+
+  // visible for testing
+  SupportabilityMetrics(
+      boolean agentDebugEnabled, boolean metricsEnabled, Consumer<String> reporter) {
     this.agentDebugEnabled = agentDebugEnabled;
+    this.enabled = agentDebugEnabled || metricsEnabled;
     this.reporter = reporter;
   }
 
-  public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
-    if (!agentDebugEnabled) {
-      return;
+  /**
+   * Returns the counters of spans suppressed by the instrumentation {@code instrumentationName}.
+   * The returned handle should be kept and reused, so that recording does not need to look it up.
+   */
+  public SuppressedSpanCounters suppressedSpanCounters(String instrumentationName) {
+    if (!enabled) {
+      return SuppressedSpanCounters.NOOP;
     }
+    return suppressionCounters.computeIfAbsent(instrumentationName, SuppressedSpanCounters::new);
+  }
 
-    suppressionCounters
-        .computeIfAbsent(instrumentationName, s -> new KindCounters())
-        .increment(kind);
+  /**
+   * Returns the counter named {@code counterName}. The returned handle should be kept and reused,
+   * so that incrementing does not need to look it up.
+   */
+  public Counter counter(String counterName) {
+    if (!enabled) {
+      return Counter.NOOP;
+    }
+    return counters.computeIfAbsent(
+        counterName, name -> new Counter(Attributes.of(COUNTER_NAME, name)));
+  }
+
+  public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
+    suppressedSpanCounters(instrumentationName).increment(kind);
   }
 
   public void incrementCounter(String counterName) {
-    if (!agentDebugEnabled) {
+    counter(counterName).increment();
+  }
+
+  /**
+   * Exports the counters as observable instruments of the given {@code meter}. Does nothing if the
+   * supportability metrics are not enabled.
+   */
+  public void registerObservers(Meter meter) {
+    if (!enabled) {
       return;
     }
-
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+    meter
+        .counterBuilder("otel.instrumentation.supportability.suppressed_spans")
+        .setDescription("The number of spans suppressed by the instrumentations")
+        .setUnit("{spans}")
+        .buildWithCallback(
+            measurement ->
+                suppressionCounters.forEach(
+                    (instrumentationName, countsByKind) -> {
+                      for (Counter counter : countsByKind.counters) {
+                        long value = counter.sum();
+                        if (value > 0) {
+                          measurement.record(value, counter.attributes);
+                        }
+                      }
+                    }));
+    meter
+        .counterBuilder("otel.instrumentation.supportability.counter")
+        .setDescription("Internal counters of the instrumentation API")
+        .buildWithCallback(
+            measurement ->
+                counters.forEach(
+                    (counterName, counter) ->
+                        measurement.record(counter.sum(), counter.attributes)));
   }
 
   // visible for testing
@@ -65,7 +135,7 @@ public final class SupportabilityMetrics {
     suppressionCounters.forEach(
         (instrumentationName, countsByKind) -> {
           for (SpanKind kind : SpanKind.values()) {
-            long value = countsByKind.getAndReset(kind);
+            long value = countsByKind.counters[kind.ordinal()].sumSinceLastReport();
             if (value > 0) {
               reporter.accept(
                   "Suppressed Spans by '" + instrumentationName + "' (" + kind + ") : " + value);
@@ -74,7 +144,7 @@ public final class SupportabilityMetrics {
         });
     counters.forEach(
         (counterName, counter) -> {
-          long value = counter.getAndSet(0);
+          long value = counter.sumSinceLastReport();
           if (value > 0) {
             reporter.accept("Counter '" + counterName + "' : " + value);
           }
@@ -112,54 +182,99 @@ public final class SupportabilityMetrics {
    * any time.
    */
   public static final class CounterNames {
+    public static final String SQL_STATEMENT_SANITIZER_CACHE_HIT =
+        "SqlStatementSanitizer cache hit";
     public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
         "SqlStatementSanitizer cache miss";
+    public static final String SQL_STATEMENT_SANITIZER_CACHE_EVICTION =
+        "SqlStatementSanitizer cache eviction";
 
     private CounterNames() {}
   }
 
-  // this class is threadsafe.
-  private static class KindCounters {
-    private final AtomicLong server = new AtomicLong();
-    private final AtomicLong client = new AtomicLong();
-    private final AtomicLong internal = new AtomicLong();
-    private final AtomicLong consumer = new AtomicLong();
-    private final AtomicLong producer = new AtomicLong();
-
-    void increment(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          internal.incrementAndGet();
-          break;
-        case SERVER:
-          server.incrementAndGet();
-          break;
-        case CLIENT:
-          client.incrementAndGet();
-          break;
-        case PRODUCER:
-          producer.incrementAndGet();
-          break;
-        case CONSUMER:
-          consumer.incrementAndGet();
-          break;
+  /**
+   * A monotonic counter that is cheap to increment concurrently: increments are spread over
+   * several cells (picked by the current thread), which are only summed up when the counter is
+   * read. Works like {@code java.util.concurrent.atomic.LongAdder}, which is not available on all
+   * the platforms supported by this library.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   */
+  public static final class Counter {
+    static final Counter NOOP = new Counter(null);
+
+    private static final int STRIPES =
+        Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1), 64);
+    // each cell is padded to a cache line (8 longs), so that cells don't share cache lines
+    private static final int CELL_SHIFT = 3;
+
+    @Nullable private final AtomicLongArray cells;
+    private final Attributes attributes;
+    // only accessed by the reporter thread
+    private long lastReported;
+
+    private Counter(@Nullable Attributes attributes) {
+      this.cells = attributes == null ? null : new AtomicLongArray(STRIPES << CELL_SHIFT);
+      this.attributes = attributes == null ? Attributes.empty() : attributes;
+    }
+
+    public void increment() {
+      if (cells != null) {
+        cells.incrementAndGet(cellIndex());
       }
     }
 
-    long getAndReset(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          return internal.getAndSet(0);
-        case SERVER:
-          return server.getAndSet(0);
-        case CLIENT:
-          return client.getAndSet(0);
-        case PRODUCER:
-          return producer.getAndSet(0);
-        case CONSUMER:
-          return consumer.getAndSet(0);
+    long sum() {
+      if (cells == null) {
+        return 0;
       }
-      return 0;
+      long sum = 0;
+      for (int i = 0; i < STRIPES; i++) {
+        sum += cells.get(i << CELL_SHIFT);
+      }
+      return sum;
+    }
+
+    private long sumSinceLastReport() {
+      long sum = sum();
+      long value = sum - lastReported;
+      lastReported = sum;
+      return value;
+    }
+
+    private static int cellIndex() {
+      long id = Thread.currentThread().getId();
+      int hash = (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+      return (hash & (STRIPES - 1)) << CELL_SHIFT;
+    }
+  }
+
+  /**
+   * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+   * any time.
+   */
+  public static final class SuppressedSpanCounters {
+    static final SuppressedSpanCounters NOOP = new SuppressedSpanCounters(null);
+
+    // indexed by SpanKind ordinal
+    private final Counter[] counters;
+
+    private SuppressedSpanCounters(@Nullable String instrumentationName) {
+      SpanKind[] kinds = SpanKind.values();
+      counters = new Counter[kinds.length];
+      for (SpanKind kind : kinds) {
+        counters[kind.ordinal()] =
+            instrumentationName == null
+                ? Counter.NOOP
+                : new Counter(
+                    Attributes.of(
+                        INSTRUMENTATION_NAME, instrumentationName, SPAN_KIND, kind.name()));
+      }
+    }
+
+    public void increment(SpanKind kind) {
+      counters[kind.ordinal()].increment();
     }
   }
 }
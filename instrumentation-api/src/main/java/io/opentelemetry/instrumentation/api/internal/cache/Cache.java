@@ -6,7 +6,9 @@
 package io.opentelemetry.instrumentation.api.internal.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -27,6 +29,17 @@ public interface Cache<K, V> {
     return new WeakLockFreeCache<>();
   }
 
+  /**
+   * Returns new unbounded cache, optimized for frequent lookups from many threads.
+   *
+   * <p>Keys are referenced weakly and compared using identity comparison, not {@link
+   * Object#equals(Object)}. Unlike {@link #weak()}, lookups don't allocate, and entries of
+   * collected keys are removed by the subsequent operations on the cache.
+   */
+  static <K, V> Cache<K, V> weakStriped() {
+    return new StripedWeakCache<>();
+  }
+
   /**
    * Returns new bounded cache.
    *
@@ -38,6 +51,22 @@ public interface Cache<K, V> {
     return new MapBackedCache<>(map);
   }
 
+  /**
+   * Returns new bounded cache with frequency-aware (TinyLFU) admission. The total weight of the
+   * entries, as measured by {@code weigher}, does not exceed {@code maximumWeight}; once the cache
+   * is full, new entries are only admitted if they are accessed more frequently than the entries
+   * they would evict. The {@code evictionListener} is notified of every evicted entry.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> frequencyAware(
+      long maximumWeight,
+      int expectedSize,
+      ToIntBiFunction<? super K, ? super V> weigher,
+      BiConsumer<? super K, ? super V> evictionListener) {
+    return new FrequencyAwareCache<>(maximumWeight, expectedSize, weigher, evictionListener);
+  }
+
   /**
    * Returns the cached value associated with the provided {@code key}. If no value is cached yet,
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
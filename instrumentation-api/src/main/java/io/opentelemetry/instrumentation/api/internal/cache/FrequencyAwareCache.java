@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import javax.annotation.Nullable;
+
+/**
+ * A weighted, bounded cache with TinyLFU admission: once the cache is full, a new entry is only
+ * admitted if its key has been accessed more often recently than the key of the entry that would be
+ * evicted next. This keeps a stream of one-off keys from flushing frequently used entries.
+ */
+final class FrequencyAwareCache<K, V> implements Cache<K, V> {
+
+  private final ConcurrentLinkedHashMap<K, V> delegate;
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  private final FrequencySketch sketch;
+
+  FrequencyAwareCache(
+      long maximumWeight,
+      int expectedSize,
+      ToIntBiFunction<? super K, ? super V> weigher,
+      BiConsumer<? super K, ? super V> evictionListener) {
+    this.weigher = weigher;
+    this.delegate =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(maximumWeight)
+            .weigher((K key, V value) -> Math.max(1, weigher.applyAsInt(key, value)))
+            .listener(evictionListener::accept)
+            .build();
+    this.sketch = new FrequencySketch(expectedSize);
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    value = mappingFunction.apply(key);
+    if (admit(key, value)) {
+      V previous = delegate.putIfAbsent(key, value);
+      if (previous != null) {
+        return previous;
+      }
+    }
+    return value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    sketch.increment(key);
+    return delegate.get(key);
+  }
+
+  /** Puts the {@code value} into the cache for the {@code key} if it passes the admission. */
+  @Override
+  public void put(K key, V value) {
+    if (admit(key, value)) {
+      delegate.put(key, value);
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    delegate.remove(key);
+  }
+
+  private boolean admit(K key, V value) {
+    long weight = Math.max(1, weigher.applyAsInt(key, value));
+    long capacity = delegate.capacity();
+    if (weight > capacity) {
+      return false;
+    }
+    if (delegate.weightedSize() + weight <= capacity) {
+      return true;
+    }
+    Iterator<K> victims = delegate.ascendingKeySetWithLimit(1).iterator();
+    if (!victims.hasNext()) {
+      return true;
+    }
+    return sketch.frequency(key) > sketch.frequency(victims.next());
+  }
+
+  // Visible for tests
+  int size() {
+    return delegate.size();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+/**
+ * A probabilistic, count-min style estimate of how often keys were accessed, using four 4-bit
+ * counters per key packed into a {@code long[]} table. All counters are periodically halved so that
+ * the estimate favors recent accesses (the "aging" step of TinyLFU).
+ *
+ * <p>Updates are not synchronized: concurrent increments may occasionally be lost, which only makes
+ * the estimate slightly less accurate.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long COUNTER_MASK = 0xfL;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int additions;
+
+  FrequencySketch(int expectedSize) {
+    int size = Math.max(Integer.highestOneBit(Math.max(expectedSize, 8) - 1) << 1, 8);
+    table = new long[size];
+    tableMask = size - 1;
+    sampleSize = 10 * size;
+  }
+
+  /** Returns the estimated number of recent accesses of {@code key}, at most 15. */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int offset = counterOffset(hash, i);
+      int count = (int) ((table[indexOf(hash, i)] >>> offset) & COUNTER_MASK);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /** Records an access of {@code key}. */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int offset = counterOffset(hash, i);
+      long mask = COUNTER_MASK << offset;
+      if ((table[index] & mask) != mask) {
+        table[index] += 1L << offset;
+        added = true;
+      }
+    }
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    additions = additions >>> 1;
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  // each long holds 16 counters, select one of them with 4 bits of the hash
+  private static int counterOffset(int hash, int i) {
+    return ((hash >>> (i << 2)) & 0xf) << 2;
+  }
+
+  private static int spread(int hash) {
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (hash >>> 16) ^ hash;
+  }
+}
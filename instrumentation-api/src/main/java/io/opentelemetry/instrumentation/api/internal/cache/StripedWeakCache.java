@@ -0,0 +1,307 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A cache with weakly referenced keys that are compared by identity, split into stripes selected
+ * by the identity hash code of the key. Each stripe is a hash table with immutable bucket chains,
+ * so lookups never lock and never allocate; updates lock only their stripe. Entries of collected
+ * keys are removed a few at a time by the operations on their stripe, so the cleanup cost is
+ * spread over the operations instead of being paid by a single thread or a background thread.
+ *
+ * <p>A stripe and its table are only allocated when the first entry is put in it, so that caches
+ * that stay empty or small, like most of the virtual field caches, are cheap.
+ */
+final class StripedWeakCache<K, V> implements Cache<K, V> {
+
+  // a power of two, twice the number of cpus rounded up, at most 64
+  private static final int STRIPES =
+      Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1));
+  private static final int INITIAL_STRIPE_CAPACITY = 16;
+  // the maximum number of collected entries removed by a single operation
+  private static final int MAX_EXPUNGED_PER_OPERATION = 16;
+
+  // stripes are created on the first put, a missing stripe has no entries
+  private final AtomicReferenceArray<Stripe<K, V>> stripes = new AtomicReferenceArray<>(STRIPES);
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    int hash = hash(key);
+    V value = get(key, hash);
+    if (value != null) {
+      return value;
+    }
+    // like the other cache implementations, the mapping function may be called concurrently for
+    // the same key, only one of the values is kept
+    value = mappingFunction.apply(key);
+    return stripeForUpdate(hash).putIfAbsent(key, hash, value);
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    return get(key, hash(key));
+  }
+
+  @Override
+  public void put(K key, V value) {
+    int hash = hash(key);
+    stripeForUpdate(hash).put(key, hash, value);
+  }
+
+  @Override
+  public void remove(K key) {
+    int hash = hash(key);
+    Stripe<K, V> stripe = stripes.get(stripeIndex(hash));
+    if (stripe != null) {
+      stripe.remove(key, hash);
+    }
+  }
+
+  // Visible for testing
+  int size() {
+    int size = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      Stripe<K, V> stripe = stripes.get(i);
+      if (stripe != null) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  // Visible for testing
+  int allocatedStripes() {
+    int allocated = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      if (stripes.get(i) != null) {
+        allocated++;
+      }
+    }
+    return allocated;
+  }
+
+  @Nullable
+  private V get(K key, int hash) {
+    Stripe<K, V> stripe = stripes.get(stripeIndex(hash));
+    return stripe != null ? stripe.get(key, hash) : null;
+  }
+
+  private Stripe<K, V> stripeForUpdate(int hash) {
+    int index = stripeIndex(hash);
+    Stripe<K, V> stripe = stripes.get(index);
+    if (stripe == null) {
+      Stripe<K, V> newStripe = new Stripe<>();
+      if (stripes.compareAndSet(index, null, newStripe)) {
+        return newStripe;
+      }
+      stripe = stripes.get(index);
+    }
+    return stripe;
+  }
+
+  private static int stripeIndex(int hash) {
+    // the stripe uses the low bits of the hash to pick a bucket, use the high bits here
+    return (hash >>> 16) & (STRIPES - 1);
+  }
+
+  private static int hash(Object key) {
+    int hash = System.identityHashCode(key);
+    return hash ^ (hash >>> 7);
+  }
+
+  private static final class Stripe<K, V> {
+
+    private final ReferenceQueue<K> collectedKeys = new ReferenceQueue<>();
+    private volatile AtomicReferenceArray<Entry<K, V>> table =
+        new AtomicReferenceArray<>(INITIAL_STRIPE_CAPACITY);
+    // guarded by this
+    private int size;
+
+    @Nullable
+    V get(K key, int hash) {
+      expungeCollectedEntries();
+      AtomicReferenceArray<Entry<K, V>> table = this.table;
+      Entry<K, V> entry = table.get(hash & (table.length() - 1));
+      while (entry != null) {
+        if (entry.hash == hash && entry.get() == key) {
+          return entry.value;
+        }
+        entry = entry.next;
+      }
+      return null;
+    }
+
+    synchronized V putIfAbsent(K key, int hash, V value) {
+      expungeCollectedEntries();
+      Entry<K, V> existing = find(key, hash);
+      if (existing != null) {
+        return existing.value;
+      }
+      insert(key, hash, value);
+      return value;
+    }
+
+    synchronized void put(K key, int hash, V value) {
+      expungeCollectedEntries();
+      Entry<K, V> existing = find(key, hash);
+      if (existing != null) {
+        existing.value = value;
+      } else {
+        insert(key, hash, value);
+      }
+    }
+
+    synchronized void remove(K key, int hash) {
+      Entry<K, V> existing = find(key, hash);
+      if (existing != null) {
+        unlink(existing);
+      }
+      expungeCollectedEntries();
+    }
+
+    synchronized int size() {
+      // unlike the other operations, all the collected entries are removed
+      for (Reference<? extends K> reference = collectedKeys.poll();
+          reference != null;
+          reference = collectedKeys.poll()) {
+        unlink((Entry<?, ?>) reference);
+      }
+      return size;
+    }
+
+    private void expungeCollectedEntries() {
+      // the queue is checked without taking its lock when it is empty, which is the common case
+      Reference<? extends K> reference = collectedKeys.poll();
+      if (reference == null) {
+        return;
+      }
+      synchronized (this) {
+        int expunged = 0;
+        while (reference != null) {
+          unlink((Entry<?, ?>) reference);
+          if (++expunged == MAX_EXPUNGED_PER_OPERATION) {
+            return;
+          }
+          reference = collectedKeys.poll();
+        }
+      }
+    }
+
+    // must be called while holding the lock
+    @Nullable
+    private Entry<K, V> find(K key, int hash) {
+      AtomicReferenceArray<Entry<K, V>> table = this.table;
+      Entry<K, V> entry = table.get(hash & (table.length() - 1));
+      while (entry != null) {
+        if (entry.hash == hash && entry.get() == key) {
+          return entry;
+        }
+        entry = entry.next;
+      }
+      return null;
+    }
+
+    // must be called while holding the lock
+    private void insert(K key, int hash, V value) {
+      if (size >= table.length() * 3 / 4) {
+        resize();
+      }
+      AtomicReferenceArray<Entry<K, V>> table = this.table;
+      int index = hash & (table.length() - 1);
+      table.set(index, new Entry<>(key, hash, value, table.get(index), collectedKeys));
+      size++;
+    }
+
+    // must be called while holding the lock, chains are immutable so that concurrent lookups
+    // always see a consistent chain: the entries in front of the removed one are copied
+    @SuppressWarnings("unchecked")
+    private void unlink(Entry<?, ?> removed) {
+      AtomicReferenceArray<Entry<K, V>> table = this.table;
+      int index = removed.hash & (table.length() - 1);
+      Entry<K, V> first = table.get(index);
+      Entry<K, V> newFirst = (Entry<K, V>) removed.next;
+      boolean found = false;
+      for (Entry<K, V> entry = first; entry != null; entry = entry.next) {
+        if (entry == removed) {
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        // already removed, e.g. explicitly before its key was collected
+        return;
+      }
+      for (Entry<K, V> entry = first; entry != removed; entry = entry.next) {
+        K key = entry.get();
+        if (key != null) {
+          newFirst = new Entry<>(key, entry.hash, entry.value, newFirst, collectedKeys);
+        } else {
+          // the key was collected too, drop it now rather than copying it
+          size--;
+        }
+      }
+      table.set(index, newFirst);
+      size--;
+    }
+
+    // must be called while holding the lock, entries of collected keys are dropped
+    private void resize() {
+      AtomicReferenceArray<Entry<K, V>> oldTable = this.table;
+      int liveEntries = 0;
+      for (int i = 0; i < oldTable.length(); i++) {
+        for (Entry<K, V> entry = oldTable.get(i); entry != null; entry = entry.next) {
+          if (entry.get() != null) {
+            liveEntries++;
+          }
+        }
+      }
+      // only grow when the table is full of live entries
+      int newLength =
+          liveEntries >= oldTable.length() / 2 ? oldTable.length() * 2 : oldTable.length();
+      AtomicReferenceArray<Entry<K, V>> newTable = new AtomicReferenceArray<>(newLength);
+      // keys may be collected while the table is copied, so the entries that are actually copied
+      // are counted again
+      int copiedEntries = 0;
+      for (int i = 0; i < oldTable.length(); i++) {
+        for (Entry<K, V> entry = oldTable.get(i); entry != null; entry = entry.next) {
+          K key = entry.get();
+          if (key != null) {
+            int index = entry.hash & (newLength - 1);
+            newTable.set(
+                index,
+                new Entry<>(key, entry.hash, entry.value, newTable.get(index), collectedKeys));
+            copiedEntries++;
+          }
+        }
+      }
+      // the copied entries are registered with the reference queue again, the old ones are
+      // enqueued when their key is collected, and then ignored by unlink() as they aren't found
+      table = newTable;
+      size = copiedEntries;
+    }
+  }
+
+  private static final class Entry<K, V> extends WeakReference<K> {
+    final int hash;
+    @Nullable final Entry<K, V> next;
+    volatile V value;
+
+    Entry(K key, int hash, V value, @Nullable Entry<K, V> next, ReferenceQueue<K> queue) {
+      super(key, queue);
+      this.hash = hash;
+      this.value = value;
+      this.next = next;
+    }
+  }
+}
@@ -23,6 +23,7 @@ import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
@@ -191,6 +192,59 @@ class InstrumenterTest {
                                             attributeEntry("resp3", "resp3_value")))));
   }
 
+  @Test
+  void server_objectReuse() {
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(new AttributesExtractor1())
+            .addAttributesExtractor(new AttributesExtractor2())
+            .addSpanLinksExtractor(new LinksExtractor())
+            .setObjectReuseEnabled(true)
+            .buildServerInstrumenter(new MapGetter());
+
+    for (int i = 0; i < 2; i++) {
+      Context context = instrumenter.start(Context.root(), REQUEST);
+      instrumenter.end(context, REQUEST, RESPONSE, i == 0 ? null : new IllegalStateException());
+    }
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasStatus(StatusData.unset())
+                            .hasLinks(expectedSpanLink())
+                            .hasAttributesSatisfying(
+                                attributes ->
+                                    assertThat(attributes)
+                                        .containsOnly(
+                                            attributeEntry("req1", "req1_value"),
+                                            attributeEntry("req2", "req2_2_value"),
+                                            attributeEntry("req3", "req3_value"),
+                                            attributeEntry("resp1", "resp1_value"),
+                                            attributeEntry("resp2", "resp2_2_value"),
+                                            attributeEntry("resp3", "resp3_value")))),
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasStatus(StatusData.error())
+                            .hasLinks(expectedSpanLink())
+                            .hasAttributesSatisfying(
+                                attributes ->
+                                    assertThat(attributes)
+                                        .containsOnly(
+                                            attributeEntry("req1", "req1_value"),
+                                            attributeEntry("req2", "req2_2_value"),
+                                            attributeEntry("req3", "req3_value"),
+                                            attributeEntry("resp1", "resp1_value"),
+                                            attributeEntry("resp2", "resp2_2_value"),
+                                            attributeEntry("resp3", "resp3_value")))));
+  }
+
   @Test
   void server_error() {
     Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
@@ -471,6 +525,28 @@ class InstrumenterTest {
     assertThat(context.get(testKey)).isEqualTo("testVal");
   }
 
+  @Test
+  void shouldNotStoreInstrumentationStateWhenNothingIsStored() {
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(), "test", request -> "test span")
+            .buildInstrumenter();
+
+    // the parent is a local root, which is stored in a new record
+    Context parentContext = instrumenter.start(Context.root(), "parent");
+    InstrumentationState parentState = InstrumentationState.fromContextOrNull(parentContext);
+    assertThat(parentState).isNotNull();
+
+    // the child stores nothing, so it keeps the record of the parent
+    Context context = instrumenter.start(parentContext, "child");
+    assertThat(InstrumentationState.fromContextOrNull(context)).isSameAs(parentState);
+    assertThat(LocalRootSpan.fromContext(context)).isSameAs(Span.fromContext(parentContext));
+    assertThat(Span.fromContext(context)).isNotSameAs(Span.fromContext(parentContext));
+
+    instrumenter.end(context, "child", "response", null);
+    instrumenter.end(parentContext, "parent", "response", null);
+  }
+
   @Test
   void shouldDisableInstrumenter() {
     Instrumenter<String, String> instrumenter =
@@ -83,4 +83,27 @@ class UnsafeAttributesTest {
             attributeEntry("lives", 9L),
             attributeEntry("clothes", "fur"));
   }
+
+  @Test
+  void growAndClear() {
+    UnsafeAttributes attributes = new UnsafeAttributes(1);
+    for (int i = 0; i < 100; i++) {
+      attributes.put(AttributeKey.longKey("key" + i), i);
+    }
+    attributes.put(AttributeKey.stringKey("ignored"), null);
+
+    assertThat((Attributes) attributes).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(attributes.get(AttributeKey.longKey("key" + i))).isEqualTo((long) i);
+    }
+    assertThat(attributes.get(AttributeKey.stringKey("ignored"))).isNull();
+    assertThat((Attributes) attributes).isEqualTo(attributes.build());
+
+    attributes.clear();
+    assertThat((Attributes) attributes).isEmpty();
+    assertThat(attributes.get(AttributeKey.longKey("key0"))).isNull();
+
+    attributes.put("animal", "cat");
+    assertThat((Attributes) attributes).containsOnly(attributeEntry("animal", "cat"));
+  }
 }
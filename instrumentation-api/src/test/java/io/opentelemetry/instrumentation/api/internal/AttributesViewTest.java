@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.opentelemetry.api.common.Attributes;
+import org.junit.jupiter.api.Test;
+
+class AttributesViewTest {
+
+  private static final AttributesView VIEW =
+      AttributesView.create(2, stringKey("method"), longKey("status"));
+
+  @Test
+  void retainsOnlyViewKeys() {
+    Attributes attributes =
+        Attributes.builder()
+            .put("method", "GET")
+            .put("status", 200L)
+            .put("url", "https://example.com/12345")
+            .build();
+
+    assertThat(VIEW.apply(attributes))
+        .containsOnly(entry(stringKey("method"), "GET"), entry(longKey("status"), 200L));
+  }
+
+  @Test
+  void secondAttributesOverrideFirst() {
+    Attributes start = Attributes.builder().put("method", "GET").put("status", 100L).build();
+    Attributes end = Attributes.builder().put("status", 500L).put("url", "/").build();
+
+    assertThat(VIEW.apply(start, end))
+        .containsOnly(entry(stringKey("method"), "GET"), entry(longKey("status"), 500L));
+  }
+
+  @Test
+  void returnsCachedInstanceForSameValues() {
+    Attributes first = VIEW.apply(Attributes.builder().put("method", "PUT").put("id", 1L).build());
+    Attributes second =
+        VIEW.apply(Attributes.builder().put("method", "PUT").put("id", 2L).build());
+    Attributes other = VIEW.apply(Attributes.builder().put("method", "POST").build());
+
+    assertThat(second).isSameAs(first);
+    assertThat(other).isNotSameAs(first);
+    assertThat(other).containsOnly(entry(stringKey("method"), "POST"));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationStateTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("test-key");
+
+  private static final Span SPAN =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "090a0b0c0d0e0f00",
+              TraceFlags.getSampled(),
+              TraceState.getDefault()));
+
+  @Test
+  void storesValuesWithoutCopyingUntilPublished() {
+    Context context = InstrumentationState.start(Context.root());
+
+    assertThat(InstrumentationState.with(context, KEY, "value")).isSameAs(context);
+    assertThat(SpanKey.HTTP_SERVER.storeInContext(context, SPAN)).isSameAs(context);
+    assertThat(InstrumentationState.get(context, KEY)).isEqualTo("value");
+    assertThat(SpanKey.HTTP_SERVER.fromContextOrNull(context)).isSameAs(SPAN);
+    assertThat(context.get(KEY)).isNull();
+  }
+
+  @Test
+  void copiesAfterPublished() {
+    Context context = InstrumentationState.start(Context.root());
+    context = InstrumentationState.with(context, KEY, "first");
+    InstrumentationState.publish(context);
+
+    Context newContext = InstrumentationState.with(context, KEY, "second");
+    Context spanContext = SpanKey.HTTP_CLIENT.storeInContext(context, SPAN);
+
+    assertThat(newContext).isNotSameAs(context);
+    assertThat(InstrumentationState.get(context, KEY)).isEqualTo("first");
+    assertThat(InstrumentationState.get(newContext, KEY)).isEqualTo("second");
+    assertThat(spanContext).isNotSameAs(context);
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(context)).isNull();
+    assertThat(SpanKey.HTTP_CLIENT.fromContextOrNull(spanContext)).isSameAs(SPAN);
+  }
+
+  @Test
+  void childInheritsParentValues() {
+    Context parent = InstrumentationState.start(Context.root());
+    parent = InstrumentationState.with(parent, KEY, "parent");
+    parent = SpanKey.KIND_SERVER.storeInContext(parent, SPAN);
+    InstrumentationState.publish(parent);
+
+    Context child = InstrumentationState.start(parent);
+    child = InstrumentationState.with(child, KEY, "child");
+    child = SpanKey.DB_CLIENT.storeInContext(child, SPAN);
+
+    assertThat(InstrumentationState.get(child, KEY)).isEqualTo("child");
+    assertThat(SpanKey.KIND_SERVER.fromContextOrNull(child)).isSameAs(SPAN);
+    assertThat(InstrumentationState.get(parent, KEY)).isEqualTo("parent");
+    assertThat(SpanKey.DB_CLIENT.fromContextOrNull(parent)).isNull();
+  }
+
+  @Test
+  void findsValuesStoredDirectlyInContext() {
+    Context parent = SpanKey.KIND_CLIENT.storeInContext(Context.root().with(KEY, "plain"), SPAN);
+
+    Context context = InstrumentationState.start(parent);
+
+    assertThat(InstrumentationState.get(context, KEY)).isEqualTo("plain");
+    assertThat(SpanKey.KIND_CLIENT.fromContextOrNull(context)).isSameAs(SPAN);
+  }
+
+  @Test
+  void checksSpanKeysWithBits() {
+    SpanKey[] spanKeys = {SpanKey.KIND_CLIENT, SpanKey.HTTP_CLIENT};
+    int bits = SpanKey.bitsOf(Arrays.asList(spanKeys));
+
+    Context context = InstrumentationState.start(Context.root());
+    context = SpanKey.KIND_CLIENT.storeInContext(context, SPAN);
+    assertThat(SpanKey.allStoredInContext(context, spanKeys, bits)).isFalse();
+
+    context = SpanKey.HTTP_CLIENT.storeInContext(context, SPAN);
+    assertThat(SpanKey.allStoredInContext(context, spanKeys, bits)).isTrue();
+
+    Context plain =
+        SpanKey.HTTP_CLIENT.storeInContext(
+            SpanKey.KIND_CLIENT.storeInContext(Context.root(), SPAN), SPAN);
+    assertThat(SpanKey.allStoredInContext(plain, spanKeys, bits)).isTrue();
+  }
+}
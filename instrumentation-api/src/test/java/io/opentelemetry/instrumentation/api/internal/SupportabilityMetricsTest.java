@@ -5,9 +5,14 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -71,4 +76,96 @@ class SupportabilityMetricsTest {
             "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 1",
             "Counter 'some counter' : 1");
   }
+
+  @Test
+  void exportsObservableCounters() {
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, true, report -> {});
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    metrics.registerObservers(meterProvider.get("test"));
+
+    SupportabilityMetrics.SuppressedSpanCounters suppressedSpans =
+        metrics.suppressedSpanCounters("favoriteInstrumentation");
+    SupportabilityMetrics.Counter counter = metrics.counter("some counter");
+    suppressedSpans.increment(SpanKind.CLIENT);
+    suppressedSpans.increment(SpanKind.CLIENT);
+    counter.increment();
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                OpenTelemetryAssertions.assertThat(metric)
+                    .hasName("otel.instrumentation.supportability.suppressed_spans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(2)
+                                            .hasAttributesSatisfying(
+                                                equalTo(
+                                                    stringKey("instrumentation.name"),
+                                                    "favoriteInstrumentation"),
+                                                equalTo(stringKey("span.kind"), "CLIENT")))),
+            metric ->
+                OpenTelemetryAssertions.assertThat(metric)
+                    .hasName("otel.instrumentation.supportability.counter")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(1)
+                                            .hasAttributesSatisfying(
+                                                equalTo(
+                                                    stringKey("counter.name"), "some counter")))));
+
+    // exported counters are cumulative, reporting the deltas to the log does not reset them
+    metrics.report();
+    counter.increment();
+
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                OpenTelemetryAssertions.assertThat(metric)
+                    .hasName("otel.instrumentation.supportability.counter")
+                    .hasLongSumSatisfying(
+                        sum -> sum.hasPointsSatisfying(point -> point.hasValue(2))));
+  }
+
+  @Test
+  void disabledHandlesAreNoop() {
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, false, report -> {});
+
+    SupportabilityMetrics.Counter counter = metrics.counter("some counter");
+    counter.increment();
+
+    assertThat(counter.sum()).isZero();
+  }
+
+  @Test
+  void countsConcurrentIncrements() throws InterruptedException {
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, true, report -> {});
+    SupportabilityMetrics.Counter counter = metrics.counter("some counter");
+
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 10_000; j++) {
+                  counter.increment();
+                }
+              });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(counter.sum()).isEqualTo(80_000);
+  }
 }
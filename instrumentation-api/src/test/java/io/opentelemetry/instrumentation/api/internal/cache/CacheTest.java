@@ -8,6 +8,8 @@ package io.opentelemetry.instrumentation.api.internal.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +37,38 @@ class CacheTest {
       assertThat(mapBackedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void frequencyAware() {
+      List<String> evicted = new ArrayList<>();
+      Cache<String, String> cache =
+          Cache.frequencyAware(
+              10, 10, (key, value) -> key.length(), (key, value) -> evicted.add(key));
+      FrequencyAwareCache<?, ?> frequencyAwareCache = (FrequencyAwareCache<?, ?>) cache;
+
+      // too heavy to be ever cached
+      assertThat(cache.computeIfAbsent("elephant-elephant", unused -> "toot")).isEqualTo("toot");
+      assertThat(frequencyAwareCache.size()).isEqualTo(0);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      assertThat(cache.computeIfAbsent("bear", unused -> "growl")).isEqualTo("roar");
+      assertThat(cache.computeIfAbsent("bear", unused -> "growl")).isEqualTo("roar");
+      assertThat(cache.computeIfAbsent("wolf", unused -> "howl")).isEqualTo("howl");
+      assertThat(frequencyAwareCache.size()).isEqualTo(2);
+
+      // the cache is full, a key seen for the first time does not evict a more frequent one
+      assertThat(cache.computeIfAbsent("lion", unused -> "roar")).isEqualTo("roar");
+      assertThat(cache.get("bear")).isEqualTo("roar");
+      assertThat(evicted).isEmpty();
+
+      // but does once it is used more often than the least recently used entry
+      for (int i = 0; i < 5; i++) {
+        cache.computeIfAbsent("lion", unused -> "roar");
+      }
+      assertThat(cache.get("lion")).isEqualTo("roar");
+      assertThat(evicted).containsExactly("wolf");
+      assertThat(cache.get("bear")).isEqualTo("roar");
+    }
   }
 
   @Nested
@@ -74,5 +108,88 @@ class CacheTest {
       // Wait for GC to be reflected.
       await().untilAsserted(() -> assertThat(weakLockFreeCache.size()).isEqualTo(0));
     }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    void striped() {
+      Cache<String, String> cache = Cache.weakStriped();
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+
+      StripedWeakCache<?, ?> stripedCache = ((StripedWeakCache<?, ?>) cache);
+      String cat = new String("cat");
+      String dog = new String("dog");
+      assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+      assertThat(stripedCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent(cat, unused -> "bark")).isEqualTo("meow");
+      assertThat(stripedCache.size()).isEqualTo(1);
+
+      cache.put(dog, "bark");
+      assertThat(cache.get(dog)).isEqualTo("bark");
+      assertThat(cache.get(cat)).isEqualTo("meow");
+      assertThat(cache.get(new String("dog"))).isNull();
+      assertThat(stripedCache.size()).isEqualTo(2);
+      cache.put(dog, "woof");
+      assertThat(cache.get(dog)).isEqualTo("woof");
+      assertThat(stripedCache.size()).isEqualTo(2);
+
+      cat = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedCache.size()).isEqualTo(1));
+      assertThat(cache.computeIfAbsent(dog, unused -> "bark")).isEqualTo("woof");
+      dog = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedCache.size()).isEqualTo(0));
+    }
+
+    @Test
+    void stripedAllocatesStripesLazily() {
+      Cache<Object, String> cache = Cache.weakStriped();
+      StripedWeakCache<?, ?> stripedCache = ((StripedWeakCache<?, ?>) cache);
+
+      Object key = new Object();
+      assertThat(cache.get(key)).isNull();
+      cache.remove(key);
+      assertThat(stripedCache.size()).isEqualTo(0);
+      assertThat(stripedCache.allocatedStripes()).isEqualTo(0);
+
+      cache.put(key, "value");
+      assertThat(cache.get(key)).isEqualTo("value");
+      assertThat(stripedCache.allocatedStripes()).isEqualTo(1);
+    }
+
+    @Test
+    void stripedGrows() {
+      Cache<Object, Integer> cache = Cache.weakStriped();
+      StripedWeakCache<?, ?> stripedCache = ((StripedWeakCache<?, ?>) cache);
+
+      List<Object> keys = new ArrayList<>();
+      for (int i = 0; i < 10_000; i++) {
+        Object key = new Object();
+        keys.add(key);
+        cache.put(key, i);
+      }
+      assertThat(stripedCache.size()).isEqualTo(10_000);
+      for (int i = 0; i < keys.size(); i++) {
+        assertThat(cache.get(keys.get(i))).isEqualTo(i);
+      }
+
+      for (int i = 0; i < keys.size(); i += 2) {
+        cache.remove(keys.get(i));
+      }
+      assertThat(stripedCache.size()).isEqualTo(5_000);
+      for (int i = 0; i < keys.size(); i++) {
+        assertThat(cache.get(keys.get(i))).isEqualTo(i % 2 == 0 ? null : i);
+      }
+
+      keys.clear();
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedCache.size()).isEqualTo(0));
+    }
   }
 }
@@ -1,3 +1,21 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.javaagent-bootstrap")
+  id("otel.jmh-conventions")
+}
+
+dependencies {
+  jmhImplementation("io.opentelemetry:opentelemetry-api")
+  jmhImplementation(project(":instrumentation-api"))
+  jmhImplementation(project(":javaagent-bootstrap"))
+}
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// compares attaching the context to each task of a bulk submission (and running the tasks) one by
+// one with attaching a single shared context to all of them
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ExecutorAdviceHelperBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+
+  private static final VirtualField<Callable<?>, PropagatedContext> VIRTUAL_FIELD =
+      VirtualField.find(Callable.class, PropagatedContext.class);
+
+  @Param({"10", "1000"})
+  public int taskCount;
+
+  private Context context;
+  private List<Callable<?>> tasks;
+
+  @Setup
+  public void setUp() {
+    InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(className -> false);
+    context = Context.root().with(KEY, "value");
+    tasks = new ArrayList<>(taskCount);
+    for (int i = 0; i < taskCount; i++) {
+      tasks.add(new TestTask());
+    }
+  }
+
+  @Benchmark
+  public void perTask() {
+    for (Callable<?> task : tasks) {
+      if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+        PropagatedContext propagatedContext =
+            ExecutorAdviceHelper.attachContextToTask(context, VIRTUAL_FIELD, task);
+        ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, null);
+      }
+    }
+    runTasks();
+  }
+
+  @Benchmark
+  public void batch() {
+    PropagatedContext propagatedContext =
+        ExecutorAdviceHelper.attachContextToTasks(context, VIRTUAL_FIELD, tasks);
+    runTasks();
+    ExecutorAdviceHelper.cleanUpAfterBatch(propagatedContext);
+  }
+
+  private void runTasks() {
+    for (Callable<?> task : tasks) {
+      Scope scope = TaskAdviceHelper.makePropagatedContextCurrent(VIRTUAL_FIELD, task);
+      if (scope != null) {
+        scope.close();
+      }
+    }
+  }
+
+  private static class TestTask implements Callable<Object> {
+    @Override
+    public Object call() {
+      return null;
+    }
+  }
+}
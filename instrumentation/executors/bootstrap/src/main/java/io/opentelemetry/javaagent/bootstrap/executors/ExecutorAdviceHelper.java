@@ -9,6 +9,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
+import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 
@@ -49,17 +50,15 @@ public final class ExecutorAdviceHelper {
     // that happening - in the event of this happening one of those tasks would lose the original
     // context anyway
     PropagatedContext propagatedContext = virtualField.get(task);
-    if (propagatedContext == null) {
+    // if task already has the requested context then we might be inside a nested call to execute
+    // where an outer call already attached state
+    if (propagatedContext != null && isSameContext(propagatedContext.get(), context)) {
+      return null;
+    }
+    // a context shared by a bulk submission must not be reused for a separate submission
+    if (propagatedContext == null || propagatedContext.isShared()) {
       propagatedContext = new PropagatedContext();
       virtualField.set(task, propagatedContext);
-    } else {
-      Context propagated = propagatedContext.get();
-      // if task already has the requested context then we might be inside a nested call to execute
-      // where an outer call already attached state
-      if (propagated != null
-          && (propagated == context || ContextPropagationDebug.unwrap(propagated) == context)) {
-        return null;
-      }
     }
 
     if (ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
@@ -70,6 +69,57 @@ public final class ExecutorAdviceHelper {
     return propagatedContext;
   }
 
+  /**
+   * Associate {@code context} with all the passed {@code tasks} at once. All the tasks share a
+   * single {@link PropagatedContext}, which is not cleared when one of the tasks runs; this avoids
+   * allocating and updating a separate {@link PropagatedContext} for each task. Tasks for which
+   * {@link #shouldPropagateContext(Context, Object)} returns {@code false} are skipped.
+   *
+   * <p>The shared context is only attached to the passed {@code tasks}: any other task submitted
+   * while the bulk submission is in progress (including the tasks that the executor creates to run
+   * the passed ones, e.g. the {@code FutureTask}s of {@code invokeAll()}) gets its own context, as
+   * it may still be queued or running when the bulk submission exits.
+   *
+   * <p>Only use this method for submission methods that do not return before all the submitted
+   * tasks have completed or have been cancelled (e.g. {@code invokeAll()}), and always call {@link
+   * #cleanUpAfterBatch(PropagatedContext)} after the submission method has exited.
+   */
+  @Nullable
+  public static <T> PropagatedContext attachContextToTasks(
+      Context context,
+      VirtualField<T, PropagatedContext> virtualField,
+      Collection<? extends T> tasks) {
+    if (context == Context.root()) {
+      return null;
+    }
+
+    PropagatedContext batch = null;
+    for (T task : tasks) {
+      if (shouldPropagateContext(context, task)) {
+        if (batch == null) {
+          if (ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
+            context =
+                ContextPropagationDebug.appendLocations(
+                    context, new Exception().getStackTrace(), tasks);
+          }
+          batch = PropagatedContext.shared(context);
+        }
+        attachSharedContext(batch, virtualField, task);
+      }
+    }
+    return batch;
+  }
+
+  /**
+   * Clean up the {@code batch} returned by {@link #attachContextToTasks(Context, VirtualField,
+   * Collection)}. Call this method after the submission method has exited.
+   */
+  public static void cleanUpAfterBatch(@Nullable PropagatedContext batch) {
+    if (batch != null) {
+      batch.clear();
+    }
+  }
+
   /**
    * Clean up {@code propagatedContext} in case of any submission errors. Call this method after the
    * submission method has exited.
@@ -93,10 +143,26 @@ public final class ExecutorAdviceHelper {
   public static <T> void cleanPropagatedContext(
       VirtualField<T, PropagatedContext> virtualField, T task) {
     PropagatedContext propagatedContext = virtualField.get(task);
-    if (propagatedContext != null) {
+    // a shared context is cleaned up by its bulk submission, as it's used by other tasks too
+    if (propagatedContext != null && !propagatedContext.isShared()) {
       propagatedContext.clear();
     }
   }
 
+  private static <T> void attachSharedContext(
+      PropagatedContext batch, VirtualField<T, PropagatedContext> virtualField, T task) {
+    // same as in attachContextToTask(), don't overwrite a context that was attached concurrently
+    PropagatedContext propagatedContext = virtualField.get(task);
+    if (propagatedContext != batch
+        && (propagatedContext == null || propagatedContext.get() == null)) {
+      virtualField.set(task, batch);
+    }
+  }
+
+  private static boolean isSameContext(@Nullable Context propagated, Context context) {
+    return propagated != null
+        && (propagated == context || ContextPropagationDebug.unwrap(propagated) == context);
+  }
+
   private ExecutorAdviceHelper() {}
 }
@@ -23,7 +23,25 @@ public final class PropagatedContext {
   @SuppressWarnings("UnusedVariable")
   private volatile Context context;
 
-  PropagatedContext() {}
+  // shared by all the tasks of a bulk submission, not cleared when one of the tasks runs
+  private final boolean shared;
+
+  PropagatedContext() {
+    this.shared = false;
+  }
+
+  private PropagatedContext(Context context) {
+    this.context = context;
+    this.shared = true;
+  }
+
+  /**
+   * Returns a {@link PropagatedContext} that can be attached to many tasks at once: running a task
+   * does not clear it, it has to be cleared once all the tasks have been run.
+   */
+  static PropagatedContext shared(Context context) {
+    return new PropagatedContext(context);
+  }
 
   void setContext(Context context) {
     boolean result = contextUpdater.compareAndSet(this, null, context);
@@ -38,11 +56,18 @@ public final class PropagatedContext {
     }
   }
 
+  boolean isShared() {
+    return shared;
+  }
+
   void clear() {
     contextUpdater.set(this, null);
   }
 
   Context getAndClear() {
+    if (shared) {
+      return contextUpdater.get(this);
+    }
     return contextUpdater.getAndSet(this, null);
   }
 
@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static java.util.Collections.emptyList;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesBuilder;
+import io.opentelemetry.javaagent.extension.ignore.IgnoredTypesConfigurer;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+
+@AutoService(IgnoredTypesConfigurer.class)
+public class ExecutorsIgnoredTypesConfigurer implements IgnoredTypesConfigurer {
+
+  private static final String INLINE_TASK_CLASSES_PROPERTY_NAME =
+      "otel.instrumentation.executors.inline-task-classes";
+
+  @Override
+  public void configure(IgnoredTypesBuilder builder, ConfigProperties config) {
+    // tasks that are known to always run on the submitting thread already run in the right context,
+    // there's no need to pay for attaching the context to them on each submission
+    for (String taskClass : config.getList(INLINE_TASK_CLASSES_PROPERTY_NAME, emptyList())) {
+      builder.ignoreTaskClass(taskClass);
+    }
+  }
+}
@@ -20,7 +20,6 @@ import io.opentelemetry.javaagent.bootstrap.executors.ExecutorAdviceHelper;
 import io.opentelemetry.javaagent.bootstrap.executors.PropagatedContext;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
@@ -179,48 +178,28 @@ public class JavaExecutorInstrumentation extends AbstractExecutorInstrumentation
   public static class SetCallableStateForCallableCollectionAdvice {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
-    public static Collection<?> submitEnter(
+    public static PropagatedContext submitEnter(
         @Advice.Argument(value = 0, readOnly = false) Collection<? extends Callable<?>> tasks) {
       if (tasks == null) {
-        return Collections.emptyList();
+        return null;
       }
 
+      // all the tasks share a single PropagatedContext
       Context context = Java8BytecodeBridge.currentContext();
-      for (Callable<?> task : tasks) {
-        if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
-          VirtualField<Callable<?>, PropagatedContext> virtualField =
-              VirtualField.find(Callable.class, PropagatedContext.class);
-          ExecutorAdviceHelper.attachContextToTask(context, virtualField, task);
-        }
-      }
-
-      // returning tasks and not propagatedContexts to avoid allocating another list just for an
-      // edge case (exception)
-      return tasks;
+      VirtualField<Callable<?>, PropagatedContext> virtualField =
+          VirtualField.find(Callable.class, PropagatedContext.class);
+      return ExecutorAdviceHelper.attachContextToTasks(context, virtualField, tasks);
     }
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
-    public static void submitExit(
-        @Advice.Enter Collection<? extends Callable<?>> tasks, @Advice.Thrown Throwable throwable) {
+    public static void submitExit(@Advice.Enter PropagatedContext propagatedContext) {
       /*
-       Note1: invokeAny doesn't return any futures so all we need to do for it
-       is to make sure we close all scopes in case of an exception.
-       Note2: invokeAll does return futures - but according to its documentation
-       it actually only returns after all futures have been completed - i.e. it blocks.
-       This means we do not need to setup any hooks on these futures, we just need to clear
-       any parent spans in case of an error.
-       (according to ExecutorService docs and AbstractExecutorService code)
+       Note: both invokeAny and invokeAll return only after the tasks have completed or have been
+       cancelled (according to ExecutorService docs and AbstractExecutorService code), so the
+       shared context is not needed anymore when they exit - regardless of whether they have
+       thrown an exception or not.
       */
-      if (throwable != null) {
-        for (Callable<?> task : tasks) {
-          if (task != null) {
-            VirtualField<Callable<?>, PropagatedContext> virtualField =
-                VirtualField.find(Callable.class, PropagatedContext.class);
-            PropagatedContext propagatedContext = virtualField.get(task);
-            ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, throwable);
-          }
-        }
-      }
+      ExecutorAdviceHelper.cleanUpAfterBatch(propagatedContext);
     }
   }
 }
@@ -7,8 +7,10 @@ package io.opentelemetry.javaagent.instrumentation.executors;
 
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.extendsClass;
 import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 import io.opentelemetry.context.Context;
@@ -20,6 +22,8 @@ import io.opentelemetry.javaagent.bootstrap.executors.PropagatedContext;
 import io.opentelemetry.javaagent.bootstrap.executors.TaskAdviceHelper;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
@@ -48,6 +52,12 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
     transformer.applyAdviceToMethod(
         named("fork").and(takesArguments(0)),
         JavaForkJoinTaskInstrumentation.class.getName() + "$ForkAdvice");
+    transformer.applyAdviceToMethod(
+        isStatic().and(named("invokeAll")).and(takesArgument(0, Collection.class)),
+        JavaForkJoinTaskInstrumentation.class.getName() + "$InvokeAllCollectionAdvice");
+    transformer.applyAdviceToMethod(
+        isStatic().and(named("invokeAll")).and(takesArgument(0, ForkJoinTask[].class)),
+        JavaForkJoinTaskInstrumentation.class.getName() + "$InvokeAllArrayAdvice");
   }
 
   @SuppressWarnings("unused")
@@ -121,4 +131,49 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
       ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, throwable);
     }
   }
+
+  /**
+   * {@code ForkJoinTask.invokeAll()} forks all the tasks and waits until they complete; the tasks
+   * share a single {@link PropagatedContext} instead of getting one each in {@link ForkAdvice}.
+   */
+  @SuppressWarnings("unused")
+  public static class InvokeAllCollectionAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static PropagatedContext enterInvokeAll(
+        @Advice.Argument(0) Collection<? extends ForkJoinTask<?>> tasks) {
+      if (tasks == null) {
+        return null;
+      }
+      Context context = Java8BytecodeBridge.currentContext();
+      VirtualField<ForkJoinTask<?>, PropagatedContext> virtualField =
+          VirtualField.find(ForkJoinTask.class, PropagatedContext.class);
+      return ExecutorAdviceHelper.attachContextToTasks(context, virtualField, tasks);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void exitInvokeAll(@Advice.Enter PropagatedContext propagatedContext) {
+      ExecutorAdviceHelper.cleanUpAfterBatch(propagatedContext);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class InvokeAllArrayAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static PropagatedContext enterInvokeAll(@Advice.Argument(0) ForkJoinTask<?>[] tasks) {
+      if (tasks == null) {
+        return null;
+      }
+      Context context = Java8BytecodeBridge.currentContext();
+      VirtualField<ForkJoinTask<?>, PropagatedContext> virtualField =
+          VirtualField.find(ForkJoinTask.class, PropagatedContext.class);
+      return ExecutorAdviceHelper.attachContextToTasks(context, virtualField, Arrays.asList(tasks));
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void exitInvokeAll(@Advice.Enter PropagatedContext propagatedContext) {
+      ExecutorAdviceHelper.cleanUpAfterBatch(propagatedContext);
+    }
+  }
 }
@@ -5,8 +5,10 @@
 
 package io.opentelemetry.javaagent.instrumentation.executors;
 
+import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
 import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -115,6 +117,59 @@ abstract class ExecutorInstrumentationTest<T extends ExecutorService>
     void submitForkJoinTask() {
       executeTwoTasks(task -> executor().submit((ForkJoinTask<?>) task));
     }
+
+    @Test
+    void forkJoinTaskInvokeAll() {
+      testing.runWithSpan(
+          "parent",
+          () -> {
+            List<JavaAsyncChild> children = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+              children.add(newTask(true, false));
+            }
+            // runs the first task on the calling thread and forks the others
+            ForkJoinTask.invokeAll(children);
+            children.forEach(JavaAsyncChild::waitForCompletion);
+          });
+      testing.waitAndAssertTraces(
+          trace ->
+              trace.hasSpansSatisfyingExactly(
+                  span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                  span -> span.hasName("asyncChild").hasParent(trace.getSpan(0)),
+                  span -> span.hasName("asyncChild").hasParent(trace.getSpan(0)),
+                  span -> span.hasName("asyncChild").hasParent(trace.getSpan(0))));
+    }
+
+    @Test
+    void submitDuringForkJoinTaskInvokeAll() throws InterruptedException {
+      ExecutorService otherExecutor = Executors.newSingleThreadExecutor();
+      // keeps the other executor busy, so that the task submitted below is still queued when
+      // invokeAll() returns
+      JavaAsyncChild blocker = newTask(false, true);
+      otherExecutor.execute(blocker);
+      JavaAsyncChild queued = newTask(true, false);
+
+      testing.runWithSpan(
+          "parent",
+          () ->
+              // the first task runs inline on the calling thread, with the same context as the
+              // tasks of invokeAll()
+              ForkJoinTask.invokeAll(
+                  ForkJoinTask.adapt(() -> otherExecutor.execute(queued)),
+                  newTask(true, false)));
+
+      blocker.unblock();
+      queued.waitForCompletion();
+      otherExecutor.shutdown();
+      otherExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+      testing.waitAndAssertTraces(
+          trace ->
+              trace.hasSpansSatisfyingExactly(
+                  span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                  span -> span.hasName("asyncChild").hasParent(trace.getSpan(0)),
+                  span -> span.hasName("asyncChild").hasParent(trace.getSpan(0))));
+    }
   }
 
   // CustomThreadPoolExecutor would normally be disabled except enabled by system property.
@@ -68,6 +68,31 @@ public abstract class AbstractExecutorServiceTest<T extends ExecutorService, U e
     executeTwoTasks(task -> executor.invokeAll(Collections.singleton(task), 10, TimeUnit.SECONDS));
   }
 
+  @Test
+  void invokeAllMultipleTasks() {
+    testing.runWithSpan(
+        "parent",
+        () -> {
+          List<U> children = new ArrayList<>();
+          for (int i = 0; i < 3; i++) {
+            children.add(newTask(true, false));
+          }
+          try {
+            executor.invokeAll(children);
+          } catch (InterruptedException e) {
+            throw new AssertionError(e);
+          }
+          children.forEach(TestTask::waitForCompletion);
+        });
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span -> span.hasName("asyncChild").hasParent(trace.getSpan(0)),
+                span -> span.hasName("asyncChild").hasParent(trace.getSpan(0)),
+                span -> span.hasName("asyncChild").hasParent(trace.getSpan(0))));
+  }
+
   @Test
   void invokeAny() {
     executeTwoTasks(task -> executor.invokeAny(Collections.singleton(task)));
@@ -29,6 +29,9 @@ public final class GrpcSingletons {
     boolean experimentalSpanAttributes =
         InstrumentationConfig.get()
             .getBoolean("otel.instrumentation.grpc.experimental-span-attributes", false);
+    int maxMessageEvents =
+        InstrumentationConfig.get()
+            .getInt("otel.instrumentation.grpc.experimental-max-message-events", Integer.MAX_VALUE);
 
     List<String> clientRequestMetadata =
         InstrumentationConfig.get()
@@ -40,6 +43,7 @@ public final class GrpcSingletons {
     GrpcTelemetry telemetry =
         GrpcTelemetry.builder(GlobalOpenTelemetry.get())
             .setCaptureExperimentalSpanAttributes(experimentalSpanAttributes)
+            .setMaxMessageEvents(maxMessageEvents)
             .setCapturedClientRequestMetadata(clientRequestMetadata)
             .setCapturedServerRequestMetadata(serverRequestMetadata)
             .build();
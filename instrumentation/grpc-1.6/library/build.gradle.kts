@@ -8,6 +8,10 @@ val grpcVersion = "1.6.0"
 dependencies {
   library("io.grpc:grpc-core:$grpcVersion")
 
+  compileOnly(project(":muzzle"))
+  // only used to read the size of protobuf messages, when protobuf is present
+  compileOnly("com.google.protobuf:protobuf-java:3.3.0")
+
   testLibrary("io.grpc:grpc-netty:$grpcVersion")
   testLibrary("io.grpc:grpc-protobuf:$grpcVersion")
   testLibrary("io.grpc:grpc-services:$grpcVersion")
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_6;
+
+import com.google.protobuf.MessageLite;
+import io.opentelemetry.javaagent.tooling.muzzle.NoMuzzle;
+
+/**
+ * Returns the serialized size of protobuf messages. Protobuf is not a dependency of grpc-core, so
+ * it is only used when it is present; protobuf memoizes the size, so it is not computed again when
+ * the message is serialized.
+ */
+final class GrpcMessageSize {
+
+  private static final boolean PROTOBUF_PRESENT = isProtobufPresent();
+
+  /** Returns the serialized size of {@code message}, or {@code -1} if it is not known. */
+  static long of(Object message) {
+    return PROTOBUF_PRESENT ? serializedSize(message) : -1;
+  }
+
+  @NoMuzzle
+  private static long serializedSize(Object message) {
+    if (message instanceof MessageLite) {
+      return ((MessageLite) message).getSerializedSize();
+    }
+    return -1;
+  }
+
+  private static boolean isProtobufPresent() {
+    try {
+      Class.forName(
+          "com.google.protobuf.MessageLite", false, GrpcMessageSize.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private GrpcMessageSize() {}
+}
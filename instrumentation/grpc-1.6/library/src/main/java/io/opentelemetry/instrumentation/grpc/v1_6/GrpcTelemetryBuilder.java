@@ -53,6 +53,7 @@ public final class GrpcTelemetryBuilder {
       additionalServerExtractors = new ArrayList<>();
 
   private boolean captureExperimentalSpanAttributes;
+  private int maxMessageEvents = Integer.MAX_VALUE;
   private List<String> capturedClientRequestMetadata = Collections.emptyList();
   private List<String> capturedServerRequestMetadata = Collections.emptyList();
 
@@ -132,6 +133,18 @@ public final class GrpcTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of message events added to the span of an RPC; {@code 0} disables
+   * message events. Every message sent or received adds an event, so without a limit the span of a
+   * long-lived streaming RPC grows with every message. The number and the sizes of the messages are
+   * recorded in the RPC metrics regardless of this limit. There is no limit by default.
+   */
+  @CanIgnoreReturnValue
+  public GrpcTelemetryBuilder setMaxMessageEvents(int maxMessageEvents) {
+    this.maxMessageEvents = maxMessageEvents;
+    return this;
+  }
+
   /** Sets which metadata request values should be captured as span attributes on client spans. */
   @CanIgnoreReturnValue
   public GrpcTelemetryBuilder setCapturedClientRequestMetadata(
@@ -206,6 +219,7 @@ public final class GrpcTelemetryBuilder {
         // So we go ahead and inject manually in this instrumentation.
         clientInstrumenterBuilder.buildInstrumenter(SpanKindExtractor.alwaysClient()),
         openTelemetry.getPropagators(),
-        captureExperimentalSpanAttributes);
+        captureExperimentalSpanAttributes,
+        maxMessageEvents);
   }
 }
@@ -21,7 +21,9 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.rpc.internal.RpcMessageRecorder;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
 
 final class TracingClientInterceptor implements ClientInterceptor {
 
@@ -31,11 +33,15 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
   private final Instrumenter<GrpcRequest, Status> instrumenter;
   private final ContextPropagators propagators;
+  private final int maxMessageEvents;
 
   TracingClientInterceptor(
-      Instrumenter<GrpcRequest, Status> instrumenter, ContextPropagators propagators) {
+      Instrumenter<GrpcRequest, Status> instrumenter,
+      ContextPropagators propagators,
+      int maxMessageEvents) {
     this.instrumenter = instrumenter;
     this.propagators = propagators;
+    this.maxMessageEvents = maxMessageEvents;
   }
 
   @Override
@@ -68,6 +74,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
     private final Context parentContext;
     private final Context context;
     private final GrpcRequest request;
+    @Nullable private final RpcMessageRecorder messageRecorder;
 
     // Used by MESSAGE_ID_UPDATER
     @SuppressWarnings("UnusedVariable")
@@ -82,6 +89,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
       this.parentContext = parentContext;
       this.context = context;
       this.request = request;
+      this.messageRecorder = RpcMessageRecorder.clientFromContext(context);
     }
 
     @Override
@@ -107,14 +115,23 @@ final class TracingClientInterceptor implements ClientInterceptor {
         instrumenter.end(context, request, Status.UNKNOWN, e);
         throw e;
       }
-      Span span = Span.fromContext(context);
-      Attributes attributes =
-          Attributes.of(
-              GrpcHelper.MESSAGE_TYPE,
-              "SENT",
-              GrpcHelper.MESSAGE_ID,
-              MESSAGE_ID_UPDATER.incrementAndGet(this));
-      span.addEvent("message", attributes);
+      if (messageRecorder != null) {
+        messageRecorder.recordRequest(GrpcMessageSize.of(message));
+      }
+      addMessageEvent("SENT");
+    }
+
+    private void addMessageEvent(String type) {
+      if (maxMessageEvents <= 0) {
+        return;
+      }
+      long messageId = MESSAGE_ID_UPDATER.incrementAndGet(this);
+      if (messageId <= maxMessageEvents) {
+        Span.fromContext(context)
+            .addEvent(
+                "message",
+                Attributes.of(GrpcHelper.MESSAGE_TYPE, type, GrpcHelper.MESSAGE_ID, messageId));
+      }
     }
 
     final class TracingClientCallListener
@@ -137,14 +154,10 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
       @Override
       public void onMessage(RESPONSE message) {
-        Span span = Span.fromContext(context);
-        Attributes attributes =
-            Attributes.of(
-                GrpcHelper.MESSAGE_TYPE,
-                "RECEIVED",
-                GrpcHelper.MESSAGE_ID,
-                MESSAGE_ID_UPDATER.incrementAndGet(TracingClientCall.this));
-        span.addEvent("message", attributes);
+        if (messageRecorder != null) {
+          messageRecorder.recordResponse(GrpcMessageSize.of(message));
+        }
+        addMessageEvent("RECEIVED");
         try (Scope ignored = context.makeCurrent()) {
           delegate().onMessage(message);
         }
@@ -19,7 +19,9 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.rpc.internal.RpcMessageRecorder;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
 
 final class TracingServerInterceptor implements ServerInterceptor {
 
@@ -29,11 +31,15 @@ final class TracingServerInterceptor implements ServerInterceptor {
 
   private final Instrumenter<GrpcRequest, Status> instrumenter;
   private final boolean captureExperimentalSpanAttributes;
+  private final int maxMessageEvents;
 
   TracingServerInterceptor(
-      Instrumenter<GrpcRequest, Status> instrumenter, boolean captureExperimentalSpanAttributes) {
+      Instrumenter<GrpcRequest, Status> instrumenter,
+      boolean captureExperimentalSpanAttributes,
+      int maxMessageEvents) {
     this.instrumenter = instrumenter;
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
+    this.maxMessageEvents = maxMessageEvents;
   }
 
   @Override
@@ -66,6 +72,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
       extends ForwardingServerCall.SimpleForwardingServerCall<REQUEST, RESPONSE> {
     private final Context context;
     private final GrpcRequest request;
+    @Nullable private final RpcMessageRecorder messageRecorder;
 
     // Used by MESSAGE_ID_UPDATER
     @SuppressWarnings("UnusedVariable")
@@ -76,6 +83,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
       super(delegate);
       this.context = context;
       this.request = request;
+      this.messageRecorder = RpcMessageRecorder.serverFromContext(context);
     }
 
     TracingServerCallListener start(Metadata headers, ServerCallHandler<REQUEST, RESPONSE> next) {
@@ -88,14 +96,23 @@ final class TracingServerInterceptor implements ServerInterceptor {
       try (Scope ignored = context.makeCurrent()) {
         super.sendMessage(message);
       }
-      Span span = Span.fromContext(context);
-      Attributes attributes =
-          Attributes.of(
-              GrpcHelper.MESSAGE_TYPE,
-              "SENT",
-              GrpcHelper.MESSAGE_ID,
-              MESSAGE_ID_UPDATER.incrementAndGet(this));
-      span.addEvent("message", attributes);
+      if (messageRecorder != null) {
+        messageRecorder.recordResponse(GrpcMessageSize.of(message));
+      }
+      addMessageEvent("SENT");
+    }
+
+    private void addMessageEvent(String type) {
+      if (maxMessageEvents <= 0) {
+        return;
+      }
+      long messageId = MESSAGE_ID_UPDATER.incrementAndGet(this);
+      if (messageId <= maxMessageEvents) {
+        Span.fromContext(context)
+            .addEvent(
+                "message",
+                Attributes.of(GrpcHelper.MESSAGE_TYPE, type, GrpcHelper.MESSAGE_ID, messageId));
+      }
     }
 
     @Override
@@ -123,13 +140,10 @@ final class TracingServerInterceptor implements ServerInterceptor {
       @Override
       public void onMessage(REQUEST message) {
         // TODO(anuraaga): Restore
-        Attributes attributes =
-            Attributes.of(
-                GrpcHelper.MESSAGE_TYPE,
-                "RECEIVED",
-                GrpcHelper.MESSAGE_ID,
-                MESSAGE_ID_UPDATER.incrementAndGet(TracingServerCall.this));
-        Span.fromContext(context).addEvent("message", attributes);
+        if (messageRecorder != null) {
+          messageRecorder.recordRequest(GrpcMessageSize.of(message));
+        }
+        addMessageEvent("RECEIVED");
         delegate().onMessage(message);
       }
 
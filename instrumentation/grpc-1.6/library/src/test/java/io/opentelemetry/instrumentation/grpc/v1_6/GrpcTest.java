@@ -23,7 +23,9 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
 import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.testing.assertj.AttributeAssertion;
 import io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
@@ -145,6 +147,114 @@ class GrpcTest extends AbstractGrpcTest {
                             .hasAttribute(CUSTOM_KEY, "customValue")));
   }
 
+  @Test
+  void messageMetricsWithoutMessageEvents() throws Exception {
+    BindableService greeter =
+        new GreeterGrpc.GreeterImplBase() {
+          @Override
+          public void sayHello(
+              Helloworld.Request req, StreamObserver<Helloworld.Response> responseObserver) {
+            Helloworld.Response reply =
+                Helloworld.Response.newBuilder().setMessage("Hello " + req.getName()).build();
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+          }
+        };
+
+    Server server =
+        ServerBuilder.forPort(0)
+            .addService(greeter)
+            .intercept(
+                GrpcTelemetry.builder(testing.getOpenTelemetry())
+                    .setMaxMessageEvents(0)
+                    .build()
+                    .newServerInterceptor())
+            .build()
+            .start();
+
+    ManagedChannel channel =
+        createChannel(
+            ManagedChannelBuilder.forAddress("localhost", server.getPort())
+                .intercept(
+                    GrpcTelemetry.builder(testing.getOpenTelemetry())
+                        .setMaxMessageEvents(0)
+                        .build()
+                        .newClientInterceptor()));
+
+    closer.add(() -> channel.shutdownNow().awaitTermination(10, TimeUnit.SECONDS));
+    closer.add(() -> server.shutdownNow().awaitTermination());
+
+    GreeterGrpc.GreeterBlockingStub client = GreeterGrpc.newBlockingStub(channel);
+
+    Helloworld.Response response =
+        testing()
+            .runWithSpan(
+                "parent",
+                () -> client.sayHello(Helloworld.Request.newBuilder().setName("test").build()));
+
+    OpenTelemetryAssertions.assertThat(response.getMessage()).isEqualTo("Hello test");
+
+    testing()
+        .waitAndAssertTraces(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                    span ->
+                        span.hasName("example.Greeter/SayHello")
+                            .hasKind(SpanKind.CLIENT)
+                            .hasParent(trace.getSpan(0))
+                            .hasTotalRecordedEvents(0),
+                    span ->
+                        span.hasName("example.Greeter/SayHello")
+                            .hasKind(SpanKind.SERVER)
+                            .hasParent(trace.getSpan(1))
+                            .hasTotalRecordedEvents(0)));
+
+    // the serialized sizes of the request and the response messages, with the start attributes
+    assertSizeMetric("rpc.client.request.size", 6);
+    assertSizeMetric("rpc.client.response.size", 12);
+    assertSizeMetric("rpc.server.request.size", 6);
+    assertSizeMetric("rpc.server.response.size", 12);
+    // the numbers of messages, with the end attributes like the duration
+    assertCountMetric("rpc.client.requests_per_rpc", 1);
+    assertCountMetric("rpc.client.responses_per_rpc", 1);
+    assertCountMetric("rpc.server.requests_per_rpc", 1);
+    assertCountMetric("rpc.server.responses_per_rpc", 1);
+  }
+
+  private static void assertSizeMetric(String name, long sum) {
+    assertMessageMetric(
+        name, sum, OpenTelemetryAssertions.equalTo(SemanticAttributes.RPC_METHOD, "SayHello"));
+  }
+
+  private static void assertCountMetric(String name, long sum) {
+    assertMessageMetric(
+        name,
+        sum,
+        OpenTelemetryAssertions.equalTo(SemanticAttributes.RPC_METHOD, "SayHello"),
+        OpenTelemetryAssertions.equalTo(
+            SemanticAttributes.RPC_GRPC_STATUS_CODE, (long) Status.Code.OK.value()));
+  }
+
+  private static void assertMessageMetric(
+      String name, long sum, AttributeAssertion... attributeAssertions) {
+    testing.waitAndAssertMetrics(
+        "io.opentelemetry.grpc-1.6",
+        name,
+        metrics ->
+            metrics.anySatisfy(
+                metric ->
+                    OpenTelemetryAssertions.assertThat(metric)
+                        .hasHistogramSatisfying(
+                            histogram ->
+                                histogram.hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasSum(sum)
+                                            .hasCount(1)
+                                            .hasAttributesSatisfying(attributeAssertions)))));
+  }
+
   private static class CustomAttributesExtractor
       implements AttributesExtractor<GrpcRequest, Status> {
 
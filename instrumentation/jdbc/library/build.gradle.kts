@@ -16,6 +16,24 @@ dependencies {
 }
 
 tasks {
+  val testBatchStatementLimit by registering(Test::class) {
+    filter {
+      includeTestsMatching("OpenTelemetryStatementBatchTest")
+    }
+    include("**/OpenTelemetryStatementBatchTest.*")
+    jvmArgs("-Dotel.instrumentation.jdbc.experimental.batch-statement-limit=2")
+  }
+
+  test {
+    filter {
+      excludeTestsMatching("OpenTelemetryStatementBatchTest")
+    }
+  }
+
+  check {
+    dependsOn(testBatchStatementLimit)
+  }
+
   shadowJar {
     dependencies {
       // including only current module excludes its transitive dependencies
@@ -0,0 +1,91 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Collects the statements added to a JDBC batch in a bounded amount of memory, regardless of the
+ * size of the batch. Statements are sanitized as they are added, and at most {@link
+ * #MAX_COUNTED_STATEMENTS} (or {@code maxStatements}, if larger) distinct sanitized statements are
+ * kept. The first {@code maxStatements} of them are recorded as the statement of the batch, and the
+ * number of distinct statements is counted exactly up to the number of kept statements.
+ */
+final class BatchStatements {
+
+  // visible for testing
+  static final int MAX_COUNTED_STATEMENTS = 1024;
+
+  private final SqlStatementSanitizer sanitizer;
+  private final int maxStatements;
+  private final int maxKeptStatements;
+  private final Set<String> statements = new LinkedHashSet<>();
+  private long size;
+  private boolean preparedStatementAdded;
+
+  BatchStatements(SqlStatementSanitizer sanitizer, int maxStatements) {
+    this.sanitizer = sanitizer;
+    this.maxStatements = maxStatements;
+    this.maxKeptStatements = Math.max(maxStatements, MAX_COUNTED_STATEMENTS);
+  }
+
+  /** Adds a statement passed to {@link java.sql.Statement#addBatch(String)}. */
+  void add(@Nullable String sql) {
+    size++;
+    if (sql == null || statements.size() >= maxKeptStatements) {
+      // nothing more would be recorded, skip sanitizing the statement
+      return;
+    }
+    String statement = sanitizer.sanitize(sql).getFullStatement();
+    if (statement != null) {
+      statements.add(statement);
+    }
+  }
+
+  /** Adds a set of parameters of the prepared statement {@code query}. */
+  void addPrepared(@Nullable String query) {
+    if (!preparedStatementAdded) {
+      preparedStatementAdded = true;
+      add(query);
+    } else {
+      size++;
+    }
+  }
+
+  void clear() {
+    statements.clear();
+    size = 0;
+    preparedStatementAdded = false;
+  }
+
+  long size() {
+    return size;
+  }
+
+  long distinctStatements() {
+    return statements.size();
+  }
+
+  @Nullable
+  String statement() {
+    if (statements.isEmpty()) {
+      return null;
+    }
+    StringBuilder statement = new StringBuilder();
+    Iterator<String> iterator = statements.iterator();
+    for (int i = 0; i < maxStatements && iterator.hasNext(); i++) {
+      if (i > 0) {
+        statement.append("; ");
+      }
+      statement.append(iterator.next());
+    }
+    return statement.toString();
+  }
+}
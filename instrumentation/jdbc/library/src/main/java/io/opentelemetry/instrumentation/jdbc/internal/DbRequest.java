@@ -38,11 +38,27 @@ public abstract class DbRequest {
   }
 
   public static DbRequest create(DbInfo dbInfo, String statement) {
-    return new AutoValue_DbRequest(dbInfo, statement);
+    return create(dbInfo, statement, null, null);
+  }
+
+  public static DbRequest create(
+      DbInfo dbInfo,
+      @Nullable String statement,
+      @Nullable Long batchSize,
+      @Nullable Long batchDistinctStatements) {
+    return new AutoValue_DbRequest(dbInfo, statement, batchSize, batchDistinctStatements);
   }
 
   public abstract DbInfo getDbInfo();
 
   @Nullable
   public abstract String getStatement();
+
+  /** Returns the number of statements in the executed batch, if known. */
+  @Nullable
+  public abstract Long getBatchSize();
+
+  /** Returns the number of distinct sanitized statements in the executed batch, if known. */
+  @Nullable
+  public abstract Long getBatchDistinctStatements();
 }
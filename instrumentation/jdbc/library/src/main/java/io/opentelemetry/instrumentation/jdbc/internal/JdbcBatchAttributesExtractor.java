@@ -0,0 +1,41 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import javax.annotation.Nullable;
+
+final class JdbcBatchAttributesExtractor implements AttributesExtractor<DbRequest, Void> {
+
+  static final AttributeKey<Long> DB_OPERATION_BATCH_SIZE = longKey("db.operation.batch.size");
+  static final AttributeKey<Long> DB_JDBC_BATCH_DISTINCT_STATEMENTS =
+      longKey("db.jdbc.batch.distinct_statements");
+
+  @Override
+  public void onStart(AttributesBuilder attributes, Context parentContext, DbRequest request) {
+    Long batchSize = request.getBatchSize();
+    if (batchSize != null) {
+      attributes.put(DB_OPERATION_BATCH_SIZE, batchSize);
+    }
+    Long distinctStatements = request.getBatchDistinctStatements();
+    if (distinctStatements != null) {
+      attributes.put(DB_JDBC_BATCH_DISTINCT_STATEMENTS, distinctStatements);
+    }
+  }
+
+  @Override
+  public void onEnd(
+      AttributesBuilder attributes,
+      Context context,
+      DbRequest request,
+      @Nullable Void unused,
+      @Nullable Throwable error) {}
+}
@@ -9,6 +9,7 @@ import static io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo.DEFAU
 import static java.util.logging.Level.FINE;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes.DbSystemValues;
 import java.io.UnsupportedEncodingException;
@@ -25,6 +26,7 @@ import java.util.Properties;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * Structured as an enum instead of a class hierarchy to allow iterating through the parsers
@@ -824,6 +826,15 @@ public enum JdbcConnectionUrlParser {
 
   private static final Map<String, JdbcConnectionUrlParser> typeParsers = new HashMap<>();
 
+  // the properties read by populateStandardProperties()
+  private static final String[] STANDARD_PROPERTIES = {
+    "user", "databasename", "databaseName", "servername", "serverName", "portnumber", "portNumber"
+  };
+
+  // new connections of a connection pool usually share the same url and properties, caching the
+  // parsed db info saves parsing the url again for each of them
+  private static final Cache<ParseKey, DbInfo> parsedDbInfos = Cache.bounded(256);
+
   static {
     for (JdbcConnectionUrlParser parser : JdbcConnectionUrlParser.values()) {
       for (String key : parser.typeKeys) {
@@ -846,6 +857,11 @@ public enum JdbcConnectionUrlParser {
     if (connectionUrl == null) {
       return DEFAULT;
     }
+    return parsedDbInfos.computeIfAbsent(
+        new ParseKey(connectionUrl, props), key -> parseUncached(connectionUrl, props));
+  }
+
+  private static DbInfo parseUncached(String connectionUrl, Properties props) {
     // Make this easier and ignore case.
     connectionUrl = connectionUrl.toLowerCase(Locale.ROOT);
 
@@ -1001,4 +1017,48 @@ public enum JdbcConnectionUrlParser {
         return DbSystemValues.OTHER_SQL; // Unknown DBMS
     }
   }
+
+  /** The url and the values of the standard properties, which determine the parsed db info. */
+  private static final class ParseKey {
+    private final String url;
+    @Nullable private final Object[] standardProperties;
+    private final int hashCode;
+
+    ParseKey(String url, @Nullable Properties props) {
+      this.url = url;
+      this.standardProperties = standardProperties(props);
+      this.hashCode = 31 * url.hashCode() + Arrays.hashCode(standardProperties);
+    }
+
+    @Nullable
+    private static Object[] standardProperties(@Nullable Properties props) {
+      if (props == null || props.isEmpty()) {
+        return null;
+      }
+      Object[] values = new Object[STANDARD_PROPERTIES.length];
+      for (int i = 0; i < STANDARD_PROPERTIES.length; i++) {
+        values[i] = props.get(STANDARD_PROPERTIES[i]);
+      }
+      return values;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof ParseKey)) {
+        return false;
+      }
+      ParseKey other = (ParseKey) obj;
+      return hashCode == other.hashCode
+          && url.equals(other.url)
+          && Arrays.equals(standardProperties, other.standardProperties);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
@@ -7,11 +7,14 @@ package io.opentelemetry.instrumentation.jdbc.internal;
 
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 /**
  * Holds info associated with JDBC connections and prepared statements.
@@ -21,7 +24,10 @@ import java.util.WeakHashMap;
  */
 public final class JdbcData {
 
-  private static final Map<DbInfo, WeakReference<DbInfo>> dbInfos = new WeakHashMap<>();
+  // interned db infos, the keys and values are the same weak references
+  private static final ConcurrentMap<DbInfoReference, DbInfoReference> dbInfos =
+      new ConcurrentHashMap<>();
+  private static final ReferenceQueue<DbInfo> collectedDbInfos = new ReferenceQueue<>();
   public static final VirtualField<Connection, DbInfo> connectionInfo =
       VirtualField.find(Connection.class, DbInfo.class);
   public static final VirtualField<PreparedStatement, String> preparedStatement =
@@ -38,16 +44,67 @@ public final class JdbcData {
    *     and a different instance later if the original interned instance was garbage collected.
    */
   public static DbInfo intern(DbInfo dbInfo) {
-    synchronized (dbInfos) {
-      WeakReference<DbInfo> reference = dbInfos.get(dbInfo);
-      if (reference != null) {
-        DbInfo result = reference.get();
-        if (result != null) {
-          return result;
-        }
+    // the common case, the db info is already interned, does not take any lock
+    DbInfoReference existing = dbInfos.get(new DbInfoReference(dbInfo, null));
+    DbInfo result = existing != null ? existing.get() : null;
+    if (result != null) {
+      return result;
+    }
+
+    removeCollectedDbInfos();
+    DbInfoReference reference = new DbInfoReference(dbInfo, collectedDbInfos);
+    while (true) {
+      existing = dbInfos.putIfAbsent(reference, reference);
+      if (existing == null) {
+        return dbInfo;
+      }
+      result = existing.get();
+      if (result != null) {
+        return result;
       }
-      dbInfos.put(dbInfo, new WeakReference<>(dbInfo));
-      return dbInfo;
+      // the interned instance was garbage collected in the meantime
+      dbInfos.remove(existing, existing);
+    }
+  }
+
+  private static void removeCollectedDbInfos() {
+    Reference<? extends DbInfo> reference;
+    while ((reference = collectedDbInfos.poll()) != null) {
+      dbInfos.remove(reference, reference);
+    }
+  }
+
+  /**
+   * A weak reference that is equal to the other references to an equal {@link DbInfo}. Once
+   * cleared, a reference is only equal to itself.
+   */
+  private static final class DbInfoReference extends WeakReference<DbInfo> {
+    private final int hashCode;
+
+    DbInfoReference(DbInfo dbInfo, @Nullable ReferenceQueue<DbInfo> queue) {
+      super(dbInfo, queue);
+      this.hashCode = dbInfo.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof DbInfoReference)) {
+        return false;
+      }
+      DbInfoReference other = (DbInfoReference) obj;
+      if (hashCode != other.hashCode) {
+        return false;
+      }
+      DbInfo dbInfo = get();
+      return dbInfo != null && dbInfo.equals(other.get());
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
     }
   }
 }
@@ -6,12 +6,14 @@
 package io.opentelemetry.instrumentation.jdbc.internal;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.db.DbClientSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.db.SqlClientAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.net.NetClientAttributesExtractor;
 import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -22,6 +24,18 @@ public final class JdbcSingletons {
 
   private static final Instrumenter<DbRequest, Void> INSTRUMENTER;
 
+  private static final boolean STATEMENT_SANITIZATION_ENABLED =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.common.db-statement-sanitizer.enabled", true);
+  // when positive, batches are captured in bounded memory, keeping at most this many distinct
+  // statements; otherwise all the statements of a batch are concatenated
+  private static final int BATCH_STATEMENT_LIMIT =
+      (int)
+          Math.min(
+              Integer.MAX_VALUE,
+              ConfigPropertiesUtil.getLong(
+                  "otel.instrumentation.jdbc.experimental.batch-statement-limit", 0));
+
   static {
     JdbcAttributesGetter dbAttributesGetter = new JdbcAttributesGetter();
     JdbcNetAttributesGetter netAttributesGetter = new JdbcNetAttributesGetter();
@@ -33,11 +47,10 @@ public final class JdbcSingletons {
                 DbClientSpanNameExtractor.create(dbAttributesGetter))
             .addAttributesExtractor(
                 SqlClientAttributesExtractor.builder(dbAttributesGetter)
-                    .setStatementSanitizationEnabled(
-                        ConfigPropertiesUtil.getBoolean(
-                            "otel.instrumentation.common.db-statement-sanitizer.enabled", true))
+                    .setStatementSanitizationEnabled(STATEMENT_SANITIZATION_ENABLED)
                     .build())
             .addAttributesExtractor(NetClientAttributesExtractor.create(netAttributesGetter))
+            .addAttributesExtractor(new JdbcBatchAttributesExtractor())
             .buildInstrumenter(SpanKindExtractor.alwaysClient());
   }
 
@@ -45,5 +58,15 @@ public final class JdbcSingletons {
     return INSTRUMENTER;
   }
 
+  /** Returns a new {@link BatchStatements}, or {@code null} if batches are not bounded. */
+  @Nullable
+  static BatchStatements createBatchStatements() {
+    if (BATCH_STATEMENT_LIMIT <= 0) {
+      return null;
+    }
+    return new BatchStatements(
+        SqlStatementSanitizer.create(STATEMENT_SANITIZATION_ENABLED), BATCH_STATEMENT_LIMIT);
+  }
+
   private JdbcSingletons() {}
 }
@@ -228,6 +228,7 @@ public class OpenTelemetryPreparedStatement<S extends PreparedStatement>
   @Override
   public void addBatch() throws SQLException {
     delegate.addBatch();
+    addPreparedBatch();
   }
 
   @SuppressWarnings("UngroupedOverloads")
@@ -31,6 +31,7 @@ import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -43,6 +44,8 @@ public class OpenTelemetryStatement<S extends Statement> implements Statement {
   protected final String query;
 
   private final ArrayList<String> batchCommands = new ArrayList<>();
+  // used instead of batchCommands when batches are captured in bounded memory, created lazily
+  @Nullable private BatchStatements batchStatements;
 
   OpenTelemetryStatement(S delegate, DbInfo dbInfo) {
     this(delegate, dbInfo, null);
@@ -101,7 +104,22 @@ public class OpenTelemetryStatement<S extends Statement> implements Statement {
 
   @Override
   public int[] executeBatch() throws SQLException {
-    return wrapCall(buildSqlForBatch(), delegate::executeBatch);
+    if (batchStatements == null) {
+      return wrapCall(buildSqlForBatch(), delegate::executeBatch);
+    }
+    String statement = batchStatements.statement();
+    DbRequest request =
+        DbRequest.create(
+            dbInfo,
+            statement != null ? statement : query,
+            batchStatements.size(),
+            batchStatements.distinctStatements());
+    try {
+      return wrapCall(request, delegate::executeBatch);
+    } finally {
+      // the batch is reset after it is executed, whether it succeeded or not
+      batchStatements.clear();
+    }
   }
 
   @Override
@@ -218,13 +236,21 @@ public class OpenTelemetryStatement<S extends Statement> implements Statement {
   @Override
   public void addBatch(String sql) throws SQLException {
     delegate.addBatch(sql);
-    batchCommands.add(sql);
+    BatchStatements batchStatements = batchStatements();
+    if (batchStatements != null) {
+      batchStatements.add(sql);
+    } else {
+      batchCommands.add(sql);
+    }
   }
 
   @Override
   public void clearBatch() throws SQLException {
     delegate.clearBatch();
     batchCommands.clear();
+    if (batchStatements != null) {
+      batchStatements.clear();
+    }
   }
 
   @Override
@@ -279,8 +305,12 @@ public class OpenTelemetryStatement<S extends Statement> implements Statement {
 
   protected <T, E extends Exception> T wrapCall(String sql, ThrowingSupplier<T, E> callable)
       throws E {
+    return wrapCall(DbRequest.create(dbInfo, sql), callable);
+  }
+
+  private <T, E extends Exception> T wrapCall(DbRequest request, ThrowingSupplier<T, E> callable)
+      throws E {
     Context parentContext = Context.current();
-    DbRequest request = DbRequest.create(dbInfo, sql);
 
     if (!instrumenter().shouldStart(parentContext, request)) {
       return callable.call();
@@ -298,6 +328,22 @@ public class OpenTelemetryStatement<S extends Statement> implements Statement {
     return result;
   }
 
+  /** Records a set of parameters added to the batch of a prepared statement. */
+  protected void addPreparedBatch() {
+    BatchStatements batchStatements = batchStatements();
+    if (batchStatements != null) {
+      batchStatements.addPrepared(query);
+    }
+  }
+
+  @Nullable
+  private BatchStatements batchStatements() {
+    if (batchStatements == null) {
+      batchStatements = JdbcSingletons.createBatchStatements();
+    }
+    return batchStatements;
+  }
+
   private String buildSqlForBatch() {
     StringBuilder sqlBuilder = new StringBuilder();
     if (query != null) {
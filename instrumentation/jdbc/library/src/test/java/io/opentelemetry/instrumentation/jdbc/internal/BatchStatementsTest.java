@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import org.junit.jupiter.api.Test;
+
+class BatchStatementsTest {
+
+  @Test
+  void shouldCollapseStatementsThatDifferOnlyInLiterals() {
+    BatchStatements batch = new BatchStatements(SqlStatementSanitizer.create(true), 10);
+
+    for (int i = 0; i < 1000; i++) {
+      batch.add("INSERT INTO users VALUES(" + i + ", 'user" + i + "')");
+    }
+
+    assertThat(batch.size()).isEqualTo(1000);
+    assertThat(batch.distinctStatements()).isEqualTo(1);
+    assertThat(batch.statement()).isEqualTo("INSERT INTO users VALUES(?, ?)");
+  }
+
+  @Test
+  void shouldKeepAtMostMaxStatements() {
+    BatchStatements batch = new BatchStatements(SqlStatementSanitizer.create(true), 2);
+
+    batch.add("INSERT INTO a VALUES(1)");
+    batch.add("INSERT INTO b VALUES(1)");
+    batch.add("INSERT INTO c VALUES(1)");
+    batch.add("INSERT INTO a VALUES(2)");
+
+    assertThat(batch.size()).isEqualTo(4);
+    assertThat(batch.distinctStatements()).isEqualTo(3);
+    assertThat(batch.statement()).isEqualTo("INSERT INTO a VALUES(?); INSERT INTO b VALUES(?)");
+  }
+
+  @Test
+  void shouldCountDistinctStatementsUpToTheLimit() {
+    BatchStatements batch = new BatchStatements(SqlStatementSanitizer.create(true), 1);
+
+    for (int i = 0; i < 2 * BatchStatements.MAX_COUNTED_STATEMENTS; i++) {
+      batch.add("INSERT INTO table" + i + " VALUES(1)");
+    }
+
+    assertThat(batch.size()).isEqualTo(2 * BatchStatements.MAX_COUNTED_STATEMENTS);
+    assertThat(batch.distinctStatements()).isEqualTo(BatchStatements.MAX_COUNTED_STATEMENTS);
+    assertThat(batch.statement()).isEqualTo("INSERT INTO table0 VALUES(?)");
+  }
+
+  @Test
+  void shouldCountPreparedStatementParameterSets() {
+    BatchStatements batch = new BatchStatements(SqlStatementSanitizer.create(true), 10);
+
+    for (int i = 0; i < 5; i++) {
+      batch.addPrepared("INSERT INTO users VALUES(?, ?)");
+    }
+
+    assertThat(batch.size()).isEqualTo(5);
+    assertThat(batch.distinctStatements()).isEqualTo(1);
+    assertThat(batch.statement()).isEqualTo("INSERT INTO users VALUES(?, ?)");
+  }
+
+  @Test
+  void shouldResetWhenCleared() {
+    BatchStatements batch = new BatchStatements(SqlStatementSanitizer.create(true), 10);
+    batch.add("INSERT INTO users VALUES(1)");
+
+    batch.clear();
+
+    assertThat(batch.size()).isEqualTo(0);
+    assertThat(batch.distinctStatements()).isEqualTo(0);
+    assertThat(batch.statement()).isNull();
+  }
+}
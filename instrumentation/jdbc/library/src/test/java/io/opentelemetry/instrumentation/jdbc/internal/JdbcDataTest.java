@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class JdbcDataTest {
+
+  @Test
+  void shouldInternEqualDbInfos() {
+    DbInfo first = DbInfo.builder().system("postgresql").host("db1").port(5432).build();
+    DbInfo second = DbInfo.builder().system("postgresql").host("db1").port(5432).build();
+    DbInfo other = DbInfo.builder().system("postgresql").host("db2").port(5432).build();
+
+    DbInfo interned = JdbcData.intern(first);
+
+    assertThat(interned).isSameAs(first);
+    assertThat(JdbcData.intern(second)).isSameAs(first);
+    assertThat(JdbcData.intern(other)).isSameAs(other);
+  }
+
+  @Test
+  void shouldInternConcurrently() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<DbInfo>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return JdbcData.intern(
+                      DbInfo.builder().system("mysql").host("concurrent").port(3306).build());
+                }));
+      }
+      start.countDown();
+
+      DbInfo expected = results.get(0).get();
+      for (Future<DbInfo> result : results) {
+        assertThat(result.get()).isSameAs(expected);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldCacheParsedUrls() {
+    Properties props = new Properties();
+    props.setProperty("user", "alice");
+    props.setProperty("password", "secret");
+    Properties sameProps = new Properties();
+    sameProps.setProperty("user", "alice");
+    sameProps.setProperty("password", "other secret");
+    Properties otherProps = new Properties();
+    otherProps.setProperty("user", "bob");
+
+    DbInfo dbInfo = JdbcConnectionUrlParser.parse("jdbc:postgresql://db1:5432/orders", props);
+
+    assertThat(dbInfo.getUser()).isEqualTo("alice");
+    assertThat(dbInfo.getHost()).isEqualTo("db1");
+    assertThat(JdbcConnectionUrlParser.parse("jdbc:postgresql://db1:5432/orders", sameProps))
+        .isSameAs(dbInfo);
+    assertThat(JdbcConnectionUrlParser.parse("jdbc:postgresql://db1:5432/orders", otherProps))
+        .satisfies(otherInfo -> assertThat(otherInfo.getUser()).isEqualTo("bob"));
+    assertThat(JdbcConnectionUrlParser.parse("jdbc:postgresql://db2:5432/orders", props))
+        .satisfies(otherInfo -> assertThat(otherInfo.getHost()).isEqualTo("db2"));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static io.opentelemetry.instrumentation.jdbc.internal.JdbcBatchAttributesExtractor.DB_JDBC_BATCH_DISTINCT_STATEMENTS;
+import static io.opentelemetry.instrumentation.jdbc.internal.JdbcBatchAttributesExtractor.DB_OPERATION_BATCH_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.jdbc.TestConnection;
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// runs in a separate test task with otel.instrumentation.jdbc.experimental.batch-statement-limit=2
+class OpenTelemetryStatementBatchTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  private static final DbInfo DB_INFO =
+      DbInfo.builder().system("my_system").name("my_name").host("my_host").port(1234).build();
+
+  @Test
+  void statementBatch() throws SQLException {
+    Connection connection = new OpenTelemetryConnection(new TestConnection(), DB_INFO);
+    Statement statement = connection.createStatement();
+
+    statement.addBatch("INSERT INTO a VALUES(1)");
+    statement.addBatch("INSERT INTO b VALUES(1)");
+    statement.addBatch("INSERT INTO c VALUES(1)");
+    statement.addBatch("INSERT INTO a VALUES(2)");
+    statement.executeBatch();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasAttributesSatisfying(
+                            attributes ->
+                                assertThat(attributes)
+                                    .containsEntry(
+                                        SemanticAttributes.DB_STATEMENT,
+                                        "INSERT INTO a VALUES(?); INSERT INTO b VALUES(?)")
+                                    .containsEntry(DB_OPERATION_BATCH_SIZE, 4L)
+                                    .containsEntry(DB_JDBC_BATCH_DISTINCT_STATEMENTS, 3L))));
+  }
+
+  @Test
+  void statementBatchIsResetAfterExecution() throws SQLException {
+    Connection connection = new OpenTelemetryConnection(new TestConnection(), DB_INFO);
+    Statement statement = connection.createStatement();
+
+    statement.addBatch("INSERT INTO a VALUES(1)");
+    statement.executeBatch();
+    statement.addBatch("INSERT INTO b VALUES(1)");
+    statement.executeBatch();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasAttributesSatisfying(
+                            attributes ->
+                                assertThat(attributes)
+                                    .containsEntry(
+                                        SemanticAttributes.DB_STATEMENT, "INSERT INTO a VALUES(?)")
+                                    .containsEntry(DB_OPERATION_BATCH_SIZE, 1L))),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasAttributesSatisfying(
+                            attributes ->
+                                assertThat(attributes)
+                                    .containsEntry(
+                                        SemanticAttributes.DB_STATEMENT, "INSERT INTO b VALUES(?)")
+                                    .containsEntry(DB_OPERATION_BATCH_SIZE, 1L))));
+  }
+
+  @Test
+  void preparedStatementBatch() throws SQLException {
+    Connection connection = new OpenTelemetryConnection(new TestConnection(), DB_INFO);
+    PreparedStatement statement = connection.prepareStatement("INSERT INTO users VALUES(?, ?)");
+
+    for (int i = 0; i < 5; i++) {
+      statement.setInt(1, i);
+      statement.setString(2, "user" + i);
+      statement.addBatch();
+    }
+    statement.executeBatch();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasAttributesSatisfying(
+                            attributes ->
+                                assertThat(attributes)
+                                    .containsEntry(
+                                        SemanticAttributes.DB_STATEMENT,
+                                        "INSERT INTO users VALUES(?, ?)")
+                                    .containsEntry(DB_OPERATION_BATCH_SIZE, 5L)
+                                    .containsEntry(DB_JDBC_BATCH_DISTINCT_STATEMENTS, 1L))));
+  }
+}
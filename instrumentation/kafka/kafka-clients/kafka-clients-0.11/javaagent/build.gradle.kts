@@ -49,10 +49,19 @@ tasks {
     include("**/KafkaClientSuppressReceiveSpansTest.*")
   }
 
+  val testBatchProcessSpans by registering(Test::class) {
+    filter {
+      includeTestsMatching("KafkaClientBatchProcessSpansTest")
+    }
+    include("**/KafkaClientBatchProcessSpansTest.*")
+    jvmArgs("-Dotel.instrumentation.kafka.experimental.batch-process-spans.enabled=true")
+  }
+
   test {
     filter {
       excludeTestsMatching("KafkaClientPropagationDisabledTest")
       excludeTestsMatching("KafkaClientSuppressReceiveSpansTest")
+      excludeTestsMatching("KafkaClientBatchProcessSpansTest")
     }
     jvmArgs("-Dotel.instrumentation.messaging.experimental.receive-telemetry.enabled=true")
   }
@@ -60,5 +69,6 @@ tasks {
   check {
     dependsOn(testPropagationDisabled)
     dependsOn(testReceiveSpansDisabled)
+    dependsOn(testBatchProcessSpans)
   }
 }
@@ -77,6 +77,8 @@ public class KafkaConsumerInstrumentation implements TypeInstrumentation {
   public static class PollAdvice {
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static Timer onEnter() {
+      // end the batch process span of the previous poll if its records were not all iterated
+      TracingIterator.closeOpenBatch();
       return Timer.start();
     }
 
@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.enhanceConfig;
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.producerInstrumenter;
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.producerPropagator;
 import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
 import static net.bytebuddy.matcher.ElementMatchers.isMethod;
 import static net.bytebuddy.matcher.ElementMatchers.isPublic;
@@ -91,7 +92,7 @@ public class KafkaProducerInstrumentation implements TypeInstrumentation {
 
       if (KafkaSingletons.isProducerPropagationEnabled()
           && KafkaPropagation.shouldPropagate(apiVersions)) {
-        record = KafkaPropagation.propagateContext(context, record);
+        record = KafkaPropagation.propagateContext(producerPropagator(), context, record);
       }
 
       callback = new ProducerCallback(callback, parentContext, context, record);
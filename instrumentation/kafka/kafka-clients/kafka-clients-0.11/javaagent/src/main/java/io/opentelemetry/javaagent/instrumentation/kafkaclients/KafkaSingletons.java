@@ -6,6 +6,7 @@
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaInstrumenterFactory;
 import io.opentelemetry.instrumentation.kafka.internal.OpenTelemetryMetricsReporter;
@@ -28,13 +29,23 @@ public final class KafkaSingletons {
           "otel.instrumentation.kafka.client-propagation.enabled",
           "otel.instrumentation.kafka.producer-propagation.enabled",
           true);
+  // when enabled, a single process span is created for all the records returned by
+  // ConsumerRecords.iterator() instead of a span for each record
+  private static final boolean BATCH_PROCESS_SPANS_ENABLED =
+      InstrumentationConfig.get()
+          .getBoolean("otel.instrumentation.kafka.experimental.batch-process-spans.enabled", false);
   private static final boolean METRICS_ENABLED =
       InstrumentationConfig.get()
           .getBoolean("otel.instrumentation.kafka.metric-reporter.enabled", true);
 
+  // looked up once instead of on every send
+  private static final TextMapPropagator PRODUCER_PROPAGATOR =
+      GlobalOpenTelemetry.getPropagators().getTextMapPropagator();
+
   private static final Instrumenter<ProducerRecord<?, ?>, RecordMetadata> PRODUCER_INSTRUMENTER;
   private static final Instrumenter<ConsumerRecords<?, ?>, Void> CONSUMER_RECEIVE_INSTRUMENTER;
   private static final Instrumenter<ConsumerRecord<?, ?>, Void> CONSUMER_PROCESS_INSTRUMENTER;
+  private static final Instrumenter<ConsumerRecords<?, ?>, Void> BATCH_PROCESS_INSTRUMENTER;
 
   static {
     KafkaInstrumenterFactory instrumenterFactory =
@@ -44,16 +55,25 @@ public final class KafkaSingletons {
                 InstrumentationConfig.get()
                     .getBoolean("otel.instrumentation.kafka.experimental-span-attributes", false))
             .setMessagingReceiveInstrumentationEnabled(
-                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled());
+                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled())
+            .setBatchProcessMaxLinks(
+                InstrumentationConfig.get()
+                    .getInt(
+                        "otel.instrumentation.kafka.experimental.batch-process-max-links", 128));
     PRODUCER_INSTRUMENTER = instrumenterFactory.createProducerInstrumenter();
     CONSUMER_RECEIVE_INSTRUMENTER = instrumenterFactory.createConsumerReceiveInstrumenter();
     CONSUMER_PROCESS_INSTRUMENTER = instrumenterFactory.createConsumerProcessInstrumenter();
+    BATCH_PROCESS_INSTRUMENTER = instrumenterFactory.createBatchProcessInstrumenter();
   }
 
   public static boolean isProducerPropagationEnabled() {
     return PRODUCER_PROPAGATION_ENABLED;
   }
 
+  public static TextMapPropagator producerPropagator() {
+    return PRODUCER_PROPAGATOR;
+  }
+
   public static Instrumenter<ProducerRecord<?, ?>, RecordMetadata> producerInstrumenter() {
     return PRODUCER_INSTRUMENTER;
   }
@@ -66,6 +86,14 @@ public final class KafkaSingletons {
     return CONSUMER_PROCESS_INSTRUMENTER;
   }
 
+  public static boolean isBatchProcessSpansEnabled() {
+    return BATCH_PROCESS_SPANS_ENABLED;
+  }
+
+  public static Instrumenter<ConsumerRecords<?, ?>, Void> batchProcessInstrumenter() {
+    return BATCH_PROCESS_INSTRUMENTER;
+  }
+
   public static void enhanceConfig(Map<? super String, Object> config) {
     if (!METRICS_ENABLED) {
       return;
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.javaagent.instrumentation.kafkaclients;
 
+import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.batchProcessInstrumenter;
 import static io.opentelemetry.javaagent.instrumentation.kafkaclients.KafkaSingletons.consumerProcessInstrumenter;
 
 import io.opentelemetry.context.Context;
@@ -13,10 +14,18 @@ import io.opentelemetry.javaagent.bootstrap.kafka.KafkaClientsConsumerProcessTra
 import java.util.Iterator;
 import javax.annotation.Nullable;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 
 public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
+  // the iterator whose batch process span is open on the current thread; the span is ended when
+  // the iterator is exhausted, or otherwise on the next poll() or when another batch is started
+  private static final ThreadLocal<TracingIterator<?, ?>> openBatchIterator = new ThreadLocal<>();
+
   private final Iterator<ConsumerRecord<K, V>> delegateIterator;
   private final Context parentContext;
+  // set when a single process span is created for the whole batch
+  @Nullable private final ConsumerRecords<?, ?> batch;
+  private boolean batchStarted;
 
   /*
    * Note: this may potentially create problems if this iterator is used from different threads. But
@@ -27,29 +36,67 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
   @Nullable private Scope currentScope;
 
   private TracingIterator(
-      Iterator<ConsumerRecord<K, V>> delegateIterator, @Nullable Context receiveContext) {
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      @Nullable Context receiveContext,
+      @Nullable ConsumerRecords<?, ?> batch) {
     this.delegateIterator = delegateIterator;
+    this.batch = batch;
 
     // use the receive CONSUMER as parent if it's available
     this.parentContext = receiveContext != null ? receiveContext : Context.current();
   }
 
+  /**
+   * Ends the batch process span that is still open on the current thread, in case the iteration
+   * over the records of the previous poll was not completed.
+   */
+  public static void closeOpenBatch() {
+    TracingIterator<?, ?> iterator = openBatchIterator.get();
+    if (iterator != null) {
+      iterator.closeScopeAndEndSpan();
+    }
+  }
+
   public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
       Iterator<ConsumerRecord<K, V>> delegateIterator, @Nullable Context receiveContext) {
+    return wrap(delegateIterator, receiveContext, null);
+  }
+
+  /**
+   * Wraps the iterator of all the {@code records} returned by a poll. A single process span is
+   * created for all the records if batch process spans are enabled.
+   */
+  public static <K, V> Iterator<ConsumerRecord<K, V>> wrap(
+      Iterator<ConsumerRecord<K, V>> delegateIterator,
+      @Nullable Context receiveContext,
+      @Nullable ConsumerRecords<?, ?> records) {
     if (KafkaClientsConsumerProcessTracing.wrappingEnabled()) {
-      return new TracingIterator<>(delegateIterator, receiveContext);
+      ConsumerRecords<?, ?> batch = KafkaSingletons.isBatchProcessSpansEnabled() ? records : null;
+      return new TracingIterator<>(delegateIterator, receiveContext, batch);
     }
     return delegateIterator;
   }
 
   @Override
   public boolean hasNext() {
-    closeScopeAndEndSpan();
-    return delegateIterator.hasNext();
+    if (batch == null) {
+      closeScopeAndEndSpan();
+      return delegateIterator.hasNext();
+    }
+    // the batch span ends once all the records were processed
+    boolean hasNext = delegateIterator.hasNext();
+    if (!hasNext) {
+      closeScopeAndEndSpan();
+    }
+    return hasNext;
   }
 
   @Override
   public ConsumerRecord<K, V> next() {
+    if (batch != null) {
+      return nextInBatch();
+    }
+
     // in case they didn't call hasNext()...
     closeScopeAndEndSpan();
 
@@ -67,10 +114,35 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
     return next;
   }
 
+  private ConsumerRecord<K, V> nextInBatch() {
+    ConsumerRecord<K, V> next = delegateIterator.next();
+    if (!batchStarted && KafkaClientsConsumerProcessTracing.wrappingEnabled()) {
+      batchStarted = true;
+      closeOpenBatch();
+      // the instrumenter iterates over records when adding links, we need to suppress that
+      boolean previousWrappingEnabled = KafkaClientsConsumerProcessTracing.setEnabled(false);
+      try {
+        currentContext = batchProcessInstrumenter().start(parentContext, batch);
+      } finally {
+        KafkaClientsConsumerProcessTracing.setEnabled(previousWrappingEnabled);
+      }
+      currentScope = currentContext.makeCurrent();
+      openBatchIterator.set(this);
+    }
+    return next;
+  }
+
   private void closeScopeAndEndSpan() {
     if (currentScope != null) {
       currentScope.close();
-      consumerProcessInstrumenter().end(currentContext, currentRequest, null, null);
+      if (batch != null) {
+        batchProcessInstrumenter().end(currentContext, batch, null, null);
+        if (openBatchIterator.get() == this) {
+          openBatchIterator.remove();
+        }
+      } else {
+        consumerProcessInstrumenter().end(currentContext, currentRequest, null, null);
+      }
       currentScope = null;
       currentRequest = null;
       currentContext = null;
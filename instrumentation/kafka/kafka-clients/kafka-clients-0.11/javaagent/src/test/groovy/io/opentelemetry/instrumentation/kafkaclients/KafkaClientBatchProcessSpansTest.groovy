@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafkaclients
+
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.apache.kafka.clients.producer.ProducerRecord
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+import static io.opentelemetry.api.trace.SpanKind.CONSUMER
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.api.trace.SpanKind.PRODUCER
+
+class KafkaClientBatchProcessSpansTest extends KafkaClientPropagationBaseTest {
+
+  def "test kafka produce and consume"() {
+    when:
+    String greeting = "Hello Kafka!"
+    runWithSpan("parent") {
+      producer.send(new ProducerRecord(SHARED_TOPIC, greeting)).get(5, TimeUnit.SECONDS)
+    }
+
+    then:
+    awaitUntilConsumerIsReady()
+    def records = consumer.poll(Duration.ofSeconds(5).toMillis())
+    records.count() == 1
+
+    // iterate over records to generate spans
+    for (record in records) {
+      runWithSpan("processing") {
+        assert record.value() == greeting
+      }
+    }
+    // the batch span ends once all the records were iterated
+    !Span.current().spanContext.valid
+
+    assertTraces(2) {
+      traces.sort(orderByRootSpanName("parent", SHARED_TOPIC + " process"))
+
+      SpanData producerSpan
+
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.MESSAGING_SYSTEM" "kafka"
+            "$SemanticAttributes.MESSAGING_DESTINATION" SHARED_TOPIC
+            "$SemanticAttributes.MESSAGING_DESTINATION_KIND" "topic"
+            "$SemanticAttributes.MESSAGING_KAFKA_PARTITION" { it >= 0 }
+            "messaging.kafka.message.offset" { it >= 0 }
+          }
+        }
+
+        producerSpan = span(1)
+      }
+      trace(1, 2) {
+        span(0) {
+          name SHARED_TOPIC + " process"
+          kind CONSUMER
+          hasNoParent()
+          hasLink producerSpan
+          attributes {
+            "$SemanticAttributes.MESSAGING_SYSTEM" "kafka"
+            "$SemanticAttributes.MESSAGING_DESTINATION" SHARED_TOPIC
+            "$SemanticAttributes.MESSAGING_DESTINATION_KIND" "topic"
+            "$SemanticAttributes.MESSAGING_OPERATION" "process"
+          }
+        }
+        span(1) {
+          name "processing"
+          childOf span(0)
+        }
+      }
+    }
+  }
+
+  def "test batch span ends on next poll when iteration stops early"() {
+    when:
+    producer.send(new ProducerRecord(SHARED_TOPIC, "first")).get(5, TimeUnit.SECONDS)
+    producer.send(new ProducerRecord(SHARED_TOPIC, "second")).get(5, TimeUnit.SECONDS)
+
+    then:
+    waitForTraces(2)
+    awaitUntilConsumerIsReady()
+    def records = consumer.poll(Duration.ofSeconds(5).toMillis())
+    records.count() == 2
+
+    // stop after the first record, the batch span stays current
+    def iterator = records.iterator()
+    iterator.next().value() == "first"
+    Span.current().spanContext.valid
+
+    // the next poll ends the batch span and closes its scope
+    def nextRecords = consumer.poll(0)
+    nextRecords.count() == 0
+    !Span.current().spanContext.valid
+
+    assertTraces(3) {
+      traces.sort(orderByRootSpanKind(PRODUCER, PRODUCER, CONSUMER))
+
+      trace(0, 1) {
+        span(0) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          hasNoParent()
+        }
+      }
+      trace(1, 1) {
+        span(0) {
+          name SHARED_TOPIC + " send"
+          kind PRODUCER
+          hasNoParent()
+        }
+      }
+      trace(2, 1) {
+        span(0) {
+          name SHARED_TOPIC + " process"
+          kind CONSUMER
+          hasNoParent()
+        }
+      }
+    }
+  }
+}
@@ -13,10 +13,9 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
-import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaConsumerRecordGetter;
-import io.opentelemetry.instrumentation.kafka.internal.KafkaHeadersSetter;
+import io.opentelemetry.instrumentation.kafka.internal.KafkaPropagation;
 import io.opentelemetry.instrumentation.kafka.internal.OpenTelemetryMetricsReporter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
@@ -36,7 +35,6 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
-import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.metrics.MetricsReporter;
 
 public final class KafkaTelemetry {
@@ -45,8 +43,6 @@ public final class KafkaTelemetry {
   private static final TextMapGetter<ConsumerRecord<?, ?>> GETTER =
       KafkaConsumerRecordGetter.INSTANCE;
 
-  private static final TextMapSetter<Headers> SETTER = KafkaHeadersSetter.INSTANCE;
-
   private final OpenTelemetry openTelemetry;
   private final Instrumenter<ProducerRecord<?, ?>, RecordMetadata> producerInstrumenter;
   private final Instrumenter<ConsumerRecord<?, ?>, Void> consumerProcessInstrumenter;
@@ -184,7 +180,7 @@ public final class KafkaTelemetry {
     Context context = producerInstrumenter.start(parentContext, record);
     if (producerPropagationEnabled) {
       try {
-        propagator().inject(context, record.headers(), SETTER);
+        KafkaPropagation.inject(propagator(), context, record.headers());
       } catch (Throwable t) {
         // it can happen if headers are read only (when record is sent second time)
         logger.log(WARNING, "failed to inject span context. sending record second time?", t);
@@ -211,7 +207,7 @@ public final class KafkaTelemetry {
 
     Context context = producerInstrumenter.start(parentContext, record);
     try (Scope ignored = context.makeCurrent()) {
-      propagator().inject(context, record.headers(), SETTER);
+      KafkaPropagation.inject(propagator(), context, record.headers());
       callback = new ProducerCallback(callback, parentContext, context, record);
       return sendFn.apply(record, callback);
     }
@@ -0,0 +1,61 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+class KafkaPropagationTest {
+
+  private static final TextMapPropagator propagator = W3CTraceContextPropagator.getInstance();
+
+  private static final Context context =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "ff000000000000000000000000000041",
+                      "ff00000000000041",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  @Test
+  void shouldAppendHeadersWhenAbsent() {
+    Headers headers = new RecordHeaders();
+    headers.add("other", "value".getBytes(UTF_8));
+
+    KafkaPropagation.inject(propagator, context, headers);
+
+    assertThat(headers.toArray()).hasSize(2);
+    assertThat(new String(headers.lastHeader("traceparent").value(), UTF_8))
+        .isEqualTo("00-ff000000000000000000000000000041-ff00000000000041-01");
+  }
+
+  @Test
+  void shouldReplaceExistingHeaders() {
+    Headers headers = new RecordHeaders();
+    headers.add("traceparent", "old".getBytes(UTF_8));
+
+    KafkaPropagation.inject(propagator, context, headers);
+
+    Header[] traceparentHeaders = headers.toArray();
+    assertThat(traceparentHeaders).hasSize(1);
+    assertThat(new String(traceparentHeaders[0].value(), UTF_8))
+        .isEqualTo("00-ff000000000000000000000000000041-ff00000000000041-01");
+  }
+}
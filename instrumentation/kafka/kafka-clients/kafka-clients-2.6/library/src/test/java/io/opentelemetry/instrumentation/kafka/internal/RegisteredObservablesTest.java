@@ -0,0 +1,91 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.Test;
+
+class RegisteredObservablesTest {
+
+  private static final InstrumentDescriptor LAG =
+      InstrumentDescriptor.createDoubleGauge("kafka.consumer.records_lag", "lag");
+  private static final InstrumentDescriptor LEAD =
+      InstrumentDescriptor.createDoubleGauge("kafka.consumer.records_lead", "lead");
+
+  private final RegisteredObservables registeredObservables = new RegisteredObservables();
+
+  @Test
+  void shouldReplaceObservableOfTheSameMetric() {
+    RegisteredObservable first = observable("records-lag", LAG, null);
+    RegisteredObservable second = observable("records-lag", LAG, null);
+
+    assertThat(registeredObservables.add(first)).isEmpty();
+    assertThat(registeredObservables.add(second)).containsExactly(first);
+    assertThat(registeredObservables.getAll()).containsExactly(second);
+  }
+
+  @Test
+  void shouldReplaceLowerDimensionObservablesOfTheSameInstrument() {
+    RegisteredObservable clientLag = observable("records-lag", LAG, null);
+    RegisteredObservable clientLead = observable("records-lead", LEAD, null);
+    RegisteredObservable partitionLag = observable("records-lag", LAG, 0);
+
+    registeredObservables.add(clientLag);
+    registeredObservables.add(clientLead);
+
+    assertThat(registeredObservables.add(partitionLag)).containsExactly(clientLag);
+    assertThat(registeredObservables.getAll()).containsExactlyInAnyOrder(clientLead, partitionLag);
+    // a lower dimension observable does not replace the higher dimension ones
+    RegisteredObservable newClientLag = observable("records-lag", LAG, null);
+    assertThat(registeredObservables.add(newClientLag)).isEmpty();
+    assertThat(registeredObservables.getAll())
+        .containsExactlyInAnyOrder(clientLead, partitionLag, newClientLag);
+  }
+
+  @Test
+  void shouldRemoveObservables() {
+    RegisteredObservable partition0 = observable("records-lag", LAG, 0);
+    RegisteredObservable partition1 = observable("records-lag", LAG, 1);
+    registeredObservables.add(partition0);
+    registeredObservables.add(partition1);
+
+    assertThat(registeredObservables.remove(partition0.getKafkaMetricName()))
+        .isSameAs(partition0);
+    assertThat(registeredObservables.remove(partition0.getKafkaMetricName())).isNull();
+    assertThat(registeredObservables.getAll()).containsExactly(partition1);
+
+    assertThat(registeredObservables.removeAll()).containsExactly(partition1);
+    assertThat(registeredObservables.getAll()).isEmpty();
+  }
+
+  private static RegisteredObservable observable(
+      String name, InstrumentDescriptor descriptor, @Nullable Integer partition) {
+    Map<String, String> tags = new HashMap<>();
+    tags.put("client-id", "consumer-1");
+    if (partition != null) {
+      tags.put("topic", "topic");
+      tags.put("partition", String.valueOf(partition));
+    }
+    return RegisteredObservable.create(
+        new MetricName(name, "consumer-fetch-manager-metrics", "", tags),
+        descriptor,
+        attributes(tags),
+        () -> {});
+  }
+
+  private static Attributes attributes(Map<String, String> tags) {
+    AttributesBuilder builder = Attributes.builder();
+    tags.forEach(builder::put);
+    return builder.build();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// compares creating a process span for each record of a poll with creating a single process span,
+// with a capped number of links, for the whole batch
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class KafkaConsumerProcessBenchmark {
+
+  private static final String TOPIC = "benchmark-topic";
+
+  @Param({"10", "100", "1000", "10000"})
+  public int batchSize;
+
+  private SdkTracerProvider tracerProvider;
+  private Instrumenter<ConsumerRecord<?, ?>, Void> processInstrumenter;
+  private Instrumenter<ConsumerRecords<?, ?>, Void> batchProcessInstrumenter;
+  private ConsumerRecords<String, String> records;
+
+  @Setup
+  public void setUp() {
+    tracerProvider = SdkTracerProvider.builder().setSampler(Sampler.alwaysOn()).build();
+    OpenTelemetry openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(tracerProvider)
+            .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+            .build();
+    KafkaInstrumenterFactory factory =
+        new KafkaInstrumenterFactory(openTelemetry, "benchmark").setBatchProcessMaxLinks(128);
+    processInstrumenter = factory.createConsumerProcessInstrumenter();
+    batchProcessInstrumenter = factory.createBatchProcessInstrumenter();
+
+    TextMapPropagator propagator = W3CTraceContextPropagator.getInstance();
+    List<ConsumerRecord<String, String>> recordList = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      ConsumerRecord<String, String> record =
+          new ConsumerRecord<>(TOPIC, 0, i, "key" + i, "value" + i);
+      Context producerContext =
+          Context.root()
+              .with(
+                  Span.wrap(
+                      SpanContext.create(
+                          String.format("%032x", i + 1),
+                          String.format("%016x", i + 1),
+                          TraceFlags.getSampled(),
+                          TraceState.getDefault())));
+      propagator.inject(
+          producerContext,
+          record.headers(),
+          (headers, key, value) -> headers.add(key, value.getBytes(UTF_8)));
+      recordList.add(record);
+    }
+    records =
+        new ConsumerRecords<>(Collections.singletonMap(new TopicPartition(TOPIC, 0), recordList));
+  }
+
+  @TearDown
+  public void tearDown() {
+    tracerProvider.close();
+  }
+
+  @Benchmark
+  public void perRecord(Blackhole blackhole) {
+    Context parentContext = Context.current();
+    for (ConsumerRecord<String, String> record : records) {
+      Context context = processInstrumenter.start(parentContext, record);
+      try (Scope ignored = context.makeCurrent()) {
+        blackhole.consume(record);
+      }
+      processInstrumenter.end(context, record, null, null);
+    }
+  }
+
+  @Benchmark
+  public void batch(Blackhole blackhole) {
+    Context context = batchProcessInstrumenter.start(Context.current(), records);
+    try (Scope ignored = context.makeCurrent()) {
+      for (ConsumerRecord<String, String> record : records) {
+        blackhole.consume(record);
+      }
+    }
+    batchProcessInstrumenter.end(context, records, null, null);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Min;
+import org.apache.kafka.common.utils.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// simulates a rebalance of a consumer assigned to many partitions: the per partition metrics of
+// all the partitions are removed, and registered again
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class OpenTelemetryMetricsReporterBenchmark {
+
+  private static final String GROUP = "consumer-fetch-manager-metrics";
+
+  @Param({"500", "5000"})
+  public int partitions;
+
+  private SdkMeterProvider meterProvider;
+  private Metrics metrics;
+  private List<MetricName> lagMetricNames;
+  private List<MetricName> leadMetricNames;
+
+  @Setup
+  public void setUp() {
+    meterProvider = SdkMeterProvider.builder().build();
+    OpenTelemetryMetricsReporter reporter = new OpenTelemetryMetricsReporter();
+    Map<String, Object> config = new HashMap<>();
+    config.put(
+        OpenTelemetryMetricsReporter.CONFIG_KEY_OPENTELEMETRY_INSTANCE,
+        OpenTelemetrySdk.builder().setMeterProvider(meterProvider).build());
+    config.put(
+        OpenTelemetryMetricsReporter.CONFIG_KEY_OPENTELEMETRY_INSTRUMENTATION_NAME, "benchmark");
+    reporter.configure(config);
+    metrics = new Metrics(new MetricConfig(), Collections.singletonList(reporter), Time.SYSTEM);
+
+    // the client level metric that is replaced by the per partition metrics
+    metrics.addMetric(metrics.metricName("records-lag-max", GROUP, tags(null)), new Max());
+
+    lagMetricNames = new ArrayList<>(partitions);
+    leadMetricNames = new ArrayList<>(partitions);
+    for (int i = 0; i < partitions; i++) {
+      lagMetricNames.add(metrics.metricName("records-lag-max", GROUP, tags(i)));
+      leadMetricNames.add(metrics.metricName("records-lead-min", GROUP, tags(i)));
+    }
+    assignPartitions();
+  }
+
+  @TearDown
+  public void tearDown() {
+    metrics.close();
+    meterProvider.close();
+  }
+
+  @Benchmark
+  public void rebalance() {
+    revokePartitions();
+    assignPartitions();
+  }
+
+  private void assignPartitions() {
+    for (int i = 0; i < partitions; i++) {
+      metrics.addMetric(lagMetricNames.get(i), new Max());
+      metrics.addMetric(leadMetricNames.get(i), new Min());
+    }
+  }
+
+  private void revokePartitions() {
+    for (int i = 0; i < partitions; i++) {
+      metrics.removeMetric(lagMetricNames.get(i));
+      metrics.removeMetric(leadMetricNames.get(i));
+    }
+  }
+
+  private static Map<String, String> tags(@Nullable Integer partition) {
+    Map<String, String> tags = new HashMap<>();
+    tags.put("client-id", "consumer-1");
+    if (partition != null) {
+      tags.put("topic", "benchmark-topic");
+      tags.put("partition", String.valueOf(partition));
+    }
+    return tags;
+  }
+}
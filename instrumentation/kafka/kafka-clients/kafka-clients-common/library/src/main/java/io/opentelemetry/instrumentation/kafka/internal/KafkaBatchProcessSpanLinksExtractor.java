@@ -17,20 +17,39 @@ final class KafkaBatchProcessSpanLinksExtractor
     implements SpanLinksExtractor<ConsumerRecords<?, ?>> {
 
   private final SpanLinksExtractor<ConsumerRecord<?, ?>> singleRecordLinkExtractor;
+  private final int maxLinks;
 
-  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator) {
+  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator, int maxLinks) {
     this.singleRecordLinkExtractor =
         new PropagatorBasedSpanLinksExtractor<>(propagator, KafkaConsumerRecordGetter.INSTANCE);
+    this.maxLinks = maxLinks;
   }
 
   @Override
   public void extract(
       SpanLinksBuilder spanLinks, Context parentContext, ConsumerRecords<?, ?> records) {
 
+    if (maxLinks <= 0) {
+      return;
+    }
+    int count = records.count();
+    if (count <= maxLinks) {
+      for (ConsumerRecord<?, ?> record : records) {
+        // explicitly passing root to avoid situation where context propagation is turned off and
+        // the parent (CONSUMER receive) span is linked
+        singleRecordLinkExtractor.extract(spanLinks, Context.root(), record);
+      }
+      return;
+    }
+
+    // the batch is larger than the number of links allowed, link records that are evenly spread
+    // over the batch, and only extract the propagated context of those records
+    int step = (count + maxLinks - 1) / maxLinks;
+    int index = 0;
     for (ConsumerRecord<?, ?> record : records) {
-      // explicitly passing root to avoid situation where context propagation is turned off and the
-      // parent (CONSUMER receive) span is linked
-      singleRecordLinkExtractor.extract(spanLinks, Context.root(), record);
+      if (index++ % step == 0) {
+        singleRecordLinkExtractor.extract(spanLinks, Context.root(), record);
+      }
     }
   }
 }
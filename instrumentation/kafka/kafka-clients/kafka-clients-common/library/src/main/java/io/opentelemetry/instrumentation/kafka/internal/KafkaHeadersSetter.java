@@ -14,10 +14,21 @@ import org.apache.kafka.common.header.Headers;
  * any time.
  */
 public enum KafkaHeadersSetter implements TextMapSetter<Headers> {
-  INSTANCE;
-
-  @Override
-  public void set(Headers headers, String key, String value) {
-    headers.remove(key).add(key, value.getBytes(StandardCharsets.UTF_8));
+  /** Replaces the headers that are already present. */
+  INSTANCE {
+    @Override
+    public void set(Headers headers, String key, String value) {
+      headers.remove(key).add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+  },
+  /**
+   * Adds the headers without looking for existing ones, which is only correct when the headers
+   * don't contain any of the propagated fields yet.
+   */
+  APPENDING {
+    @Override
+    public void set(Headers headers, String key, String value) {
+      headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
   }
 }
@@ -38,6 +38,7 @@ public final class KafkaInstrumenterFactory {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessMaxLinks = Integer.MAX_VALUE;
 
   public KafkaInstrumenterFactory(OpenTelemetry openTelemetry, String instrumentationName) {
     this.openTelemetry = openTelemetry;
@@ -81,6 +82,16 @@ public final class KafkaInstrumenterFactory {
     return this;
   }
 
+  /**
+   * Sets the maximum number of links added to a batch process span. When a batch contains more
+   * records, only records evenly spread over the batch are linked.
+   */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessMaxLinks(int batchProcessMaxLinks) {
+    this.batchProcessMaxLinks = batchProcessMaxLinks;
+    return this;
+  }
+
   public Instrumenter<ProducerRecord<?, ?>, RecordMetadata> createProducerInstrumenter() {
     return createProducerInstrumenter(Collections.emptyList());
   }
@@ -165,7 +176,7 @@ public final class KafkaInstrumenterFactory {
             buildMessagingAttributesExtractor(getter, operation, capturedHeaders))
         .addSpanLinksExtractor(
             new KafkaBatchProcessSpanLinksExtractor(
-                openTelemetry.getPropagators().getTextMapPropagator()))
+                openTelemetry.getPropagators().getTextMapPropagator(), batchProcessMaxLinks))
         .setErrorCauseExtractor(errorCauseExtractor)
         .buildInstrumenter(SpanKindExtractor.alwaysConsumer());
   }
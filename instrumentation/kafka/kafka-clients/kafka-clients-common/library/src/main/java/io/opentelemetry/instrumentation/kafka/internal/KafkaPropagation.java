@@ -7,8 +7,12 @@ package io.opentelemetry.instrumentation.kafka.internal;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import java.util.Collection;
 import org.apache.kafka.clients.ApiVersions;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.record.RecordBatch;
 
 /**
@@ -17,8 +21,6 @@ import org.apache.kafka.common.record.RecordBatch;
  */
 public final class KafkaPropagation {
 
-  private static final KafkaHeadersSetter SETTER = KafkaHeadersSetter.INSTANCE;
-
   // Do not inject headers for batch versions below 2
   // This is how similar check is being done in Kafka client itself:
   // https://github.com/apache/kafka/blob/05fcfde8f69b0349216553f711fdfc3f0259c601/clients/src/main/java/org/apache/kafka/common/record/MemoryRecordsBuilder.java#L411-L412
@@ -32,8 +34,14 @@ public final class KafkaPropagation {
 
   public static <K, V> ProducerRecord<K, V> propagateContext(
       Context context, ProducerRecord<K, V> record) {
+    return propagateContext(
+        GlobalOpenTelemetry.getPropagators().getTextMapPropagator(), context, record);
+  }
+
+  public static <K, V> ProducerRecord<K, V> propagateContext(
+      TextMapPropagator propagator, Context context, ProducerRecord<K, V> record) {
     try {
-      inject(context, record);
+      inject(propagator, context, record.headers());
     } catch (IllegalStateException e) {
       // headers must be read-only from reused record. try again with new one.
       record =
@@ -45,15 +53,31 @@ public final class KafkaPropagation {
               record.value(),
               record.headers());
 
-      inject(context, record);
+      inject(propagator, context, record.headers());
     }
     return record;
   }
 
-  private static <K, V> void inject(Context context, ProducerRecord<K, V> record) {
-    GlobalOpenTelemetry.getPropagators()
-        .getTextMapPropagator()
-        .inject(context, record.headers(), SETTER);
+  /**
+   * Injects the {@code context} into the {@code headers}. Unless the headers already contain some
+   * of the propagated fields, the fields are appended without looking for existing headers with
+   * the same key.
+   */
+  public static void inject(TextMapPropagator propagator, Context context, Headers headers) {
+    KafkaHeadersSetter setter =
+        containsAny(headers, propagator.fields())
+            ? KafkaHeadersSetter.INSTANCE
+            : KafkaHeadersSetter.APPENDING;
+    propagator.inject(context, headers, setter);
+  }
+
+  private static boolean containsAny(Headers headers, Collection<String> fields) {
+    for (Header header : headers) {
+      if (fields.contains(header.key())) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private KafkaPropagation() {}
@@ -6,16 +6,11 @@
 package io.opentelemetry.instrumentation.kafka.internal;
 
 import io.opentelemetry.api.OpenTelemetry;
-import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
-import io.opentelemetry.instrumentation.api.internal.GuardedBy;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.kafka.common.metrics.KafkaMetric;
@@ -43,10 +38,7 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
       Logger.getLogger(OpenTelemetryMetricsReporter.class.getName());
   private volatile Meter meter;
 
-  private static final Object lock = new Object();
-
-  @GuardedBy("lock")
-  private static final List<RegisteredObservable> registeredObservables = new ArrayList<>();
+  private static final RegisteredObservables registeredObservables = new RegisteredObservables();
 
   /**
    * Reset for test by resetting the {@link #meter} to {@code null} and closing all registered
@@ -58,9 +50,7 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
 
   // Visible for test
   static List<RegisteredObservable> getRegisteredObservables() {
-    synchronized (lock) {
-      return new ArrayList<>(registeredObservables);
-    }
+    return registeredObservables.getAll();
   }
 
   @Override
@@ -84,45 +74,18 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
       return;
     }
 
-    Set<AttributeKey<?>> attributeKeys = registeredObservable.getAttributes().asMap().keySet();
-    synchronized (lock) {
-      for (Iterator<RegisteredObservable> it = registeredObservables.iterator(); it.hasNext(); ) {
-        RegisteredObservable curRegisteredObservable = it.next();
-        Set<AttributeKey<?>> curAttributeKeys =
-            curRegisteredObservable.getAttributes().asMap().keySet();
-        if (curRegisteredObservable.getKafkaMetricName().equals(metric.metricName())) {
-          logger.log(Level.FINEST, "Replacing instrument: {0}", curRegisteredObservable);
-          closeInstrument(curRegisteredObservable.getObservable());
-          it.remove();
-        } else if (curRegisteredObservable
-                .getInstrumentDescriptor()
-                .equals(registeredObservable.getInstrumentDescriptor())
-            && attributeKeys.size() > curAttributeKeys.size()
-            && attributeKeys.containsAll(curAttributeKeys)) {
-          logger.log(
-              Level.FINEST,
-              "Replacing instrument with higher dimension version: {0}",
-              curRegisteredObservable);
-          closeInstrument(curRegisteredObservable.getObservable());
-          it.remove();
-        }
-      }
-
-      registeredObservables.add(registeredObservable);
+    for (RegisteredObservable replaced : registeredObservables.add(registeredObservable)) {
+      logger.log(Level.FINEST, "Replacing instrument: {0}", replaced);
+      closeInstrument(replaced.getObservable());
     }
   }
 
   @Override
   public void metricRemoval(KafkaMetric metric) {
     logger.log(Level.FINEST, "Metric removed: {0}", metric.metricName());
-    synchronized (lock) {
-      for (Iterator<RegisteredObservable> it = registeredObservables.iterator(); it.hasNext(); ) {
-        RegisteredObservable current = it.next();
-        if (current.getKafkaMetricName().equals(metric.metricName())) {
-          closeInstrument(current.getObservable());
-          it.remove();
-        }
-      }
+    RegisteredObservable removed = registeredObservables.remove(metric.metricName());
+    if (removed != null) {
+      closeInstrument(removed.getObservable());
     }
   }
 
@@ -132,11 +95,8 @@ public final class OpenTelemetryMetricsReporter implements MetricsReporter {
   }
 
   private static void closeAllInstruments() {
-    synchronized (lock) {
-      for (Iterator<RegisteredObservable> it = registeredObservables.iterator(); it.hasNext(); ) {
-        closeInstrument(it.next().getObservable());
-        it.remove();
-      }
+    for (RegisteredObservable removed : registeredObservables.removeAll()) {
+      closeInstrument(removed.getObservable());
     }
   }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.instrumentation.api.internal.GuardedBy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import org.apache.kafka.common.MetricName;
+
+/**
+ * The {@link RegisteredObservable}s of all the Kafka metrics, indexed by Kafka metric name and by
+ * instrument, so that registering or removing a metric does not need to look at all the other
+ * metrics. Updates of different instruments don't block each other.
+ */
+final class RegisteredObservables {
+
+  private final ConcurrentMap<MetricName, RegisteredObservable> byMetricName =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<InstrumentDescriptor, InstrumentObservables> byInstrument =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Adds the {@code observable}, replacing the observable registered for the same Kafka metric,
+   * and the observables of the same instrument that have a subset of its attributes. Returns the
+   * replaced observables, which must be closed by the caller.
+   */
+  List<RegisteredObservable> add(RegisteredObservable observable) {
+    List<RegisteredObservable> replaced = new ArrayList<>();
+    InstrumentObservables instrumentObservables =
+        byInstrument.computeIfAbsent(
+            observable.getInstrumentDescriptor(), unused -> new InstrumentObservables());
+    RegisteredObservable previous;
+    synchronized (instrumentObservables) {
+      previous = byMetricName.put(observable.getKafkaMetricName(), observable);
+      if (previous != null
+          && previous.getInstrumentDescriptor().equals(observable.getInstrumentDescriptor())) {
+        instrumentObservables.remove(previous);
+        replaced.add(previous);
+        previous = null;
+      }
+      instrumentObservables.add(observable, replaced);
+    }
+    if (previous != null) {
+      // the kafka metric was mapped to a different instrument before
+      removeFromInstrument(previous);
+      replaced.add(previous);
+    }
+    return replaced;
+  }
+
+  /** Removes and returns the observable registered for the Kafka metric, if any. */
+  @Nullable
+  RegisteredObservable remove(MetricName metricName) {
+    RegisteredObservable current = byMetricName.get(metricName);
+    if (current == null) {
+      return null;
+    }
+    InstrumentObservables instrumentObservables =
+        byInstrument.get(current.getInstrumentDescriptor());
+    synchronized (instrumentObservables) {
+      if (!byMetricName.remove(metricName, current)) {
+        // concurrently replaced or removed
+        return null;
+      }
+      instrumentObservables.remove(current);
+    }
+    return current;
+  }
+
+  /** Removes and returns all the observables. */
+  List<RegisteredObservable> removeAll() {
+    List<RegisteredObservable> removed = new ArrayList<>();
+    for (MetricName metricName : byMetricName.keySet()) {
+      RegisteredObservable observable = remove(metricName);
+      if (observable != null) {
+        removed.add(observable);
+      }
+    }
+    return removed;
+  }
+
+  List<RegisteredObservable> getAll() {
+    return new ArrayList<>(byMetricName.values());
+  }
+
+  private void removeFromInstrument(RegisteredObservable observable) {
+    InstrumentObservables instrumentObservables =
+        byInstrument.get(observable.getInstrumentDescriptor());
+    if (instrumentObservables != null) {
+      synchronized (instrumentObservables) {
+        instrumentObservables.remove(observable);
+      }
+    }
+  }
+
+  /** The observables of a single instrument, grouped by the keys of their attributes. */
+  private final class InstrumentObservables {
+
+    @GuardedBy("this")
+    private final Map<Set<AttributeKey<?>>, Map<MetricName, RegisteredObservable>>
+        byAttributeKeys = new HashMap<>();
+
+    @GuardedBy("this")
+    void add(RegisteredObservable observable, List<RegisteredObservable> replaced) {
+      Set<AttributeKey<?>> attributeKeys =
+          new HashSet<>(observable.getAttributes().asMap().keySet());
+      // there are only a few distinct sets of attribute keys for an instrument
+      for (Iterator<Map.Entry<Set<AttributeKey<?>>, Map<MetricName, RegisteredObservable>>> it =
+              byAttributeKeys.entrySet().iterator();
+          it.hasNext(); ) {
+        Map.Entry<Set<AttributeKey<?>>, Map<MetricName, RegisteredObservable>> entry = it.next();
+        Set<AttributeKey<?>> curAttributeKeys = entry.getKey();
+        if (attributeKeys.size() > curAttributeKeys.size()
+            && attributeKeys.containsAll(curAttributeKeys)) {
+          // replaced by the higher dimension version
+          for (RegisteredObservable lowerDimension : entry.getValue().values()) {
+            byMetricName.remove(lowerDimension.getKafkaMetricName(), lowerDimension);
+            replaced.add(lowerDimension);
+          }
+          it.remove();
+        }
+      }
+      byAttributeKeys
+          .computeIfAbsent(attributeKeys, unused -> new HashMap<>())
+          .put(observable.getKafkaMetricName(), observable);
+    }
+
+    @GuardedBy("this")
+    void remove(RegisteredObservable observable) {
+      Set<AttributeKey<?>> attributeKeys =
+          new HashSet<>(observable.getAttributes().asMap().keySet());
+      Map<MetricName, RegisteredObservable> observables = byAttributeKeys.get(attributeKeys);
+      if (observables != null
+          && observables.remove(observable.getKafkaMetricName(), observable)
+          && observables.isEmpty()) {
+        byAttributeKeys.remove(attributeKeys);
+      }
+    }
+  }
+}
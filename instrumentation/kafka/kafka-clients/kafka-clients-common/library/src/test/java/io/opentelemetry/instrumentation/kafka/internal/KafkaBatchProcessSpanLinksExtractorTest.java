@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafka.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksBuilder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class KafkaBatchProcessSpanLinksExtractorTest {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+  @Test
+  void shouldLinkAllRecordsOfSmallBatches() {
+    List<SpanContext> links = extractLinks(5, 10);
+
+    assertThat(links).extracting(SpanContext::getSpanId).containsExactly(spanIds(0, 1, 2, 3, 4));
+  }
+
+  @Test
+  void shouldLinkEvenlySpreadRecordsOfLargeBatches() {
+    List<SpanContext> links = extractLinks(100, 10);
+
+    assertThat(links)
+        .extracting(SpanContext::getSpanId)
+        .containsExactly(spanIds(0, 10, 20, 30, 40, 50, 60, 70, 80, 90));
+  }
+
+  @Test
+  void shouldNotExceedMaxLinks() {
+    List<SpanContext> links = extractLinks(25, 10);
+
+    // every third record is linked
+    assertThat(links)
+        .extracting(SpanContext::getSpanId)
+        .containsExactly(spanIds(0, 3, 6, 9, 12, 15, 18, 21, 24));
+  }
+
+  @Test
+  void shouldNotLinkRecordsWhenMaxLinksIsZero() {
+    assertThat(extractLinks(5, 0)).isEmpty();
+  }
+
+  private static List<SpanContext> extractLinks(int recordCount, int maxLinks) {
+    KafkaBatchProcessSpanLinksExtractor extractor =
+        new KafkaBatchProcessSpanLinksExtractor(W3CTraceContextPropagator.getInstance(), maxLinks);
+    List<SpanContext> links = new ArrayList<>();
+    extractor.extract(new ListSpanLinksBuilder(links), Context.root(), records(recordCount));
+    return links;
+  }
+
+  private static ConsumerRecords<String, String> records(int count) {
+    List<ConsumerRecord<String, String>> records = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ConsumerRecord<String, String> record = new ConsumerRecord<>("topic", 0, i, null, "value");
+      record
+          .headers()
+          .add(
+              "traceparent",
+              ("00-" + TRACE_ID + "-" + spanId(i) + "-01").getBytes(StandardCharsets.UTF_8));
+      records.add(record);
+    }
+    return new ConsumerRecords<>(Collections.singletonMap(new TopicPartition("topic", 0), records));
+  }
+
+  private static String[] spanIds(int... recordIndexes) {
+    return Arrays.stream(recordIndexes)
+        .mapToObj(KafkaBatchProcessSpanLinksExtractorTest::spanId)
+        .toArray(String[]::new);
+  }
+
+  private static String spanId(int recordIndex) {
+    return String.format("%016x", recordIndex + 1);
+  }
+
+  private static final class ListSpanLinksBuilder implements SpanLinksBuilder {
+    private final List<SpanContext> links;
+
+    ListSpanLinksBuilder(List<SpanContext> links) {
+      this.links = links;
+    }
+
+    @Override
+    public SpanLinksBuilder addLink(SpanContext spanContext) {
+      links.add(spanContext);
+      return this;
+    }
+
+    @Override
+    public SpanLinksBuilder addLink(SpanContext spanContext, Attributes attributes) {
+      links.add(spanContext);
+      return this;
+    }
+  }
+}
@@ -8,13 +8,21 @@ package io.opentelemetry.instrumentation.log4j.appender.v2_17;
 import static java.util.Collections.emptyList;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.logs.GlobalLoggerProvider;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.AsyncLogEventEmitter;
+import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.AsyncLogEventEmitter.OverflowPolicy;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.ContextDataAccessor;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.LogEventMapper;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
@@ -42,7 +50,14 @@ public class OpenTelemetryAppender extends AbstractAppender {
 
   static final String PLUGIN_NAME = "OpenTelemetry";
 
+  private static final AttributeKey<String> APPENDER_NAME =
+      AttributeKey.stringKey("log4j.appender.name");
+
   private final LogEventMapper<ReadOnlyStringMap> mapper;
+  private final int asyncQueueSize;
+  private final OverflowPolicy asyncOverflowPolicy;
+
+  @Nullable private volatile AsyncLogEventEmitter asyncEmitter;
 
   @PluginBuilderFactory
   public static <B extends Builder<B>> B builder() {
@@ -56,6 +71,8 @@ public class OpenTelemetryAppender extends AbstractAppender {
     @PluginBuilderAttribute private boolean captureMapMessageAttributes;
     @PluginBuilderAttribute private boolean captureMarkerAttribute;
     @PluginBuilderAttribute private String captureContextDataAttributes;
+    @PluginBuilderAttribute private int asyncQueueSize;
+    @PluginBuilderAttribute private String asyncOverflowPolicy;
 
     /**
      * Sets whether experimental attributes should be set to logs. These attributes may be changed
@@ -93,6 +110,29 @@ public class OpenTelemetryAppender extends AbstractAppender {
       return asBuilder();
     }
 
+    /**
+     * Sets the size of the ring buffer used to hand log events off to a background thread, which
+     * maps and emits them, so that the logging thread only takes a snapshot of the log events. Log
+     * events are mapped and emitted on the logging thread when the size is 0, which is the
+     * default.
+     */
+    @CanIgnoreReturnValue
+    public B setAsyncQueueSize(int asyncQueueSize) {
+      this.asyncQueueSize = asyncQueueSize;
+      return asBuilder();
+    }
+
+    /**
+     * Sets what happens to log events when the ring buffer is full: {@code drop} drops them, which
+     * is the default, {@code block} blocks the logging thread until there is room, and {@code
+     * sample} drops a growing share of the log events once the ring buffer is half full.
+     */
+    @CanIgnoreReturnValue
+    public B setAsyncOverflowPolicy(String asyncOverflowPolicy) {
+      this.asyncOverflowPolicy = asyncOverflowPolicy;
+      return asBuilder();
+    }
+
     @Override
     public OpenTelemetryAppender build() {
       return new OpenTelemetryAppender(
@@ -104,7 +144,23 @@ public class OpenTelemetryAppender extends AbstractAppender {
           captureExperimentalAttributes,
           captureMapMessageAttributes,
           captureMarkerAttribute,
-          captureContextDataAttributes);
+          captureContextDataAttributes,
+          asyncQueueSize,
+          parseOverflowPolicy(asyncOverflowPolicy));
+    }
+
+    private static OverflowPolicy parseOverflowPolicy(@Nullable String value) {
+      if (value == null || value.isEmpty()) {
+        return OverflowPolicy.DROP;
+      }
+      try {
+        return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        LOGGER.warn(
+            "Invalid asyncOverflowPolicy '{}', expected drop, block or sample. Using drop.",
+            value);
+        return OverflowPolicy.DROP;
+      }
     }
   }
 
@@ -117,9 +173,13 @@ public class OpenTelemetryAppender extends AbstractAppender {
       boolean captureExperimentalAttributes,
       boolean captureMapMessageAttributes,
       boolean captureMarkerAttribute,
-      String captureContextDataAttributes) {
+      String captureContextDataAttributes,
+      int asyncQueueSize,
+      OverflowPolicy asyncOverflowPolicy) {
 
     super(name, filter, layout, ignoreExceptions, properties);
+    this.asyncQueueSize = asyncQueueSize;
+    this.asyncOverflowPolicy = asyncOverflowPolicy;
     this.mapper =
         new LogEventMapper<>(
             ContextDataAccessorImpl.INSTANCE,
@@ -139,8 +199,76 @@ public class OpenTelemetryAppender extends AbstractAppender {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public void start() {
+    if (asyncQueueSize > 0) {
+      asyncEmitter =
+          new AsyncLogEventEmitter(
+              "otel-log4j-appender-" + getName(),
+              asyncQueueSize,
+              asyncOverflowPolicy,
+              this::emit,
+              e -> getHandler().error("Failed to emit log record", e));
+    }
+    super.start();
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    setStopping();
+    super.stop(timeout, timeUnit, false);
+    AsyncLogEventEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.shutdown(timeout, timeUnit);
+      this.asyncEmitter = null;
+    }
+    setStopped();
+    return true;
+  }
+
+  /**
+   * Reports the number of log events waiting in the ring buffer and the number of dropped log
+   * events to the given {@link MeterProvider}, when the ring buffer is used.
+   */
+  public void setMeterProvider(MeterProvider meterProvider) {
+    Meter meter = meterProvider.get("io.opentelemetry.log4j-appender-2.17");
+    Attributes attributes = Attributes.of(APPENDER_NAME, getName());
+    meter
+        .upDownCounterBuilder("log4j.appender.async.queue.size")
+        .setDescription("The number of log events waiting to be emitted")
+        .setUnit("{log_events}")
+        .buildWithCallback(
+            measurement -> {
+              AsyncLogEventEmitter asyncEmitter = this.asyncEmitter;
+              if (asyncEmitter != null) {
+                measurement.record(asyncEmitter.getQueueSize(), attributes);
+              }
+            });
+    meter
+        .counterBuilder("log4j.appender.async.dropped")
+        .setDescription("The number of log events dropped because the ring buffer was full")
+        .setUnit("{log_events}")
+        .buildWithCallback(
+            measurement -> {
+              AsyncLogEventEmitter asyncEmitter = this.asyncEmitter;
+              if (asyncEmitter != null) {
+                measurement.record(asyncEmitter.getDroppedLogEvents(), attributes);
+              }
+            });
+  }
+
   @Override
   public void append(LogEvent event) {
+    AsyncLogEventEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.offer(event);
+      return;
+    }
+    Thread currentThread = Thread.currentThread();
+    emit(event, Context.current(), currentThread.getName(), currentThread.getId());
+  }
+
+  private void emit(LogEvent event, Context context, String threadName, long threadId) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
@@ -154,7 +282,10 @@ public class OpenTelemetryAppender extends AbstractAppender {
         event.getLevel(),
         event.getMarker(),
         event.getThrown(),
-        contextData);
+        contextData,
+        context,
+        threadName,
+        threadId);
 
     Instant timestamp = event.getInstant();
     if (timestamp != null) {
@@ -0,0 +1,194 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.appender.v2_17.internal;
+
+import io.opentelemetry.context.Context;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.MapMessage;
+import org.apache.logging.log4j.message.Message;
+
+/**
+ * Hands log events off to a background thread through a bounded ring buffer, so that the logging
+ * thread only takes an immutable snapshot of the event, and the event is mapped and emitted by the
+ * background thread.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AsyncLogEventEmitter {
+
+  /** What to do with a log event when the ring buffer is full. */
+  public enum OverflowPolicy {
+    /** Drop the log event. */
+    DROP,
+    /** Block the logging thread until there is room in the ring buffer. */
+    BLOCK,
+    /**
+     * Drop a growing share of the log events once the ring buffer is half full, from none when it
+     * is half full to all when it is full.
+     */
+    SAMPLE
+  }
+
+  /** Maps and emits a log event snapshot. */
+  public interface Handler {
+    void emit(LogEvent event, Context context, String threadName, long threadId);
+  }
+
+  private final BlockingQueue<PendingLogEvent> queue;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Handler handler;
+  private final Consumer<Throwable> errorHandler;
+  private final Thread worker;
+  private final AtomicLong droppedLogEvents = new AtomicLong();
+
+  private volatile boolean shutdown;
+
+  public AsyncLogEventEmitter(
+      String threadName,
+      int capacity,
+      OverflowPolicy overflowPolicy,
+      Handler handler,
+      Consumer<Throwable> errorHandler) {
+    // the backing array of the queue is allocated once, it is used as a ring buffer
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.handler = handler;
+    this.errorHandler = errorHandler;
+    worker = new Thread(this::run, threadName);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Queues a snapshot of the event to be emitted by the background thread, applying the overflow
+   * policy when the ring buffer is full. Returns {@code false} if the event was dropped.
+   */
+  public boolean offer(LogEvent event) {
+    Thread currentThread = Thread.currentThread();
+    if (currentThread == worker) {
+      // logged while emitting, e.g. by an exporter; queueing could block the only consumer
+      emit(event, Context.current(), currentThread.getName(), currentThread.getId());
+      return true;
+    }
+    Message message = event.getMessage();
+    if (message != null && !(message instanceof MapMessage)) {
+      // format now, like log4j's async appenders do, the parameters may change after this returns
+      message.getFormattedMessage();
+    }
+    PendingLogEvent pendingEvent =
+        new PendingLogEvent(
+            event.toImmutable(), Context.current(), currentThread.getName(), currentThread.getId());
+
+    boolean queued;
+    switch (overflowPolicy) {
+      case BLOCK:
+        queued = put(pendingEvent);
+        break;
+      case SAMPLE:
+        queued = shouldSample() && queue.offer(pendingEvent);
+        break;
+      case DROP:
+      default:
+        queued = queue.offer(pendingEvent);
+        break;
+    }
+    if (!queued) {
+      droppedLogEvents.incrementAndGet();
+    }
+    return queued;
+  }
+
+  /** Returns the number of log events waiting in the ring buffer. */
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  /** Returns the number of log events dropped because the ring buffer was full. */
+  public long getDroppedLogEvents() {
+    return droppedLogEvents.get();
+  }
+
+  /** Emits the queued log events and stops the background thread, waiting at most the timeout. */
+  public void shutdown(long timeout, TimeUnit unit) {
+    shutdown = true;
+    worker.interrupt();
+    try {
+      worker.join(unit.toMillis(timeout));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean put(PendingLogEvent pendingEvent) {
+    try {
+      queue.put(pendingEvent);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private boolean shouldSample() {
+    int remaining = queue.remainingCapacity();
+    int halfCapacity = capacity / 2;
+    if (remaining >= halfCapacity) {
+      return true;
+    }
+    return ThreadLocalRandom.current().nextInt(halfCapacity) < remaining;
+  }
+
+  private void run() {
+    while (!shutdown) {
+      PendingLogEvent pendingEvent;
+      try {
+        pendingEvent = queue.take();
+      } catch (InterruptedException e) {
+        break;
+      }
+      emit(pendingEvent);
+    }
+    PendingLogEvent pendingEvent;
+    while ((pendingEvent = queue.poll()) != null) {
+      emit(pendingEvent);
+    }
+  }
+
+  private void emit(PendingLogEvent pendingEvent) {
+    emit(pendingEvent.event, pendingEvent.context, pendingEvent.threadName, pendingEvent.threadId);
+  }
+
+  private void emit(LogEvent event, Context context, String threadName, long threadId) {
+    try {
+      handler.emit(event, context, threadName, threadId);
+    } catch (RuntimeException e) {
+      errorHandler.accept(e);
+    }
+  }
+
+  private static final class PendingLogEvent {
+    final LogEvent event;
+    final Context context;
+    final String threadName;
+    final long threadId;
+
+    PendingLogEvent(LogEvent event, Context context, String threadName, long threadId) {
+      this.event = event;
+      this.context = context;
+      this.threadName = threadName;
+      this.threadId = threadId;
+    }
+  }
+}
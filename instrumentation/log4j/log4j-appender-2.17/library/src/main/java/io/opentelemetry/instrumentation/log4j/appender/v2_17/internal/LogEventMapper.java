@@ -81,6 +81,34 @@ public final class LogEventMapper<T> {
       @Nullable Marker marker,
       @Nullable Throwable throwable,
       T contextData) {
+    Thread currentThread = Thread.currentThread();
+    mapLogEvent(
+        builder,
+        message,
+        level,
+        marker,
+        throwable,
+        contextData,
+        Context.current(),
+        currentThread.getName(),
+        currentThread.getId());
+  }
+
+  /**
+   * Like {@link #mapLogEvent(LogRecordBuilder, Message, Level, Marker, Throwable, Object)}, for an
+   * event that was logged in the given context by the given thread, which may not be the current
+   * one.
+   */
+  public void mapLogEvent(
+      LogRecordBuilder builder,
+      Message message,
+      Level level,
+      @Nullable Marker marker,
+      @Nullable Throwable throwable,
+      T contextData,
+      Context context,
+      String threadName,
+      long threadId) {
 
     AttributesBuilder attributes = Attributes.builder();
 
@@ -105,14 +133,13 @@ public final class LogEventMapper<T> {
     captureContextDataAttributes(attributes, contextData);
 
     if (captureExperimentalAttributes) {
-      Thread currentThread = Thread.currentThread();
-      attributes.put(SemanticAttributes.THREAD_NAME, currentThread.getName());
-      attributes.put(SemanticAttributes.THREAD_ID, currentThread.getId());
+      attributes.put(SemanticAttributes.THREAD_NAME, threadName);
+      attributes.put(SemanticAttributes.THREAD_ID, threadId);
     }
 
     builder.setAllAttributes(attributes.build());
 
-    builder.setContext(Context.current());
+    builder.setContext(context);
   }
 
   // visible for testing
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.appender.v2_17;
+
+import static io.opentelemetry.sdk.testing.assertj.LogAssertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.api.logs.GlobalLoggerProvider;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpenTelemetryAppenderAsyncTest {
+
+  private InMemoryLogRecordExporter logRecordExporter;
+  private OpenTelemetryAppender appender;
+
+  @BeforeEach
+  void setup() {
+    logRecordExporter = InMemoryLogRecordExporter.create();
+    GlobalLoggerProvider.resetForTest();
+    GlobalLoggerProvider.set(
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(SimpleLogRecordProcessor.create(logRecordExporter))
+            .build());
+
+    appender =
+        OpenTelemetryAppender.builder()
+            .setName("AsyncOpenTelemetryAppender")
+            .setCaptureExperimentalAttributes(true)
+            .setAsyncQueueSize(16)
+            .setAsyncOverflowPolicy("block")
+            .build();
+    appender.start();
+  }
+
+  @AfterEach
+  void cleanup() {
+    appender.stop();
+  }
+
+  @Test
+  void logIsEmittedByBackgroundThread() {
+    Span span = SdkTracerProvider.builder().build().get("tracer").spanBuilder("span").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      appender.append(logEvent("log message"));
+    } finally {
+      span.end();
+    }
+
+    await().untilAsserted(() -> assertThat(logRecordExporter.getFinishedLogItems()).hasSize(1));
+    LogRecordData logData = logRecordExporter.getFinishedLogItems().get(0);
+    assertThat(logData).hasBody("log message").hasSpanContext(span.getSpanContext());
+    assertThat(logData.getAttributes().get(SemanticAttributes.THREAD_NAME))
+        .isEqualTo(Thread.currentThread().getName());
+  }
+
+  @Test
+  void queuedLogsAreEmittedOnStop() {
+    for (int i = 0; i < 10; i++) {
+      appender.append(logEvent("log message " + i));
+    }
+
+    appender.stop();
+
+    assertThat(logRecordExporter.getFinishedLogItems()).hasSize(10);
+  }
+
+  @Test
+  void metrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    appender.setMeterProvider(
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build());
+
+    appender.append(logEvent("log message"));
+
+    Collection<MetricData> metrics = metricReader.collectAllMetrics();
+    List<String> metricNames =
+        metrics.stream().map(MetricData::getName).collect(Collectors.toList());
+    assertThat(metricNames)
+        .containsExactlyInAnyOrder(
+            "log4j.appender.async.queue.size", "log4j.appender.async.dropped");
+  }
+
+  private static Log4jLogEvent logEvent(String message) {
+    return Log4jLogEvent.newBuilder()
+        .setLoggerName("TestLogger")
+        .setMessage(new SimpleMessage(message))
+        .build();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.appender.v2_17.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.AsyncLogEventEmitter.OverflowPolicy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncLogEventEmitterTest {
+
+  private final CountDownLatch emitterBlocked = new CountDownLatch(1);
+  private final CountDownLatch releaseEmitter = new CountDownLatch(1);
+  private final List<String> emitted = new CopyOnWriteArrayList<>();
+  private AsyncLogEventEmitter emitter;
+
+  @AfterEach
+  void cleanup() {
+    releaseEmitter.countDown();
+    emitter.shutdown(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void drop() throws InterruptedException {
+    emitter = createEmitter(OverflowPolicy.DROP);
+    blockEmitter();
+
+    assertThat(emitter.offer(logEvent("1"))).isTrue();
+    assertThat(emitter.offer(logEvent("2"))).isTrue();
+    assertThat(emitter.offer(logEvent("3"))).isFalse();
+    assertThat(emitter.getQueueSize()).isEqualTo(2);
+    assertThat(emitter.getDroppedLogEvents()).isEqualTo(1);
+
+    releaseEmitter.countDown();
+    await().untilAsserted(() -> assertThat(emitted).containsExactly("blocker", "1", "2"));
+  }
+
+  @Test
+  void sample() throws InterruptedException {
+    emitter = createEmitter(OverflowPolicy.SAMPLE);
+    blockEmitter();
+
+    // accepted while the ring buffer is at most half full
+    assertThat(emitter.offer(logEvent("1"))).isTrue();
+    for (int i = 0; i < 10; i++) {
+      emitter.offer(logEvent("sampled"));
+    }
+    assertThat(emitter.getQueueSize()).isLessThanOrEqualTo(2);
+    assertThat(emitter.getDroppedLogEvents()).isGreaterThan(0);
+  }
+
+  @Test
+  void block() throws InterruptedException {
+    emitter = createEmitter(OverflowPolicy.BLOCK);
+    blockEmitter();
+
+    assertThat(emitter.offer(logEvent("1"))).isTrue();
+    assertThat(emitter.offer(logEvent("2"))).isTrue();
+    Thread logging = new Thread(() -> emitter.offer(logEvent("3")));
+    logging.start();
+    await().until(() -> logging.getState() == Thread.State.WAITING);
+
+    releaseEmitter.countDown();
+    logging.join();
+    await().untilAsserted(() -> assertThat(emitted).containsExactly("blocker", "1", "2", "3"));
+    assertThat(emitter.getDroppedLogEvents()).isZero();
+  }
+
+  @Test
+  void emitsQueuedEventsOnShutdown() {
+    emitter = createEmitter(OverflowPolicy.DROP);
+    emitter.offer(logEvent("1"));
+    emitter.offer(logEvent("2"));
+
+    emitter.shutdown(10, TimeUnit.SECONDS);
+
+    assertThat(emitted).containsExactly("1", "2");
+  }
+
+  private AsyncLogEventEmitter createEmitter(OverflowPolicy overflowPolicy) {
+    return new AsyncLogEventEmitter(
+        "test-emitter",
+        2,
+        overflowPolicy,
+        (event, context, threadName, threadId) -> {
+          String message = event.getMessage().getFormattedMessage();
+          if (message.equals("blocker")) {
+            emitterBlocked.countDown();
+            try {
+              releaseEmitter.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          emitted.add(message);
+        },
+        e -> {});
+  }
+
+  // keeps the background thread busy, so that the following events stay in the ring buffer
+  private void blockEmitter() throws InterruptedException {
+    emitter.offer(logEvent("blocker"));
+    emitterBlocked.await();
+  }
+
+  private static LogEvent logEvent(String message) {
+    return Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(message)).build();
+  }
+}
@@ -10,10 +10,14 @@ import static java.util.Collections.emptyList;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import io.opentelemetry.api.logs.GlobalLoggerProvider;
+import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.AsyncLoggingEventEmitter;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.LoggingEventMapper;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.slf4j.MDC;
 
 public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
@@ -22,8 +26,11 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
   private volatile boolean captureCodeAttributes = false;
   private volatile boolean captureMarkerAttribute = false;
   private volatile List<String> captureMdcAttributes = emptyList();
+  private volatile int asyncQueueSize = 0;
 
   private volatile LoggingEventMapper mapper;
+  @Nullable private volatile AsyncLoggingEventEmitter asyncEmitter;
+  private final AtomicBoolean droppedEventsReported = new AtomicBoolean();
 
   public OpenTelemetryAppender() {}
 
@@ -35,12 +42,36 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
             captureMdcAttributes,
             captureCodeAttributes,
             captureMarkerAttribute);
+    if (asyncQueueSize > 0) {
+      droppedEventsReported.set(false);
+      asyncEmitter =
+          new AsyncLoggingEventEmitter(
+              mapper,
+              GlobalLoggerProvider::get,
+              asyncQueueSize,
+              e -> addError("Failed to emit log record", e));
+    }
     super.start();
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    AsyncLoggingEventEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.shutdown(1, TimeUnit.SECONDS);
+      this.asyncEmitter = null;
+    }
+  }
+
   @Override
   protected void append(ILoggingEvent event) {
-    mapper.emit(GlobalLoggerProvider.get(), event);
+    AsyncLoggingEventEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter == null) {
+      mapper.emit(GlobalLoggerProvider.get(), event);
+    } else if (!asyncEmitter.offer(event) && droppedEventsReported.compareAndSet(false, true)) {
+      addWarn("The queue is full, log events are dropped. Consider increasing asyncQueueSize.");
+    }
   }
 
   /**
@@ -73,6 +104,16 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     this.captureMarkerAttribute = captureMarkerAttribute;
   }
 
+  /**
+   * Sets the size of the queue used to hand log events off to a background thread, which maps
+   * them to log records, so that the logging thread does not. Log events are dropped when the
+   * queue is full. Log events are mapped on the logging thread when the size is 0, which is the
+   * default.
+   */
+  public void setAsyncQueueSize(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
+  }
+
   /** Configures the {@link MDC} attributes that will be copied to logs. */
   public void setCaptureMdcAttributes(String attributes) {
     if (attributes != null) {
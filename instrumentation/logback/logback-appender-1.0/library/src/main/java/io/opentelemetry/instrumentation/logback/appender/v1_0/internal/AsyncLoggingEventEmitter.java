@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.context.Context;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hands logging events off to a background thread through a bounded queue, so that the logging
+ * thread does not map them, and in particular does not render the stack traces. Only what must be
+ * captured on the logging thread is captured there: the context, the thread, and the data logback
+ * itself computes lazily. Events are dropped when the queue is full.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AsyncLoggingEventEmitter {
+
+  private final LoggingEventMapper mapper;
+  private final Supplier<LoggerProvider> loggerProviderSupplier;
+  private final Consumer<Throwable> errorHandler;
+  private final BlockingQueue<PendingEvent> queue;
+  private final Thread worker;
+
+  private volatile boolean shutdown;
+
+  public AsyncLoggingEventEmitter(
+      LoggingEventMapper mapper,
+      Supplier<LoggerProvider> loggerProviderSupplier,
+      int queueSize,
+      Consumer<Throwable> errorHandler) {
+    this.mapper = mapper;
+    this.loggerProviderSupplier = loggerProviderSupplier;
+    this.errorHandler = errorHandler;
+    queue = new ArrayBlockingQueue<>(queueSize);
+    worker = new Thread(this::run, "otel-logback-appender");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Queues the event to be emitted by the background thread. Returns {@code false} if the event
+   * was dropped because the queue is full.
+   */
+  public boolean offer(ILoggingEvent event) {
+    // captures the formatted message, the MDC and the thread name
+    event.prepareForDeferredProcessing();
+    if (mapper.captureCodeAttributes()) {
+      // the caller data is computed from the stack of the logging thread
+      event.getCallerData();
+    }
+    Thread currentThread = Thread.currentThread();
+    return queue.offer(
+        new PendingEvent(event, Context.current(), currentThread.getName(), currentThread.getId()));
+  }
+
+  /** Emits the queued events and stops the background thread, waiting at most the timeout. */
+  public void shutdown(long timeout, TimeUnit unit) {
+    shutdown = true;
+    worker.interrupt();
+    try {
+      worker.join(unit.toMillis(timeout));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    while (!shutdown) {
+      PendingEvent pendingEvent;
+      try {
+        pendingEvent = queue.take();
+      } catch (InterruptedException e) {
+        break;
+      }
+      emit(pendingEvent);
+    }
+    PendingEvent pendingEvent;
+    while ((pendingEvent = queue.poll()) != null) {
+      emit(pendingEvent);
+    }
+  }
+
+  private void emit(PendingEvent pendingEvent) {
+    try {
+      mapper.emit(
+          loggerProviderSupplier.get(),
+          pendingEvent.event,
+          pendingEvent.context,
+          pendingEvent.threadName,
+          pendingEvent.threadId);
+    } catch (RuntimeException e) {
+      errorHandler.accept(e);
+    }
+  }
+
+  private static final class PendingEvent {
+    final ILoggingEvent event;
+    final Context context;
+    final String threadName;
+    final long threadId;
+
+    PendingEvent(ILoggingEvent event, Context context, String threadName, long threadId) {
+      this.event = event;
+      this.context = context;
+      this.threadName = threadName;
+      this.threadId = threadId;
+    }
+  }
+}
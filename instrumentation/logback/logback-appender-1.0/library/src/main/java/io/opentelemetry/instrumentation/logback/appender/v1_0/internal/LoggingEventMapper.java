@@ -9,19 +9,17 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.ThrowableProxy;
 import io.opentelemetry.api.common.AttributeKey;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.logs.LoggerProvider;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.slf4j.Marker;
 
 /**
@@ -34,12 +32,18 @@ public final class LoggingEventMapper {
 
   private static final AttributeKey<String> LOG_MARKER = AttributeKey.stringKey("logback.marker");
 
+  private static final StackTraceCache stackTraces = new StackTraceCache(64);
+
   private final boolean captureExperimentalAttributes;
   private final List<String> captureMdcAttributes;
   private final boolean captureAllMdcAttributes;
   private final boolean captureCodeAttributes;
   private final boolean captureMarkerAttribute;
 
+  // the loggers of the last used logger provider, which is the same one for all events once the
+  // global logger provider is set
+  @Nullable private volatile LoggerCache loggerCache;
+
   public LoggingEventMapper(
       boolean captureExperimentalAttributes,
       List<String> captureMdcAttributes,
@@ -54,16 +58,45 @@ public final class LoggingEventMapper {
   }
 
   public void emit(LoggerProvider loggerProvider, ILoggingEvent event) {
+    Thread currentThread = Thread.currentThread();
+    emit(
+        loggerProvider, event, Context.current(), currentThread.getName(), currentThread.getId());
+  }
+
+  /**
+   * Emits an event that was logged in the given context by the given thread, which may not be the
+   * current one.
+   */
+  public void emit(
+      LoggerProvider loggerProvider,
+      ILoggingEvent event,
+      Context context,
+      String threadName,
+      long threadId) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
     }
-    LogRecordBuilder builder =
-        loggerProvider.loggerBuilder(instrumentationName).build().logRecordBuilder();
-    mapLoggingEvent(builder, event);
+    LogRecordBuilder builder = getLogger(loggerProvider, instrumentationName).logRecordBuilder();
+    mapLoggingEvent(builder, event, threadName, threadId);
+    builder.setContext(context);
     builder.emit();
   }
 
+  boolean captureCodeAttributes() {
+    return captureCodeAttributes;
+  }
+
+  private Logger getLogger(LoggerProvider loggerProvider, String instrumentationName) {
+    LoggerCache loggerCache = this.loggerCache;
+    if (loggerCache == null || loggerCache.loggerProvider != loggerProvider) {
+      loggerCache = new LoggerCache(loggerProvider);
+      this.loggerCache = loggerCache;
+    }
+    return loggerCache.loggers.computeIfAbsent(
+        instrumentationName, name -> loggerProvider.loggerBuilder(name).build());
+  }
+
   /**
    * Map the {@link ILoggingEvent} data model onto the {@link LogRecordBuilder}. Unmapped fields
    * include:
@@ -74,7 +107,8 @@ public final class LoggingEventMapper {
    *   <li>Mapped diagnostic context - {@link ILoggingEvent#getMDCPropertyMap()}
    * </ul>
    */
-  private void mapLoggingEvent(LogRecordBuilder builder, ILoggingEvent loggingEvent) {
+  private void mapLoggingEvent(
+      LogRecordBuilder builder, ILoggingEvent loggingEvent, String threadName, long threadId) {
     // message
     String message = loggingEvent.getFormattedMessage();
     if (message != null) {
@@ -92,8 +126,6 @@ public final class LoggingEventMapper {
       builder.setSeverityText(level.levelStr);
     }
 
-    AttributesBuilder attributes = Attributes.builder();
-
     // throwable
     Object throwableProxy = loggingEvent.getThrowableProxy();
     Throwable throwable = null;
@@ -103,15 +135,14 @@ public final class LoggingEventMapper {
       throwable = ((ThrowableProxy) throwableProxy).getThrowable();
     }
     if (throwable != null) {
-      setThrowable(attributes, throwable);
+      setThrowable(builder, throwable);
     }
 
-    captureMdcAttributes(attributes, loggingEvent.getMDCPropertyMap());
+    captureMdcAttributes(builder, loggingEvent.getMDCPropertyMap());
 
     if (captureExperimentalAttributes) {
-      Thread currentThread = Thread.currentThread();
-      attributes.put(SemanticAttributes.THREAD_NAME, currentThread.getName());
-      attributes.put(SemanticAttributes.THREAD_ID, currentThread.getId());
+      builder.setAttribute(SemanticAttributes.THREAD_NAME, threadName);
+      builder.setAttribute(SemanticAttributes.THREAD_ID, threadId);
     }
 
     if (captureCodeAttributes) {
@@ -120,13 +151,13 @@ public final class LoggingEventMapper {
         StackTraceElement firstStackElement = callerData[0];
         String fileName = firstStackElement.getFileName();
         if (fileName != null) {
-          attributes.put(SemanticAttributes.CODE_FILEPATH, fileName);
+          builder.setAttribute(SemanticAttributes.CODE_FILEPATH, fileName);
         }
-        attributes.put(SemanticAttributes.CODE_NAMESPACE, firstStackElement.getClassName());
-        attributes.put(SemanticAttributes.CODE_FUNCTION, firstStackElement.getMethodName());
+        builder.setAttribute(SemanticAttributes.CODE_NAMESPACE, firstStackElement.getClassName());
+        builder.setAttribute(SemanticAttributes.CODE_FUNCTION, firstStackElement.getMethodName());
         int lineNumber = firstStackElement.getLineNumber();
         if (lineNumber > 0) {
-          attributes.put(SemanticAttributes.CODE_LINENO, lineNumber);
+          builder.setAttribute(SemanticAttributes.CODE_LINENO, (long) lineNumber);
         }
       }
     }
@@ -135,22 +166,17 @@ public final class LoggingEventMapper {
       Marker marker = loggingEvent.getMarker();
       if (marker != null) {
         String markerName = marker.getName();
-        attributes.put(LOG_MARKER, markerName);
+        builder.setAttribute(LOG_MARKER, markerName);
       }
     }
-
-    builder.setAllAttributes(attributes.build());
-
-    // span context
-    builder.setContext(Context.current());
   }
 
   // visible for testing
-  void captureMdcAttributes(AttributesBuilder attributes, Map<String, String> mdcProperties) {
+  void captureMdcAttributes(LogRecordBuilder builder, Map<String, String> mdcProperties) {
 
     if (captureAllMdcAttributes) {
       for (Map.Entry<String, String> entry : mdcProperties.entrySet()) {
-        attributes.put(getMdcAttributeKey(entry.getKey()), entry.getValue());
+        builder.setAttribute(getMdcAttributeKey(entry.getKey()), entry.getValue());
       }
       return;
     }
@@ -158,7 +184,7 @@ public final class LoggingEventMapper {
     for (String key : captureMdcAttributes) {
       String value = mdcProperties.get(key);
       if (value != null) {
-        attributes.put(getMdcAttributeKey(key), value);
+        builder.setAttribute(getMdcAttributeKey(key), value);
       }
     }
   }
@@ -167,14 +193,13 @@ public final class LoggingEventMapper {
     return mdcAttributeKeys.computeIfAbsent(key, k -> AttributeKey.stringKey("logback.mdc." + k));
   }
 
-  private static void setThrowable(AttributesBuilder attributes, Throwable throwable) {
+  private static void setThrowable(LogRecordBuilder builder, Throwable throwable) {
     // TODO (trask) extract method for recording exception into
     // io.opentelemetry:opentelemetry-api-logs
-    attributes.put(SemanticAttributes.EXCEPTION_TYPE, throwable.getClass().getName());
-    attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, throwable.getMessage());
-    StringWriter writer = new StringWriter();
-    throwable.printStackTrace(new PrintWriter(writer));
-    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, writer.toString());
+    builder.setAttribute(SemanticAttributes.EXCEPTION_TYPE, throwable.getClass().getName());
+    builder.setAttribute(SemanticAttributes.EXCEPTION_MESSAGE, throwable.getMessage());
+    builder.setAttribute(
+        SemanticAttributes.EXCEPTION_STACKTRACE, stackTraces.getStackTrace(throwable));
   }
 
   private static Severity levelToSeverity(Level level) {
@@ -195,4 +220,13 @@ public final class LoggingEventMapper {
         return Severity.UNDEFINED_SEVERITY_NUMBER;
     }
   }
+
+  private static final class LoggerCache {
+    final LoggerProvider loggerProvider;
+    final Cache<String, Logger> loggers = Cache.bounded(1000);
+
+    LoggerCache(LoggerProvider loggerProvider) {
+      this.loggerProvider = loggerProvider;
+    }
+  }
 }
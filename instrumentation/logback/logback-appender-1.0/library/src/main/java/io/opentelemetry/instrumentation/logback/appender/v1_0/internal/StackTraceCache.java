@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Renders stack traces the same way as {@link Throwable#printStackTrace()}, reusing the rendered
+ * stack trace of throwables that have the same shape: the same type and message, the same stack
+ * trace elements, and causes and suppressed throwables of the same shape. An application that
+ * fails repeatedly in the same way typically logs many throwables of the same shape.
+ */
+final class StackTraceCache {
+
+  // throwables with more causes and suppressed throwables than this are not cached
+  private static final int MAX_THROWABLES = 32;
+
+  private final Cache<ThrowableShape, String> stackTraces;
+
+  StackTraceCache(int maxSize) {
+    stackTraces = Cache.bounded(maxSize);
+  }
+
+  String getStackTrace(Throwable throwable) {
+    ThrowableShape shape =
+        ThrowableShape.create(
+            throwable, Collections.newSetFromMap(new IdentityHashMap<>()), new int[] {0});
+    if (shape == null) {
+      return render(throwable);
+    }
+    return stackTraces.computeIfAbsent(shape, unused -> render(throwable));
+  }
+
+  private static String render(Throwable throwable) {
+    StringWriter writer = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(writer));
+    return writer.toString();
+  }
+
+  private static final class ThrowableShape {
+
+    private final String description;
+    private final StackTraceElement[] stackTrace;
+    @Nullable private final ThrowableShape cause;
+    private final ThrowableShape[] suppressed;
+    private final int hashCode;
+
+    /**
+     * Returns the shape of the throwable, or {@code null} when it should not be cached, i.e. when
+     * it has circular references or too many causes and suppressed throwables.
+     */
+    @Nullable
+    static ThrowableShape create(Throwable throwable, Set<Throwable> seen, int[] count) {
+      if (!seen.add(throwable) || ++count[0] > MAX_THROWABLES) {
+        return null;
+      }
+      ThrowableShape cause = null;
+      if (throwable.getCause() != null) {
+        cause = create(throwable.getCause(), seen, count);
+        if (cause == null) {
+          return null;
+        }
+      }
+      Throwable[] suppressedThrowables = throwable.getSuppressed();
+      ThrowableShape[] suppressed = new ThrowableShape[suppressedThrowables.length];
+      for (int i = 0; i < suppressedThrowables.length; i++) {
+        suppressed[i] = create(suppressedThrowables[i], seen, count);
+        if (suppressed[i] == null) {
+          return null;
+        }
+      }
+      return new ThrowableShape(
+          throwable.toString(), throwable.getStackTrace(), cause, suppressed);
+    }
+
+    private ThrowableShape(
+        String description,
+        StackTraceElement[] stackTrace,
+        @Nullable ThrowableShape cause,
+        ThrowableShape[] suppressed) {
+      this.description = description;
+      this.stackTrace = stackTrace;
+      this.cause = cause;
+      this.suppressed = suppressed;
+      int hashCode = description.hashCode();
+      hashCode = 31 * hashCode + Arrays.hashCode(stackTrace);
+      hashCode = 31 * hashCode + Objects.hashCode(cause);
+      hashCode = 31 * hashCode + Arrays.hashCode(suppressed);
+      this.hashCode = hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof ThrowableShape)) {
+        return false;
+      }
+      ThrowableShape other = (ThrowableShape) obj;
+      return hashCode == other.hashCode
+          && description.equals(other.description)
+          && Arrays.equals(stackTrace, other.stackTrace)
+          && Objects.equals(cause, other.cause)
+          && Arrays.equals(suppressed, other.suppressed);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
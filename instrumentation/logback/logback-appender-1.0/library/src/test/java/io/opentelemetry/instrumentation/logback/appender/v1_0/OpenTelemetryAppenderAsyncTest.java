@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.opentelemetry.api.logs.GlobalLoggerProvider;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class OpenTelemetryAppenderAsyncTest {
+
+  private InMemoryLogRecordExporter logRecordExporter;
+  private OpenTelemetryAppender appender;
+  private Logger logger;
+
+  @BeforeEach
+  void setup() {
+    logRecordExporter = InMemoryLogRecordExporter.create();
+    GlobalLoggerProvider.resetForTest();
+    GlobalLoggerProvider.set(
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(SimpleLogRecordProcessor.create(logRecordExporter))
+            .build());
+
+    LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    appender = new OpenTelemetryAppender();
+    appender.setContext(loggerContext);
+    appender.setCaptureExperimentalAttributes(true);
+    appender.setCaptureCodeAttributes(true);
+    appender.setAsyncQueueSize(16);
+    appender.start();
+
+    logger = loggerContext.getLogger("AsyncTestLogger");
+    logger.setAdditive(false);
+    logger.addAppender(appender);
+  }
+
+  @AfterEach
+  void cleanup() {
+    logger.detachAppender(appender);
+    appender.stop();
+  }
+
+  @Test
+  void logIsEmittedByBackgroundThread() {
+    Span span = SdkTracerProvider.builder().build().get("tracer").spanBuilder("span").startSpan();
+    IllegalStateException exception = new IllegalStateException("Error!");
+    try (Scope ignored = span.makeCurrent()) {
+      logger.error("log message", exception);
+    } finally {
+      span.end();
+    }
+
+    await()
+        .untilAsserted(() -> assertThat(logRecordExporter.getFinishedLogItems()).hasSize(1));
+    LogRecordData logData = logRecordExporter.getFinishedLogItems().get(0);
+    assertThat(logData.getBody().asString()).isEqualTo("log message");
+    assertThat(logData.getSpanContext()).isEqualTo(span.getSpanContext());
+    assertThat(logData.getAttributes().get(SemanticAttributes.THREAD_NAME))
+        .isEqualTo(Thread.currentThread().getName());
+    assertThat(logData.getAttributes().get(SemanticAttributes.CODE_FUNCTION))
+        .isEqualTo("logIsEmittedByBackgroundThread");
+    assertThat(logData.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE))
+        .contains("logIsEmittedByBackgroundThread");
+  }
+
+  @Test
+  void queuedLogsAreEmittedOnStop() {
+    for (int i = 0; i < 10; i++) {
+      logger.info("log message " + i);
+    }
+
+    appender.stop();
+
+    List<LogRecordData> logDataList = logRecordExporter.getFinishedLogItems();
+    assertThat(logDataList).hasSize(10);
+  }
+}
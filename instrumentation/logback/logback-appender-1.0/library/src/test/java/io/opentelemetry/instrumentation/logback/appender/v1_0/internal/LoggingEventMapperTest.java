@@ -5,20 +5,27 @@
 
 package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
 
-import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
-import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import io.opentelemetry.api.common.AttributeKey;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.logs.LogRecordBuilder;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 
+@ExtendWith(MockitoExtension.class)
 class LoggingEventMapperTest {
 
+  @Mock LogRecordBuilder builder;
+
   @Test
   void testDefault() {
     // given
@@ -26,13 +33,12 @@ class LoggingEventMapperTest {
     Map<String, String> contextData = new HashMap<>();
     contextData.put("key1", "value1");
     contextData.put("key2", "value2");
-    AttributesBuilder attributes = Attributes.builder();
 
     // when
-    mapper.captureMdcAttributes(attributes, contextData);
+    mapper.captureMdcAttributes(builder, contextData);
 
     // then
-    assertThat(attributes.build()).isEmpty();
+    verify(builder, never()).setAttribute(any(), any());
   }
 
   @Test
@@ -42,14 +48,13 @@ class LoggingEventMapperTest {
     Map<String, String> contextData = new HashMap<>();
     contextData.put("key1", "value1");
     contextData.put("key2", "value2");
-    AttributesBuilder attributes = Attributes.builder();
 
     // when
-    mapper.captureMdcAttributes(attributes, contextData);
+    mapper.captureMdcAttributes(builder, contextData);
 
     // then
-    assertThat(attributes.build())
-        .containsOnly(entry(AttributeKey.stringKey("logback.mdc.key2"), "value2"));
+    verify(builder).setAttribute(AttributeKey.stringKey("logback.mdc.key2"), "value2");
+    verifyNoMoreInteractions(builder);
   }
 
   @Test
@@ -59,15 +64,13 @@ class LoggingEventMapperTest {
     Map<String, String> contextData = new HashMap<>();
     contextData.put("key1", "value1");
     contextData.put("key2", "value2");
-    AttributesBuilder attributes = Attributes.builder();
 
     // when
-    mapper.captureMdcAttributes(attributes, contextData);
+    mapper.captureMdcAttributes(builder, contextData);
 
     // then
-    assertThat(attributes.build())
-        .containsOnly(
-            entry(AttributeKey.stringKey("logback.mdc.key1"), "value1"),
-            entry(AttributeKey.stringKey("logback.mdc.key2"), "value2"));
+    verify(builder).setAttribute(AttributeKey.stringKey("logback.mdc.key1"), "value1");
+    verify(builder).setAttribute(AttributeKey.stringKey("logback.mdc.key2"), "value2");
+    verifyNoMoreInteractions(builder);
   }
 }
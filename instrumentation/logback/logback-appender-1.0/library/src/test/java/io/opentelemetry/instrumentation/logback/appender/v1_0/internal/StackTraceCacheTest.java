@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class StackTraceCacheTest {
+
+  private final StackTraceCache cache = new StackTraceCache(10);
+
+  @Test
+  void rendersLikePrintStackTrace() {
+    IllegalStateException throwable =
+        new IllegalStateException("failed", new IOException("cause"));
+    throwable.addSuppressed(new IllegalArgumentException("suppressed"));
+
+    assertThat(cache.getStackTrace(throwable)).isEqualTo(printStackTrace(throwable));
+  }
+
+  @Test
+  void reusesStackTraceOfSameShape() {
+    String first = null;
+    for (int i = 0; i < 2; i++) {
+      // same stack trace elements on each iteration
+      Exception throwable = new Exception("failed", new IOException("cause"));
+      String stackTrace = cache.getStackTrace(throwable);
+      assertThat(stackTrace).isEqualTo(printStackTrace(throwable));
+      if (first == null) {
+        first = stackTrace;
+      } else {
+        assertThat(stackTrace).isSameAs(first);
+      }
+    }
+  }
+
+  @Test
+  void doesNotReuseStackTraceOfDifferentMessage() {
+    Exception[] throwables = new Exception[2];
+    for (int i = 0; i < throwables.length; i++) {
+      throwables[i] = new Exception("failed " + i);
+    }
+
+    assertThat(cache.getStackTrace(throwables[0])).isEqualTo(printStackTrace(throwables[0]));
+    assertThat(cache.getStackTrace(throwables[1])).isEqualTo(printStackTrace(throwables[1]));
+  }
+
+  @Test
+  void doesNotReuseStackTraceOfDifferentCause() {
+    Exception[] throwables = new Exception[2];
+    for (int i = 0; i < throwables.length; i++) {
+      throwables[i] = new Exception("failed", new IOException("cause " + i));
+    }
+
+    assertThat(cache.getStackTrace(throwables[0])).isEqualTo(printStackTrace(throwables[0]));
+    assertThat(cache.getStackTrace(throwables[1])).isEqualTo(printStackTrace(throwables[1]));
+  }
+
+  @Test
+  void circularReference() {
+    Exception first = new Exception("first");
+    Exception second = new Exception("second", first);
+    first.addSuppressed(second);
+
+    assertThat(cache.getStackTrace(first)).isEqualTo(printStackTrace(first));
+  }
+
+  private static String printStackTrace(Throwable throwable) {
+    StringWriter writer = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(writer));
+    return writer.toString();
+  }
+}
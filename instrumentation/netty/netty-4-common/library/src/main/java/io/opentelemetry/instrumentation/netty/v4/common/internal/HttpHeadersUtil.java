@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4.common.internal;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+public final class HttpHeadersUtil {
+
+  /**
+   * Returns all values of the headers named in {@code names}, keyed by the lowercase header name,
+   * iterating over the headers once instead of looking up every name.
+   */
+  public static Map<String, List<String>> getAll(HttpHeaders headers, Set<String> names) {
+    Map<String, List<String>> result = new HashMap<>();
+    for (Map.Entry<String, String> header : headers) {
+      // does not allocate when the name is already lowercase
+      String name = header.getKey().toLowerCase(Locale.ROOT);
+      if (names.contains(name)) {
+        result.computeIfAbsent(name, n -> new ArrayList<>(1)).add(header.getValue());
+      }
+    }
+    return result;
+  }
+
+  private HttpHeadersUtil() {}
+}
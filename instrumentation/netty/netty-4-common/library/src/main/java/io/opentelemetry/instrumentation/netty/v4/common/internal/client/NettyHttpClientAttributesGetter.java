@@ -10,9 +10,12 @@ import static io.opentelemetry.instrumentation.netty.v4.common.internal.HttpSche
 import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpClientAttributesGetter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpHeadersUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 final class NettyHttpClientAttributesGetter
@@ -59,6 +62,12 @@ final class NettyHttpClientAttributesGetter
     return requestAndChannel.request().headers().getAll(name);
   }
 
+  @Override
+  public Map<String, List<String>> getRequestHeaders(
+      HttpRequestAndChannel requestAndChannel, Set<String> names) {
+    return HttpHeadersUtil.getAll(requestAndChannel.request().headers(), names);
+  }
+
   @Override
   public Integer getStatusCode(
       HttpRequestAndChannel requestAndChannel, HttpResponse response, @Nullable Throwable error) {
@@ -70,4 +79,10 @@ final class NettyHttpClientAttributesGetter
       HttpRequestAndChannel requestAndChannel, HttpResponse response, String name) {
     return response.headers().getAll(name);
   }
+
+  @Override
+  public Map<String, List<String>> getResponseHeaders(
+      HttpRequestAndChannel requestAndChannel, HttpResponse response, Set<String> names) {
+    return HttpHeadersUtil.getAll(response.headers(), names);
+  }
 }
@@ -8,8 +8,11 @@ package io.opentelemetry.instrumentation.netty.v4.common.internal.server;
 import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesGetter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpHeadersUtil;
 import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpSchemeUtil;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 final class NettyHttpServerAttributesGetter
@@ -25,6 +28,12 @@ final class NettyHttpServerAttributesGetter
     return requestAndChannel.request().headers().getAll(name);
   }
 
+  @Override
+  public Map<String, List<String>> getRequestHeaders(
+      HttpRequestAndChannel requestAndChannel, Set<String> names) {
+    return HttpHeadersUtil.getAll(requestAndChannel.request().headers(), names);
+  }
+
   @Override
   public Integer getStatusCode(
       HttpRequestAndChannel requestAndChannel, HttpResponse response, @Nullable Throwable error) {
@@ -37,6 +46,12 @@ final class NettyHttpServerAttributesGetter
     return response.headers().getAll(name);
   }
 
+  @Override
+  public Map<String, List<String>> getResponseHeaders(
+      HttpRequestAndChannel requestAndChannel, HttpResponse response, Set<String> names) {
+    return HttpHeadersUtil.getAll(response.headers(), names);
+  }
+
   @Override
   public String getFlavor(HttpRequestAndChannel requestAndChannel) {
     String flavor = requestAndChannel.request().getProtocolVersion().toString();
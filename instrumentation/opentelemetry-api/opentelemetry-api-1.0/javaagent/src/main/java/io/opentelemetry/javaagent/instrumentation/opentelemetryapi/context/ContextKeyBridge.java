@@ -7,6 +7,8 @@ package io.opentelemetry.javaagent.instrumentation.opentelemetryapi.context;
 
 import application.io.opentelemetry.context.Context;
 import application.io.opentelemetry.context.ContextKey;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.api.internal.InstrumentationState;
 import java.lang.reflect.Field;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -17,6 +19,7 @@ final class ContextKeyBridge<APPLICATION, AGENT> {
   private final io.opentelemetry.context.ContextKey<AGENT> agentContextKey;
   private final Function<APPLICATION, AGENT> toAgent;
   private final Function<AGENT, APPLICATION> toApplication;
+  private boolean inInstrumentationState;
 
   // TODO: maybe add a builder instead of all those constructors?
   ContextKeyBridge(
@@ -85,10 +88,23 @@ final class ContextKeyBridge<APPLICATION, AGENT> {
     this.toAgent = toAgent;
   }
 
+  /**
+   * Marks the agent context key as one that the agent instrumenter stores in its {@link
+   * InstrumentationState} rather than directly in the context.
+   */
+  @CanIgnoreReturnValue
+  ContextKeyBridge<APPLICATION, AGENT> inInstrumentationState() {
+    inInstrumentationState = true;
+    return this;
+  }
+
   @Nullable
   <V> V get(AgentContextWrapper contextWrapper, ContextKey<V> requestedKey) {
     if (requestedKey == applicationContextKey) {
-      AGENT agentValue = contextWrapper.agentContext.get(agentContextKey);
+      AGENT agentValue =
+          inInstrumentationState
+              ? InstrumentationState.get(contextWrapper.agentContext, agentContextKey)
+              : contextWrapper.agentContext.get(agentContextKey);
       if (agentValue == null) {
         return null;
       }
@@ -109,9 +125,11 @@ final class ContextKeyBridge<APPLICATION, AGENT> {
       if (agentValue == null) {
         return contextWrapper;
       }
-      return new AgentContextWrapper(
-          contextWrapper.agentContext.with(agentContextKey, agentValue),
-          contextWrapper.applicationContext);
+      io.opentelemetry.context.Context newAgentContext =
+          inInstrumentationState
+              ? InstrumentationState.with(contextWrapper.agentContext, agentContextKey, agentValue)
+              : contextWrapper.agentContext.with(agentContextKey, agentValue);
+      return new AgentContextWrapper(newAgentContext, contextWrapper.applicationContext);
     }
     return null;
   }
@@ -26,7 +26,8 @@ final class InstrumentationApiContextBridging {
               "application.io.opentelemetry.instrumentation.api.instrumenter.LocalRootSpan",
               "io.opentelemetry.instrumentation.api.instrumenter.LocalRootSpan",
               Bridging::toApplication,
-              Bridging::toAgentOrNull));
+              Bridging::toAgentOrNull)
+          .inInstrumentationState());
     } catch (Throwable e) {
       // no instrumentation-api on classpath
     }
@@ -41,7 +42,8 @@ final class InstrumentationApiContextBridging {
               "SERVER_KEY",
               "KEY",
               Bridging::toApplication,
-              Bridging::toAgentOrNull));
+              Bridging::toAgentOrNull)
+          .inInstrumentationState());
     } catch (Throwable e) {
       // no old instrumentation-api on classpath
     }
@@ -137,7 +139,8 @@ final class InstrumentationApiContextBridging {
           httpRouteStateConvert(
               APPLICATION_CREATE, AGENT_GET_UPDATED_BY_SOURCE_ORDER, AGENT_GET_ROUTE),
           httpRouteStateConvert(
-              AGENT_CREATE, APPLICATION_GET_UPDATED_BY_SOURCE_ORDER, APPLICATION_GET_ROUTE));
+              AGENT_CREATE, APPLICATION_GET_UPDATED_BY_SOURCE_ORDER, APPLICATION_GET_ROUTE))
+          .inInstrumentationState();
     } catch (Throwable ignored) {
       return null;
     }
@@ -43,6 +43,9 @@ public class HooksInstrumentation implements TypeInstrumentation {
           .setCaptureExperimentalSpanAttributes(
               InstrumentationConfig.get()
                   .getBoolean("otel.instrumentation.reactor.experimental-span-attributes", false))
+          .setSelectiveLifting(
+              InstrumentationConfig.get()
+                  .getBoolean("otel.instrumentation.reactor.experimental-selective-lifting", false))
           .build()
           .registerOnEachOperator();
     }
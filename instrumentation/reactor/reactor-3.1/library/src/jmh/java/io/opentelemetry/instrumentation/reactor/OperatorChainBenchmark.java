@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Assembles and consumes a long chain of synchronous operators inside a span, without the context
+ * propagation hook, with the hook lifting every operator, and with the hook lifting only the
+ * operators that may change the context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OperatorChainBenchmark {
+
+  private static final Context PARENT =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "ff01020304050600ff0a0b0c0d0e0f00",
+                      "090a0b0c0d0e0f00",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  @Param({"none", "all", "selective"})
+  String lifting;
+
+  @Param({"30"})
+  int operators;
+
+  private ContextPropagationOperator operator;
+
+  @Setup
+  public void setUp() {
+    if (lifting.equals("none")) {
+      return;
+    }
+    operator =
+        ContextPropagationOperator.builder()
+            .setSelectiveLifting(lifting.equals("selective"))
+            .build();
+    operator.registerOnEachOperator();
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (operator != null) {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Benchmark
+  public Integer operatorChain() {
+    try (io.opentelemetry.context.Scope ignored = PARENT.makeCurrent()) {
+      Flux<Integer> flux = Flux.range(0, 10);
+      for (int i = 0; i < operators; i++) {
+        flux = flux.map(value -> value + 1);
+      }
+      return flux.blockLast();
+    }
+  }
+}
@@ -24,6 +24,7 @@ package io.opentelemetry.instrumentation.reactor;
 
 import static java.lang.invoke.MethodType.methodType;
 
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndStrategies;
@@ -76,7 +77,41 @@ public final class ContextPropagationOperator {
     return new ContextPropagationOperatorBuilder();
   }
 
+  @Nullable private static final Scannable.Attr<?> RUN_STYLE_ATTR = getRunStyleAttr();
+  @Nullable private static final Object SYNC_RUN_STYLE = getSyncRunStyle();
+
+  // Scannable.Attr.RUN_STYLE was added in reactor 3.3
+  @Nullable
+  private static Scannable.Attr<?> getRunStyleAttr() {
+    try {
+      return (Scannable.Attr<?>) Scannable.Attr.class.getField("RUN_STYLE").get(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private static Object getSyncRunStyle() {
+    try {
+      return Class.forName("reactor.core.Scannable$Attr$RunStyle").getField("SYNC").get(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static final ClassValue<Boolean> WRITES_CONTEXT =
+      new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          // contextWrite() in reactor 3.4+, subscriberContext() before
+          String name = type.getName();
+          return name.startsWith("reactor.core.publisher.")
+              && (name.contains("ContextWrite") || name.contains("ContextStart"));
+        }
+      };
+
   private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
+  private final boolean selectiveLifting;
 
   private static final Object TRACE_CONTEXT_KEY =
       new Object() {
@@ -116,11 +151,12 @@ public final class ContextPropagationOperator {
     return context.getOrDefault(TRACE_CONTEXT_KEY, defaultTraceContext);
   }
 
-  ContextPropagationOperator(boolean captureExperimentalSpanAttributes) {
+  ContextPropagationOperator(boolean captureExperimentalSpanAttributes, boolean selectiveLifting) {
     this.asyncOperationEndStrategy =
         ReactorAsyncOperationEndStrategy.builder()
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .build();
+    this.selectiveLifting = selectiveLifting;
   }
 
   /**
@@ -135,7 +171,8 @@ public final class ContextPropagationOperator {
         return;
       }
       Hooks.onEachOperator(
-          TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
+          TracingSubscriber.class.getName(),
+          tracingLift(asyncOperationEndStrategy, selectiveLifting));
       AsyncOperationEndStrategies.instance().registerStrategy(asyncOperationEndStrategy);
       enabled = true;
     }
@@ -154,10 +191,39 @@ public final class ContextPropagationOperator {
   }
 
   private static <T> Function<? super Publisher<T>, ? extends Publisher<T>> tracingLift(
-      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
+      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy, boolean selectiveLifting) {
+    if (selectiveLifting) {
+      return Operators.lift(
+          ContextPropagationOperator::mayChangeContext,
+          new Lifter<>(asyncOperationEndStrategy, /* selective= */ true));
+    }
     return Operators.lift(new Lifter<>(asyncOperationEndStrategy));
   }
 
+  /**
+   * Returns whether the context may change between the operator and its downstream subscriber:
+   * sources, operators that may signal their subscriber from another thread, and operators that
+   * write the reactor context, after which downstream operators see a different context. The other
+   * operators signal synchronously, in the scope made current by the nearest upstream operator that
+   * is lifted, so they don't need to be lifted themselves. For that the lifted operators are not
+   * fuseable, see {@link Lifter}.
+   */
+  private static boolean mayChangeContext(Scannable publisher) {
+    // if Flux/Mono #just, #empty, #error
+    if (publisher instanceof Fuseable.ScalarCallable) {
+      return false;
+    }
+    if (publisher.scanUnsafe(Scannable.Attr.PARENT) == null
+        || WRITES_CONTEXT.get(publisher.getClass())) {
+      return true;
+    }
+    if (RUN_STYLE_ATTR == null) {
+      // the run style is not known before reactor 3.3, lift every operator
+      return true;
+    }
+    return publisher.scanUnsafe(RUN_STYLE_ATTR) != SYNC_RUN_STYLE;
+  }
+
   /** Forces Mono to run in traceContext scope. */
   @SuppressWarnings("unchecked")
   public static <T> Mono<T> runWithContext(Mono<T> publisher, Context tracingContext) {
@@ -227,8 +293,15 @@ public final class ContextPropagationOperator {
     @SuppressWarnings({"FieldCanBeLocal", "UnusedVariable"})
     private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
 
+    private final boolean selective;
+
     public Lifter(ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
+      this(asyncOperationEndStrategy, false);
+    }
+
+    Lifter(ReactorAsyncOperationEndStrategy asyncOperationEndStrategy, boolean selective) {
       this.asyncOperationEndStrategy = asyncOperationEndStrategy;
+      this.selective = selective;
     }
 
     @Override
@@ -237,7 +310,19 @@ public final class ContextPropagationOperator {
       if (publisher instanceof Fuseable.ScalarCallable) {
         return sub;
       }
-      return new TracingSubscriber<>(sub, sub.currentContext());
+      reactor.util.context.Context reactorContext = sub.currentContext();
+      Context traceContext = getOpenTelemetryContext(reactorContext, Context.current());
+      if (selective
+          && (traceContext == null || !Span.fromContext(traceContext).getSpanContext().isValid())) {
+        // there is no span to propagate
+        return sub;
+      }
+      if (selective) {
+        // the operators that are not lifted rely on being signalled in the scope of this
+        // subscriber, fused they would pull values outside of it, so fusion is suppressed
+        return new TracingSubscriber<>(sub, reactorContext, traceContext);
+      }
+      return TracingSubscriber.create(sub, reactorContext, traceContext);
     }
   }
 
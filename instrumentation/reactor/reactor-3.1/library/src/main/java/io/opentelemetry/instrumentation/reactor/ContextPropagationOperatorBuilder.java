@@ -9,6 +9,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 public final class ContextPropagationOperatorBuilder {
   private boolean captureExperimentalSpanAttributes;
+  private boolean selectiveLifting;
 
   ContextPropagationOperatorBuilder() {}
 
@@ -19,7 +20,22 @@ public final class ContextPropagationOperatorBuilder {
     return this;
   }
 
+  /**
+   * Sets whether the context should only be propagated around the operators that may change it,
+   * i.e. the operators that may signal from another thread, like {@code publishOn()} or {@code
+   * delayElements()}, and the operators that write the reactor context. Operators that signal
+   * synchronously inherit the context made current upstream, so skipping them avoids wrapping
+   * every operator of long chains, but the lifted operators are not fuseable. Only effective with
+   * reactor 3.3+, which reports whether an operator is synchronous; every operator is lifted with
+   * earlier versions.
+   */
+  @CanIgnoreReturnValue
+  public ContextPropagationOperatorBuilder setSelectiveLifting(boolean selectiveLifting) {
+    this.selectiveLifting = selectiveLifting;
+    return this;
+  }
+
   public ContextPropagationOperator build() {
-    return new ContextPropagationOperator(captureExperimentalSpanAttributes);
+    return new ContextPropagationOperator(captureExperimentalSpanAttributes, selectiveLifting);
   }
 }
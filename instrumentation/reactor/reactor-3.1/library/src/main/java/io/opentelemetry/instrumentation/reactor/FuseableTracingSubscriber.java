@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor;
+
+import io.opentelemetry.context.Scope;
+import javax.annotation.Nullable;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.util.context.Context;
+
+/**
+ * A {@link TracingSubscriber} placed between fuseable operators. Reactor disables fusion around
+ * subscribers that aren't a {@link Fuseable.QueueSubscription}, so this one forwards fusion
+ * requests to the upstream operator, and propagates the context when the downstream operator
+ * polls.
+ */
+final class FuseableTracingSubscriber<T> extends TracingSubscriber<T>
+    implements Fuseable.QueueSubscription<T> {
+
+  private Subscription subscription;
+  @Nullable private Fuseable.QueueSubscription<T> queueSubscription;
+
+  FuseableTracingSubscriber(
+      CoreSubscriber<? super T> subscriber,
+      Context ctx,
+      io.opentelemetry.context.Context contextToPropagate) {
+    super(subscriber, ctx, contextToPropagate);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void onSubscribe(Subscription subscription) {
+    this.subscription = subscription;
+    if (subscription instanceof Fuseable.QueueSubscription) {
+      queueSubscription = (Fuseable.QueueSubscription<T>) subscription;
+    }
+    super.onSubscribe(this);
+  }
+
+  @Override
+  public void request(long n) {
+    subscription.request(n);
+  }
+
+  @Override
+  public void cancel() {
+    subscription.cancel();
+  }
+
+  @Override
+  public int requestFusion(int requestedMode) {
+    if (queueSubscription == null) {
+      return Fuseable.NONE;
+    }
+    return queueSubscription.requestFusion(requestedMode);
+  }
+
+  @Override
+  @Nullable
+  public T poll() {
+    Scope scope = makeCurrent();
+    if (scope == null) {
+      return queueSubscription.poll();
+    }
+    try (Scope ignored = scope) {
+      return queueSubscription.poll();
+    }
+  }
+
+  @Override
+  public int size() {
+    return queueSubscription.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return queueSubscription.isEmpty();
+  }
+
+  @Override
+  public void clear() {
+    queueSubscription.clear();
+  }
+}
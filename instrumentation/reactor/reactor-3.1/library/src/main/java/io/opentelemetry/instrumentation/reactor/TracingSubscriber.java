@@ -22,9 +22,11 @@ package io.opentelemetry.instrumentation.reactor;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
+import javax.annotation.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
 import reactor.util.context.Context;
 
 /**
@@ -77,6 +79,25 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
     return context;
   }
 
+  /**
+   * Returns a subscriber that propagates the context to {@code subscriber}, and that keeps the
+   * operators around it fuseable when {@code subscriber} is fuseable.
+   */
+  static <T> CoreSubscriber<T> create(
+      CoreSubscriber<? super T> subscriber,
+      Context ctx,
+      io.opentelemetry.context.Context contextToPropagate) {
+    if (subscriber instanceof Fuseable.QueueSubscription) {
+      return new FuseableTracingSubscriber<>(subscriber, ctx, contextToPropagate);
+    }
+    return new TracingSubscriber<>(subscriber, ctx, contextToPropagate);
+  }
+
+  @Nullable
+  Scope makeCurrent() {
+    return hasContextToPropagate ? traceContext.makeCurrent() : null;
+  }
+
   private void withActiveSpan(Runnable runnable) {
     if (hasContextToPropagate) {
       try (Scope ignored = traceContext.makeCurrent()) {
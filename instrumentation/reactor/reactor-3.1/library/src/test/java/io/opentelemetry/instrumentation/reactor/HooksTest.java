@@ -7,10 +7,22 @@ package io.opentelemetry.instrumentation.reactor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 class HooksTest {
 
@@ -31,6 +43,107 @@ class HooksTest {
     assertThat(subscriber.get()).extracting("actual").isNotInstanceOf(TracingSubscriber.class);
   }
 
+  @Test
+  void keepsOperatorsFuseable() {
+    ContextPropagationOperator operator = ContextPropagationOperator.create();
+    operator.registerOnEachOperator();
+    try {
+      StepVerifier.create(Flux.range(1, 3).map(i -> i + 1))
+          .expectFusion(Fuseable.SYNC)
+          .expectNext(2, 3, 4)
+          .verifyComplete();
+    } finally {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Test
+  void selectiveLiftingSkipsSynchronousOperators() {
+    ContextPropagationOperator operator =
+        ContextPropagationOperator.builder().setSelectiveLifting(true).build();
+    AtomicReference<CoreSubscriber<? super Integer>> subscriber = new AtomicReference<>();
+
+    operator.registerOnEachOperator();
+    try {
+      // there is no span to propagate
+      new CapturingMono(subscriber).map(i -> i + 1).subscribe();
+      assertThat(subscriber.get()).extracting("actual").isNotInstanceOf(TracingSubscriber.class);
+    } finally {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Test
+  void selectiveLiftingRunsSynchronousOperatorsInScope() {
+    ContextPropagationOperator operator =
+        ContextPropagationOperator.builder().setSelectiveLifting(true).build();
+    Span span =
+        Span.wrap(
+            SpanContext.create(
+                "ff01020304050600ff0a0b0c0d0e0f00",
+                "090a0b0c0d0e0f00",
+                TraceFlags.getSampled(),
+                TraceState.getDefault()));
+    List<Span> spans = new ArrayList<>();
+    PullingSubscriber subscriber = new PullingSubscriber();
+
+    operator.registerOnEachOperator();
+    try {
+      try (Scope ignored = Context.root().with(span).makeCurrent()) {
+        Flux.range(1, 3)
+            .map(
+                i -> {
+                  spans.add(Span.current());
+                  return i;
+                })
+            .subscribe(subscriber);
+      }
+      // the values are pulled outside of the scope, map() is not lifted with reactor 3.3+ and must
+      // still run in the scope of the lifted range()
+      subscriber.pull(3);
+    } finally {
+      operator.resetOnEachOperator();
+    }
+
+    assertThat(spans).containsExactly(span, span, span);
+  }
+
+  /** Fuses with its upstream if it can, and pulls the values when asked to. */
+  private static class PullingSubscriber implements CoreSubscriber<Integer> {
+    private Subscription subscription;
+    private boolean fused;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      if (subscription instanceof Fuseable.QueueSubscription) {
+        fused =
+            ((Fuseable.QueueSubscription<?>) subscription).requestFusion(Fuseable.SYNC)
+                == Fuseable.SYNC;
+      }
+    }
+
+    void pull(int count) {
+      if (fused) {
+        Fuseable.QueueSubscription<?> queue = (Fuseable.QueueSubscription<?>) subscription;
+        for (int i = 0; i < count; i++) {
+          queue.poll();
+        }
+      } else {
+        subscription.request(count);
+      }
+    }
+
+    @Override
+    public void onNext(Integer value) {}
+
+    @Override
+    public void onError(Throwable throwable) {}
+
+    @Override
+    public void onComplete() {}
+  }
+
   private static class CapturingMono extends Mono<Integer> {
     final AtomicReference<CoreSubscriber<? super Integer>> subscriber;
 
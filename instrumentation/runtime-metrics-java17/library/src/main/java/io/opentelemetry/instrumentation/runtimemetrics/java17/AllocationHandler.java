@@ -0,0 +1,49 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Counts the bytes allocated on the heap. The JVM throttles {@code jdk.ObjectAllocationSample}
+ * events, and the weight of every sample is the number of bytes the thread allocated since its
+ * previous sample, so the sum of the weights estimates the allocated bytes at a bounded cost.
+ */
+final class AllocationHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.ObjectAllocationSample";
+  // the default of the JDK "default" and "profile" settings
+  private static final String THROTTLE = "150/s";
+
+  private final LongCounter allocated;
+
+  AllocationHandler(Meter meter) {
+    allocated =
+        meter
+            .counterBuilder("process.runtime.jvm.memory.allocated")
+            .setDescription("Estimated number of bytes allocated on the heap")
+            .setUnit("By")
+            .build();
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).with("throttle", THROTTLE).withoutStackTrace();
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    allocated.add(event.getLong("weight"));
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableDoubleGauge;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports the context switch rate of the machine. The JVM polls the rate every polling period, the
+ * gauge reports the last polled rate.
+ */
+final class ContextSwitchHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.ThreadContextSwitchRate";
+
+  private final Duration pollingPeriod;
+  private final ObservableDoubleGauge gauge;
+
+  private volatile double switchRate = Double.NaN;
+
+  ContextSwitchHandler(Meter meter, Duration pollingPeriod) {
+    this.pollingPeriod = pollingPeriod;
+    gauge =
+        meter
+            .gaugeBuilder("process.runtime.jvm.cpu.context_switch.rate")
+            .setDescription("Number of context switches per second")
+            .setUnit("{switches}/s")
+            .buildWithCallback(
+                measurement -> {
+                  double value = switchRate;
+                  if (!Double.isNaN(value)) {
+                    measurement.record(value);
+                  }
+                });
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).withPeriod(pollingPeriod);
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    switchRate = event.getFloat("switchRate");
+  }
+
+  @Override
+  public void close() {
+    gauge.close();
+  }
+}
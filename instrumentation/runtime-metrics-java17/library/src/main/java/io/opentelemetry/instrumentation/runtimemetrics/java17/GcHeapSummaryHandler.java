@@ -0,0 +1,59 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/** Records the used heap before and after every garbage collection. */
+final class GcHeapSummaryHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.GCHeapSummary";
+
+  private static final AttributeKey<String> WHEN = AttributeKey.stringKey("when");
+  private static final Attributes BEFORE_GC = Attributes.of(WHEN, "before_gc");
+  private static final Attributes AFTER_GC = Attributes.of(WHEN, "after_gc");
+
+  private final LongHistogram heapUsed;
+
+  GcHeapSummaryHandler(Meter meter) {
+    heapUsed =
+        meter
+            .histogramBuilder("process.runtime.jvm.gc.heap.used")
+            .setDescription("Heap used before and after garbage collections")
+            .setUnit("By")
+            .ofLongs()
+            .build();
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).withoutStackTrace();
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    String when = event.getString("when");
+    Attributes attributes;
+    if ("Before GC".equals(when)) {
+      attributes = BEFORE_GC;
+    } else if ("After GC".equals(when)) {
+      attributes = AFTER_GC;
+    } else {
+      return;
+    }
+    heapUsed.record(event.getLong("heapUsed"), attributes);
+  }
+}
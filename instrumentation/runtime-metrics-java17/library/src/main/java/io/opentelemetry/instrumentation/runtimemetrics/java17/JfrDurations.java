@@ -0,0 +1,19 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import java.time.Duration;
+
+final class JfrDurations {
+
+  private static final double NANOS_PER_MS = 1_000_000.0;
+
+  static double toMillis(Duration duration) {
+    return duration.toNanos() / NANOS_PER_MS;
+  }
+
+  private JfrDurations() {}
+}
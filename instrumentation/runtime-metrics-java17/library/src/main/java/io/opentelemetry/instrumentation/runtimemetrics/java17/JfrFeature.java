@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+/** The groups of JFR events that {@link RuntimeMetrics} turns into metrics. */
+public enum JfrFeature {
+  /** Bytes allocated on the heap, from the {@code jdk.ObjectAllocationSample} event. */
+  ALLOCATION_METRICS(true),
+  /** Contended monitor enters, from the {@code jdk.JavaMonitorEnter} event. */
+  LOCK_METRICS(true),
+  /**
+   * Safepoint synchronization and operation times, from the {@code jdk.SafepointBegin} and {@code
+   * jdk.ExecuteVMOperation} events.
+   */
+  SAFEPOINT_METRICS(true),
+  /** Heap usage before and after garbage collections, from the {@code jdk.GCHeapSummary} event. */
+  GC_HEAP_METRICS(true),
+  /** The context switch rate, from the {@code jdk.ThreadContextSwitchRate} event. */
+  CONTEXT_SWITCH_METRICS(true),
+  /**
+   * The CPU load of every Java thread, from the {@code jdk.ThreadCPULoad} event. Disabled by
+   * default, since the JVM samples every thread each polling period.
+   */
+  THREAD_CPU_METRICS(false);
+
+  private final boolean defaultEnabled;
+
+  JfrFeature(boolean defaultEnabled) {
+    this.defaultEnabled = defaultEnabled;
+  }
+
+  boolean isDefaultEnabled() {
+    return defaultEnabled;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/** Records how long threads waited to enter a contended monitor. */
+final class LockHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.JavaMonitorEnter";
+
+  private final DoubleHistogram contentionDuration;
+  private final Duration threshold;
+
+  LockHandler(Meter meter, Duration threshold) {
+    this.threshold = threshold;
+    contentionDuration =
+        meter
+            .histogramBuilder("process.runtime.jvm.monitor.contention.duration")
+            .setDescription(
+                "Time threads waited to enter a contended monitor, for waits longer than the lock"
+                    + " threshold")
+            .setUnit("ms")
+            .build();
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).withThreshold(threshold).withoutStackTrace();
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    contentionDuration.record(JfrDurations.toMillis(event.getDuration()));
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import java.util.function.Consumer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Turns the events of one JFR event type into metrics. Events are handled on the thread of the
+ * recording stream, so handlers record them into the instruments right away and keep no other
+ * state than the last value of gauges.
+ */
+interface RecordedEventHandler extends Consumer<RecordedEvent> {
+
+  String getEventName();
+
+  /** Enables the event in {@code recordingStream}, with the settings this handler needs. */
+  void enable(RecordingStream recordingStream);
+
+  /** Unregisters the asynchronous instruments of this handler. */
+  default void close() {}
+}
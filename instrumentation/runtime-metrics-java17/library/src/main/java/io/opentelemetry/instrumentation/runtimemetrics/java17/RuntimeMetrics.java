@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.OpenTelemetry;
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Generates JVM runtime metrics from JFR events: allocation, lock contention, safepoints, heap
+ * usage around garbage collections, context switches and per-thread CPU load. These complement the
+ * JMX based metrics of the {@code opentelemetry-runtime-metrics} library, which cannot observe
+ * them.
+ *
+ * <p>The events are streamed from an in-process JFR recording and turned into metrics on the thread
+ * of the recording stream. Stack traces are not recorded and the high-volume events are throttled
+ * or thresholded, so the overhead stays bounded.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * RuntimeMetrics runtimeMetrics = RuntimeMetrics.create(GlobalOpenTelemetry.get());
+ * // ...
+ * runtimeMetrics.close();
+ * }</pre>
+ */
+public final class RuntimeMetrics implements Closeable {
+
+  @Nullable private final RecordingStream recordingStream;
+  private final List<RecordedEventHandler> handlers;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  RuntimeMetrics(@Nullable RecordingStream recordingStream, List<RecordedEventHandler> handlers) {
+    this.recordingStream = recordingStream;
+    this.handlers = handlers;
+  }
+
+  /** Starts generating the metrics of the features that are enabled by default. */
+  public static RuntimeMetrics create(OpenTelemetry openTelemetry) {
+    return builder(openTelemetry).build();
+  }
+
+  /**
+   * Returns a new {@link RuntimeMetricsBuilder} configured with the given {@link OpenTelemetry}.
+   */
+  public static RuntimeMetricsBuilder builder(OpenTelemetry openTelemetry) {
+    return new RuntimeMetricsBuilder(openTelemetry);
+  }
+
+  /** Stops the JFR recording and unregisters the asynchronous instruments. */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+    for (RecordedEventHandler handler : handlers) {
+      handler.close();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordingStream;
+
+/** A builder of {@link RuntimeMetrics}. */
+public final class RuntimeMetricsBuilder {
+
+  private static final Logger logger = Logger.getLogger(RuntimeMetricsBuilder.class.getName());
+
+  private final OpenTelemetry openTelemetry;
+  private final Set<JfrFeature> enabledFeatures = EnumSet.noneOf(JfrFeature.class);
+  private Duration lockThreshold = Duration.ofMillis(10);
+  private Duration pollingPeriod = Duration.ofSeconds(1);
+
+  RuntimeMetricsBuilder(OpenTelemetry openTelemetry) {
+    this.openTelemetry = openTelemetry;
+    for (JfrFeature feature : JfrFeature.values()) {
+      if (feature.isDefaultEnabled()) {
+        enabledFeatures.add(feature);
+      }
+    }
+  }
+
+  /** Enables the metrics of {@code feature}. */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder enableFeature(JfrFeature feature) {
+    enabledFeatures.add(feature);
+    return this;
+  }
+
+  /** Disables the metrics of {@code feature}. */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder disableFeature(JfrFeature feature) {
+    enabledFeatures.remove(feature);
+    return this;
+  }
+
+  /** Enables the metrics of all the {@link JfrFeature}s. */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder enableAllFeatures() {
+    Collections.addAll(enabledFeatures, JfrFeature.values());
+    return this;
+  }
+
+  /** Disables the metrics of all the {@link JfrFeature}s. */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder disableAllFeatures() {
+    enabledFeatures.clear();
+    return this;
+  }
+
+  /**
+   * Sets the shortest contended monitor enter that is recorded by the {@link
+   * JfrFeature#LOCK_METRICS} metrics. Shorter waits are not recorded by JFR at all, which keeps the
+   * overhead low. Defaults to 10 milliseconds.
+   */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder setLockThreshold(Duration lockThreshold) {
+    this.lockThreshold = lockThreshold;
+    return this;
+  }
+
+  /**
+   * Sets how often the JVM polls the context switch rate and the thread CPU load, for the {@link
+   * JfrFeature#CONTEXT_SWITCH_METRICS} and {@link JfrFeature#THREAD_CPU_METRICS} metrics. Defaults
+   * to 1 second.
+   */
+  @CanIgnoreReturnValue
+  public RuntimeMetricsBuilder setPollingPeriod(Duration pollingPeriod) {
+    this.pollingPeriod = pollingPeriod;
+    return this;
+  }
+
+  /**
+   * Starts a JFR recording stream for the enabled features and returns a {@link RuntimeMetrics}
+   * that stops it when closed. No metrics are generated when JFR is not available.
+   */
+  public RuntimeMetrics build() {
+    if (enabledFeatures.isEmpty()) {
+      return new RuntimeMetrics(null, Collections.emptyList());
+    }
+    if (!FlightRecorder.isAvailable()) {
+      logger.fine("JFR is not available; JFR runtime metrics will not be reported.");
+      return new RuntimeMetrics(null, Collections.emptyList());
+    }
+
+    List<RecordedEventHandler> handlers = createHandlers(JfrMetricsUtil.getMeter(openTelemetry));
+    RecordingStream recordingStream = new RecordingStream();
+    for (RecordedEventHandler handler : handlers) {
+      handler.enable(recordingStream);
+      recordingStream.onEvent(handler.getEventName(), handler);
+    }
+    recordingStream.setReuse(false);
+    recordingStream.startAsync();
+    return new RuntimeMetrics(recordingStream, handlers);
+  }
+
+  private List<RecordedEventHandler> createHandlers(Meter meter) {
+    List<RecordedEventHandler> handlers = new ArrayList<>();
+    if (enabledFeatures.contains(JfrFeature.ALLOCATION_METRICS)) {
+      handlers.add(new AllocationHandler(meter));
+    }
+    if (enabledFeatures.contains(JfrFeature.LOCK_METRICS)) {
+      handlers.add(new LockHandler(meter, lockThreshold));
+    }
+    if (enabledFeatures.contains(JfrFeature.SAFEPOINT_METRICS)) {
+      handlers.add(new SafepointSyncHandler(meter));
+      handlers.add(new SafepointOperationHandler(meter));
+    }
+    if (enabledFeatures.contains(JfrFeature.GC_HEAP_METRICS)) {
+      handlers.add(new GcHeapSummaryHandler(meter));
+    }
+    if (enabledFeatures.contains(JfrFeature.CONTEXT_SWITCH_METRICS)) {
+      handlers.add(new ContextSwitchHandler(meter, pollingPeriod));
+    }
+    if (enabledFeatures.contains(JfrFeature.THREAD_CPU_METRICS)) {
+      handlers.add(new ThreadCpuLoadHandler(meter, pollingPeriod));
+    }
+    return handlers;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/** Records how long the VM operations executed at a safepoint paused the Java threads. */
+final class SafepointOperationHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.ExecuteVMOperation";
+
+  private static final AttributeKey<String> OPERATION = AttributeKey.stringKey("operation");
+
+  private final DoubleHistogram operationDuration;
+  // there are a few dozen VM operations, only accessed from the recording stream thread
+  private final Map<String, Attributes> attributesByOperation = new HashMap<>();
+
+  SafepointOperationHandler(Meter meter) {
+    operationDuration =
+        meter
+            .histogramBuilder("process.runtime.jvm.safepoint.operation.duration")
+            .setDescription("Duration of VM operations executed at a safepoint")
+            .setUnit("ms")
+            .build();
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).withoutStackTrace();
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    if (!event.getBoolean("safepoint")) {
+      return;
+    }
+    String operation = event.getString("operation");
+    Attributes attributes =
+        attributesByOperation.computeIfAbsent(
+            operation == null ? "unknown" : operation, name -> Attributes.of(OPERATION, name));
+    operationDuration.record(JfrDurations.toMillis(event.getDuration()), attributes);
+  }
+}
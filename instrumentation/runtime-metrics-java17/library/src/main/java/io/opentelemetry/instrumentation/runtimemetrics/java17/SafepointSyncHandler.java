@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Records the time to safepoint: the {@code jdk.SafepointBegin} event lasts from the safepoint
+ * request until all Java threads have stopped, so slow-to-stop threads show up here.
+ */
+final class SafepointSyncHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.SafepointBegin";
+
+  private final DoubleHistogram syncDuration;
+
+  SafepointSyncHandler(Meter meter) {
+    syncDuration =
+        meter
+            .histogramBuilder("process.runtime.jvm.safepoint.sync.duration")
+            .setDescription("Time taken to stop all Java threads at a safepoint")
+            .setUnit("ms")
+            .build();
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).withoutStackTrace();
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    syncDuration.record(JfrDurations.toMillis(event.getDuration()));
+  }
+}
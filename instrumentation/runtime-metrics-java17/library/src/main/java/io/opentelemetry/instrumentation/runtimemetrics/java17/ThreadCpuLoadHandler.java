@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Records the CPU load of every Java thread, polled every polling period. The thread is not an
+ * attribute, to keep the number of points bounded; the histogram shows how the load is spread
+ * across the threads, e.g. whether a few threads are saturating their cores.
+ */
+final class ThreadCpuLoadHandler implements RecordedEventHandler {
+
+  private static final String EVENT_NAME = "jdk.ThreadCPULoad";
+
+  private final Duration pollingPeriod;
+  private final DoubleHistogram threadUtilization;
+
+  ThreadCpuLoadHandler(Meter meter, Duration pollingPeriod) {
+    this.pollingPeriod = pollingPeriod;
+    threadUtilization =
+        meter
+            .histogramBuilder("process.runtime.jvm.thread.cpu.utilization")
+            .setDescription("CPU utilization of the Java threads, user and system")
+            .setUnit("1")
+            .build();
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void enable(RecordingStream recordingStream) {
+    recordingStream.enable(EVENT_NAME).withPeriod(pollingPeriod);
+  }
+
+  @Override
+  public void accept(RecordedEvent event) {
+    threadUtilization.record(event.getFloat("user") + event.getFloat("system"));
+  }
+}
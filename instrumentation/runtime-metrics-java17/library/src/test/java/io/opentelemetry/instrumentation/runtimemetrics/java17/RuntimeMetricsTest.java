@@ -0,0 +1,107 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class RuntimeMetricsTest {
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.runtime-metrics-java17";
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  private RuntimeMetrics runtimeMetrics;
+
+  @BeforeEach
+  void setUp() {
+    runtimeMetrics = RuntimeMetrics.builder(testing.getOpenTelemetry()).enableAllFeatures().build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    runtimeMetrics.close();
+  }
+
+  @Test
+  void allocationAndGcHeapMetrics() {
+    List<byte[]> garbage = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      garbage.add(new byte[1024]);
+    }
+    garbage.clear();
+    System.gc();
+
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.memory.allocated",
+        metrics ->
+            metrics.anySatisfy(
+                metricData ->
+                    assertThat(metricData)
+                        .hasUnit("By")
+                        .hasLongSumSatisfying(sum -> sum.isMonotonic())));
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.gc.heap.used",
+        metrics ->
+            metrics.anySatisfy(
+                metricData ->
+                    assertThat(metricData)
+                        .hasUnit("By")
+                        .hasHistogramSatisfying(
+                            histogram ->
+                                histogram.hasPointsSatisfying(
+                                    point ->
+                                        point.hasAttributesSatisfying(
+                                            equalTo(AttributeKey.stringKey("when"), "after_gc")),
+                                    point ->
+                                        point.hasAttributesSatisfying(
+                                            equalTo(
+                                                AttributeKey.stringKey("when"), "before_gc"))))));
+  }
+
+  @Test
+  void lockContentionMetrics() throws InterruptedException {
+    Object lock = new Object();
+    Thread waiter =
+        new Thread(
+            () -> {
+              synchronized (lock) {
+                // entered once the main thread releases the lock
+              }
+            });
+    synchronized (lock) {
+      waiter.start();
+      // hold the lock for longer than the default lock threshold
+      Thread.sleep(100);
+    }
+    waiter.join();
+
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.monitor.contention.duration",
+        metrics ->
+            metrics.anySatisfy(
+                metricData ->
+                    assertThat(metricData)
+                        .hasUnit("ms")
+                        .hasDescription(
+                            "Time threads waited to enter a contended monitor, for waits longer"
+                                + " than the lock threshold")));
+  }
+}
@@ -16,8 +16,6 @@ import java.lang.management.MemoryType;
 import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
-import java.util.function.Function;
 
 /**
  * Registers measurements that generate metrics about JVM memory pools.
@@ -58,45 +56,58 @@ public final class MemoryPools {
   static void registerObservers(OpenTelemetry openTelemetry, List<MemoryPoolMXBean> poolBeans) {
     Meter meter = RuntimeMetricsUtil.getMeter(openTelemetry);
 
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.usage")
-        .setDescription("Measure of memory used")
-        .setUnit("By")
-        .buildWithCallback(callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getUsed));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.init")
-        .setDescription("Measure of initial memory requested")
-        .setUnit("By")
-        .buildWithCallback(callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getInit));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.committed")
-        .setDescription("Measure of memory committed")
-        .setUnit("By")
-        .buildWithCallback(
-            callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getCommitted));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.limit")
-        .setDescription("Measure of max obtainable memory")
-        .setUnit("By")
-        .buildWithCallback(callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getMax));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.usage_after_last_gc")
-        .setDescription(
-            "Measure of memory used after the most recent garbage collection event on this pool")
-        .setUnit("By")
-        .buildWithCallback(
-            callback(poolBeans, MemoryPoolMXBean::getCollectionUsage, MemoryUsage::getUsed));
+    ObservableLongMeasurement usage =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.usage")
+            .setDescription("Measure of memory used")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement init =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.init")
+            .setDescription("Measure of initial memory requested")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement committed =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.committed")
+            .setDescription("Measure of memory committed")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement limit =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.limit")
+            .setDescription("Measure of max obtainable memory")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement usageAfterLastGc =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.usage_after_last_gc")
+            .setDescription(
+                "Measure of memory used after the most recent garbage collection event on this"
+                    + " pool")
+            .setUnit("By")
+            .buildObserver();
+
+    // a single callback for all the instruments, so that every pool is sampled once per collection
+    meter.batchCallback(
+        callback(poolBeans, usage, init, committed, limit, usageAfterLastGc),
+        usage,
+        init,
+        committed,
+        limit,
+        usageAfterLastGc);
   }
 
   // Visible for testing
-  static Consumer<ObservableLongMeasurement> callback(
+  static Runnable callback(
       List<MemoryPoolMXBean> poolBeans,
-      Function<MemoryPoolMXBean, MemoryUsage> memoryUsageExtractor,
-      Function<MemoryUsage, Long> valueExtractor) {
+      ObservableLongMeasurement usage,
+      ObservableLongMeasurement init,
+      ObservableLongMeasurement committed,
+      ObservableLongMeasurement limit,
+      ObservableLongMeasurement usageAfterLastGc) {
+    // the attributes are built once and shared by all the instruments
     List<Attributes> attributeSets = new ArrayList<>(poolBeans.size());
     for (MemoryPoolMXBean pool : poolBeans) {
       attributeSets.add(
@@ -106,23 +117,34 @@ public final class MemoryPools {
               .build());
     }
 
-    return measurement -> {
+    return () -> {
       for (int i = 0; i < poolBeans.size(); i++) {
         Attributes attributes = attributeSets.get(i);
-        MemoryUsage memoryUsage = memoryUsageExtractor.apply(poolBeans.get(i));
-        if (memoryUsage == null) {
-          // JVM may return null in special cases for MemoryPoolMXBean.getUsage() and
-          // MemoryPoolMXBean.getCollectionUsage()
-          continue;
+        MemoryPoolMXBean pool = poolBeans.get(i);
+        // JVM may return null in special cases for MemoryPoolMXBean.getUsage() and
+        // MemoryPoolMXBean.getCollectionUsage()
+        MemoryUsage memoryUsage = pool.getUsage();
+        if (memoryUsage != null) {
+          record(usage, memoryUsage.getUsed(), attributes);
+          record(init, memoryUsage.getInit(), attributes);
+          record(committed, memoryUsage.getCommitted(), attributes);
+          record(limit, memoryUsage.getMax(), attributes);
         }
-        long value = valueExtractor.apply(memoryUsage);
-        if (value != -1) {
-          measurement.record(value, attributes);
+        MemoryUsage collectionUsage = pool.getCollectionUsage();
+        if (collectionUsage != null) {
+          record(usageAfterLastGc, collectionUsage.getUsed(), attributes);
         }
       }
     };
   }
 
+  private static void record(
+      ObservableLongMeasurement measurement, long value, Attributes attributes) {
+    if (value != -1) {
+      measurement.record(value, attributes);
+    }
+  }
+
   private static String memoryType(MemoryType memoryType) {
     switch (memoryType) {
       case HEAP:
@@ -35,6 +35,9 @@ public final class Threads {
 
   static final AttributeKey<Boolean> DAEMON = AttributeKey.booleanKey("daemon");
 
+  private static final Attributes DAEMON_ATTRIBUTES = Attributes.of(DAEMON, true);
+  private static final Attributes NON_DAEMON_ATTRIBUTES = Attributes.of(DAEMON, false);
+
   /** Register observers for java runtime class metrics. */
   public static void registerObservers(OpenTelemetry openTelemetry) {
     INSTANCE.registerObservers(openTelemetry, ManagementFactory.getThreadMXBean());
@@ -50,12 +53,10 @@ public final class Threads {
         .setUnit("1")
         .buildWithCallback(
             observableMeasurement -> {
+              int daemonThreadCount = threadBean.getDaemonThreadCount();
+              observableMeasurement.record(daemonThreadCount, DAEMON_ATTRIBUTES);
               observableMeasurement.record(
-                  threadBean.getDaemonThreadCount(),
-                  Attributes.builder().put(DAEMON, true).build());
-              observableMeasurement.record(
-                  threadBean.getThreadCount() - threadBean.getDaemonThreadCount(),
-                  Attributes.builder().put(DAEMON, false).build());
+                  threadBean.getThreadCount() - daemonThreadCount, NON_DAEMON_ATTRIBUTES);
             });
   }
 
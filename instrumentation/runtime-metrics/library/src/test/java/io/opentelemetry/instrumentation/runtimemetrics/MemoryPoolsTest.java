@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,7 +26,6 @@ import java.lang.management.MemoryUsage;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,6 +44,7 @@ class MemoryPoolsTest {
   static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
 
   @Spy private ObservableLongMeasurement measurement;
+  @Spy private ObservableLongMeasurement other;
 
   @Mock private MemoryPoolMXBean heapPoolBean;
   @Mock private MemoryPoolMXBean nonHeapPoolBean;
@@ -220,9 +221,8 @@ class MemoryPoolsTest {
     when(heapPoolUsage.getUsed()).thenReturn(1L);
     when(nonHeapUsage.getUsed()).thenReturn(2L);
 
-    Consumer<ObservableLongMeasurement> callback =
-        MemoryPools.callback(beans, MemoryPoolMXBean::getUsage, MemoryUsage::getUsed);
-    callback.accept(measurement);
+    Runnable callback = MemoryPools.callback(beans, measurement, other, other, other, other);
+    callback.run();
 
     verify(measurement)
         .record(1, Attributes.builder().put("pool", "heap_pool").put("type", "heap").build());
@@ -236,9 +236,8 @@ class MemoryPoolsTest {
     when(heapPoolUsage.getMax()).thenReturn(1L);
     when(nonHeapUsage.getMax()).thenReturn(-1L);
 
-    Consumer<ObservableLongMeasurement> callback =
-        MemoryPools.callback(beans, MemoryPoolMXBean::getUsage, MemoryUsage::getMax);
-    callback.accept(measurement);
+    Runnable callback = MemoryPools.callback(beans, other, other, other, measurement, other);
+    callback.run();
 
     verify(measurement)
         .record(1, Attributes.builder().put("pool", "heap_pool").put("type", "heap").build());
@@ -249,12 +248,22 @@ class MemoryPoolsTest {
   void callback_NullUsage() {
     when(heapPoolBean.getCollectionUsage()).thenReturn(null);
 
-    Consumer<ObservableLongMeasurement> callback =
+    Runnable callback =
         MemoryPools.callback(
-            Collections.singletonList(heapPoolBean),
-            MemoryPoolMXBean::getCollectionUsage,
-            MemoryUsage::getUsed);
-    callback.accept(measurement);
+            Collections.singletonList(heapPoolBean), other, other, other, other, measurement);
+    callback.run();
     verify(measurement, never()).record(anyLong(), any());
   }
+
+  @Test
+  void callback_SamplesPoolsOnce() {
+    Runnable callback =
+        MemoryPools.callback(beans, measurement, measurement, measurement, measurement, other);
+    callback.run();
+
+    verify(heapPoolBean, times(1)).getUsage();
+    verify(heapPoolBean, times(1)).getCollectionUsage();
+    verify(nonHeapPoolBean, times(1)).getUsage();
+    verify(nonHeapPoolBean, times(1)).getCollectionUsage();
+  }
 }
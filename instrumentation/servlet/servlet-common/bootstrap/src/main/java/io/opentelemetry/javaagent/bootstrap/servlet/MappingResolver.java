@@ -5,45 +5,47 @@
 
 package io.opentelemetry.javaagent.bootstrap.servlet;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
  * Helper class for finding a mapping that matches current request from a collection of mappings.
+ *
+ * <p>Exact and prefix mappings are compiled into a trie of the path characters, and extension
+ * mappings into a trie of the reversed path characters, so that resolving a path walks it at most
+ * twice and does not allocate. When several wildcard mappings match, the one that comes first in
+ * the collection of mappings wins.
  */
 public final class MappingResolver {
-  private final Set<String> exactMatches;
-  private final List<WildcardMatcher> wildcardMatchers;
+  // exact mappings and prefix mappings, without the trailing "/*"
+  private final Node prefixes;
+  // extension mappings, without the leading "*", reversed
+  private final Node suffixes;
   private final boolean hasDefault;
 
-  private MappingResolver(
-      Set<String> exactMatches, List<WildcardMatcher> wildcardMatchers, boolean hasDefault) {
-    this.exactMatches = exactMatches.isEmpty() ? Collections.emptySet() : exactMatches;
-    this.wildcardMatchers = wildcardMatchers.isEmpty() ? Collections.emptyList() : wildcardMatchers;
+  private MappingResolver(Node prefixes, Node suffixes, boolean hasDefault) {
+    this.prefixes = prefixes;
+    this.suffixes = suffixes;
     this.hasDefault = hasDefault;
   }
 
   public static MappingResolver build(Collection<String> mappings) {
-    List<WildcardMatcher> wildcardMatchers = new ArrayList<>();
-    Set<String> exactMatches = new HashSet<>();
+    Node prefixes = new Node();
+    Node suffixes = new Node();
     boolean hasDefault = false;
+    int order = 0;
     for (String mapping : mappings) {
       if (mapping.equals("")) {
-        exactMatches.add("/");
+        prefixes.addExact("/");
       } else if (mapping.equals("/") || mapping.equals("/*")) {
         hasDefault = true;
       } else if (mapping.startsWith("*.") && mapping.length() > 2) {
-        wildcardMatchers.add(new SuffixMatcher("/" + mapping, mapping.substring(1)));
+        suffixes.addWildcard(reverse(mapping.substring(1)), "/" + mapping, order++);
       } else if (mapping.endsWith("/*")) {
-        wildcardMatchers.add(
-            new PrefixMatcher(mapping, mapping.substring(0, mapping.length() - 2)));
+        prefixes.addWildcard(mapping.substring(0, mapping.length() - 2), mapping, order++);
       } else {
-        exactMatches.add(mapping);
+        prefixes.addExact(mapping);
       }
     }
 
@@ -52,7 +54,7 @@ public final class MappingResolver {
       hasDefault = true;
     }
 
-    return new MappingResolver(exactMatches, wildcardMatchers, hasDefault);
+    return new MappingResolver(prefixes, suffixes, hasDefault);
   }
 
   /** Find mapping for requested path. */
@@ -62,81 +64,128 @@ public final class MappingResolver {
       return null;
     }
 
-    // get full path inside context
-    String path = servletPath;
-    if (pathInfo != null) {
-      path += pathInfo;
-    }
+    // the full path inside context is servletPath + pathInfo, it is not concatenated to avoid
+    // allocating, see charAt()
+    int length = servletPath.length() + (pathInfo != null ? pathInfo.length() : 0);
     // trim trailing /
-    if (path.endsWith("/") && !path.equals("/")) {
-      path = path.substring(0, path.length() - 1);
+    if (length > 1 && charAt(servletPath, pathInfo, length - 1) == '/') {
+      length--;
     }
 
-    if (exactMatches.contains(path)) {
-      return path;
-    }
+    String wildcardMapping = null;
+    int wildcardOrder = Integer.MAX_VALUE;
 
-    for (WildcardMatcher matcher : wildcardMatchers) {
-      if (matcher.match(path)) {
-        String mapping = matcher.getMapping();
-        // for jsp return servlet path
-        if ("/*.jsp".equals(mapping) || "/*.jspx".equals(mapping)) {
-          return servletPath;
+    Node node = prefixes;
+    for (int i = 0; node != null; i++) {
+      if (i == length) {
+        if (node.exactMapping != null) {
+          return node.exactMapping;
+        }
+        if (node.wildcardOrder < wildcardOrder) {
+          wildcardMapping = node.wildcardMapping;
+          wildcardOrder = node.wildcardOrder;
         }
-        return mapping;
+        break;
+      }
+      char c = charAt(servletPath, pathInfo, i);
+      // a prefix mapping matches whole path segments only
+      if (c == '/' && node.wildcardOrder < wildcardOrder) {
+        wildcardMapping = node.wildcardMapping;
+        wildcardOrder = node.wildcardOrder;
+      }
+      node = node.child(c);
+    }
+
+    node = suffixes;
+    for (int i = length - 1; i >= 0 && node != null; i--) {
+      node = node.child(charAt(servletPath, pathInfo, i));
+      if (node != null && node.wildcardOrder < wildcardOrder) {
+        wildcardMapping = node.wildcardMapping;
+        wildcardOrder = node.wildcardOrder;
+      }
+    }
+
+    if (wildcardMapping != null) {
+      // for jsp return servlet path
+      if ("/*.jsp".equals(wildcardMapping) || "/*.jspx".equals(wildcardMapping)) {
+        return servletPath;
       }
+      return wildcardMapping;
     }
 
     if (hasDefault) {
-      return path.equals("/") ? "/" : "/*";
+      return length == 1 && charAt(servletPath, pathInfo, 0) == '/' ? "/" : "/*";
     }
 
     return null;
   }
 
-  private interface WildcardMatcher {
-    boolean match(String path);
+  private static char charAt(String servletPath, @Nullable String pathInfo, int index) {
+    int servletPathLength = servletPath.length();
+    if (index < servletPathLength) {
+      return servletPath.charAt(index);
+    }
+    // pathInfo is not null when index is past the end of servletPath
+    return pathInfo.charAt(index - servletPathLength);
+  }
 
-    String getMapping();
+  private static String reverse(String value) {
+    return new StringBuilder(value).reverse().toString();
   }
 
-  private static class PrefixMatcher implements WildcardMatcher {
-    private final String mapping;
-    private final String prefix;
+  private static final class Node {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
 
-    private PrefixMatcher(String mapping, String prefix) {
-      this.mapping = mapping;
-      this.prefix = prefix;
-    }
+    // there are only a few children per node, a linear scan is faster than hashing
+    private char[] keys = NO_KEYS;
+    private Node[] children = NO_CHILDREN;
 
-    @Override
-    public boolean match(String path) {
-      return path.equals(prefix) || path.startsWith(prefix + "/");
-    }
+    // the exact mapping for the path ending at this node
+    @Nullable private String exactMapping;
+    // the wildcard mapping ending at this node, and its position in the collection of mappings
+    @Nullable private String wildcardMapping;
+    private int wildcardOrder = Integer.MAX_VALUE;
 
-    @Override
-    public String getMapping() {
-      return mapping;
+    @Nullable
+    Node child(char key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == key) {
+          return children[i];
+        }
+      }
+      return null;
     }
-  }
-
-  private static class SuffixMatcher implements WildcardMatcher {
-    private final String mapping;
-    private final String suffix;
 
-    private SuffixMatcher(String mapping, String suffix) {
-      this.mapping = mapping;
-      this.suffix = suffix;
+    void addExact(String path) {
+      Node node = getOrCreate(path);
+      node.exactMapping = path;
     }
 
-    @Override
-    public boolean match(String path) {
-      return path.endsWith(suffix);
+    void addWildcard(String path, String mapping, int order) {
+      Node node = getOrCreate(path);
+      // on duplicate mappings, the first one wins
+      if (node.wildcardMapping == null) {
+        node.wildcardMapping = mapping;
+        node.wildcardOrder = order;
+      }
     }
 
-    @Override
-    public String getMapping() {
-      return mapping;
+    private Node getOrCreate(String path) {
+      Node node = this;
+      for (int i = 0; i < path.length(); i++) {
+        char key = path.charAt(i);
+        Node child = node.child(key);
+        if (child == null) {
+          child = new Node();
+          node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+          node.keys[node.keys.length - 1] = key;
+          node.children = Arrays.copyOf(node.children, node.children.length + 1);
+          node.children[node.children.length - 1] = child;
+        }
+        node = child;
+      }
+      return node;
     }
   }
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.servlet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MappingResolverTest {
+
+  @Test
+  void exactMatch() {
+    MappingResolver resolver = MappingResolver.build(asList("/a/b", "", "/a/*"));
+
+    assertThat(resolver.resolve("/a/b", null)).isEqualTo("/a/b");
+    assertThat(resolver.resolve("/a", "/b/")).isEqualTo("/a/b");
+    assertThat(resolver.resolve("/", null)).isEqualTo("/");
+    assertThat(resolver.resolve("/a/bc", null)).isEqualTo("/a/*");
+  }
+
+  @Test
+  void prefixMatch() {
+    MappingResolver resolver = MappingResolver.build(asList("/a/*", "/a/b/*"));
+
+    assertThat(resolver.resolve("/a", null)).isEqualTo("/a/*");
+    assertThat(resolver.resolve("/a", "/c")).isEqualTo("/a/*");
+    assertThat(resolver.resolve("/a/b", "/c")).isEqualTo("/a/*");
+    assertThat(resolver.resolve("/ab", null)).isNull();
+    assertThat(resolver.resolve("/b", null)).isNull();
+  }
+
+  @Test
+  void firstWildcardMatchWins() {
+    MappingResolver resolver = MappingResolver.build(asList("/a/b/*", "*.do", "/a/*"));
+
+    assertThat(resolver.resolve("/a/b/c.do", null)).isEqualTo("/a/b/*");
+    assertThat(resolver.resolve("/a/c.do", null)).isEqualTo("/*.do");
+    assertThat(resolver.resolve("/a/c", null)).isEqualTo("/a/*");
+  }
+
+  @Test
+  void suffixMatch() {
+    MappingResolver resolver = MappingResolver.build(asList("*.do", "*.jsp"));
+
+    assertThat(resolver.resolve("/a/b.do", null)).isEqualTo("/*.do");
+    assertThat(resolver.resolve("/a", "/b.do")).isEqualTo("/*.do");
+    assertThat(resolver.resolve("/a/b.jsp", null)).isEqualTo("/a/b.jsp");
+    assertThat(resolver.resolve("/a/b.dox", null)).isNull();
+  }
+
+  @Test
+  void defaultMapping() {
+    MappingResolver resolver = MappingResolver.build(asList("/", "/a"));
+
+    assertThat(resolver.resolve("/a", null)).isEqualTo("/a");
+    assertThat(resolver.resolve("/b", null)).isEqualTo("/*");
+    assertThat(resolver.resolve("", "/")).isEqualTo("/");
+    assertThat(resolver.resolve(null, "/a")).isNull();
+
+    assertThat(MappingResolver.build(emptyList()).resolve("/b", null)).isEqualTo("/*");
+  }
+}
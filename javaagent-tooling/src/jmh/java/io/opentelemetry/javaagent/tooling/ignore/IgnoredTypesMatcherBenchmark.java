@@ -6,21 +6,26 @@
 package io.opentelemetry.javaagent.tooling.ignore;
 
 import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
+import io.opentelemetry.javaagent.tooling.util.Trie;
 import java.util.concurrent.TimeUnit;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
 @Fork(1)
 @Warmup(iterations = 3, time = 1)
 @Measurement(iterations = 10, time = 1)
-@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
 @BenchmarkMode(Mode.AverageTime)
 public class IgnoredTypesMatcherBenchmark {
 
@@ -28,14 +33,21 @@ public class IgnoredTypesMatcherBenchmark {
       new TypeDescription.Latent("org.springframework.test.SomeClass", 0, null);
   private static final TypeDescription testAppType =
       new TypeDescription.Latent("com.example.myapp.Main", 0, null);
+  private static final TypeDescription jdkType =
+      new TypeDescription.Latent("jdk.internal.misc.Unsafe", 0, null);
+  private static final TypeDescription allowedType =
+      new TypeDescription.Latent("org.springframework.web.servlet.DispatcherServlet", 0, null);
 
-  private static final ElementMatcher<TypeDescription> ignoredTypesMatcher;
+  private static final ElementMatcher<TypeDescription> ignoredTypesMatcher =
+      new IgnoredTypesMatcher(buildIgnoredTypesTrie());
 
-  static {
+  // the global ignore set: everything configured by the agent itself
+  private static Trie<IgnoreAllow> buildIgnoredTypesTrie() {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
+    new GlobalIgnoredTypesConfigurer().configure(builder, EmptyConfigProperties.INSTANCE);
     new AdditionalLibraryIgnoredTypesConfigurer()
         .configure(builder, EmptyConfigProperties.INSTANCE);
-    ignoredTypesMatcher = new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie());
+    return builder.buildIgnoredTypesTrie();
   }
 
   @Benchmark
@@ -47,4 +59,52 @@ public class IgnoredTypesMatcherBenchmark {
   public boolean appType() {
     return ignoredTypesMatcher.matches(testAppType);
   }
+
+  @Benchmark
+  public boolean jdkType() {
+    return ignoredTypesMatcher.matches(jdkType);
+  }
+
+  @Benchmark
+  public boolean allowedType() {
+    return ignoredTypesMatcher.matches(allowedType);
+  }
+
+  // use the gc profiler to see the bytes allocated while building the trie
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Trie<IgnoreAllow> buildTrie(RetainedHeap retainedHeap) {
+    return buildIgnoredTypesTrie();
+  }
+
+  /** Prints the approximate heap size retained by the trie of the global ignore set. */
+  @State(Scope.Benchmark)
+  public static class RetainedHeap {
+    private static final int COUNT = 1000;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("SystemOut")
+    public void printRetainedHeap() {
+      Object[] tries = new Object[COUNT];
+      long before = usedHeap();
+      for (int i = 0; i < COUNT; i++) {
+        tries[i] = buildIgnoredTypesTrie();
+      }
+      long after = usedHeap();
+      System.out.println(
+          "Retained heap of the ignored types trie: ~" + (after - before) / COUNT + " bytes");
+      // keep the tries reachable until the heap has been measured
+      if (tries[COUNT - 1] == null) {
+        throw new AssertionError();
+      }
+    }
+
+    private static long usedHeap() {
+      Runtime runtime = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+      }
+      return runtime.totalMemory() - runtime.freeMemory();
+    }
+  }
 }
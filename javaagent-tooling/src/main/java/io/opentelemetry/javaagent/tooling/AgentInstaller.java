@@ -13,10 +13,12 @@ import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 import static net.bytebuddy.matcher.ElementMatchers.any;
 
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.javaagent.bootstrap.AgentClassLoader;
 import io.opentelemetry.javaagent.bootstrap.BootstrapPackagePrefixesHolder;
 import io.opentelemetry.javaagent.bootstrap.ClassFileTransformerHolder;
@@ -32,9 +34,12 @@ import io.opentelemetry.javaagent.tooling.bytebuddy.SafeTypeStrategy;
 import io.opentelemetry.javaagent.tooling.config.AgentConfig;
 import io.opentelemetry.javaagent.tooling.config.ConfigPropertiesBridge;
 import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
+import io.opentelemetry.javaagent.tooling.ignore.ClasspathPrescan;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
+import io.opentelemetry.javaagent.tooling.ignore.UnmatchedTypesCache;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationLoader;
 import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
 import io.opentelemetry.javaagent.tooling.util.Trie;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
@@ -117,6 +122,17 @@ public class AgentInstaller {
     InstrumentationConfig.internalInitializeConfig(new ConfigPropertiesBridge(sdkConfig));
     copyNecessaryConfigToSystemProperties(sdkConfig);
 
+    Meter supportabilityMeter =
+        autoConfiguredSdk
+            .getOpenTelemetrySdk()
+            .getMeterProvider()
+            .get("io.opentelemetry.javaagent.supportability");
+    SupportabilityMetrics.instance().registerObservers(supportabilityMeter);
+    if (sdkConfig.getBoolean(
+        "otel.instrumentation.experimental.supportability-metrics.enabled", false)) {
+      AgentTooling.registerPoolStrategyObservers(supportabilityMeter);
+    }
+
     setBootstrapPackages(sdkConfig, extensionClassLoader);
 
     for (BeforeAgentListener agentListener :
@@ -143,7 +159,9 @@ public class AgentInstaller {
       agentBuilder = agentBuilder.with(new ExposeAgentBootstrapListener(inst));
     }
 
-    agentBuilder = configureIgnoredTypes(sdkConfig, extensionClassLoader, agentBuilder);
+    ClasspathPrescan classpathPrescan = ClasspathPrescan.create(sdkConfig);
+    agentBuilder =
+        configureIgnoredTypes(sdkConfig, extensionClassLoader, agentBuilder, classpathPrescan);
 
     if (AgentConfig.isDebugModeEnabled(sdkConfig)) {
       agentBuilder =
@@ -155,6 +173,7 @@ public class AgentInstaller {
     }
 
     int numberOfLoadedExtensions = 0;
+    boolean customExtensionsLoaded = false;
     for (AgentExtension agentExtension : loadOrdered(AgentExtension.class, extensionClassLoader)) {
       if (logger.isLoggable(FINE)) {
         logger.log(
@@ -165,6 +184,7 @@ public class AgentInstaller {
       try {
         agentBuilder = agentExtension.extend(agentBuilder, sdkConfig);
         numberOfLoadedExtensions++;
+        customExtensionsLoaded |= !(agentExtension instanceof InstrumentationLoader);
       } catch (Exception | LinkageError e) {
         logger.log(
             SEVERE,
@@ -178,6 +198,15 @@ public class AgentInstaller {
     }
     logger.log(FINE, "Installed {0} extension(s)", numberOfLoadedExtensions);
 
+    if (classpathPrescan != null) {
+      // the pre-scan only knows the type matchers of instrumentation modules and virtual fields
+      if (customExtensionsLoaded) {
+        logger.warning("Class path pre-scan is not supported with custom agent extensions");
+      } else {
+        classpathPrescan.start();
+      }
+    }
+
     ResettableClassFileTransformer resettableClassFileTransformer = agentBuilder.installOn(inst);
     ClassFileTransformerHolder.setClassFileTransformer(resettableClassFileTransformer);
 
@@ -189,6 +218,10 @@ public class AgentInstaller {
     if (value != null) {
       System.setProperty("otel.instrumentation.experimental.span-suppression-strategy", value);
     }
+    value = config.getString("otel.instrumentation.experimental.supportability-metrics.enabled");
+    if (value != null) {
+      System.setProperty("otel.instrumentation.experimental.supportability-metrics.enabled", value);
+    }
   }
 
   private static void setupUnsafe(Instrumentation inst) {
@@ -214,7 +247,10 @@ public class AgentInstaller {
   }
 
   private static AgentBuilder configureIgnoredTypes(
-      ConfigProperties config, ClassLoader extensionClassLoader, AgentBuilder agentBuilder) {
+      ConfigProperties config,
+      ClassLoader extensionClassLoader,
+      AgentBuilder agentBuilder,
+      @Nullable ClasspathPrescan classpathPrescan) {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     for (IgnoredTypesConfigurer configurer :
         loadOrdered(IgnoredTypesConfigurer.class, extensionClassLoader)) {
@@ -224,13 +260,24 @@ public class AgentInstaller {
     Trie<Boolean> ignoredTasksTrie = builder.buildIgnoredTasksTrie();
     InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(ignoredTasksTrie::contains);
 
-    return agentBuilder
-        .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
-        .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
-        .or(
-            (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
-              return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
-            });
+    AgentBuilder.Ignored ignored =
+        agentBuilder
+            .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
+            .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
+            .or(
+                (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
+                  return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
+                });
+
+    if (classpathPrescan != null) {
+      ignored = ignored.or(classpathPrescan);
+    }
+
+    UnmatchedTypesCache unmatchedTypesCache = UnmatchedTypesCache.create(config);
+    if (unmatchedTypesCache == null) {
+      return ignored;
+    }
+    return ignored.or(unmatchedTypesCache).with(unmatchedTypesCache);
   }
 
   private static void runAfterAgentListeners(
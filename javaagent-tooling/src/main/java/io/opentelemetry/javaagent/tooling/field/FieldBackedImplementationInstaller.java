@@ -16,6 +16,7 @@ import io.opentelemetry.javaagent.bootstrap.VirtualFieldDetector;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
 import io.opentelemetry.javaagent.tooling.HelperInjector;
 import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
+import io.opentelemetry.javaagent.tooling.ignore.ClasspathPrescan;
 import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller;
 import io.opentelemetry.javaagent.tooling.muzzle.VirtualFieldMappings;
 import io.opentelemetry.javaagent.tooling.util.IgnoreFailedTypeMatcher;
@@ -203,11 +204,11 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
            * For each virtual field defined in a current instrumentation we create an agent builder
            * that injects necessary fields.
            */
+          ElementMatcher<TypeDescription> fieldTypeMatcher =
+              not(isAbstract()).and(hasSuperType(named(entry.getKey())));
+          ClasspathPrescan.registerTypeMatcher(fieldTypeMatcher);
           ElementMatcher<TypeDescription> typeMatcher =
-              new NamedMatcher<>(
-                  "VirtualField",
-                  new IgnoreFailedTypeMatcher(
-                      not(isAbstract()).and(hasSuperType(named(entry.getKey())))));
+              new NamedMatcher<>("VirtualField", new IgnoreFailedTypeMatcher(fieldTypeMatcher));
 
           builder =
               builder
@@ -0,0 +1,293 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Scans the jars on the application class path in parallel when the agent starts, and evaluates
+ * the type matchers of all the installed transformations against the classes in them ahead of
+ * time. The classes that are definitely not matched by any type matcher are then ignored when they
+ * are loaded by the system class loader, which skips evaluating the type matchers on the class
+ * loading thread.
+ *
+ * <p>A class is only considered not matched if all the types needed to evaluate the matchers
+ * (super types, interfaces, annotations) could be located, and no matcher threw an exception.
+ * Nested jars (e.g. Spring Boot fat jars) and directories are not scanned.
+ */
+public final class ClasspathPrescan implements AgentBuilder.RawMatcher {
+
+  private static final Logger logger = Logger.getLogger(ClasspathPrescan.class.getName());
+
+  private static final String ENABLED_PROPERTY =
+      "otel.javaagent.experimental.classpath-prescan.enabled";
+
+  // the type matchers of all the transformations installed by the agent
+  private static final List<ElementMatcher<? super TypeDescription>> typeMatchers =
+      new CopyOnWriteArrayList<>();
+
+  // set when a type could not be located while evaluating the matchers on the current thread
+  private static final ThreadLocal<boolean[]> missingType =
+      ThreadLocal.withInitial(() -> new boolean[1]);
+
+  /**
+   * Registers the type matcher of a transformation. The pre-scan must know about all the
+   * transformations, otherwise it could ignore classes that one of them would transform.
+   */
+  public static void registerTypeMatcher(ElementMatcher<? super TypeDescription> typeMatcher) {
+    typeMatchers.add(typeMatcher);
+  }
+
+  /**
+   * Returns a new {@link ClasspathPrescan} if it is enabled in the {@code config}, {@code null}
+   * otherwise. The returned matcher does not match anything until {@link #start()} is called.
+   */
+  @Nullable
+  public static ClasspathPrescan create(ConfigProperties config) {
+    if (!config.getBoolean(ENABLED_PROPERTY, false)) {
+      return null;
+    }
+    return new ClasspathPrescan(ClassLoader.getSystemClassLoader(), classPathJars());
+  }
+
+  private final ClassLoader systemClassLoader;
+  private final List<Path> jars;
+  private final TypePool typePool;
+  // jar path -> names of the classes in the jar that are not matched by any type matcher, jars are
+  // added once they're completely scanned
+  private final ConcurrentMap<Path, Set<String>> unmatchedTypes = new ConcurrentHashMap<>();
+  private final Cache<ProtectionDomain, Path> jarPaths = Cache.weak();
+
+  // visible for testing
+  ClasspathPrescan(ClassLoader systemClassLoader, List<Path> jars) {
+    this.systemClassLoader = systemClassLoader;
+    this.jars = jars;
+    this.typePool =
+        new TypePool.Default(
+            new ResolvedTypesCacheProvider(),
+            new MissingTypeTrackingLocator(
+                AgentTooling.locationStrategy().classFileLocator(systemClassLoader)),
+            TypePool.Default.ReaderMode.FAST);
+  }
+
+  /** Starts scanning the class path jars in the background. */
+  public void start() {
+    if (jars.isEmpty()) {
+      return;
+    }
+    int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            parallelism,
+            forkJoinPool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+              thread.setName("otel-classpath-prescan-" + thread.getPoolIndex());
+              return thread;
+            },
+            null,
+            false);
+    List<ElementMatcher<? super TypeDescription>> matchers = new ArrayList<>(typeMatchers);
+    long start = System.nanoTime();
+    AtomicInteger remaining = new AtomicInteger(jars.size());
+    for (Path jar : jars) {
+      pool.execute(
+          () -> {
+            scan(jar, matchers);
+            if (remaining.decrementAndGet() == 0 && logger.isLoggable(FINE)) {
+              logger.log(
+                  FINE,
+                  "Pre-scanned {0} jars in {1} ms, {2} classes will be ignored",
+                  new Object[] {
+                    jars.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    unmatchedTypes.values().stream().mapToInt(Set::size).sum()
+                  });
+            }
+          });
+    }
+    // lets the submitted tasks complete, and then terminates the worker threads
+    pool.shutdown();
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable Class<?> classBeingRedefined,
+      @Nullable ProtectionDomain protectionDomain) {
+    if (classLoader != systemClassLoader
+        || protectionDomain == null
+        || unmatchedTypes.isEmpty()) {
+      return false;
+    }
+    Path jar = jarPaths.computeIfAbsent(protectionDomain, ClasspathPrescan::jarPath);
+    Set<String> unmatched = unmatchedTypes.get(jar);
+    return unmatched != null && unmatched.contains(typeDescription.getName());
+  }
+
+  // visible for testing
+  void scan(Path jar, List<ElementMatcher<? super TypeDescription>> matchers) {
+    Set<String> unmatched = new HashSet<>();
+    try (JarFile jarFile = new JarFile(jar.toFile())) {
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        String typeName = typeName(entries.nextElement().getName());
+        if (typeName != null && !matchesAny(typeName, matchers)) {
+          unmatched.add(typeName);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(FINE, "Failed to pre-scan " + jar, e);
+      return;
+    }
+    unmatchedTypes.put(jar, unmatched);
+  }
+
+  private boolean matchesAny(
+      String typeName, List<ElementMatcher<? super TypeDescription>> matchers) {
+    boolean[] missing = missingType.get();
+    missing[0] = false;
+    try {
+      TypePool.Resolution resolution = typePool.describe(typeName);
+      if (!resolution.isResolved()) {
+        return true;
+      }
+      TypeDescription type = resolution.resolve();
+      for (ElementMatcher<? super TypeDescription> matcher : matchers) {
+        if (matcher.matches(type)) {
+          return true;
+        }
+      }
+      // if any type needed by the matchers was missing, they may match at runtime
+      return missing[0];
+    } catch (Throwable t) {
+      return true;
+    }
+  }
+
+  @Nullable
+  private static String typeName(String entryName) {
+    if (!entryName.endsWith(".class")
+        || entryName.startsWith("META-INF/")
+        || entryName.startsWith("BOOT-INF/")
+        || entryName.startsWith("WEB-INF/")
+        || entryName.endsWith("module-info.class")
+        || entryName.endsWith("package-info.class")) {
+      return null;
+    }
+    return entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+  }
+
+  private static Path jarPath(ProtectionDomain protectionDomain) {
+    CodeSource codeSource = protectionDomain.getCodeSource();
+    URL location = codeSource != null ? codeSource.getLocation() : null;
+    if (location == null || !"file".equals(location.getProtocol())) {
+      return Paths.get("");
+    }
+    try {
+      return normalize(Paths.get(location.toURI()));
+    } catch (Exception e) {
+      return Paths.get("");
+    }
+  }
+
+  private static List<Path> classPathJars() {
+    List<Path> result = new ArrayList<>();
+    String classPath = System.getProperty("java.class.path");
+    if (classPath == null) {
+      return result;
+    }
+    for (String entry : classPath.split(File.pathSeparator)) {
+      if (entry.endsWith(".jar") && new File(entry).isFile()) {
+        result.add(normalize(Paths.get(entry)));
+      }
+    }
+    return result;
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+
+  /** Caches only the types that were found, so that each lookup of a missing type is tracked. */
+  private static final class ResolvedTypesCacheProvider implements TypePool.CacheProvider {
+    private final Cache<String, TypePool.Resolution> cache = Cache.bounded(8192);
+
+    @Override
+    @Nullable
+    public TypePool.Resolution find(String name) {
+      return cache.get(name);
+    }
+
+    @Override
+    public TypePool.Resolution register(String name, TypePool.Resolution resolution) {
+      if (resolution.isResolved()) {
+        cache.put(name, resolution);
+      }
+      return resolution;
+    }
+
+    @Override
+    public void clear() {}
+  }
+
+  private static final class MissingTypeTrackingLocator implements ClassFileLocator {
+    private final ClassFileLocator delegate;
+
+    MissingTypeTrackingLocator(ClassFileLocator delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Resolution locate(String name) throws IOException {
+      Resolution resolution = delegate.locate(name);
+      if (!resolution.isResolved()) {
+        missingType.get()[0] = true;
+      }
+      return resolution;
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+}
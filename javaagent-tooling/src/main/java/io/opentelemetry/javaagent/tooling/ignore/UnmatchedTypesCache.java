@@ -0,0 +1,524 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * A persistent cache of the types that were not matched by any instrumentation in a previous run of
+ * the application. On a warm start these types are ignored right away, which skips evaluating the
+ * instrumentation type matchers (and parsing the class files they need) for them.
+ *
+ * <p>A type is identified by its name, the class name of its class loader, the path, size and
+ * modification time of the jar file it was loaded from, and the same for all the jar files on the
+ * class path of its class loader and of the parents of its class loader: whether a type matches
+ * depends on its super types and on the other classes that the instrumentations look up, which may
+ * come from any of these jars. Types loaded from directories or other kinds of locations, and types
+ * loaded by class loaders whose class path is unknown or contains directories, are never cached.
+ * The whole cache is discarded when the agent version, the {@code otel.*} configuration, the
+ * extension jars or the java version change.
+ *
+ * <p>The cache file contains a header and the sorted 64-bit hashes of the cached types; it is
+ * memory-mapped when read, and rewritten with the types seen during this run on JVM shutdown.
+ */
+public final class UnmatchedTypesCache
+    extends AgentBuilder.Listener.Adapter implements AgentBuilder.RawMatcher {
+
+  private static final Logger logger = Logger.getLogger(UnmatchedTypesCache.class.getName());
+
+  private static final String FILE_PROPERTY_NAME =
+      "otel.javaagent.experimental.unmatched-types-cache.file";
+
+  private static final long MAGIC = 0x6f74656c54797065L; // "otelType"
+  private static final int FORMAT_VERSION = 2;
+  // magic, format version, fingerprint, number of entries
+  private static final int HEADER_SIZE = 8 + 4 + 8 + 4;
+
+  private static final long UNSUPPORTED_LOCATION = 0;
+
+  private static final String PLATFORM_CLASS_LOADER_CLASS_NAME =
+      "jdk.internal.loader.ClassLoaders$PlatformClassLoader";
+  private static final long BOOTSTRAP_CLASS_PATH_FINGERPRINT =
+      computeBootstrapClassPathFingerprint();
+
+  /**
+   * Returns a new {@link UnmatchedTypesCache} if it is enabled in the {@code config}, {@code null}
+   * otherwise.
+   */
+  @Nullable
+  public static UnmatchedTypesCache create(ConfigProperties config) {
+    String file = config.getString(FILE_PROPERTY_NAME);
+    if (file == null || file.isEmpty()) {
+      return null;
+    }
+    UnmatchedTypesCache cache = new UnmatchedTypesCache(Paths.get(file), environmentFingerprint());
+    Thread shutdownHook = new Thread(cache::write, "otel-unmatched-types-cache-writer");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+    return cache;
+  }
+
+  private final Path file;
+  private final long fingerprint;
+  // sorted hashes of the types that were not matched in the previous run
+  private final LongBuffer previous;
+  // hashes of the types that were not matched in this run
+  private final Set<Long> current = ConcurrentHashMap.newKeySet();
+  private final Cache<ProtectionDomain, Long> locationFingerprints = Cache.weak();
+  private final Cache<ClassLoader, ClassPathFingerprint> classPathFingerprints = Cache.weak();
+  // the type that is being matched on this thread, and its hash
+  private final ThreadLocal<PendingType> pendingType = new ThreadLocal<>();
+
+  // visible for testing
+  UnmatchedTypesCache(Path file, long fingerprint) {
+    this.file = file;
+    this.fingerprint = fingerprint;
+    this.previous = read(file, fingerprint);
+  }
+
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable Class<?> classBeingRedefined,
+      @Nullable ProtectionDomain protectionDomain) {
+    String typeName = typeDescription.getName();
+    long location = locationFingerprint(protectionDomain);
+    if (location == UNSUPPORTED_LOCATION || typeName.contains("$$Lambda")) {
+      return false;
+    }
+    long classPath = classPathFingerprint(classLoader);
+    if (classPath == UNSUPPORTED_LOCATION) {
+      return false;
+    }
+    long hash = typeHash(location, classPath, classLoader, typeName);
+    pendingType.set(new PendingType(typeName, hash));
+    return contains(previous, hash);
+  }
+
+  @Override
+  public void onIgnored(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      boolean loaded) {
+    // called both when the type was ignored, and when no instrumentation matched it
+    PendingType pending = pendingType.get();
+    if (pending != null && pending.typeName.equals(typeDescription.getName())) {
+      current.add(pending.hash);
+    }
+  }
+
+  @Override
+  public void onComplete(
+      String typeName,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      boolean loaded) {
+    pendingType.remove();
+  }
+
+  // visible for testing
+  void write() {
+    long[] hashes = new long[current.size()];
+    int size = 0;
+    for (Long hash : current) {
+      if (size == hashes.length) {
+        break;
+      }
+      hashes[size++] = hash;
+    }
+    if (size == 0) {
+      return;
+    }
+    Arrays.sort(hashes, 0, size);
+
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (OutputStream out = Files.newOutputStream(temp);
+          DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+        data.writeLong(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(fingerprint);
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+          data.writeLong(hashes[i]);
+        }
+      }
+      try {
+        Files.move(
+            temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      logger.log(FINE, "Wrote {0} unmatched types to {1}", new Object[] {size, file});
+    } catch (IOException e) {
+      logger.log(WARNING, "Failed to write the unmatched types cache " + file, e);
+    }
+  }
+
+  private static LongBuffer read(Path file, long fingerprint) {
+    LongBuffer empty = LongBuffer.allocate(0);
+    if (!Files.isRegularFile(file)) {
+      return empty;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (fileSize < HEADER_SIZE) {
+        return empty;
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      if (buffer.getLong() != MAGIC
+          || buffer.getInt() != FORMAT_VERSION
+          || buffer.getLong() != fingerprint) {
+        logger.fine("Unmatched types cache is outdated, ignoring it");
+        return empty;
+      }
+      int size = buffer.getInt();
+      if (size < 0 || (fileSize - HEADER_SIZE) / 8 < size) {
+        return empty;
+      }
+      buffer.limit(HEADER_SIZE + size * 8);
+      return buffer.slice().asLongBuffer();
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to read the unmatched types cache " + file, e);
+      return empty;
+    }
+  }
+
+  private static boolean contains(LongBuffer sortedHashes, long hash) {
+    int low = 0;
+    int high = sortedHashes.limit() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midHash = sortedHashes.get(mid);
+      if (midHash < hash) {
+        low = mid + 1;
+      } else if (midHash > hash) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long locationFingerprint(@Nullable ProtectionDomain protectionDomain) {
+    if (protectionDomain == null) {
+      return UNSUPPORTED_LOCATION;
+    }
+    return locationFingerprints.computeIfAbsent(
+        protectionDomain, UnmatchedTypesCache::computeLocationFingerprint);
+  }
+
+  private static long computeLocationFingerprint(ProtectionDomain protectionDomain) {
+    CodeSource codeSource = protectionDomain.getCodeSource();
+    URL location = codeSource != null ? codeSource.getLocation() : null;
+    if (location == null) {
+      return UNSUPPORTED_LOCATION;
+    }
+    File jarFile = jarFile(location.toExternalForm());
+    if (jarFile == null || !jarFile.isFile()) {
+      return UNSUPPORTED_LOCATION;
+    }
+    return jarFingerprint(jarFile);
+  }
+
+  private static long jarFingerprint(File jarFile) {
+    long hash = hash(jarFile.getAbsolutePath());
+    hash = mix(hash * 31 + jarFile.length());
+    hash = mix(hash * 31 + jarFile.lastModified());
+    return hash == UNSUPPORTED_LOCATION ? 1 : hash;
+  }
+
+  private long classPathFingerprint(@Nullable ClassLoader classLoader) {
+    if (classLoader == null) {
+      return BOOTSTRAP_CLASS_PATH_FINGERPRINT;
+    }
+    int urlCount = urlCount(classLoader);
+    ClassPathFingerprint fingerprint = classPathFingerprints.get(classLoader);
+    // URLs can be added to a URLClassLoader, the fingerprint is computed again when that happens
+    if (fingerprint == null || fingerprint.urlCount != urlCount) {
+      fingerprint = new ClassPathFingerprint(urlCount, computeClassPathFingerprint(classLoader));
+      classPathFingerprints.put(classLoader, fingerprint);
+    }
+    return fingerprint.hash;
+  }
+
+  // visible for testing
+  static long computeClassPathFingerprint(ClassLoader classLoader) {
+    long hash = BOOTSTRAP_CLASS_PATH_FINGERPRINT;
+    for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      List<String> classPath = classPath(loader);
+      if (classPath == null) {
+        return UNSUPPORTED_LOCATION;
+      }
+      hash = mix(hash * 31 + hash(loader.getClass().getName()));
+      for (String entry : classPath) {
+        File jarFile = jarFile(entry);
+        if (jarFile == null) {
+          // directories can change without any visible change to the directory itself
+          return UNSUPPORTED_LOCATION;
+        }
+        // a missing jar is hashed too, so that adding it later changes the fingerprint
+        hash = mix(hash * 31 + (jarFile.isFile() ? jarFingerprint(jarFile) : hash(entry)));
+      }
+    }
+    return hash == UNSUPPORTED_LOCATION ? 1 : hash;
+  }
+
+  /**
+   * Returns the class path of {@code classLoader} as URLs, or {@code null} if it is not known. The
+   * platform class loader only loads JDK classes, which are covered by the java version.
+   */
+  @Nullable
+  private static List<String> classPath(ClassLoader classLoader) {
+    if (classLoader instanceof URLClassLoader) {
+      List<String> classPath = new ArrayList<>();
+      for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+        classPath.add(url.toExternalForm());
+      }
+      return classPath;
+    }
+    if (classLoader == ClassLoader.getSystemClassLoader()) {
+      return filesToUrls(System.getProperty("java.class.path"));
+    }
+    if (classLoader.getClass().getName().equals(PLATFORM_CLASS_LOADER_CLASS_NAME)) {
+      return Collections.emptyList();
+    }
+    return null;
+  }
+
+  private static int urlCount(ClassLoader classLoader) {
+    int count = 0;
+    for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      if (loader instanceof URLClassLoader) {
+        count += ((URLClassLoader) loader).getURLs().length;
+      }
+    }
+    return count;
+  }
+
+  private static List<String> filesToUrls(@Nullable String path) {
+    List<String> urls = new ArrayList<>();
+    if (path == null || path.isEmpty()) {
+      return urls;
+    }
+    for (String entry : path.split(File.pathSeparator)) {
+      if (!entry.isEmpty()) {
+        File file = new File(entry);
+        // directories are only recognized by the trailing slash that toURI() adds
+        urls.add(file.toURI().toString());
+      }
+    }
+    return urls;
+  }
+
+  private static long computeBootstrapClassPathFingerprint() {
+    // the jars appended with -Xbootclasspath/a (and on java 8 the whole boot class path)
+    long hash = FORMAT_VERSION;
+    for (String property : Arrays.asList("sun.boot.class.path", "jdk.boot.class.path.append")) {
+      for (String entry : filesToUrls(System.getProperty(property))) {
+        File jarFile = jarFile(entry);
+        hash =
+            mix(hash * 31 + (jarFile != null && jarFile.isFile() ? jarFingerprint(jarFile) : 0));
+        hash = mix(hash * 31 + hash(entry));
+      }
+    }
+    return hash == UNSUPPORTED_LOCATION ? 1 : hash;
+  }
+
+  // visible for testing
+  @Nullable
+  static File jarFile(String location) {
+    String url = location;
+    if (url.startsWith("jar:")) {
+      // e.g. jar:file:/app/app.jar!/BOOT-INF/lib/lib.jar!/, the outermost jar changes whenever any
+      // of the nested ones change
+      int separator = url.indexOf("!/");
+      url = url.substring("jar:".length(), separator < 0 ? url.length() : separator);
+    }
+    if (!url.startsWith("file:") || !url.endsWith(".jar")) {
+      return null;
+    }
+    try {
+      return new File(new URI(url));
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static long typeHash(
+      long location, long classPath, @Nullable ClassLoader classLoader, String typeName) {
+    String loaderName = classLoader == null ? "<bootstrap>" : classLoader.getClass().getName();
+    long hash = mix(location * 31 + hash(loaderName));
+    hash = mix(hash * 31 + classPath);
+    return mix(hash * 31 + hash(typeName));
+  }
+
+  private static long environmentFingerprint() {
+    // everything that may change which instrumentations are applied
+    Map<String, String> settings = new TreeMap<>();
+    settings.put("agent.version", String.valueOf(AgentVersion.VERSION));
+    settings.put("java.version", System.getProperty("java.version"));
+    System.getProperties()
+        .forEach(
+            (key, value) -> {
+              if (key.toString().startsWith("otel.")) {
+                settings.put(key.toString(), String.valueOf(value));
+              }
+            });
+    System.getenv()
+        .forEach(
+            (key, value) -> {
+              if (key.startsWith("OTEL_")) {
+                settings.put(key, value);
+              }
+            });
+    List<String> files = new ArrayList<>();
+    files.add(System.getProperty("otel.javaagent.configuration-file"));
+    files.add(System.getenv("OTEL_JAVAAGENT_CONFIGURATION_FILE"));
+    for (String path : files) {
+      if (path != null) {
+        settings.put("file:" + path, String.valueOf(new File(path).lastModified()));
+      }
+    }
+    // an extension jar may be rebuilt in place, and instrument types that the old one did not
+    List<String> extensions = new ArrayList<>();
+    extensions.add(
+        System.getProperty(
+            "otel.javaagent.extensions", System.getenv("OTEL_JAVAAGENT_EXTENSIONS")));
+    extensions.add(
+        System.getProperty(
+            "otel.javaagent.experimental.extensions",
+            System.getenv("OTEL_JAVAAGENT_EXPERIMENTAL_EXTENSIONS")));
+    for (String locations : extensions) {
+      if (locations != null) {
+        settings.put("extensions:" + locations, String.valueOf(extensionsFingerprint(locations)));
+      }
+    }
+
+    long hash = FORMAT_VERSION;
+    for (Map.Entry<String, String> entry : settings.entrySet()) {
+      hash = mix(hash * 31 + hash(entry.getKey()));
+      hash = mix(hash * 31 + hash(entry.getValue()));
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the fingerprint of the extension jars in {@code locations}, a comma-separated list of
+   * jar files and directories, resolved the same way as {@code ExtensionClassLoader} does.
+   */
+  // visible for testing
+  static long extensionsFingerprint(String locations) {
+    long hash = FORMAT_VERSION;
+    for (String location : locations.split(",")) {
+      if (location.isEmpty()) {
+        continue;
+      }
+      File file = new File(location);
+      List<File> jarFiles = new ArrayList<>();
+      if (file.isDirectory()) {
+        File[] files = file.listFiles(f -> f.isFile() && f.getName().endsWith(".jar"));
+        if (files != null) {
+          jarFiles.addAll(Arrays.asList(files));
+          Collections.sort(jarFiles);
+        }
+      } else {
+        jarFiles.add(file);
+      }
+      hash = mix(hash * 31 + hash(location));
+      for (File jarFile : jarFiles) {
+        // a missing jar is hashed too, so that adding it later changes the fingerprint
+        long jar = jarFile.isFile() ? jarFingerprint(jarFile) : hash(jarFile.getPath());
+        hash = mix(hash * 31 + jar);
+      }
+    }
+    return hash;
+  }
+
+  // 64-bit FNV-1a
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  // the finalizer of MurmurHash3
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private static final class ClassPathFingerprint {
+    final int urlCount;
+    final long hash;
+
+    ClassPathFingerprint(int urlCount, long hash) {
+      this.urlCount = urlCount;
+      this.hash = hash;
+    }
+  }
+
+  private static final class PendingType {
+    final String typeName;
+    final long hash;
+
+    PendingType(String typeName, long hash) {
+      this.typeName = typeName;
+      this.hash = hash;
+    }
+  }
+}
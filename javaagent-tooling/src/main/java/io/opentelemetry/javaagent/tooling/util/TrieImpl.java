@@ -6,58 +6,92 @@
 package io.opentelemetry.javaagent.tooling.util;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import javax.annotation.Nullable;
-
+import java.util.Queue;
+
+/**
+ * A path-compressed (radix) trie packed into a few flat arrays. Chains of nodes that have a single
+ * child and no value are merged into one node whose incoming edge is labeled with several chars.
+ * Nodes are numbered in breadth-first order, so that the children of each node, and the labels of
+ * the nodes, are stored contiguously:
+ *
+ * <ul>
+ *   <li>the label of node {@code n} is {@code labels[labelStart[n]..labelStart[n + 1]]}
+ *   <li>the children of node {@code n} are nodes {@code childStart[n]..childStart[n + 1]},
+ *       sorted by the first char of their labels
+ *   <li>the value of node {@code n} is {@code values[n]}, or {@code null}
+ * </ul>
+ *
+ * <p>Node {@code 0} is the root, it has an empty label.
+ */
 final class TrieImpl<V> implements Trie<V> {
 
-  private final Node<V> root;
+  private final char[] labels;
+  private final int[] labelStart;
+  private final int[] childStart;
+  private final Object[] values;
 
-  private TrieImpl(Node<V> root) {
-    this.root = root;
+  private TrieImpl(char[] labels, int[] labelStart, int[] childStart, Object[] values) {
+    this.labels = labels;
+    this.labelStart = labelStart;
+    this.childStart = childStart;
+    this.values = values;
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public V getOrDefault(CharSequence str, V defaultValue) {
-    Node<V> node = root;
     V lastMatchedValue = defaultValue;
+    int length = str.length();
+    int node = 0;
+    int i = 0;
 
-    for (int i = 0; i < str.length(); ++i) {
-      char c = str.charAt(i);
-      Node<V> next = node.getNext(c);
-      if (next == null) {
+    while (i < length) {
+      node = findChild(node, str.charAt(i));
+      if (node < 0) {
         return lastMatchedValue;
       }
-      node = next;
+      // the first char of the label has already been matched
+      int labelEnd = labelStart[node + 1];
+      int j = labelStart[node] + 1;
+      i++;
+      for (; j < labelEnd; j++, i++) {
+        // nodes inside the compressed path have no values, so a partial match of the label does not
+        // change the result
+        if (i == length || str.charAt(i) != labels[j]) {
+          return lastMatchedValue;
+        }
+      }
       // next node matched, use its value if it's defined
-      lastMatchedValue = next.value != null ? next.value : lastMatchedValue;
+      Object value = values[node];
+      if (value != null) {
+        lastMatchedValue = (V) value;
+      }
     }
 
     return lastMatchedValue;
   }
 
-  static final class Node<V> {
-    final char[] chars;
-    final Node<V>[] children;
-    final V value;
-
-    Node(char[] chars, Node<V>[] children, V value) {
-      this.chars = chars;
-      this.children = children;
-      this.value = value;
-    }
-
-    @Nullable
-    Node<V> getNext(char c) {
-      int index = Arrays.binarySearch(chars, c);
-      if (index < 0) {
-        return null;
+  // binary search among the children of the node by the first char of their label
+  private int findChild(int node, char c) {
+    int low = childStart[node];
+    int high = childStart[node + 1] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      char midChar = labels[labelStart[mid]];
+      if (midChar < c) {
+        low = mid + 1;
+      } else if (midChar > c) {
+        high = mid - 1;
+      } else {
+        return mid;
       }
-      return children[index];
     }
+    return -1;
   }
 
   static final class BuilderImpl<V> implements Builder<V> {
@@ -67,46 +101,81 @@ final class TrieImpl<V> implements Trie<V> {
     @Override
     @CanIgnoreReturnValue
     public Builder<V> put(CharSequence str, V value) {
-      put(root, str, 0, value);
+      NodeBuilder<V> node = root;
+      for (int i = 0; i < str.length(); i++) {
+        node = node.children.computeIfAbsent(str.charAt(i), k -> new NodeBuilder<>());
+      }
+      node.value = value;
       return this;
     }
 
-    private void put(NodeBuilder<V> node, CharSequence str, int i, V value) {
-      if (str.length() == i) {
-        node.value = value;
-        return;
+    @Override
+    public Trie<V> build() {
+      // first pass: compress the paths and number the nodes in breadth-first order
+      List<CompressedNode<V>> nodes = new ArrayList<>();
+      Queue<CompressedNode<V>> queue = new ArrayDeque<>();
+      CompressedNode<V> compressedRoot = new CompressedNode<>("", root);
+      queue.add(compressedRoot);
+      int labelsLength = 0;
+      while (!queue.isEmpty()) {
+        CompressedNode<V> node = queue.remove();
+        nodes.add(node);
+        labelsLength += node.label.length();
+        node.end.children.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> queue.add(compress(e.getKey(), e.getValue())));
+      }
+
+      // second pass: pack the nodes into arrays
+      int size = nodes.size();
+      char[] labels = new char[labelsLength];
+      int[] labelStart = new int[size + 1];
+      int[] childStart = new int[size + 1];
+      Object[] values = new Object[size];
+      int labelOffset = 0;
+      // the root is not a child of any node
+      int childOffset = 1;
+      for (int n = 0; n < size; n++) {
+        CompressedNode<V> node = nodes.get(n);
+        String label = node.label;
+        label.getChars(0, label.length(), labels, labelOffset);
+        labelStart[n] = labelOffset;
+        labelOffset += label.length();
+        childStart[n] = childOffset;
+        childOffset += node.end.children.size();
+        // the value of the root is ignored, the empty prefix never matches
+        values[n] = n == 0 ? null : node.end.value;
       }
-      char c = str.charAt(i);
-      NodeBuilder<V> next = node.children.computeIfAbsent(c, k -> new NodeBuilder<>());
-      put(next, str, i + 1, value);
+      labelStart[size] = labelOffset;
+      childStart[size] = childOffset;
+
+      return new TrieImpl<>(labels, labelStart, childStart, values);
     }
 
-    @Override
-    public Trie<V> build() {
-      return new TrieImpl<>(root.build());
+    private static <V> CompressedNode<V> compress(char first, NodeBuilder<V> node) {
+      StringBuilder label = new StringBuilder().append(first);
+      while (node.value == null && node.children.size() == 1) {
+        Map.Entry<Character, NodeBuilder<V>> only = node.children.entrySet().iterator().next();
+        label.append(only.getKey().charValue());
+        node = only.getValue();
+      }
+      return new CompressedNode<>(label.toString(), node);
     }
   }
 
   static final class NodeBuilder<V> {
     final Map<Character, NodeBuilder<V>> children = new HashMap<>();
     V value;
+  }
 
-    Node<V> build() {
-      int size = children.size();
-      char[] chars = new char[size];
-      @SuppressWarnings({"unchecked", "rawtypes"})
-      Node<V>[] nodes = new Node[size];
-
-      int i = 0;
-      Iterator<Map.Entry<Character, NodeBuilder<V>>> it =
-          this.children.entrySet().stream().sorted(Map.Entry.comparingByKey()).iterator();
-      while (it.hasNext()) {
-        Map.Entry<Character, NodeBuilder<V>> e = it.next();
-        chars[i] = e.getKey();
-        nodes[i++] = e.getValue().build();
-      }
+  private static final class CompressedNode<V> {
+    final String label;
+    // the last node of the compressed path
+    final NodeBuilder<V> end;
 
-      return new Node<>(chars, nodes, value);
+    CompressedNode(String label, NodeBuilder<V> end) {
+      this.label = label;
+      this.end = end;
     }
   }
 }
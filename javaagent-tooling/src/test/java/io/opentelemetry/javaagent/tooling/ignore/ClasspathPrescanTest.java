@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClasspathPrescanTest {
+
+  ClassLoader classLoader = Test.class.getClassLoader();
+  ClasspathPrescan prescan;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Path jar =
+        Paths.get(Test.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+            .toAbsolutePath()
+            .normalize();
+    prescan = new ClasspathPrescan(classLoader, singletonList(jar));
+    prescan.scan(jar, singletonList(named(Test.class.getName())));
+  }
+
+  @Test
+  void shouldIgnoreClassesThatAreNotMatched() {
+    assertThat(matches(TempDir.class, classLoader)).isTrue();
+  }
+
+  @Test
+  void shouldNotIgnoreClassesThatAreMatched() {
+    assertThat(matches(Test.class, classLoader)).isFalse();
+  }
+
+  @Test
+  void shouldNotIgnoreClassesLoadedByOtherClassLoaders() {
+    assertThat(matches(TempDir.class, new ClassLoader(classLoader) {})).isFalse();
+  }
+
+  @Test
+  void shouldNotIgnoreClassesFromJarsThatWereNotScanned() {
+    assertThat(matches(TypeDescription.class, classLoader)).isFalse();
+  }
+
+  private boolean matches(Class<?> type, ClassLoader loader) {
+    return prescan.matches(
+        TypeDescription.ForLoadedType.of(type), loader, null, null, type.getProtectionDomain());
+  }
+}
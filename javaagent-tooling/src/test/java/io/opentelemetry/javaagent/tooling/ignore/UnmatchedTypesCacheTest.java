@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UnmatchedTypesCacheTest {
+
+  // loaded from a directory
+  static final Class<?> DIRECTORY_CLASS = UnmatchedTypesCacheTest.class;
+
+  @TempDir Path tempDir;
+
+  // loaded from a jar file, by a class loader with only jars on its class path
+  private Class<?> jarClass;
+  // loaded from the same jar file
+  private Class<?> otherJarClass;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    ClassLoader classLoader = jarClassLoader();
+    jarClass = Class.forName(Test.class.getName(), false, classLoader);
+    otherJarClass = Class.forName(TempDir.class.getName(), false, classLoader);
+  }
+
+  @Test
+  void shouldIgnoreTypesThatWereNotMatchedInThePreviousRun() {
+    Path file = tempDir.resolve("cache.bin");
+
+    UnmatchedTypesCache coldCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(coldCache, jarClass)).isFalse();
+    coldCache.onIgnored(TypeDescription.ForLoadedType.of(jarClass), null, null, false);
+    coldCache.onComplete(jarClass.getName(), null, null, false);
+    coldCache.write();
+
+    UnmatchedTypesCache warmCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(warmCache, jarClass)).isTrue();
+    assertThat(matches(warmCache, otherJarClass)).isFalse();
+  }
+
+  @Test
+  void shouldNotIgnoreTypesThatWereMatchedInThePreviousRun() {
+    Path file = tempDir.resolve("cache.bin");
+
+    UnmatchedTypesCache coldCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(coldCache, jarClass)).isFalse();
+    // the type was transformed, so onIgnored() was not called
+    coldCache.onComplete(jarClass.getName(), null, null, false);
+    coldCache.write();
+
+    UnmatchedTypesCache warmCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(warmCache, jarClass)).isFalse();
+  }
+
+  @Test
+  void shouldDiscardTheCacheWhenTheEnvironmentChanged() {
+    Path file = tempDir.resolve("cache.bin");
+
+    UnmatchedTypesCache coldCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(coldCache, jarClass)).isFalse();
+    coldCache.onIgnored(TypeDescription.ForLoadedType.of(jarClass), null, null, false);
+    coldCache.write();
+
+    UnmatchedTypesCache warmCache = new UnmatchedTypesCache(file, 43);
+    assertThat(matches(warmCache, jarClass)).isFalse();
+  }
+
+  @Test
+  void shouldDiscardTheCacheWhenAnExtensionJarChanged() throws Exception {
+    Path file = tempDir.resolve("cache.bin");
+    Path extensions = Files.createDirectory(tempDir.resolve("extensions"));
+    Path extensionJar = Files.write(extensions.resolve("extension.jar"), new byte[] {1});
+    long directoryFingerprint = UnmatchedTypesCache.extensionsFingerprint(extensions.toString());
+    long jarFingerprint = UnmatchedTypesCache.extensionsFingerprint(extensionJar.toString());
+
+    UnmatchedTypesCache coldCache = new UnmatchedTypesCache(file, directoryFingerprint);
+    assertThat(matches(coldCache, jarClass)).isFalse();
+    coldCache.onIgnored(TypeDescription.ForLoadedType.of(jarClass), null, null, false);
+    coldCache.write();
+
+    // the extension jar was rebuilt at the same path, it may instrument the type now
+    Files.write(extensionJar, new byte[] {1, 2});
+    assertThat(extensionJar.toFile().setLastModified(System.currentTimeMillis() + 10_000)).isTrue();
+
+    assertThat(UnmatchedTypesCache.extensionsFingerprint(extensionJar.toString()))
+        .isNotEqualTo(jarFingerprint);
+    long changedFingerprint = UnmatchedTypesCache.extensionsFingerprint(extensions.toString());
+    assertThat(changedFingerprint).isNotEqualTo(directoryFingerprint);
+
+    UnmatchedTypesCache warmCache = new UnmatchedTypesCache(file, changedFingerprint);
+    assertThat(matches(warmCache, jarClass)).isFalse();
+  }
+
+  @Test
+  void shouldNotIgnoreTypesWhenTheClassPathChanged() throws Exception {
+    Path file = tempDir.resolve("cache.bin");
+
+    UnmatchedTypesCache coldCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(coldCache, jarClass)).isFalse();
+    coldCache.onIgnored(TypeDescription.ForLoadedType.of(jarClass), null, null, false);
+    coldCache.write();
+
+    // the same type from the same jar, but another jar was added to the class path; it may
+    // contain a super type or a class that makes an instrumentation match
+    Path addedJar = Files.createFile(tempDir.resolve("added.jar"));
+    ClassLoader classLoader = jarClassLoader(addedJar.toUri().toURL());
+    Class<?> sameClass = Class.forName(jarClass.getName(), false, classLoader);
+
+    UnmatchedTypesCache warmCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(warmCache, sameClass)).isFalse();
+    assertThat(matches(warmCache, jarClass)).isTrue();
+  }
+
+  @Test
+  void shouldNotCacheTypesOfClassLoadersWithDirectoriesOnTheClassPath() throws Exception {
+    ClassLoader classLoader = jarClassLoader(tempDir.toUri().toURL());
+
+    assertThat(UnmatchedTypesCache.computeClassPathFingerprint(classLoader)).isZero();
+    assertThat(UnmatchedTypesCache.computeClassPathFingerprint(jarClassLoader())).isNotZero();
+  }
+
+  @Test
+  void shouldNotCacheTypesLoadedFromDirectories() {
+    Path file = tempDir.resolve("cache.bin");
+
+    UnmatchedTypesCache coldCache = new UnmatchedTypesCache(file, 42);
+    assertThat(matches(coldCache, DIRECTORY_CLASS)).isFalse();
+    coldCache.onIgnored(TypeDescription.ForLoadedType.of(DIRECTORY_CLASS), null, null, false);
+    coldCache.write();
+
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  void shouldResolveJarFiles() {
+    assertThat(UnmatchedTypesCache.jarFile("file:/app/lib.jar"))
+        .isEqualTo(new File("/app/lib.jar"));
+    assertThat(UnmatchedTypesCache.jarFile("jar:file:/app/app.jar!/BOOT-INF/lib/lib.jar!/"))
+        .isEqualTo(new File("/app/app.jar"));
+    assertThat(UnmatchedTypesCache.jarFile("file:/app/classes/")).isNull();
+    assertThat(UnmatchedTypesCache.jarFile("http://example.com/lib.jar")).isNull();
+  }
+
+  private static ClassLoader jarClassLoader(URL... additionalUrls) {
+    URL jar = Test.class.getProtectionDomain().getCodeSource().getLocation();
+    URL[] urls = new URL[additionalUrls.length + 1];
+    urls[0] = jar;
+    System.arraycopy(additionalUrls, 0, urls, 1, additionalUrls.length);
+    return new URLClassLoader(urls, null);
+  }
+
+  private static boolean matches(UnmatchedTypesCache cache, Class<?> type) {
+    return cache.matches(
+        TypeDescription.ForLoadedType.of(type),
+        type.getClassLoader(),
+        null,
+        null,
+        type.getProtectionDomain());
+  }
+}
@@ -50,4 +50,26 @@ class TrieTest {
 
     assertEquals(-1, trie.getOrDefault("acdc", -1));
   }
+
+  @Test
+  void shouldMatchWithinCompressedPaths() {
+    Trie<Integer> trie =
+        Trie.<Integer>builder()
+            .put("org.springframework.", 1)
+            .put("org.springframework.boot.", 2)
+            .put("org.slf4j.", 3)
+            .put("com.", 4)
+            .build();
+
+    assertNull(trie.getOrNull("org."));
+    assertNull(trie.getOrNull("org.spring"));
+    assertNull(trie.getOrNull("org.springframeworkx"));
+    assertEquals(1, trie.getOrNull("org.springframework."));
+    assertEquals(1, trie.getOrNull("org.springframework.bo"));
+    assertEquals(2, trie.getOrNull("org.springframework.boot.SpringApplication"));
+    assertEquals(3, trie.getOrNull("org.slf4j.Logger"));
+    assertNull(trie.getOrNull("org.slf4"));
+    assertEquals(4, trie.getOrNull("com.example.Main"));
+    assertNull(trie.getOrNull(""));
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.muzzle;
+
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache whose capacity adapts to the rate of lookups. The lookups are counted in windows
+ * that end after {@link #WINDOW_SIZE} lookups, or on the first lookup after the window has lasted
+ * long. At the end of each window the capacity is
+ *
+ * <ul>
+ *   <li>doubled (up to the maximum capacity) if many entries were evicted during the window, which
+ *       happens during class loading bursts, e.g. when the application starts,
+ *   <li>halved (down to the minimum capacity) once for every settled period the window lasted,
+ *       which means that class loading has settled down.
+ * </ul>
+ *
+ * <p>Checking the elapsed time on every lookup makes sure that the cache also shrinks after the
+ * lookups almost stop, when a window of {@link #WINDOW_SIZE} lookups would never complete.
+ */
+final class AdaptiveResolutionCache<K, V> {
+
+  // visible for testing
+  static final int WINDOW_SIZE = 1024;
+  // grow when more than 1/8 of the lookups in a window caused an eviction
+  private static final int GROW_EVICTIONS_THRESHOLD = WINDOW_SIZE / 8;
+  // shrink when the lookup rate was lower than ~100 per second
+  private static final long SETTLED_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+  // the capacity is an int, halving it more often than this always reaches the minimum
+  private static final int MAX_SHRINK_STEPS = 31;
+
+  private final ConcurrentLinkedHashMap<K, V> map;
+  private final int minCapacity;
+  private final int maxCapacity;
+  private final long settledWindowNanos;
+  private final LongSupplier nanoTime;
+
+  private final AtomicInteger windowLookups = new AtomicInteger();
+  private final AtomicInteger windowEvictions = new AtomicInteger();
+  private final AtomicLong windowStartNanos;
+
+  AdaptiveResolutionCache(
+      int minCapacity, int maxCapacity, BiConsumer<? super K, ? super V> evictionListener) {
+    this(minCapacity, maxCapacity, SETTLED_WINDOW_NANOS, evictionListener);
+  }
+
+  // visible for testing
+  AdaptiveResolutionCache(
+      int minCapacity,
+      int maxCapacity,
+      long settledWindowNanos,
+      BiConsumer<? super K, ? super V> evictionListener) {
+    this(minCapacity, maxCapacity, settledWindowNanos, System::nanoTime, evictionListener);
+  }
+
+  // visible for testing
+  AdaptiveResolutionCache(
+      int minCapacity,
+      int maxCapacity,
+      long settledWindowNanos,
+      LongSupplier nanoTime,
+      BiConsumer<? super K, ? super V> evictionListener) {
+    this.minCapacity = minCapacity;
+    this.maxCapacity = Math.max(minCapacity, maxCapacity);
+    this.settledWindowNanos = settledWindowNanos;
+    this.nanoTime = nanoTime;
+    this.windowStartNanos = new AtomicLong(nanoTime.getAsLong());
+    this.map =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(minCapacity)
+            .listener(
+                (key, value) -> {
+                  windowEvictions.incrementAndGet();
+                  evictionListener.accept(key, value);
+                })
+            .build();
+  }
+
+  @Nullable
+  V get(K key) {
+    V value = map.get(key);
+    int lookups = windowLookups.incrementAndGet();
+    long start = windowStartNanos.get();
+    long now = nanoTime.getAsLong();
+    if ((lookups == WINDOW_SIZE || now - start > settledWindowNanos)
+        // only the thread that ends the window adjusts the capacity
+        && windowStartNanos.compareAndSet(start, now)) {
+      adjustCapacity(now - start);
+    }
+    return value;
+  }
+
+  void put(K key, V value) {
+    map.put(key, value);
+  }
+
+  long capacity() {
+    return map.capacity();
+  }
+
+  int size() {
+    return map.size();
+  }
+
+  private void adjustCapacity(long elapsedNanos) {
+    long capacity = map.capacity();
+    if (windowEvictions.get() > GROW_EVICTIONS_THRESHOLD && capacity < maxCapacity) {
+      map.setCapacity(Math.min(maxCapacity, capacity * 2));
+    } else if (elapsedNanos > settledWindowNanos && capacity > minCapacity) {
+      long steps =
+          settledWindowNanos > 0
+              ? Math.min(MAX_SHRINK_STEPS, elapsedNanos / settledWindowNanos)
+              : 1;
+      map.setCapacity(Math.max(minCapacity, capacity >> steps));
+    }
+    // evictions caused by shrinking don't count towards the next window
+    windowEvictions.set(0);
+    windowLookups.set(0);
+  }
+}
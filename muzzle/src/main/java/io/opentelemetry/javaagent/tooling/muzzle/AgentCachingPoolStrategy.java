@@ -5,16 +5,26 @@
 
 package io.opentelemetry.javaagent.tooling.muzzle;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.bootstrap.VirtualFieldAccessorMarker;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
+import java.io.IOException;
 import java.lang.instrument.Instrumentation;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
@@ -44,7 +54,12 @@ import net.bytebuddy.utility.JavaModule;
  * <p>This design was chosen to create a single limited size cache that can be adjusted for the
  * entire application -- without having to create a large number of WeakReference objects.
  *
- * <p>Eviction is handled through a size restriction
+ * <p>Eviction is handled through a size restriction. The size adapts to the class loading rate
+ * between {@code otel.javaagent.experimental.type-pool-cache.min-size} and {@code
+ * otel.javaagent.experimental.type-pool-cache.max-size}, see {@link AdaptiveResolutionCache}.
+ *
+ * <p>The cache hits, misses, evictions and the number of parsed class file bytes are counted per
+ * ClassLoader class and can be exported with {@link #registerObservers(Meter)}.
  */
 public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
 
@@ -56,7 +71,23 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
           .getBoolean("otel.instrumentation.internal-reflection.enabled", true);
   private static final Method findLoadedClassMethod = getFindLoadedClassMethod();
 
-  static final int TYPE_CAPACITY = 64;
+  static final int DEFAULT_MIN_TYPE_CAPACITY = 64;
+  static final int DEFAULT_MAX_TYPE_CAPACITY = 4096;
+
+  private static final int MIN_TYPE_CAPACITY =
+      Math.max(
+          1,
+          InstrumentationConfig.get()
+              .getInt(
+                  "otel.javaagent.experimental.type-pool-cache.min-size",
+                  DEFAULT_MIN_TYPE_CAPACITY));
+  private static final int MAX_TYPE_CAPACITY =
+      InstrumentationConfig.get()
+          .getInt(
+              "otel.javaagent.experimental.type-pool-cache.max-size", DEFAULT_MAX_TYPE_CAPACITY);
+
+  private static final AttributeKey<String> CLASS_LOADER = stringKey("class_loader");
+  private static final AttributeKey<String> RESULT = stringKey("result");
 
   static final int BOOTSTRAP_HASH = 7236344; // Just a random number
 
@@ -68,17 +99,27 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
    *   <li>Allow for quick fast path equivalence check of composite keys
    * </ul>
    */
-  final Cache<ClassLoader, WeakReference<ClassLoader>> loaderRefCache = Cache.weak();
+  final Cache<ClassLoader, LoaderRef> loaderRefCache = Cache.weak();
+
+  final TypePoolStats bootstrapStats = new TypePoolStats("bootstrap");
 
   /**
    * Single shared Type.Resolution cache -- uses a composite key -- conceptually of loader & name
    */
-  final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
-      Cache.bounded(TYPE_CAPACITY);
+  final AdaptiveResolutionCache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
+      new AdaptiveResolutionCache<>(
+          MIN_TYPE_CAPACITY,
+          MAX_TYPE_CAPACITY,
+          (key, resolution) ->
+              (key.loaderRef == null ? bootstrapStats : key.loaderRef.stats).evictions.increment());
 
   // fast path for bootstrap
   final SharedResolutionCacheAdapter bootstrapCacheProvider =
-      new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, sharedResolutionCache);
+      new SharedResolutionCacheAdapter(BOOTSTRAP_HASH, null, bootstrapStats, sharedResolutionCache);
+
+  // stats shared by all class loaders of the same class, keyed by the class loader class name to
+  // keep the cardinality of the exported metrics bounded
+  private final ConcurrentMap<String, TypePoolStats> loaderStats = new ConcurrentHashMap<>();
 
   private final AgentLocationStrategy locationStrategy;
 
@@ -132,9 +173,10 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
 
   @Override
   public AgentTypePool typePool(ClassFileLocator classFileLocator, ClassLoader classLoader) {
+    SharedResolutionCacheAdapter cacheProvider = getCacheProvider(classLoader);
     return new AgentTypePool(
-        getCacheProvider(classLoader),
-        classFileLocator,
+        cacheProvider,
+        new CountingClassFileLocator(classFileLocator, cacheProvider.stats),
         classLoader,
         TypePool.Default.ReaderMode.FAST);
   }
@@ -145,16 +187,68 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
     return typePool(classFileLocator, classLoader);
   }
 
-  private TypePool.CacheProvider getCacheProvider(ClassLoader classLoader) {
+  private SharedResolutionCacheAdapter getCacheProvider(ClassLoader classLoader) {
     if (classLoader == null) {
       return bootstrapCacheProvider;
     }
 
-    WeakReference<ClassLoader> loaderRef =
-        loaderRefCache.computeIfAbsent(classLoader, WeakReference::new);
+    LoaderRef loaderRef =
+        loaderRefCache.computeIfAbsent(
+            classLoader,
+            loader ->
+                new LoaderRef(
+                    loader,
+                    loaderStats.computeIfAbsent(
+                        loader.getClass().getName(), TypePoolStats::new)));
 
     int loaderHash = classLoader.hashCode();
-    return new SharedResolutionCacheAdapter(loaderHash, loaderRef, sharedResolutionCache);
+    return new SharedResolutionCacheAdapter(
+        loaderHash, loaderRef, loaderRef.stats, sharedResolutionCache);
+  }
+
+  /**
+   * Exports the stats of the type resolution cache, per ClassLoader class, as observable
+   * instruments of the given {@code meter}.
+   */
+  public void registerObservers(Meter meter) {
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.lookups")
+        .setDescription("The number of lookups in the type resolution cache")
+        .setUnit("{lookups}")
+        .buildWithCallback(
+            measurement ->
+                forEachStats(
+                    stats -> {
+                      measurement.record(stats.hits.sum(), stats.hitAttributes);
+                      measurement.record(stats.misses.sum(), stats.missAttributes);
+                    }));
+    meter
+        .counterBuilder("otel.javaagent.type_pool.cache.evictions")
+        .setDescription("The number of entries evicted from the type resolution cache")
+        .setUnit("{entries}")
+        .buildWithCallback(
+            measurement ->
+                forEachStats(stats -> measurement.record(stats.evictions.sum(), stats.attributes)));
+    meter
+        .counterBuilder("otel.javaagent.type_pool.bytes_parsed")
+        .setDescription("The number of class file bytes located for parsing by the type pool")
+        .setUnit("By")
+        .buildWithCallback(
+            measurement ->
+                forEachStats(
+                    stats -> measurement.record(stats.bytesParsed.sum(), stats.attributes)));
+    meter
+        .upDownCounterBuilder("otel.javaagent.type_pool.cache.capacity")
+        .setDescription("The current capacity of the type resolution cache")
+        .setUnit("{entries}")
+        .buildWithCallback(measurement -> measurement.record(sharedResolutionCache.capacity()));
+  }
+
+  private void forEachStats(Consumer<TypePoolStats> action) {
+    action.accept(bootstrapStats);
+    for (TypePoolStats stats : loaderStats.values()) {
+      action.accept(stats);
+    }
   }
 
   /**
@@ -168,12 +262,12 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
    */
   private static final class TypeCacheKey {
     private final int loaderHash;
-    private final WeakReference<ClassLoader> loaderRef;
+    @Nullable private final LoaderRef loaderRef;
     private final String className;
 
     private final int hashCode;
 
-    TypeCacheKey(int loaderHash, WeakReference<ClassLoader> loaderRef, String className) {
+    TypeCacheKey(int loaderHash, @Nullable LoaderRef loaderRef, String className) {
       this.loaderHash = loaderHash;
       this.loaderRef = loaderRef;
       this.className = className;
@@ -254,30 +348,35 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
         new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class));
 
     private final int loaderHash;
-    private final WeakReference<ClassLoader> loaderRef;
-    private final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache;
+    @Nullable private final LoaderRef loaderRef;
+    private final TypePoolStats stats;
+    private final AdaptiveResolutionCache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache;
 
     SharedResolutionCacheAdapter(
         int loaderHash,
-        WeakReference<ClassLoader> loaderRef,
-        Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache) {
+        @Nullable LoaderRef loaderRef,
+        TypePoolStats stats,
+        AdaptiveResolutionCache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache) {
       this.loaderHash = loaderHash;
       this.loaderRef = loaderRef;
+      this.stats = stats;
       this.sharedResolutionCache = sharedResolutionCache;
     }
 
     @Override
     public TypePool.Resolution find(String className) {
+      if (OBJECT_NAME.equals(className)) {
+        return OBJECT_RESOLUTION;
+      }
+
       TypePool.Resolution existingResolution =
           sharedResolutionCache.get(new TypeCacheKey(loaderHash, loaderRef, className));
       if (existingResolution != null) {
+        stats.hits.increment();
         return existingResolution;
       }
 
-      if (OBJECT_NAME.equals(className)) {
-        return OBJECT_RESOLUTION;
-      }
-
+      stats.misses.increment();
       return null;
     }
 
@@ -297,6 +396,60 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
     }
   }
 
+  /**
+   * A WeakReference to a ClassLoader, together with the stats of the type resolution cache for the
+   * class of that ClassLoader.
+   */
+  static final class LoaderRef extends WeakReference<ClassLoader> {
+    final TypePoolStats stats;
+
+    LoaderRef(ClassLoader classLoader, TypePoolStats stats) {
+      super(classLoader);
+      this.stats = stats;
+    }
+  }
+
+  static final class TypePoolStats {
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder bytesParsed = new LongAdder();
+    final Attributes attributes;
+    final Attributes hitAttributes;
+    final Attributes missAttributes;
+
+    TypePoolStats(String classLoaderName) {
+      this.attributes = Attributes.of(CLASS_LOADER, classLoaderName);
+      this.hitAttributes = Attributes.of(CLASS_LOADER, classLoaderName, RESULT, "hit");
+      this.missAttributes = Attributes.of(CLASS_LOADER, classLoaderName, RESULT, "miss");
+    }
+  }
+
+  /** Counts the bytes of the class files located for parsing. */
+  private static final class CountingClassFileLocator implements ClassFileLocator {
+    private final ClassFileLocator delegate;
+    private final TypePoolStats stats;
+
+    CountingClassFileLocator(ClassFileLocator delegate, TypePoolStats stats) {
+      this.delegate = delegate;
+      this.stats = stats;
+    }
+
+    @Override
+    public Resolution locate(String name) throws IOException {
+      Resolution resolution = delegate.locate(name);
+      if (resolution.isResolved()) {
+        stats.bytesParsed.add(resolution.resolve().length);
+      }
+      return resolution;
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+
   /** Based on TypePool.Default.WithLazyResolution */
   private class AgentTypePool extends TypePool.Default {
     // ThreadLocal used for detecting loading of annotation types
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.javaagent.tooling.muzzle;
 
+import io.opentelemetry.api.metrics.Meter;
 import java.util.Iterator;
 import java.util.ServiceLoader;
 import net.bytebuddy.agent.builder.AgentBuilder;
@@ -19,7 +20,7 @@ public final class AgentTooling {
   private static final AgentLocationStrategy LOCATION_STRATEGY =
       new AgentLocationStrategy(getBootstrapProxy());
 
-  private static final AgentBuilder.PoolStrategy POOL_STRATEGY =
+  private static final AgentCachingPoolStrategy POOL_STRATEGY =
       new AgentCachingPoolStrategy(LOCATION_STRATEGY);
 
   public static AgentLocationStrategy locationStrategy() {
@@ -30,6 +31,11 @@ public final class AgentTooling {
     return POOL_STRATEGY;
   }
 
+  /** Exports the stats of the type pool cache as observable instruments of the given meter. */
+  public static void registerPoolStrategyObservers(Meter meter) {
+    POOL_STRATEGY.registerObservers(meter);
+  }
+
   private static ClassLoader getBootstrapProxy() {
     Iterator<BootstrapProxyProvider> iterator =
         ServiceLoader.load(BootstrapProxyProvider.class, AgentTooling.class.getClassLoader())
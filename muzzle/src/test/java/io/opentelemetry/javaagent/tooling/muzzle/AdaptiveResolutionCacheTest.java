@@ -0,0 +1,98 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.muzzle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveResolutionCacheTest {
+
+  @Test
+  void shouldGrowWhenEntriesAreEvicted() {
+    AtomicInteger evictions = new AtomicInteger();
+    AdaptiveResolutionCache<Integer, String> cache =
+        new AdaptiveResolutionCache<>(
+            16, 64, TimeUnit.DAYS.toNanos(1), (key, value) -> evictions.incrementAndGet());
+
+    // a working set that is larger than the cache
+    for (int i = 0; i < 4 * AdaptiveResolutionCache.WINDOW_SIZE; i++) {
+      int key = i % 48;
+      if (cache.get(key) == null) {
+        cache.put(key, "value");
+      }
+    }
+
+    assertThat(evictions).hasPositiveValue();
+    assertThat(cache.capacity()).isEqualTo(64);
+    // the whole working set fits in the cache now
+    int evictionsBefore = evictions.get();
+    for (int key = 0; key < 48; key++) {
+      assertThat(cache.get(key)).isNotNull();
+    }
+    assertThat(evictions).hasValue(evictionsBefore);
+  }
+
+  @Test
+  void shouldShrinkWhenLookupsSettle() {
+    AdaptiveResolutionCache<Integer, String> cache =
+        new AdaptiveResolutionCache<>(16, 64, 0, (key, value) -> {});
+
+    for (int i = 0; i < 4 * AdaptiveResolutionCache.WINDOW_SIZE; i++) {
+      int key = i % 48;
+      if (cache.get(key) == null) {
+        cache.put(key, "value");
+      }
+    }
+
+    // every window is considered slow, and nothing is evicted
+    for (int i = 0; i < 4 * AdaptiveResolutionCache.WINDOW_SIZE; i++) {
+      cache.get(0);
+    }
+    assertThat(cache.capacity()).isEqualTo(16);
+    assertThat(cache.size()).isLessThanOrEqualTo(16);
+  }
+
+  @Test
+  void shouldShrinkWhenLookupsStop() {
+    long settledNanos = TimeUnit.SECONDS.toNanos(10);
+    AtomicLong nanoTime = new AtomicLong();
+    AdaptiveResolutionCache<Integer, String> cache =
+        new AdaptiveResolutionCache<>(16, 64, settledNanos, nanoTime::get, (key, value) -> {});
+
+    for (int i = 0; i < 4 * AdaptiveResolutionCache.WINDOW_SIZE; i++) {
+      int key = i % 48;
+      if (cache.get(key) == null) {
+        cache.put(key, "value");
+      }
+    }
+    assertThat(cache.capacity()).isEqualTo(64);
+
+    // far fewer lookups than a window, but a long time later
+    nanoTime.addAndGet(3 * settledNanos);
+    cache.get(0);
+
+    assertThat(cache.capacity()).isEqualTo(16);
+    assertThat(cache.size()).isLessThanOrEqualTo(16);
+  }
+
+  @Test
+  void shouldKeepTheCapacityFixedWhenMinAndMaxAreEqual() {
+    AdaptiveResolutionCache<Integer, String> cache =
+        new AdaptiveResolutionCache<>(16, 16, 0, (key, value) -> {});
+
+    for (int i = 0; i < 4 * AdaptiveResolutionCache.WINDOW_SIZE; i++) {
+      if (cache.get(i) == null) {
+        cache.put(i, "value");
+      }
+    }
+
+    assertThat(cache.capacity()).isEqualTo(16);
+  }
+}